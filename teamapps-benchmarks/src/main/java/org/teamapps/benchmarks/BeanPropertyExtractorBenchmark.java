@@ -0,0 +1,68 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2023 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.teamapps.data.extract.BeanPropertyExtractor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures reflective property extraction by {@link BeanPropertyExtractor}, once the extractors are cached.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BeanPropertyExtractorBenchmark {
+
+	private static final List<String> PROPERTY_NAMES = List.of("firstName", "lastName", "city", "age", "salary", "active");
+
+	private final BeanPropertyExtractor<BenchmarkRecord> propertyExtractor = new BeanPropertyExtractor<>(true);
+	private final BenchmarkRecord record = new BenchmarkRecord(42);
+
+	@Benchmark
+	public Object getValueViaGetter() {
+		return propertyExtractor.getValue(record, "lastName");
+	}
+
+	@Benchmark
+	public Object getValueViaField() {
+		return propertyExtractor.getValue(record, "notes");
+	}
+
+	@Benchmark
+	public Map<String, Object> getValues() {
+		return propertyExtractor.getValues(record, PROPERTY_NAMES);
+	}
+
+}
@@ -0,0 +1,68 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2023 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.benchmarks;
+
+/**
+ * Typical bean-style record used by the table and property extraction benchmarks.
+ */
+public class BenchmarkRecord {
+
+	private final String firstName;
+	private final String lastName;
+	private final String city;
+	private final int age;
+	private final double salary;
+	private final boolean active;
+	String notes; // no getter. Only accessible via field access.
+
+	public BenchmarkRecord(int index) {
+		this.firstName = "First" + index;
+		this.lastName = "Last" + index;
+		this.city = "City" + (index % 100);
+		this.age = 20 + index % 50;
+		this.salary = 40_000 + index * 1.5;
+		this.active = index % 3 != 0;
+		this.notes = "Notes for record " + index;
+	}
+
+	public String getFirstName() {
+		return firstName;
+	}
+
+	public String getLastName() {
+		return lastName;
+	}
+
+	public String getCity() {
+		return city;
+	}
+
+	public int getAge() {
+		return age;
+	}
+
+	public double getSalary() {
+		return salary;
+	}
+
+	public boolean isActive() {
+		return active;
+	}
+}
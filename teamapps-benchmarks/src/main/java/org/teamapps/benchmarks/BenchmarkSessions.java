@@ -0,0 +1,120 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2023 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.ws.rs.ext.ParamConverter;
+import jakarta.ws.rs.ext.ParamConverterProvider;
+import org.teamapps.config.TeamAppsConfiguration;
+import org.teamapps.dto.AbstractServerMessage;
+import org.teamapps.dto.UiSessionClosingReason;
+import org.teamapps.icons.IconLibraryRegistry;
+import org.teamapps.icons.IconProvider;
+import org.teamapps.icons.SessionIconProvider;
+import org.teamapps.json.TeamAppsObjectMapperFactory;
+import org.teamapps.uisession.MessageSender;
+import org.teamapps.uisession.SendingErrorHandler;
+import org.teamapps.uisession.UiSession;
+import org.teamapps.util.threading.CloseableExecutor;
+import org.teamapps.ux.session.ClientInfo;
+import org.teamapps.ux.session.ClientObjectIdFormat;
+import org.teamapps.ux.session.SessionConfiguration;
+import org.teamapps.ux.session.SessionContext;
+import org.teamapps.ux.session.navigation.Location;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+
+import static org.teamapps.common.TeamAppsVersion.TEAMAPPS_VERSION;
+
+/**
+ * Creates the session infrastructure the benchmarks need without a servlet container or client.
+ */
+public class BenchmarkSessions {
+
+	public static UiSession createUiSession(TeamAppsConfiguration config, ObjectMapper objectMapper) {
+		return new UiSession("benchmark-session", System.currentTimeMillis(), config, objectMapper, new NoOpMessageSender());
+	}
+
+	public static SessionContext createSessionContext() {
+		ClientInfo clientInfo = new ClientInfo("127.0.0.1", 1920, 1080, 1900, 1000, "en", false, "Europe/Berlin", 120, Collections.emptyList(), "benchmark",
+				new Location("http", "localhost", 8080, "/", "", ""), Collections.emptyMap(), TEAMAPPS_VERSION);
+		return new SessionContext(
+				createUiSession(new TeamAppsConfiguration(), TeamAppsObjectMapperFactory.create()),
+				CloseableExecutor.fromExecutorService(Executors.newSingleThreadExecutor(runnable -> {
+					// daemon, so the forked benchmark JVM can exit without tearing down the session
+					Thread thread = new Thread(runnable, "benchmark-session-executor");
+					thread.setDaemon(true);
+					return thread;
+				})),
+				clientInfo,
+				SessionConfiguration.createForClientInfo(clientInfo),
+				null,
+				uuid -> null,
+				new SessionIconProvider(new IconProvider(new IconLibraryRegistry())),
+				"",
+				new NoOpParamConverterProvider(),
+				ClientObjectIdFormat.COMPACT
+		);
+	}
+
+	/**
+	 * Runs the given runnable inside the session context's executor and waits for it to complete.
+	 * Components can only be created this way, since they bind themselves to the current session context.
+	 */
+	public static void runWithContext(SessionContext sessionContext, Runnable runnable) {
+		try {
+			sessionContext.runWithContext(runnable).get();
+		} catch (InterruptedException | ExecutionException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	private static class NoOpMessageSender implements MessageSender {
+		@Override
+		public void sendMessageAsynchronously(AbstractServerMessage message, SendingErrorHandler sendingErrorHandler) {
+			// the client is not part of what is being measured
+		}
+
+		@Override
+		public void close(UiSessionClosingReason closingReason, String message) {
+		}
+
+		@Override
+		public long getDataReceived() {
+			return 0;
+		}
+
+		@Override
+		public long getDataSent() {
+			return 0;
+		}
+	}
+
+	private static class NoOpParamConverterProvider implements ParamConverterProvider {
+		@Override
+		public <T> ParamConverter<T> getConverter(Class<T> rawType, Type genericType, Annotation[] annotations) {
+			return null;
+		}
+	}
+}
@@ -0,0 +1,74 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2023 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.teamapps.dto.AbstractClientMessage;
+import org.teamapps.dto.CMD_REQUEST;
+import org.teamapps.dto.EVENT;
+import org.teamapps.dto.UiField;
+import org.teamapps.json.TeamAppsObjectMapperFactory;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures deserialization of incoming client messages, the way {@code WebSocketCommunicationEndpoint} reads them.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ClientMessageDeserializationBenchmark {
+
+	private final ObjectMapper objectMapper = TeamAppsObjectMapperFactory.create();
+
+	private String eventPayload;
+	private String commandRequestPayload;
+
+	@Setup
+	public void setup() throws IOException {
+		eventPayload = objectMapper.writeValueAsString(new EVENT("benchmark-session", 42, new UiField.ValueChangedEvent("field-1", "some text the user typed")));
+		commandRequestPayload = objectMapper.writeValueAsString(new CMD_REQUEST("benchmark-session", 1000, 1020));
+	}
+
+	@Benchmark
+	public AbstractClientMessage deserializeEvent() throws IOException {
+		return objectMapper.readValue(eventPayload, AbstractClientMessage.class);
+	}
+
+	@Benchmark
+	public AbstractClientMessage deserializeCommandRequest() throws IOException {
+		return objectMapper.readValue(commandRequestPayload, AbstractClientMessage.class);
+	}
+
+}
@@ -0,0 +1,92 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2023 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.teamapps.uisession.CMD;
+import org.teamapps.uisession.commandbuffer.CommandBuffer;
+import org.teamapps.uisession.commandbuffer.CommandBufferException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures one full add/consume/purge round trip of {@link CommandBuffer} for a batch of commands,
+ * with and without coalescing of superseded commands.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CommandBufferBenchmark {
+
+	@Param({"1", "20", "500"})
+	private int batchSize;
+
+	private CommandBuffer commandBuffer;
+	private byte[] serializedCommand;
+	private int commandIdCounter;
+
+	@Setup
+	public void setup() {
+		commandBuffer = new CommandBuffer(2_500, 20_000_000);
+		serializedCommand = "{\"_type\":\"UiComponent.setStyle\",\"componentId\":\"c1\",\"selector\":\"\",\"styles\":{\"width\":\"100px\"}}".getBytes(StandardCharsets.UTF_8);
+	}
+
+	@Benchmark
+	public void addConsumePurge(Blackhole blackhole) throws CommandBufferException {
+		for (int i = 0; i < batchSize; i++) {
+			commandBuffer.addCommand(new CMD(++commandIdCounter, serializedCommand));
+		}
+		consumeAndPurge(blackhole);
+	}
+
+	@Benchmark
+	public void addCoalescingConsumePurge(Blackhole blackhole) throws CommandBufferException {
+		for (int i = 0; i < batchSize; i++) {
+			commandBuffer.addCommand(new CMD(++commandIdCounter, serializedCommand, i % 10));
+		}
+		consumeAndPurge(blackhole);
+	}
+
+	private void consumeAndPurge(Blackhole blackhole) {
+		CMD cmd;
+		CMD lastCmd = null;
+		while ((cmd = commandBuffer.consumeCommand()) != null) {
+			blackhole.consume(cmd);
+			lastCmd = cmd;
+		}
+		commandBuffer.purgeTillCommand(lastCmd.getId());
+	}
+
+}
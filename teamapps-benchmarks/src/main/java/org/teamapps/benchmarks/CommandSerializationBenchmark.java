@@ -0,0 +1,115 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2023 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.teamapps.dto.MULTI_CMD;
+import org.teamapps.dto.UiComponent;
+import org.teamapps.dto.UiTable;
+import org.teamapps.dto.UiTableClientRecord;
+import org.teamapps.json.TeamAppsObjectMapperFactory;
+import org.teamapps.uisession.CMD;
+import org.teamapps.util.ByteArrayOutputStreamPool;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Measures Jackson serialization of representative commands using the mapper created by {@link TeamAppsObjectMapperFactory},
+ * the same way {@code UiSession} serializes single commands and {@code WebSocketCommunicationEndpoint} serializes {@link MULTI_CMD}s.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CommandSerializationBenchmark {
+
+	private final ObjectMapper objectMapper = TeamAppsObjectMapperFactory.create();
+	private final ByteArrayOutputStreamPool outputStreamPool = new ByteArrayOutputStreamPool(8 * 1024, 1024 * 1024, 16);
+
+	private UiComponent.SetStyleCommand setStyleCommand;
+	private UiTable.UpdateDataCommand updateDataCommand;
+	private MULTI_CMD multiCmd;
+
+	@Setup
+	public void setup() throws IOException {
+		setStyleCommand = new UiComponent.SetStyleCommand("component-1", ".header", Map.of("background-color", "red", "width", "100px"));
+
+		List<UiTableClientRecord> records = IntStream.range(0, 50)
+				.mapToObj(i -> {
+					Map<String, Object> values = new HashMap<>();
+					for (int column = 0; column < 10; column++) {
+						values.put("column" + column, column % 2 == 0 ? "value " + i + "/" + column : (Object) (i * column * 1.5));
+					}
+					UiTableClientRecord record = new UiTableClientRecord();
+					record.setId(i);
+					record.setValues(values);
+					return record;
+				})
+				.collect(Collectors.toList());
+		updateDataCommand = new UiTable.UpdateDataCommand("table-1", 0, records.stream().map(r -> r.getId()).collect(Collectors.toList()), records, 10_000);
+
+		List<CMD> cmds = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			cmds.add(new CMD(i, objectMapper.writeValueAsBytes(i % 10 == 0 ? updateDataCommand : setStyleCommand)));
+		}
+		multiCmd = new MULTI_CMD(cmds);
+	}
+
+	@Benchmark
+	public byte[] serializeSetStyleCommand() throws IOException {
+		return objectMapper.writeValueAsBytes(setStyleCommand);
+	}
+
+	@Benchmark
+	public byte[] serializeTableUpdateDataCommand() throws IOException {
+		return objectMapper.writeValueAsBytes(updateDataCommand);
+	}
+
+	@Benchmark
+	public int serializeMultiCmd() throws IOException {
+		ByteArrayOutputStreamPool.PooledByteArrayOutputStream stream = outputStreamPool.acquire();
+		try {
+			objectMapper.writeValue(stream, multiCmd);
+			return stream.size();
+		} finally {
+			outputStreamPool.release(stream);
+		}
+	}
+
+}
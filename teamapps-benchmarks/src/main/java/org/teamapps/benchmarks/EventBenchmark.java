@@ -0,0 +1,74 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2023 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.teamapps.event.Event;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link Event#fire(Object)} with a varying number of listeners, as well as the creation of events,
+ * which happens several times for every component instance.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EventBenchmark {
+
+	@Param({"1", "10", "100"})
+	private int listenerCount;
+
+	private Event<String> event;
+	private int invocationsCount;
+
+	@Setup
+	public void setup() {
+		event = new Event<>();
+		for (int i = 0; i < listenerCount; i++) {
+			event.addListener(eventData -> invocationsCount++, false);
+		}
+	}
+
+	@Benchmark
+	public int fire() {
+		event.fire("eventData");
+		return invocationsCount;
+	}
+
+	@Benchmark
+	public Event<String> createEvent() {
+		return new Event<>();
+	}
+
+}
@@ -0,0 +1,74 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2023 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.teamapps.icon.material.MaterialIcon;
+import org.teamapps.icon.material.MaterialIconStyles;
+import org.teamapps.icons.IconLibraryRegistry;
+import org.teamapps.icons.IconProvider;
+import org.teamapps.icons.IconResource;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link IconProvider#loadIcon(String, int)} as called for every icon request, with and without the icon cache.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class IconProviderBenchmark {
+
+	private IconProvider cachingIconProvider;
+	private IconProvider nonCachingIconProvider;
+	private String encodedIcon;
+
+	@Setup
+	public void setup() {
+		IconLibraryRegistry iconLibraryRegistry = new IconLibraryRegistry();
+		cachingIconProvider = new IconProvider(iconLibraryRegistry);
+		nonCachingIconProvider = new IconProvider(iconLibraryRegistry, null);
+		encodedIcon = cachingIconProvider.encodeIcon(MaterialIcon.HOME.withStyle(MaterialIconStyles.GRADIENT_ORANGE));
+		cachingIconProvider.loadIcon(encodedIcon, 24); // fill the cache
+	}
+
+	@Benchmark
+	public IconResource loadCachedIcon() {
+		return cachingIconProvider.loadIcon(encodedIcon, 24);
+	}
+
+	@Benchmark
+	public IconResource loadIconWithoutCache() {
+		return nonCachingIconProvider.loadIcon(encodedIcon, 24);
+	}
+
+}
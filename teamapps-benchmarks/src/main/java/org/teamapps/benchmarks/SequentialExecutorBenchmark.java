@@ -0,0 +1,88 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2023 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.teamapps.util.threading.CloseableExecutor;
+import org.teamapps.util.threading.CompletableFutureChainSequentialExecutorFactory;
+import org.teamapps.util.threading.MailboxSequentialExecutorFactory;
+import org.teamapps.util.threading.SequentialExecutorFactory;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Measures the overhead of the {@link SequentialExecutorFactory} implementations with many session executors
+ * receiving small tasks, as happens when many sessions fire events.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SequentialExecutorBenchmark {
+
+	private static final int EXECUTORS_COUNT = 1000;
+
+	@Param({"completableFutureChain", "mailbox"})
+	private String factory;
+
+	@Param({"1", "10"})
+	private int tasksPerExecutor;
+
+	private List<CloseableExecutor> executors;
+
+	@Setup
+	public void setup() {
+		int nThreads = Runtime.getRuntime().availableProcessors();
+		SequentialExecutorFactory executorFactory = factory.equals("mailbox")
+				? new MailboxSequentialExecutorFactory(nThreads)
+				: new CompletableFutureChainSequentialExecutorFactory(nThreads);
+		executors = IntStream.range(0, EXECUTORS_COUNT)
+				.mapToObj(i -> executorFactory.createExecutor("session-" + i))
+				.collect(Collectors.toList());
+	}
+
+	@Benchmark
+	public void executeOnAllExecutors() throws InterruptedException {
+		CountDownLatch latch = new CountDownLatch(EXECUTORS_COUNT * tasksPerExecutor);
+		for (int i = 0; i < tasksPerExecutor; i++) {
+			for (CloseableExecutor executor : executors) {
+				executor.execute(latch::countDown);
+			}
+		}
+		latch.await();
+	}
+
+}
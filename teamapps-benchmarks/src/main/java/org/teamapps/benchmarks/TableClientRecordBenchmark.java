@@ -0,0 +1,97 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2023 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.teamapps.dto.UiIdentifiableClientRecord;
+import org.teamapps.ux.component.field.CheckBox;
+import org.teamapps.ux.component.field.NumberField;
+import org.teamapps.ux.component.field.TextField;
+import org.teamapps.ux.component.table.Table;
+import org.teamapps.ux.component.table.TableColumn;
+import org.teamapps.ux.session.SessionContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Measures the conversion of a record into its client representation by {@link Table}, which happens for every
+ * record that gets sent to the client.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TableClientRecordBenchmark {
+
+	@Param({"0", "100"})
+	private int selectedRecordsCount;
+
+	private BenchmarkTable table;
+	private List<BenchmarkRecord> records;
+	private int recordIndex;
+
+	@Setup
+	public void setup() {
+		records = IntStream.range(0, 1000)
+				.mapToObj(BenchmarkRecord::new)
+				.collect(Collectors.toList());
+		SessionContext sessionContext = BenchmarkSessions.createSessionContext();
+		BenchmarkSessions.runWithContext(sessionContext, () -> {
+			table = new BenchmarkTable();
+			table.addColumn(new TableColumn<>("firstName", "First name", new TextField()));
+			table.addColumn(new TableColumn<>("lastName", "Last name", new TextField()));
+			table.addColumn(new TableColumn<>("city", "City", new TextField()));
+			table.addColumn(new TableColumn<>("age", "Age", new NumberField(0)));
+			table.addColumn(new TableColumn<>("salary", "Salary", new NumberField(2)));
+			table.addColumn(new TableColumn<>("active", "Active", new CheckBox()));
+			table.setSelectedRecords(records.subList(records.size() - selectedRecordsCount, records.size()));
+		});
+	}
+
+	@Benchmark
+	public UiIdentifiableClientRecord createUiIdentifiableClientRecord() {
+		return table.createClientRecord(records.get(recordIndex++ % records.size()));
+	}
+
+	/**
+	 * Exposes the protected record conversion.
+	 */
+	private static class BenchmarkTable extends Table<BenchmarkRecord> {
+		public UiIdentifiableClientRecord createClientRecord(BenchmarkRecord record) {
+			return createUiIdentifiableClientRecord(record);
+		}
+	}
+
+}
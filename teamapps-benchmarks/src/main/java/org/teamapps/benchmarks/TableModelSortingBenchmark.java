@@ -0,0 +1,107 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2023 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.teamapps.data.value.SortDirection;
+import org.teamapps.data.value.Sorting;
+import org.teamapps.ux.component.table.ColumnarTableModel;
+import org.teamapps.ux.component.table.ListTableModel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares sorting a bean-based {@link ListTableModel} with sorting a {@link ColumnarTableModel} holding the same data.
+ * The columnar model keeps its sort index per column, so after the first invocation only the view is computed from it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TableModelSortingBenchmark {
+
+	@Param({"100000"})
+	private int rowCount;
+
+	private ListTableModel<BenchmarkRecord> listTableModel;
+	private ColumnarTableModel columnarTableModel;
+	private boolean ascending;
+
+	@Setup
+	public void setup() {
+		List<BenchmarkRecord> records = new ArrayList<>(rowCount);
+		List<Object[]> rows = new ArrayList<>(rowCount);
+		for (int i = 0; i < rowCount; i++) {
+			BenchmarkRecord record = new BenchmarkRecord(rowCount - i);
+			records.add(record);
+			rows.add(new Object[]{record.getLastName(), record.getAge(), record.getSalary()});
+		}
+		listTableModel = new ListTableModel<>(records);
+		columnarTableModel = new ColumnarTableModel()
+				.addStringColumn("lastName")
+				.addIntColumn("age")
+				.addDoubleColumn("salary");
+		columnarTableModel.addRows(rows);
+	}
+
+	private Sorting nextSorting(String fieldName) {
+		ascending = !ascending; // alternate, so each invocation needs to sort
+		return new Sorting(fieldName, ascending ? SortDirection.ASC : SortDirection.DESC);
+	}
+
+	@Benchmark
+	public int sortListTableModelByString() {
+		listTableModel.setSorting(nextSorting("lastName"));
+		return listTableModel.getCount();
+	}
+
+	@Benchmark
+	public int sortColumnarTableModelByString() {
+		columnarTableModel.setSorting(nextSorting("lastName"));
+		return columnarTableModel.getCount();
+	}
+
+	@Benchmark
+	public int sortListTableModelByInt() {
+		listTableModel.setSorting(nextSorting("age"));
+		return listTableModel.getCount();
+	}
+
+	@Benchmark
+	public int sortColumnarTableModelByInt() {
+		columnarTableModel.setSorting(nextSorting("age"));
+		return columnarTableModel.getCount();
+	}
+
+}
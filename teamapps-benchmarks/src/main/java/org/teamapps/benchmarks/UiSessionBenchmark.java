@@ -0,0 +1,84 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2023 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.teamapps.config.TeamAppsConfiguration;
+import org.teamapps.dto.UiComponent;
+import org.teamapps.json.TeamAppsObjectMapperFactory;
+import org.teamapps.uisession.UiCommandWithResultCallback;
+import org.teamapps.uisession.UiSession;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link UiSession#sendCommand(UiCommandWithResultCallback)} including serialization, buffering and the
+ * client's acknowledgement purging the buffer again.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class UiSessionBenchmark {
+
+	private UiSession uiSession;
+	private UiCommandWithResultCallback<Void> setStyleCommand;
+	private UiCommandWithResultCallback<Void> setVisibleCommand;
+	private int sentCommandsCount;
+
+	@Setup
+	public void setup() {
+		uiSession = BenchmarkSessions.createUiSession(new TeamAppsConfiguration(), TeamAppsObjectMapperFactory.create());
+		setStyleCommand = new UiCommandWithResultCallback<>(new UiComponent.SetStyleCommand("component-1", "", Map.of("background-color", "red", "width", "100px")));
+		setVisibleCommand = new UiCommandWithResultCallback<>(new UiComponent.SetVisibleCommand("component-1", true));
+		uiSession.handleCommandRequest(Integer.MAX_VALUE, null);
+	}
+
+	@Benchmark
+	public int sendCommand() {
+		return sendAndAcknowledge(setStyleCommand);
+	}
+
+	@Benchmark
+	public int sendIdempotentCommand() {
+		return sendAndAcknowledge(setVisibleCommand);
+	}
+
+	private int sendAndAcknowledge(UiCommandWithResultCallback<Void> command) {
+		int unconsumedCommandsCount = uiSession.sendCommand(command);
+		if (++sentCommandsCount % 20 == 0) {
+			uiSession.handleCommandRequest(Integer.MAX_VALUE, sentCommandsCount);
+		}
+		return unconsumedCommandsCount;
+	}
+
+}
@@ -32,6 +32,7 @@ export interface ReconnectingCompressingWebSocketConnectionListener {
 export class ReconnectingCompressingWebSocketConnection {
 
 	private static logger: log.Logger = log.getLogger("ReconnectingCompressingWebSocketConnection");
+	private static textDecoder = new TextDecoder("utf-8");
 
 	private url: string;
 	private connection: WebSocket;
@@ -88,7 +89,8 @@ export class ReconnectingCompressingWebSocketConnection {
 			ReconnectingCompressingWebSocketConnection.log('WebSocket error: ' + error);
 		};
 		this.connection.onmessage = (e) => {
-			let json: string = e.data as string;
+			// the server sends UTF-8 encoded JSON as binary frames
+			let json: string = typeof e.data === "string" ? e.data : ReconnectingCompressingWebSocketConnection.textDecoder.decode(e.data as ArrayBuffer);
 			if (json) {
 				try {
 					this.listener.onMessage(JSON.parse(json));
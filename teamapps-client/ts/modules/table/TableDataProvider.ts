@@ -20,6 +20,7 @@
 import {UiTableClientRecordConfig} from "../../generated/UiTableClientRecordConfig";
 import {UiFieldMessageConfig} from "../../generated/UiFieldMessageConfig";
 import {UiIdentifiableClientRecordConfig} from "../../generated/UiIdentifiableClientRecordConfig";
+import {UiTableClientRecordDeltaConfig} from "../../generated/UiTableClientRecordDeltaConfig";
 import DataProvider = Slick.DataProvider;
 
 export class TableDataProvider implements DataProvider<UiTableClientRecordConfig> {
@@ -86,6 +87,31 @@ export class TableDataProvider implements DataProvider<UiTableClientRecordConfig
 		return everythingChanged ? true : changedRowNumbers;
 	}
 
+	/**
+	 * Applies the changed values to the records they belong to.
+	 * @return the changed property names by row index, for each record that is currently displayed.
+	 */
+	applyRecordDeltas(deltas: UiTableClientRecordDeltaConfig[]): Map<number, string[]> {
+		const changedPropertyNamesByRowIndex = new Map<number, string[]>();
+		deltas.forEach(delta => {
+			const record = this.recordById.get(delta.recordId);
+			if (record == null) {
+				return;
+			}
+			Object.assign(record.values, delta.values);
+			let changedPropertyNames = Object.keys(delta.values);
+			if (delta.displayTemplateValues != null) {
+				record.displayTemplateValues = Object.assign(record.displayTemplateValues ?? {}, delta.displayTemplateValues);
+				changedPropertyNames = changedPropertyNames.concat(Object.keys(delta.displayTemplateValues));
+			}
+			const rowIndex = this.getRowIndexByRecordId(delta.recordId);
+			if (rowIndex >= 0) {
+				changedPropertyNamesByRowIndex.set(rowIndex, changedPropertyNames);
+			}
+		});
+		return changedPropertyNamesByRowIndex;
+	}
+
 	public clear(): void {
 		this.data = [];
 	}
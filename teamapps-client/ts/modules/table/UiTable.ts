@@ -60,6 +60,7 @@ import {nonRecursive} from "../util/nonRecursive";
 import {throttledMethod} from "../util/throttle";
 import {UiFieldMessageSeverity} from "../../generated/UiFieldMessageSeverity";
 import {UiTableClientRecordConfig} from "../../generated/UiTableClientRecordConfig";
+import {UiTableClientRecordDeltaConfig} from "../../generated/UiTableClientRecordDeltaConfig";
 import {UiTableRowSelectionModel} from "./UiTableRowSelectionModel";
 import {ContextMenu} from "../micro-components/ContextMenu";
 import {UiComponent} from "../UiComponent";
@@ -708,6 +709,26 @@ export class UiTable extends AbstractUiComponent<UiTableConfig> implements UiTab
 		this.rerenderRecordRow(recordId);
 	}
 
+	@executeWhenFirstDisplayed()
+	public updateRecordCells(deltas: UiTableClientRecordDeltaConfig[]) {
+		const changedPropertyNamesByRowIndex = this.dataProvider.applyRecordDeltas(deltas);
+		const viewport = this._grid.getViewport();
+		changedPropertyNamesByRowIndex.forEach((propertyNames, rowIndex) => {
+			if (rowIndex < viewport.top || rowIndex > viewport.bottom) {
+				return; // not rendered. will get rendered with the new values when scrolled into view
+			}
+			const columnIndexes = propertyNames.map(propertyName => this._grid.getColumnIndex(propertyName));
+			if (columnIndexes.some(columnIndex => columnIndex == null)) {
+				// e.g. sub-field of a composite field, or a hidden column
+				this._grid.invalidateRow(rowIndex);
+			} else {
+				columnIndexes.forEach(columnIndex => this._grid.updateCell(rowIndex, columnIndex));
+			}
+		});
+		this._grid.render();
+		this.toggleColumnsThatAreHiddenWhenTheyContainNoVisibleNonEmptyCells();
+	}
+
 	private rerenderRecordRow(recordId: any) {
 		const rowIndex = this.dataProvider.getRowIndexByRecordId(recordId);
 		if (rowIndex != null) {
@@ -0,0 +1,29 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2023 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.dto;
+
+/**
+ * Marks commands (annotated with {@code @Idempotent} in the DTO definitions) that completely determine the corresponding state
+ * of their component. A later command of the same type for the same component makes an earlier one obsolete,
+ * so the earlier one may be dropped as long as it has not been sent to the client yet.
+ */
+public interface UiIdempotentCommand {
+
+}
@@ -22,7 +22,7 @@ superInterfaceDecl: 'extends' classList;
 implementsDecl: 'implements' classList;
 classList: ((Identifier ',')* Identifier)?;
 propertyDeclaration : referenceableAnnotation? requiredModifier? type Identifier (defaultValueAssignment)? ';';
-commandDeclaration : staticModifier? 'command' Identifier '(' ((formalParameterWithDefault ',')* formalParameterWithDefault)? ')' ('returns' type)? ';';
+commandDeclaration : idempotentAnnotation? staticModifier? 'command' Identifier '(' ((formalParameterWithDefault ',')* formalParameterWithDefault)? ')' ('returns' type)? ';';
 eventDeclaration : staticModifier? 'event' Identifier '(' ((formalParameterWithDefault ',')* formalParameterWithDefault)? ')' ';';
 queryDeclaration : 'query' Identifier '(' ((formalParameterWithDefault ',')* formalParameterWithDefault)? ')' 'returns' type ';';
 formalParameter : type Identifier;
@@ -63,6 +63,7 @@ primitiveType
 
 typescriptFactoryAnnotation : '@TypeScriptFactory';
 referenceableAnnotation: '@Referenceable';
+idempotentAnnotation: '@Idempotent';
 abstractModifier : 'abstract';
 requiredModifier : 'required';
 staticModifier : 'static';
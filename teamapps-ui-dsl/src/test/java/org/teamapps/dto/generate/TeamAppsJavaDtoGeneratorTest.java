@@ -115,6 +115,16 @@ public class TeamAppsJavaDtoGeneratorTest {
 		);
 	}
 
+	@Test
+	public void idempotentCommands() throws Exception {
+		String dslString = "class A { @Idempotent command a(String b); command c(String d); }";
+		executeClassTest(
+				dslString,
+				"A",
+				"org/teamapps/dto/TeamAppsJavaDtoGeneratorTest_idempotentCommands.java"
+		);
+	}
+
 	@Test
 	public void dictionaryOfList() throws Exception {
 		String dslString = "interface X {}"
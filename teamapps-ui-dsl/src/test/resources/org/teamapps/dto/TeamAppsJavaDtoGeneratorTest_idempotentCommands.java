@@ -0,0 +1,121 @@
+package org.teamapps.dto;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.annotation.JsonTypeIdResolver;
+
+/**
+ * THIS IS GENERATED CODE!
+ * PLEASE DO NOT MODIFY - ALL YOUR WORK WOULD BE LOST!
+ */
+@JsonTypeInfo(use = JsonTypeInfo.Id.CUSTOM, property = "_type", defaultImpl = A.class)
+public class A implements UiObject {
+
+
+
+	public A() {
+	}
+
+	@com.fasterxml.jackson.annotation.JsonIgnore
+	public UiObjectType getUiObjectType() {
+		return UiObjectType.A;
+	}
+
+	@SuppressWarnings("unchecked")
+	public String toString() {
+		return new StringBuilder(getClass().getSimpleName()).append(": ")
+				.toString();
+	}
+
+
+
+
+
+	public static class ACommand implements UiCommand<Void>, UiIdempotentCommand {
+
+		@UiComponentId protected String componentId;
+		protected String b;
+
+		/**
+		 * @deprecated Only for Jackson deserialization. Use the other constructor instead.
+		 */
+		@Deprecated
+		public ACommand() {
+			// default constructor for Jackson
+		}
+
+		public ACommand(String componentId, String b) {
+			this.componentId = componentId;
+			this.b = b;
+		}
+
+		@SuppressWarnings("unchecked")
+		public String toString() {
+			return new StringBuilder(getClass().getSimpleName()).append(": ")
+					.append("componentId=" + componentId).append(", ")
+					.append("b=" + b)
+					.toString();
+		}
+
+		@com.fasterxml.jackson.annotation.JsonGetter("componentId")
+		public String getComponentId() {
+			return componentId;
+		}
+
+		@com.fasterxml.jackson.annotation.JsonGetter("b")
+		public String getB() {
+			return b;
+		}
+
+	}
+
+	public static class CCommand implements UiCommand<Void> {
+
+		@UiComponentId protected String componentId;
+		protected String d;
+
+		/**
+		 * @deprecated Only for Jackson deserialization. Use the other constructor instead.
+		 */
+		@Deprecated
+		public CCommand() {
+			// default constructor for Jackson
+		}
+
+		public CCommand(String componentId, String d) {
+			this.componentId = componentId;
+			this.d = d;
+		}
+
+		@SuppressWarnings("unchecked")
+		public String toString() {
+			return new StringBuilder(getClass().getSimpleName()).append(": ")
+					.append("componentId=" + componentId).append(", ")
+					.append("d=" + d)
+					.toString();
+		}
+
+		@com.fasterxml.jackson.annotation.JsonGetter("componentId")
+		public String getComponentId() {
+			return componentId;
+		}
+
+		@com.fasterxml.jackson.annotation.JsonGetter("d")
+		public String getD() {
+			return d;
+		}
+
+	}
+
+}
\ No newline at end of file
@@ -23,6 +23,8 @@ import jakarta.servlet.http.HttpSession;
 import jakarta.servlet.http.HttpSessionListener;
 import org.teamapps.event.Event;
 import org.teamapps.util.threading.SequentialExecutorFactory;
+import org.teamapps.util.threading.SequentialExecutorType;
+import org.teamapps.ux.session.ClientObjectIdFormat;
 import org.teamapps.ux.session.SessionContext;
 import org.teamapps.ux.session.navigation.RouteHandler;
 
@@ -116,10 +118,8 @@ public class TeamAppsConfiguration {
 	private int commandBufferLength = 5_000;
 
 	/**
-	 * The total number of characters that all commands in the command buffer of a session may hold. This is NOT the same as
+	 * The total number of bytes (UTF-8 encoded JSON) that all commands in the command buffer of a session may hold. This is NOT the same as
 	 * {@link #commandBufferLength}, which specifies the maximum <i>number</i> of commands that the buffer may hold.
-	 * <p>
-	 * Keep in mind that every character in Java takes 1 or 2 bytes of heap space (prior Java 9 always 2 bytes).
 	 */
 	private int commandBufferTotalSize = 5_000_000;
 
@@ -157,12 +157,30 @@ public class TeamAppsConfiguration {
 	/**
 	 * Max number of threads that should be used for changing session state.
 	 * Note that you can also choose to write an own {@link SequentialExecutorFactory},
-	 * in which case this
+	 * in which case this is ignored. Also ignored for {@link SequentialExecutorType#VIRTUAL_THREADS}.
 	 *
 	 * @see org.teamapps.uisession.TeamAppsSessionManager#sessionExecutorFactory
 	 */
 	private int maxNumberOfSessionExecutorThreads = Runtime.getRuntime().availableProcessors() * 2;
 
+	/**
+	 * The kind of executors used for running the tasks of each session sequentially.
+	 * <p>
+	 * With the thread pool based types, session code that blocks (e.g. on database queries) occupies one of the
+	 * {@link #maxNumberOfSessionExecutorThreads} threads and can therefore stall unrelated sessions.
+	 * {@link SequentialExecutorType#VIRTUAL_THREADS} avoids this, but requires Java 21 or later.
+	 */
+	private SequentialExecutorType sessionExecutorType = SequentialExecutorType.COMPLETABLE_FUTURE_CHAIN;
+
+	/**
+	 * The format of the ids of components and other client objects.
+	 * <p>
+	 * {@link ClientObjectIdFormat#COMPACT} ids are much shorter than the default UUID based ids, which considerably reduces
+	 * the size of the messages sent to the client. {@link ClientObjectIdFormat#COMPACT_WITH_CLASS_NAME} keeps the class names
+	 * for debugging.
+	 */
+	private ClientObjectIdFormat clientObjectIdFormat = ClientObjectIdFormat.UUID;
+
 	/**
 	 * Path prefix to be ignored when routing and added when creating URLs.
 	 *
@@ -364,6 +382,41 @@ public class TeamAppsConfiguration {
 		this.maxNumberOfSessionExecutorThreads = maxNumberOfSessionExecutorThreads;
 	}
 
+	/**
+	 * @see #sessionExecutorType
+	 */
+	public SequentialExecutorType getSessionExecutorType() {
+		return sessionExecutorType;
+	}
+
+	/**
+	 * @see #sessionExecutorType
+	 */
+	public void setSessionExecutorType(SequentialExecutorType sessionExecutorType) {
+		this.sessionExecutorType = sessionExecutorType;
+	}
+
+	/**
+	 * @return a new {@link SequentialExecutorFactory} according to {@link #sessionExecutorType} and {@link #maxNumberOfSessionExecutorThreads}
+	 */
+	public SequentialExecutorFactory createSessionExecutorFactory() {
+		return sessionExecutorType.createFactory(maxNumberOfSessionExecutorThreads);
+	}
+
+	/**
+	 * @see #clientObjectIdFormat
+	 */
+	public ClientObjectIdFormat getClientObjectIdFormat() {
+		return clientObjectIdFormat;
+	}
+
+	/**
+	 * @see #clientObjectIdFormat
+	 */
+	public void setClientObjectIdFormat(ClientObjectIdFormat clientObjectIdFormat) {
+		this.clientObjectIdFormat = clientObjectIdFormat;
+	}
+
 	public String getNavigationPathPrefix() {
 		return navigationPathPrefix;
 	}
@@ -21,6 +21,7 @@ package org.teamapps.data.extract;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.apache.commons.lang3.StringUtils;
 import org.teamapps.util.ReflectionUtil;
 
 import java.lang.reflect.Field;
@@ -29,6 +30,15 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Extracts property values from beans, using getters (<code>getX()</code>/<code>isX()</code>), record-style accessors (<code>x()</code>)
+ * and optionally fields.
+ * <p>
+ * Nested property paths like <code>"address.city"</code> are supported. If an intermediate value is null, the value is null.
+ * Each path segment is resolved on the runtime class of the respective value.
+ * <p>
+ * Accessors are generated once per class and property and cached globally (see {@link PropertyAccessors}).
+ */
 public class BeanPropertyExtractor<RECORD> implements PropertyExtractor<RECORD> {
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(BeanPropertyExtractor.class);
@@ -56,30 +66,98 @@ public class BeanPropertyExtractor<RECORD> implements PropertyExtractor<RECORD>
 		if (valueExtractor != null) {
 			return valueExtractor;
 		} else {
-			return valueExtractorsByClassAndPropertyName.computeIfAbsent(
-					new ClassAndPropertyName(clazz, propertyName, fallbackToFields),
-					classAndPropertyName -> createValueExtractor(classAndPropertyName)
-			);
+			return getBeanValueExtractor(clazz, propertyName, fallbackToFields);
+		}
+	}
+
+	static <RECORD> ValueExtractor<RECORD, ?> getBeanValueExtractor(Class<?> clazz, String propertyName, boolean fallbackToFields) {
+		ClassAndPropertyName classAndPropertyName = new ClassAndPropertyName(clazz, propertyName, fallbackToFields);
+		ValueExtractor valueExtractor = valueExtractorsByClassAndPropertyName.get(classAndPropertyName);
+		if (valueExtractor == null) {
+			// not computeIfAbsent(), since nested extractors recursively look up the extractors of their path segments
+			valueExtractor = createValueExtractor(classAndPropertyName);
+			ValueExtractor existingValueExtractor = valueExtractorsByClassAndPropertyName.putIfAbsent(classAndPropertyName, valueExtractor);
+			if (existingValueExtractor != null) {
+				valueExtractor = existingValueExtractor;
+			}
 		}
+		return valueExtractor;
 	}
 
-	private ValueExtractor<RECORD, ?> createValueExtractor(ClassAndPropertyName classAndPropertyName) {
+	private static ValueExtractor<Object, ?> createValueExtractor(ClassAndPropertyName classAndPropertyName) {
+		int dotIndex = classAndPropertyName.propertyName.indexOf('.');
+		if (dotIndex > 0) {
+			return createNestedValueExtractor(classAndPropertyName, dotIndex);
+		}
 		Method getter = ReflectionUtil.findGetter(classAndPropertyName.clazz, classAndPropertyName.propertyName);
-		Method recordGetter = ReflectionUtil.findMethodByName(classAndPropertyName.clazz, classAndPropertyName.propertyName);
+		Method recordGetter = findRecordGetter(classAndPropertyName);
 		if (getter != null) {
-			return record -> ReflectionUtil.invokeMethod(record, getter);
+			return PropertyAccessors.getter(getter);
 		} else if (recordGetter != null) {
-			return record -> ReflectionUtil.invokeMethod(record, recordGetter);
-		} else if (fallbackToFields) {
+			return PropertyAccessors.getter(recordGetter);
+		} else if (classAndPropertyName.fallbackToFields) {
 			Field field = ReflectionUtil.findField(classAndPropertyName.clazz, classAndPropertyName.propertyName);
 			if (field != null) {
-				return record -> ReflectionUtil.readField(record, field, true);
+				return PropertyAccessors.fieldReader(field);
 			}
 		}
-		LOGGER.debug("Could not find getter " + (fallbackToFields ? "or field " : "") + "for property {} on class {}!", classAndPropertyName.propertyName, classAndPropertyName.getClass().getCanonicalName());
+		LOGGER.debug("Could not find getter " + (classAndPropertyName.fallbackToFields ? "or field " : "") + "for property {} on class {}!", classAndPropertyName.propertyName, classAndPropertyName.clazz.getCanonicalName());
 		return record -> null;
 	}
 
+	private static Method findRecordGetter(ClassAndPropertyName classAndPropertyName) {
+		return ReflectionUtil.findMethod(classAndPropertyName.clazz, method -> method.getName().equals(classAndPropertyName.propertyName) && method.getParameterCount() == 0);
+	}
+
+	private static ValueExtractor<Object, ?> createNestedValueExtractor(ClassAndPropertyName classAndPropertyName, int dotIndex) {
+		String firstPropertyName = classAndPropertyName.propertyName.substring(0, dotIndex);
+		String remainingPath = classAndPropertyName.propertyName.substring(dotIndex + 1);
+		if (StringUtils.isEmpty(remainingPath)) {
+			return record -> null;
+		}
+		ValueExtractor<Object, ?> firstExtractor = getBeanValueExtractor(classAndPropertyName.clazz, firstPropertyName, classAndPropertyName.fallbackToFields);
+		return new NestedValueExtractor(firstExtractor, remainingPath, classAndPropertyName.fallbackToFields);
+	}
+
+	private static class NestedValueExtractor implements ValueExtractor<Object, Object> {
+		private final ValueExtractor<Object, ?> firstExtractor;
+		private final String remainingPath;
+		private final boolean fallbackToFields;
+
+		// the intermediate values' class is almost always the same, so remember the last one
+		private volatile ClassAndValueExtractor lastRemainingExtractor;
+
+		public NestedValueExtractor(ValueExtractor<Object, ?> firstExtractor, String remainingPath, boolean fallbackToFields) {
+			this.firstExtractor = firstExtractor;
+			this.remainingPath = remainingPath;
+			this.fallbackToFields = fallbackToFields;
+		}
+
+		@Override
+		public Object extract(Object record) {
+			Object value = firstExtractor.extract(record);
+			if (value == null) {
+				return null;
+			}
+			ClassAndValueExtractor remainingExtractor = this.lastRemainingExtractor;
+			if (remainingExtractor == null || remainingExtractor.clazz != value.getClass()) {
+				remainingExtractor = new ClassAndValueExtractor(value.getClass(), getBeanValueExtractor(value.getClass(), remainingPath, fallbackToFields));
+				this.lastRemainingExtractor = remainingExtractor;
+			}
+			return remainingExtractor.valueExtractor.extract(value);
+		}
+	}
+
+	private static class ClassAndValueExtractor {
+		private final Class<?> clazz;
+		private final ValueExtractor<Object, ?> valueExtractor;
+
+		public ClassAndValueExtractor(Class<?> clazz, ValueExtractor<Object, ?> valueExtractor) {
+			this.clazz = clazz;
+			this.valueExtractor = valueExtractor;
+		}
+	}
+
 	public BeanPropertyExtractor<RECORD> addProperty(String propertyName, ValueExtractor<RECORD, ?> valueExtractor) {
 		this.customExtractors.put(propertyName, valueExtractor);
 		return this;
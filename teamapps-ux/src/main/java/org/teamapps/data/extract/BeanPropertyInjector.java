@@ -30,6 +30,14 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Injects property values into beans, using setters and optionally fields.
+ * <p>
+ * Nested property paths like <code>"address.city"</code> are supported. All but the last segment are read using a
+ * {@link BeanPropertyExtractor}. If an intermediate value is null, nothing is injected.
+ * <p>
+ * Accessors are generated once per class and property and cached globally (see {@link PropertyAccessors}).
+ */
 public class BeanPropertyInjector<RECORD> implements PropertyInjector<RECORD> {
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(BeanPropertyInjector.class);
@@ -59,26 +67,46 @@ public class BeanPropertyInjector<RECORD> implements PropertyInjector<RECORD> {
 		} else {
 			return settersByClassAndPropertyName.computeIfAbsent(
 					new ClassAndPropertyName(clazz, propertyName, fallbackToFields),
-					classAndPropertyName -> createValueInjector(classAndPropertyName)
+					BeanPropertyInjector::createValueInjector
 			);
 		}
 	}
 
-	private ValueInjector<RECORD, ?> createValueInjector(ClassAndPropertyName classAndPropertyName) {
+	private static ValueInjector<Object, Object> createValueInjector(ClassAndPropertyName classAndPropertyName) {
+		int lastDotIndex = classAndPropertyName.propertyName.lastIndexOf('.');
+		if (lastDotIndex > 0) {
+			return createNestedValueInjector(classAndPropertyName, lastDotIndex);
+		}
 		Method setter = ReflectionUtil.findSetter(classAndPropertyName.clazz, classAndPropertyName.propertyName);
 		if (setter != null) {
-			return (record, value) -> ReflectionUtil.invokeMethod(record, setter, value);
-		} else if (fallbackToFields) {
+			return PropertyAccessors.setter(setter);
+		} else if (classAndPropertyName.fallbackToFields) {
 			Field field = ReflectionUtil.findField(classAndPropertyName.clazz, classAndPropertyName.propertyName);
 			if (field != null && !Modifier.isFinal(field.getModifiers())) {
-				return (record, value) -> ReflectionUtil.setField(record, field, value, true);
+				return PropertyAccessors.fieldWriter(field);
 			}
 		}
-		LOGGER.debug("Could not find setter or field for property {} on class {}!", classAndPropertyName.propertyName, classAndPropertyName.getClass().getCanonicalName());
+		LOGGER.debug("Could not find setter or field for property {} on class {}!", classAndPropertyName.propertyName, classAndPropertyName.clazz.getCanonicalName());
 		return (record, value) -> {
 		};
 	}
 
+	private static ValueInjector<Object, Object> createNestedValueInjector(ClassAndPropertyName classAndPropertyName, int lastDotIndex) {
+		String parentPath = classAndPropertyName.propertyName.substring(0, lastDotIndex);
+		String lastPropertyName = classAndPropertyName.propertyName.substring(lastDotIndex + 1);
+		ValueExtractor<Object, ?> parentExtractor = BeanPropertyExtractor.getBeanValueExtractor(classAndPropertyName.clazz, parentPath, classAndPropertyName.fallbackToFields);
+		return (record, value) -> {
+			Object parent = parentExtractor.extract(record);
+			if (parent != null) {
+				ValueInjector<Object, Object> injector = settersByClassAndPropertyName.computeIfAbsent(
+						new ClassAndPropertyName(parent.getClass(), lastPropertyName, classAndPropertyName.fallbackToFields),
+						BeanPropertyInjector::createValueInjector
+				);
+				injector.inject(parent, value);
+			}
+		};
+	}
+
 	public <VALUE> BeanPropertyInjector<RECORD> addProperty(String propertyName, ValueInjector<RECORD, VALUE> valueInjector) {
 		this.customInjectors.put(propertyName, valueInjector);
 		return this;
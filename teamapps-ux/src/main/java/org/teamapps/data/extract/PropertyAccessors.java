@@ -0,0 +1,138 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2023 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.data.extract;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.teamapps.util.ReflectionUtil;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Creates fast {@link ValueExtractor}s and {@link ValueInjector}s for getters, setters and fields.
+ * <p>
+ * Methods are bound to generated {@link Function}/{@link BiConsumer} implementations using the {@link LambdaMetafactory},
+ * which perform like direct calls once inlined. If that is not possible (e.g. because the class is not accessible with full privileges
+ * from here), a {@link MethodHandle} is used. If even that fails, this falls back to plain reflection.
+ */
+final class PropertyAccessors {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(PropertyAccessors.class);
+
+	private static final MethodType FUNCTION_TYPE = MethodType.methodType(Object.class, Object.class);
+	private static final MethodType BI_CONSUMER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+	private PropertyAccessors() {
+	}
+
+	@SuppressWarnings("unchecked")
+	static <RECORD> ValueExtractor<RECORD, Object> getter(Method getter) {
+		try {
+			MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(getter.getDeclaringClass(), MethodHandles.lookup());
+			MethodHandle handle = lookup.unreflect(getter);
+			try {
+				CallSite callSite = LambdaMetafactory.metafactory(lookup, "apply", MethodType.methodType(Function.class),
+						FUNCTION_TYPE, handle, handle.type().wrap());
+				Function<Object, Object> function = (Function<Object, Object>) callSite.getTarget().invokeExact();
+				return function::apply;
+			} catch (Throwable t) {
+				LOGGER.debug("Could not create lambda for getter {}. Using MethodHandle.", getter, t);
+				return getter(handle);
+			}
+		} catch (IllegalAccessException | RuntimeException e) {
+			LOGGER.debug("Could not create MethodHandle for getter {}. Using reflection.", getter, e);
+			return record -> ReflectionUtil.invokeMethod(record, getter);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	static <RECORD> ValueInjector<RECORD, Object> setter(Method setter) {
+		try {
+			MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(setter.getDeclaringClass(), MethodHandles.lookup());
+			MethodHandle handle = lookup.unreflect(setter);
+			try {
+				CallSite callSite = LambdaMetafactory.metafactory(lookup, "accept", MethodType.methodType(BiConsumer.class),
+						BI_CONSUMER_TYPE, handle, handle.type().wrap().changeReturnType(void.class));
+				BiConsumer<Object, Object> biConsumer = (BiConsumer<Object, Object>) callSite.getTarget().invokeExact();
+				return biConsumer::accept;
+			} catch (Throwable t) {
+				LOGGER.debug("Could not create lambda for setter {}. Using MethodHandle.", setter, t);
+				return setter(handle);
+			}
+		} catch (IllegalAccessException | RuntimeException e) {
+			LOGGER.debug("Could not create MethodHandle for setter {}. Using reflection.", setter, e);
+			return (record, value) -> ReflectionUtil.invokeMethod(record, setter, value);
+		}
+	}
+
+	static <RECORD> ValueExtractor<RECORD, Object> fieldReader(Field field) {
+		try {
+			MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(field.getDeclaringClass(), MethodHandles.lookup());
+			return getter(lookup.unreflectGetter(field));
+		} catch (IllegalAccessException | RuntimeException e) {
+			LOGGER.debug("Could not create MethodHandle for field {}. Using reflection.", field, e);
+			return record -> ReflectionUtil.readField(record, field, true);
+		}
+	}
+
+	static <RECORD> ValueInjector<RECORD, Object> fieldWriter(Field field) {
+		try {
+			MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(field.getDeclaringClass(), MethodHandles.lookup());
+			return setter(lookup.unreflectSetter(field));
+		} catch (IllegalAccessException | RuntimeException e) {
+			LOGGER.debug("Could not create MethodHandle for field {}. Using reflection.", field, e);
+			return (record, value) -> ReflectionUtil.setField(record, field, value, true);
+		}
+	}
+
+	private static <RECORD> ValueExtractor<RECORD, Object> getter(MethodHandle handle) {
+		MethodHandle genericHandle = handle.asType(FUNCTION_TYPE);
+		return record -> {
+			try {
+				return genericHandle.invokeExact((Object) record);
+			} catch (RuntimeException | Error e) {
+				throw e;
+			} catch (Throwable t) {
+				throw new RuntimeException(t);
+			}
+		};
+	}
+
+	private static <RECORD> ValueInjector<RECORD, Object> setter(MethodHandle handle) {
+		MethodHandle genericHandle = handle.asType(handle.type().changeReturnType(void.class)).asType(BI_CONSUMER_TYPE);
+		return (record, value) -> {
+			try {
+				genericHandle.invokeExact((Object) record, value);
+			} catch (RuntimeException | Error e) {
+				throw e;
+			} catch (Throwable t) {
+				throw new RuntimeException(t);
+			}
+		};
+	}
+}
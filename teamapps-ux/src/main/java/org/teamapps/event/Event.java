@@ -25,9 +25,9 @@ import org.teamapps.ux.session.CurrentSessionContext;
 import org.teamapps.ux.session.SessionContext;
 
 import java.lang.ref.WeakReference;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
-import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -47,20 +47,35 @@ import java.util.function.Function;
  * </ul>
  * You can prevent a listener from being bound to the current SessionContext,
  * by using one of the {@link #addListener(Consumer, boolean) addListener(..., boolean bindToSessionContext)} methods.
+ * <p>
+ * <h2>Debugging</h2>
+ * If the system property <code>teamapps.event.captureCreationSites</code> is set to <code>true</code>, every event remembers
+ * the stack frame it was created at (see {@link #toString()}). This is off by default, since events are created in large numbers.
  *
  * @param <EVENT_DATA> The type of data this event fires.
  */
 public class Event<EVENT_DATA> {
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(Event.class);
-	private final String source; // for debugging
+	private static final boolean CAPTURE_CREATION_SITES = Boolean.getBoolean("teamapps.event.captureCreationSites");
+	private static final Consumer<?>[] NO_LISTENERS = new Consumer<?>[0];
+
+	private final StackWalker.StackFrame creationSite; // for debugging, null unless CAPTURE_CREATION_SITES
+
+	/*
+	 * Copy-on-write listener storage that does not copy on every addition:
+	 * Additions are appended to the free capacity of the current array, which is safe since readers never read beyond the
+	 * listenerCount they have seen before reading the array. Removals always create a new array, so arrays that are being
+	 * iterated are never changed below the count read by the iterating thread. Modifications are synchronized on this event.
+	 */
+	@SuppressWarnings("unchecked")
+	private volatile Consumer<EVENT_DATA>[] listeners = (Consumer<EVENT_DATA>[]) NO_LISTENERS;
+	private volatile int listenerCount;
 
-	private final List<Consumer<EVENT_DATA>> listeners = new CopyOnWriteArrayList<>();
 	private EVENT_DATA lastEventData;
 
 	public Event() {
-		StackTraceElement stackTraceElement = new Exception().getStackTrace()[1];
-		this.source = stackTraceElement.getFileName() + stackTraceElement.getLineNumber();
+		this.creationSite = CAPTURE_CREATION_SITES ? CreationSiteCapture.capture() : null;
 	}
 
 	public Disposable addListener(Consumer<EVENT_DATA> listener) {
@@ -70,11 +85,11 @@ public class Event<EVENT_DATA> {
 	public Disposable addListener(Consumer<EVENT_DATA> listener, boolean bindToSessionContext) {
 		SessionContext currentSessionContext;
 		if (bindToSessionContext && (currentSessionContext = CurrentSessionContext.getOrNull()) != null) {
-			listeners.add(new SessionContextAwareEventListener<>(currentSessionContext, listener));
+			addListenerInternal(new SessionContextAwareEventListener<>(currentSessionContext, listener));
 			removeWhenSessionDestroyed(listener, currentSessionContext);
 		} else {
 			// just add the listener. It will get called with whatever context is active at firing time
-			listeners.add(listener);
+			addListenerInternal(listener);
 		}
 		return () -> removeListener(listener);
 	}
@@ -100,7 +115,8 @@ public class Event<EVENT_DATA> {
 	}
 
 	List<Consumer<EVENT_DATA>> getListeners() {
-		return listeners;
+		int count = listenerCount;
+		return Arrays.asList(Arrays.copyOf(listeners, count));
 	}
 
 	/**
@@ -116,8 +132,36 @@ public class Event<EVENT_DATA> {
 	 */
 	@Deprecated
 	public void removeListener(Consumer<EVENT_DATA> listener) {
-		listeners.remove(listener); // in case it is not bound to a session
-		listeners.remove(new SessionContextAwareEventListener<>(listener));
+		removeListenerInternal(listener); // in case it is not bound to a session
+		removeListenerInternal(new SessionContextAwareEventListener<>(listener));
+	}
+
+	private synchronized void addListenerInternal(Consumer<EVENT_DATA> listener) {
+		int count = listenerCount;
+		Consumer<EVENT_DATA>[] listeners = this.listeners;
+		if (count == listeners.length) {
+			listeners = Arrays.copyOf(listeners, Math.max(2, count * 2));
+			listeners[count] = listener;
+			this.listeners = listeners;
+		} else {
+			listeners[count] = listener;
+		}
+		listenerCount = count + 1; // publishes the new listener
+	}
+
+	@SuppressWarnings("unchecked")
+	private synchronized void removeListenerInternal(Object listener) {
+		int count = listenerCount;
+		Consumer<EVENT_DATA>[] listeners = this.listeners;
+		for (int i = 0; i < count; i++) {
+			if (listener.equals(listeners[i])) {
+				Consumer<EVENT_DATA>[] newListeners = count == 1 ? (Consumer<EVENT_DATA>[]) NO_LISTENERS : Arrays.copyOf(listeners, count - 1);
+				System.arraycopy(listeners, i + 1, newListeners, i, count - i - 1);
+				this.listeners = newListeners;
+				listenerCount = count - 1;
+				return;
+			}
+		}
 	}
 
 	/**
@@ -128,7 +172,7 @@ public class Event<EVENT_DATA> {
 			// use a weak reference here, so the fact that this is registered to the sessionContext's destroyed event
 			// does not mean it has to survive (not being garbage collected) as long as the session context.
 			WeakReference<Consumer<EVENT_DATA>> listenerWeakReference = new WeakReference<>(listener);
-			currentSessionContext.onDestroyed.listeners.add(aVoid -> {
+			currentSessionContext.onDestroyed.addListenerInternal(aVoid -> {
 				Consumer<EVENT_DATA> l = listenerWeakReference.get();
 				if (l != null) {
 					removeListener(l);
@@ -139,14 +183,25 @@ public class Event<EVENT_DATA> {
 
 	public void fire(EVENT_DATA eventData) {
 		this.lastEventData = eventData;
-		for (Consumer<EVENT_DATA> listener : listeners) {
-			invokeListener(eventData, listener);
+		int count = listenerCount; // read before the array! See the listeners field.
+		Consumer<EVENT_DATA>[] listeners = this.listeners;
+		for (int i = 0; i < count && i < listeners.length; i++) {
+			Consumer<EVENT_DATA> listener = listeners[i];
+			if (listener != null) { // concurrent removal
+				invokeListener(eventData, listener);
+			}
 		}
 	}
 
 	public void fireIgnoringExceptions(EVENT_DATA eventData) {
 		this.lastEventData = eventData;
-		for (Consumer<EVENT_DATA> listener : listeners) {
+		int count = listenerCount; // read before the array! See the listeners field.
+		Consumer<EVENT_DATA>[] listeners = this.listeners;
+		for (int i = 0; i < count && i < listeners.length; i++) {
+			Consumer<EVENT_DATA> listener = listeners[i];
+			if (listener == null) { // concurrent removal
+				continue;
+			}
 			try {
 				invokeListener(eventData, listener);
 			} catch (Exception e) {
@@ -178,6 +233,36 @@ public class Event<EVENT_DATA> {
 		return newEvent;
 	}
 
+	/**
+	 * @return the stack frame this event was created at, or null if creation sites are not captured.
+	 */
+	StackWalker.StackFrame getCreationSite() {
+		return creationSite;
+	}
+
+	@Override
+	public String toString() {
+		if (creationSite != null) {
+			return getClass().getSimpleName() + "@" + creationSite.getFileName() + ":" + creationSite.getLineNumber();
+		} else {
+			return super.toString();
+		}
+	}
+
+	/**
+	 * Only initialized (lazy holder) if creation sites are captured.
+	 */
+	private static class CreationSiteCapture {
+		private static final StackWalker STACK_WALKER = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+
+		static StackWalker.StackFrame capture() {
+			return STACK_WALKER.walk(frames -> frames
+					.dropWhile(frame -> Event.class.isAssignableFrom(frame.getDeclaringClass()))
+					.findFirst()
+					.orElse(null));
+		}
+	}
+
 	private static class SessionContextAwareEventListener<EVENT_DATA> implements Consumer<EVENT_DATA> {
 
 		private final SessionContext sessionContext;
@@ -19,46 +19,65 @@
  */
 package org.teamapps.uisession;
 
-import com.fasterxml.jackson.annotation.JsonProperty;
-import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
 
-public class CMD {
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 
-	private int id;
-
-	@JsonRawValue
-	@JsonProperty("c")
-	private String uiCommand;
+/**
+ * A serialized UI command as it is buffered and sent to the client.
+ * <p>
+ * The command itself is held as UTF-8 encoded JSON and written to the outgoing message as a raw value,
+ * so it does not need to be encoded a second time when assembling a {@link org.teamapps.dto.MULTI_CMD}.
+ */
+@JsonSerialize(using = CMD.Serializer.class)
+public final class CMD {
 
-	@JsonProperty("r")
+	private final int id;
+	private final byte[] uiCommand; // UTF-8 encoded JSON
 	private Boolean awaitsResponse; // nullable! (for message size reasons)
+	private final Object coalescingKey; // not sent to the client
+
+	public CMD(int id, byte[] uiCommand) {
+		this(id, uiCommand, null);
+	}
 
 	/**
-	 * @deprecated Only for Jackson deserialization. Use the other constructor instead.
+	 * @param coalescingKey if not null, this command supersedes any not yet sent command with an equal coalescing key.
 	 */
-	@Deprecated
-	public CMD() {
-		// default constructor for Jackson
+	public CMD(int id, byte[] uiCommand, Object coalescingKey) {
+		this.id = id;
+		this.uiCommand = uiCommand;
+		this.coalescingKey = coalescingKey;
 	}
 
 	public CMD(int id, String uiCommand) {
-		this.id = id;
-		this.uiCommand = uiCommand;
+		this(id, uiCommand.getBytes(StandardCharsets.UTF_8));
 	}
 
 	@Override
 	public String toString() {
-		return "CMD{uiCommand='" + uiCommand.substring(0, Math.min(uiCommand.length(), 20)) + '\'' + ", id=" + id + '}';
+		return "CMD{uiCommand='" + new String(uiCommand, 0, Math.min(uiCommand.length, 20), StandardCharsets.UTF_8) + '\'' + ", id=" + id + '}';
 	}
 
 	public int getId() {
 		return id;
 	}
 
-	public String getUiCommand() {
+	/**
+	 * @return the UTF-8 encoded JSON of the command. Do not modify!
+	 */
+	public byte[] getUiCommand() {
 		return uiCommand;
 	}
 
+	public Object getCoalescingKey() {
+		return coalescingKey;
+	}
+
 	public Boolean getAwaitsResponse() {
 		return awaitsResponse;
 	}
@@ -66,4 +85,23 @@ public class CMD {
 	public void setAwaitsResponse(Boolean awaitsResponse) {
 		this.awaitsResponse = awaitsResponse;
 	}
+
+	public static class Serializer extends StdSerializer<CMD> {
+
+		public Serializer() {
+			super(CMD.class);
+		}
+
+		@Override
+		public void serialize(CMD cmd, JsonGenerator gen, SerializerProvider provider) throws IOException {
+			gen.writeStartObject();
+			gen.writeNumberField("id", cmd.id);
+			gen.writeFieldName("c");
+			gen.writeRawValue(new RawUtf8Json(cmd.uiCommand));
+			if (cmd.awaitsResponse != null) {
+				gen.writeBooleanField("r", cmd.awaitsResponse);
+			}
+			gen.writeEndObject();
+		}
+	}
 }
@@ -0,0 +1,50 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2023 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.uisession;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sums of the command buffer counts of many {@link UiSession}s.
+ * <p>
+ * The sessions report changes of their counts themselves, so reading the sums does not require iterating all sessions.
+ */
+public class CommandBufferCounters {
+
+	private final LongAdder bufferedCommandsCount = new LongAdder();
+	private final LongAdder unconsumedCommandsCount = new LongAdder();
+
+	void add(int bufferedCommandsDelta, int unconsumedCommandsDelta) {
+		if (bufferedCommandsDelta != 0) {
+			bufferedCommandsCount.add(bufferedCommandsDelta);
+		}
+		if (unconsumedCommandsDelta != 0) {
+			unconsumedCommandsCount.add(unconsumedCommandsDelta);
+		}
+	}
+
+	public int getBufferedCommandsCount() {
+		return bufferedCommandsCount.intValue();
+	}
+
+	public int getUnconsumedCommandsCount() {
+		return unconsumedCommandsCount.intValue();
+	}
+}
@@ -0,0 +1,132 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2023 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.uisession;
+
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Already serialized, UTF-8 encoded JSON, to be written to a {@link com.fasterxml.jackson.core.JsonGenerator} as raw value.
+ * <p>
+ * Byte-based generators copy the bytes directly into their output buffer.
+ * Character-based generators (e.g. when serializing to a String) fall back to {@link #getValue()}.
+ */
+class RawUtf8Json implements SerializableString {
+
+	private final byte[] utf8Bytes;
+
+	RawUtf8Json(byte[] utf8Bytes) {
+		this.utf8Bytes = utf8Bytes;
+	}
+
+	@Override
+	public String getValue() {
+		return new String(utf8Bytes, StandardCharsets.UTF_8);
+	}
+
+	@Override
+	public int charLength() {
+		return getValue().length();
+	}
+
+	@Override
+	public char[] asQuotedChars() {
+		return JsonStringEncoder.getInstance().quoteAsString(getValue());
+	}
+
+	@Override
+	public byte[] asUnquotedUTF8() {
+		return utf8Bytes;
+	}
+
+	@Override
+	public byte[] asQuotedUTF8() {
+		return JsonStringEncoder.getInstance().quoteAsUTF8(getValue());
+	}
+
+	@Override
+	public int appendQuotedUTF8(byte[] buffer, int offset) {
+		return appendBytes(asQuotedUTF8(), buffer, offset);
+	}
+
+	@Override
+	public int appendQuoted(char[] buffer, int offset) {
+		return -1;
+	}
+
+	@Override
+	public int appendUnquotedUTF8(byte[] buffer, int offset) {
+		return appendBytes(utf8Bytes, buffer, offset);
+	}
+
+	@Override
+	public int appendUnquoted(char[] buffer, int offset) {
+		return -1;
+	}
+
+	@Override
+	public int writeQuotedUTF8(OutputStream out) throws IOException {
+		byte[] bytes = asQuotedUTF8();
+		out.write(bytes);
+		return bytes.length;
+	}
+
+	@Override
+	public int writeUnquotedUTF8(OutputStream out) throws IOException {
+		out.write(utf8Bytes);
+		return utf8Bytes.length;
+	}
+
+	@Override
+	public int putQuotedUTF8(ByteBuffer buffer) {
+		return putBytes(asQuotedUTF8(), buffer);
+	}
+
+	@Override
+	public int putUnquotedUTF8(ByteBuffer buffer) {
+		return putBytes(utf8Bytes, buffer);
+	}
+
+	private static int appendBytes(byte[] bytes, byte[] buffer, int offset) {
+		if (offset + bytes.length > buffer.length) {
+			return -1;
+		}
+		System.arraycopy(bytes, 0, buffer, offset, bytes.length);
+		return bytes.length;
+	}
+
+	private static int putBytes(byte[] bytes, ByteBuffer buffer) {
+		if (bytes.length > buffer.remaining()) {
+			return -1;
+		}
+		buffer.put(bytes);
+		return bytes.length;
+	}
+
+	@Override
+	public String toString() {
+		return getValue();
+	}
+}
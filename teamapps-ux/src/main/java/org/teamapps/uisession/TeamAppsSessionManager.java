@@ -63,6 +63,7 @@ public class TeamAppsSessionManager implements HttpSessionListener {
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(TeamAppsSessionManager.class);
 	public static final String TEAMAPPS_VERSION_REFRESH_PARAMETER = "teamappsRefresh"; // keep in-sync with JavaScript!!!
+	private static final long STATS_UPDATE_INTERVAL_MILLIS = 10_000;
 
 	public final Event<SessionStatsUpdatedEventData> onStatsUpdated = new Event<>();
 
@@ -72,6 +73,17 @@ public class TeamAppsSessionManager implements HttpSessionListener {
 
 	private final Map<String, SessionPair> sessionsById = new ConcurrentHashMap<>();
 	private final Deque<UiSessionStats> closedSessionsStatistics = Queues.synchronizedDeque(new ArrayDeque<>());
+	private final CommandBufferCounters commandBufferCounters = new CommandBufferCounters();
+
+	/**
+	 * Deadlines at which the sessions' states need to be checked again, so each housekeeping run only touches sessions
+	 * that might have changed their state. Timestamps of client messages are not tracked here. Instead, a session's
+	 * timer is rescheduled according to its latest activity when it expires, or when a message from the client makes
+	 * a nearly inactive or inactive session active again.
+	 */
+	private final DelayQueue<SessionTimer> sessionStateTimers = new DelayQueue<>();
+	private final Map<String, SessionTimer> currentSessionStateTimersBySessionId = new ConcurrentHashMap<>();
+	private final DelayQueue<SessionTimer> sessionStatsTimers = new DelayQueue<>();
 
 	private final SequentialExecutorFactory sessionExecutorFactory;
 	private final WebController webController;
@@ -110,19 +122,24 @@ public class TeamAppsSessionManager implements HttpSessionListener {
 					} catch (Exception e) {
 						LOGGER.error("Exception while updating session states!", e);
 					}
+					try {
+						this.updateExpiredSessionStats();
+					} catch (Exception e) {
+						LOGGER.error("Exception while updating session stats!", e);
+					}
 				},
 				sessionStateHouseKeepingInterval, sessionStateHouseKeepingInterval, TimeUnit.MILLISECONDS
 		);
 		this.houseKeepingScheduledExecutor.scheduleAtFixedRate(
 				() -> {
 					try {
-						sessionsById.values().forEach(s -> s.getUiSession().updateStats());
+						// the sessions' stats are updated in a staggered way (see updateExpiredSessionStats())
 						onStatsUpdated.fire(new SessionStatsUpdatedEventData(getAllSessions(), getClosedSessionsStatistics()));
 					} catch (Exception e) {
 						LOGGER.error("Exception while flushing stats!", e);
 					}
 				},
-				10, 10, TimeUnit.SECONDS
+				STATS_UPDATE_INTERVAL_MILLIS, STATS_UPDATE_INTERVAL_MILLIS, TimeUnit.MILLISECONDS
 		);
 
 		this.sessionExecutorFactory = sessionExecutorFactory;
@@ -156,17 +173,11 @@ public class TeamAppsSessionManager implements HttpSessionListener {
 	}
 
 	public int getBufferedCommandsCount() {
-		return sessionsById.values().stream()
-				.map(SessionPair::getUiSession)
-				.mapToInt(uiSession -> uiSession.getClientBackPressureInfo().getBufferedCommandsCount())
-				.sum();
+		return commandBufferCounters.getBufferedCommandsCount();
 	}
 
 	public int getUnconsumedCommandsCount() {
-		return sessionsById.values().stream()
-				.map(SessionPair::getUiSession)
-				.mapToInt(uiSession -> uiSession.getClientBackPressureInfo().getUnconsumedCommandsCount())
-				.sum();
+		return commandBufferCounters.getUnconsumedCommandsCount();
 	}
 
 	public int getNumberOfAvailableClosedSessionStatistics() {
@@ -189,12 +200,15 @@ public class TeamAppsSessionManager implements HttpSessionListener {
 		LOGGER.trace("initSession: sessionId = [" + sessionId + "], clientInfo = [" + clientInfo + "], "
 				+ "maxRequestedCommandId = [" + maxRequestedCommandId + "], messageSender = [" + messageSender + "]");
 
-		UiSession uiSession = new UiSession(sessionId, System.currentTimeMillis(), config, objectMapper, messageSender);
+		UiSession uiSession = new UiSession(sessionId, System.currentTimeMillis(), config, objectMapper, messageSender, commandBufferCounters);
 		uiSession.addSessionListener(new UiSessionListener() {
 			@Override
 			public void onStateChanged(String sessionId, UiSessionState state) {
-				if (state == CLOSED) {
+				if (state == ACTIVE) {
+					scheduleSessionStateTimer(uiSession, ACTIVE);
+				} else if (state == CLOSED) {
 					sessionsById.remove(uiSession.getSessionId());
+					currentSessionStateTimersBySessionId.remove(uiSession.getSessionId());
 					closedSessionsStatistics.addLast(uiSession.getStatistics().immutableCopy());
 					while (closedSessionsStatistics.size() > 10_000) {
 						closedSessionsStatistics.removeFirst();
@@ -222,6 +236,8 @@ public class TeamAppsSessionManager implements HttpSessionListener {
 		}
 
 		sessionsById.put(sessionId, new SessionPair(uiSession, sessionContext));
+		scheduleSessionStateTimer(uiSession, ACTIVE);
+		sessionStatsTimers.add(new SessionTimer(uiSession, System.currentTimeMillis() + STATS_UPDATE_INTERVAL_MILLIS));
 
 		uiSession.sendInitOk();
 
@@ -244,44 +260,88 @@ public class TeamAppsSessionManager implements HttpSessionListener {
 	}
 
 	public void updateSessionStates() {
-		long now = System.currentTimeMillis();
-		Map<UiSessionState, List<UiSession>> sessionsByActivity;
-		List<UiSession> sessionsToClose;
-		long nearlyInactiveTimeout = config.getUiSessionInactivityTimeoutMillis() - config.getUiSessionPreInactivityPingMillis();
-		sessionsByActivity = sessionsById.values().stream()
-				.map(SessionPair::getUiSession)
-				.collect(Collectors.groupingBy(session -> {
-					long timeSinceLastMessage = now - session.getTimestampOfLastMessageFromClient();
-					return timeSinceLastMessage > config.getUiSessionInactivityTimeoutMillis() ? INACTIVE
-							: timeSinceLastMessage > nearlyInactiveTimeout ? NEARLY_INACTIVE
-							: ACTIVE;
-				}));
-		sessionsToClose = sessionsById.values().stream()
-				.map(SessionPair::getUiSession)
-				.filter(session -> now - session.getTimestampOfLastMessageFromClient() > config.getUiSessionTimeoutMillis())
-				.collect(Collectors.toList());
-		for (UiSession inactiveSession : sessionsByActivity.getOrDefault(INACTIVE, List.of())) {
-			if (inactiveSession.getState() != INACTIVE) {
-				LOGGER.info("Marking session inactive: {} ({})", inactiveSession.getName(), inactiveSession.getSessionId());
-				inactiveSession.setInactive();
+		SessionTimer timer;
+		while ((timer = sessionStateTimers.poll()) != null) {
+			UiSession session = timer.getSession();
+			if (currentSessionStateTimersBySessionId.get(session.getSessionId()) != timer) {
+				continue; // superseded by a newer timer or session closed
 			}
-		}
-		for (UiSession criticalSession : sessionsByActivity.getOrDefault(NEARLY_INACTIVE, List.of())) {
-			if (criticalSession.getState() != NEARLY_INACTIVE) {
-				LOGGER.info("Marking session nearly inactive and sending PING to client: {} ({})", criticalSession.getName(), criticalSession.getSessionId());
-				criticalSession.setNearlyInactive();
-				criticalSession.ping();
+			UiSessionState activityState = updateSessionState(session);
+			if (activityState == CLOSED) {
+				currentSessionStateTimersBySessionId.remove(session.getSessionId(), timer);
+			} else {
+				scheduleSessionStateTimer(session, activityState);
 			}
 		}
-		for (UiSession activeSession : sessionsByActivity.getOrDefault(ACTIVE, List.of())) {
-			if (activeSession.getState() != ACTIVE) {
-				LOGGER.info("Marking session active: {} ({})", activeSession.getName(), activeSession.getSessionId());
-				activeSession.setActive();
-			}
+	}
+
+	/**
+	 * Applies the state change implied by the time since the last message from the client.
+	 *
+	 * @return the session's activity state or {@link UiSessionState#CLOSED} if the session got closed
+	 */
+	private UiSessionState updateSessionState(UiSession session) {
+		if (session.getState() == CLOSED) { // closed concurrently
+			return CLOSED;
+		}
+		long timeSinceLastMessage = System.currentTimeMillis() - session.getTimestampOfLastMessageFromClient();
+		UiSessionState activityState = timeSinceLastMessage > config.getUiSessionInactivityTimeoutMillis() ? INACTIVE
+				: timeSinceLastMessage > getNearlyInactiveTimeoutMillis() ? NEARLY_INACTIVE
+				: ACTIVE;
+		if (activityState == INACTIVE && session.getState() != INACTIVE) {
+			LOGGER.info("Marking session inactive: {} ({})", session.getName(), session.getSessionId());
+			session.setInactive();
+		} else if (activityState == NEARLY_INACTIVE && session.getState() != NEARLY_INACTIVE) {
+			LOGGER.info("Marking session nearly inactive and sending PING to client: {} ({})", session.getName(), session.getSessionId());
+			session.setNearlyInactive();
+			session.ping();
+		} else if (activityState == ACTIVE && session.getState() != ACTIVE) {
+			LOGGER.info("Marking session active: {} ({})", session.getName(), session.getSessionId());
+			session.setActive();
+		}
+		if (timeSinceLastMessage > config.getUiSessionTimeoutMillis()) {
+			LOGGER.info("Closing session: {} ({})", session.getName(), session.getSessionId());
+			session.close(UiSessionClosingReason.SESSION_TIMEOUT);
+			return CLOSED;
+		}
+		return activityState;
+	}
+
+	private long getNearlyInactiveTimeoutMillis() {
+		return config.getUiSessionInactivityTimeoutMillis() - config.getUiSessionPreInactivityPingMillis();
+	}
+
+	/**
+	 * Schedules the next check of the session's state, at the time it will pass the next timeout (if there is no further client activity).
+	 */
+	private void scheduleSessionStateTimer(UiSession session, UiSessionState activityState) {
+		if (session.getState() == CLOSED) {
+			return;
 		}
-		for (UiSession sessionToClose : sessionsToClose) {
-			LOGGER.info("Closing session: {} ({})", sessionToClose.getName(), sessionToClose.getSessionId());
-			sessionToClose.close(UiSessionClosingReason.SESSION_TIMEOUT);
+		long timeout = activityState == ACTIVE ? getNearlyInactiveTimeoutMillis()
+				: activityState == NEARLY_INACTIVE ? config.getUiSessionInactivityTimeoutMillis()
+				: config.getUiSessionTimeoutMillis();
+		SessionTimer timer = new SessionTimer(session, session.getTimestampOfLastMessageFromClient() + timeout + 1);
+		currentSessionStateTimersBySessionId.put(session.getSessionId(), timer);
+		if (session.getState() == CLOSED) { // closed concurrently, possibly after the CLOSED listener removed the previous timer
+			currentSessionStateTimersBySessionId.remove(session.getSessionId(), timer);
+			return;
+		}
+		sessionStateTimers.add(timer);
+	}
+
+	/**
+	 * Updates the stats of the sessions that were last updated {@link #STATS_UPDATE_INTERVAL_MILLIS} ago.
+	 * Each session has its own interval, so not all sessions get updated at once.
+	 */
+	public void updateExpiredSessionStats() {
+		SessionTimer timer;
+		while ((timer = sessionStatsTimers.poll()) != null) {
+			UiSession session = timer.getSession();
+			if (sessionsById.containsKey(session.getSessionId())) {
+				session.updateStats();
+				sessionStatsTimers.add(new SessionTimer(session, System.currentTimeMillis() + STATS_UPDATE_INTERVAL_MILLIS));
+			}
 		}
 	}
 
@@ -301,8 +361,33 @@ public class TeamAppsSessionManager implements HttpSessionListener {
 				httpSession,
 				uxServerContext,
 				new SessionIconProvider(iconProvider),
-				navigationPathPrefix, new ParameterConverterProvider()
+				navigationPathPrefix, new ParameterConverterProvider(),
+				config.getClientObjectIdFormat()
 		);
 	}
 
+	private static class SessionTimer implements Delayed {
+		private final UiSession session;
+		private final long deadline;
+
+		public SessionTimer(UiSession session, long deadline) {
+			this.session = session;
+			this.deadline = deadline;
+		}
+
+		public UiSession getSession() {
+			return session;
+		}
+
+		@Override
+		public long getDelay(TimeUnit unit) {
+			return unit.convert(deadline - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+		}
+
+		@Override
+		public int compareTo(Delayed o) {
+			return Long.compare(deadline, ((SessionTimer) o).deadline);
+		}
+	}
+
 }
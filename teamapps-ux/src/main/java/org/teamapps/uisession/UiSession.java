@@ -30,6 +30,7 @@ import org.teamapps.uisession.commandbuffer.CommandBufferException;
 import org.teamapps.uisession.statistics.RunningUiSessionStats;
 
 import java.lang.invoke.MethodHandles;
+import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -53,11 +54,15 @@ public class UiSession {
 
 	private final CommandBuffer commandBuffer;
 	private final AtomicInteger commandIdCounter = new AtomicInteger();
+	private final CommandBufferCounters commandBufferCounters;
+	private int reportedBufferedCommandsCount; // guarded by this
+	private int reportedUnconsumedCommandsCount; // guarded by this
 
 	private final AtomicLong timestampOfLastMessageFromClient = new AtomicLong();
 	private int lastReceivedClientMessageId;
 	private boolean clientReadyToReceiveCommands = true;
-	private UiSessionState state = UiSessionState.ACTIVE;
+	private volatile UiSessionState state = UiSessionState.ACTIVE; // only changed while holding stateLock
+	private final Object stateLock = new Object();
 
 	private int maxRequestedCommandId = 0;
 	private int lastSentCommandId;
@@ -78,7 +83,16 @@ public class UiSession {
 	private final RunningUiSessionStats statistics;
 
 	public UiSession(String sessionId, long creationTime, TeamAppsConfiguration config, ObjectMapper objectMapper, MessageSender messageSender) {
+		this(sessionId, creationTime, config, objectMapper, messageSender, new CommandBufferCounters());
+	}
+
+	/**
+	 * @param commandBufferCounters counters (usually shared by all sessions) that this session reports its command buffer counts to
+	 */
+	public UiSession(String sessionId, long creationTime, TeamAppsConfiguration config, ObjectMapper objectMapper, MessageSender messageSender,
+					 CommandBufferCounters commandBufferCounters) {
 		this.sessionId = sessionId;
+		this.commandBufferCounters = commandBufferCounters;
 		this.name = sessionId.toString();
 		this.config = config;
 		this.objectMapper = objectMapper;
@@ -123,8 +137,9 @@ public class UiSession {
 			LOGGER.debug("Sending command ({}): {} to {}", sessionId.toString().substring(0, 8), commandWithCallback.getUiCommand().toString(), commandWithCallback.getUiCommand().getComponentId());
 		}
 		statistics.commandSent(commandWithCallback.getUiCommand());
-		CMD cmd = createCMD(commandWithCallback);
+		byte[] serializedCommand = serializeCommand(commandWithCallback.getUiCommand());
 		synchronized (this) {
+			CMD cmd = createCMD(serializedCommand, commandWithCallback);
 			try {
 				commandBuffer.addCommand(cmd);
 			} catch (CommandBufferException e) {
@@ -133,6 +148,7 @@ public class UiSession {
 				return -1;
 			}
 			sendAllQueuedCommandsIfPossible();
+			reportCommandBufferCounts();
 			return commandBuffer.getUnconsumedCommandsCount();
 		}
 	}
@@ -151,26 +167,50 @@ public class UiSession {
 		}
 	}
 
-	private CMD createCMD(UiCommandWithResultCallback commandWithCallback) {
-		CMD cmd;
+	private byte[] serializeCommand(UiCommand<?> uiCommand) {
 		try {
-			int cmdId = commandIdCounter.incrementAndGet();
-			cmd = new CMD(cmdId, objectMapper.writeValueAsString(commandWithCallback.getUiCommand()));
-
-			if (commandWithCallback.getResultCallback() != null) {
-				cmd.setAwaitsResponse(true);
-				resultCallbacksByCmdId.put(cmdId, new ResultCallbackWithCommandClass(commandWithCallback.getResultCallback(), commandWithCallback.getUiCommand().getClass()));
-			}
+			return objectMapper.writeValueAsBytes(uiCommand);
 		} catch (JsonProcessingException e) {
 			throw new RuntimeException(e);
 		}
-		return cmd;
+	}
+
+	/**
+	 * Needs to be called while holding the lock, so command ids are consecutive inside the command buffer.
+	 */
+	private CMD createCMD(byte[] serializedCommand, UiCommandWithResultCallback commandWithCallback) {
+		int cmdId = commandIdCounter.incrementAndGet();
+		UiCommand<?> uiCommand = commandWithCallback.getUiCommand();
+		if (commandWithCallback.getResultCallback() != null) {
+			CMD cmd = new CMD(cmdId, serializedCommand);
+			cmd.setAwaitsResponse(true);
+			resultCallbacksByCmdId.put(cmdId, new ResultCallbackWithCommandClass(commandWithCallback.getResultCallback(), uiCommand.getClass()));
+			return cmd;
+		} else if (uiCommand instanceof UiIdempotentCommand) {
+			return new CMD(cmdId, serializedCommand, new AbstractMap.SimpleImmutableEntry<>(uiCommand.getComponentId(), uiCommand.getClass()));
+		} else {
+			return new CMD(cmdId, serializedCommand);
+		}
+	}
+
+	/**
+	 * Needs to be called while holding the lock, after changing the command buffer.
+	 */
+	private void reportCommandBufferCounts() {
+		boolean closed = state == UiSessionState.CLOSED; // closed sessions do not count anymore
+		int bufferedCommandsCount = closed ? 0 : commandBuffer.getBufferedCommandsCount();
+		int unconsumedCommandsCount = closed ? 0 : commandBuffer.getUnconsumedCommandsCount();
+		commandBufferCounters.add(bufferedCommandsCount - reportedBufferedCommandsCount, unconsumedCommandsCount - reportedUnconsumedCommandsCount);
+		reportedBufferedCommandsCount = bufferedCommandsCount;
+		reportedUnconsumedCommandsCount = unconsumedCommandsCount;
 	}
 
 	public boolean rewindToCommand(int commandId) {
 		synchronized (this) {
 			this.lastSentCommandId = commandId - 1;
-			return commandBuffer.rewindToCommand(commandId);
+			boolean success = commandBuffer.rewindToCommand(commandId);
+			reportCommandBufferCounts();
+			return success;
 		}
 	}
 
@@ -197,6 +237,7 @@ public class UiSession {
 						break;
 					}
 				}
+				reportCommandBufferCounts();
 			}
 			if (!cmdsToSend.isEmpty()) {
 				sendAsyncWithErrorHandler(new MULTI_CMD(cmdsToSend));
@@ -213,10 +254,11 @@ public class UiSession {
 
 	public void handleCommandRequest(int maxRequestedCommandId, Integer lastReceivedCommandIdOrNull) {
 		LOGGER.trace("UiSession.requestCommands: maxRequestedCommandId = [" + maxRequestedCommandId + "]");
-		this.timestampOfLastMessageFromClient.set(System.currentTimeMillis());
+		messageReceivedFromClient();
 		synchronized (this) {
 			if (lastReceivedCommandIdOrNull != null) {
 				this.commandBuffer.purgeTillCommand(lastReceivedCommandIdOrNull);
+				reportCommandBufferCounts();
 			}
 			this.maxRequestedCommandId = Math.max(maxRequestedCommandId, this.maxRequestedCommandId);
 			reviveConnection();
@@ -248,7 +290,7 @@ public class UiSession {
 
 	public void handleEvent(int clientMessageId, UiEvent event) {
 		statistics.eventReceived(event);
-		this.timestampOfLastMessageFromClient.set(System.currentTimeMillis());
+		messageReceivedFromClient();
 		if (LOGGER.isDebugEnabled()) {
 			LOGGER.debug("Recieved event ({}): {}", sessionId.toString().substring(0, 8), event.getUiEventType());
 		}
@@ -259,7 +301,7 @@ public class UiSession {
 
 	public void handleQuery(int clientMessageId, UiQuery query) {
 		statistics.queryReceived(query);
-		this.timestampOfLastMessageFromClient.set(System.currentTimeMillis());
+		messageReceivedFromClient();
 		if (LOGGER.isDebugEnabled()) {
 			LOGGER.debug("Recieved query ({}): {}", sessionId.toString().substring(0, 8), query.getUiQueryType());
 		}
@@ -276,7 +318,7 @@ public class UiSession {
 	}
 
 	public void handleCommandResult(int clientMessageId, int cmdId, Object result) {
-		this.timestampOfLastMessageFromClient.set(System.currentTimeMillis());
+		messageReceivedFromClient();
 		if (LOGGER.isDebugEnabled()) {
 			LOGGER.debug("Recieved command result ({}): {}", sessionId.toString().substring(0, 8), result);
 		}
@@ -314,6 +356,18 @@ public class UiSession {
 		}
 	}
 
+	/**
+	 * Records the client's activity. A nearly inactive or inactive session becomes active again right away, so
+	 * its state does not depend on when the session manager checks it next.
+	 */
+	private void messageReceivedFromClient() {
+		this.timestampOfLastMessageFromClient.set(System.currentTimeMillis());
+		UiSessionState state = this.state;
+		if ((state == UiSessionState.NEARLY_INACTIVE || state == UiSessionState.INACTIVE) && changeState(state, UiSessionState.ACTIVE)) {
+			LOGGER.info("Marked session active: {} ({})", getName(), sessionId);
+		}
+	}
+
 	public void sendAsyncWithErrorHandler(AbstractServerMessage message) {
 		final long sendTime = System.currentTimeMillis();
 		this.messageSender.sendMessageAsynchronously(message, (exception) -> {
@@ -324,7 +378,7 @@ public class UiSession {
 	}
 
 	public void handleKeepAlive() {
-		this.timestampOfLastMessageFromClient.set(System.currentTimeMillis());
+		messageReceivedFromClient();
 		this.reviveConnection();
 	}
 
@@ -345,21 +399,37 @@ public class UiSession {
 	}
 
 	public void close(UiSessionClosingReason reason) {
-		if (this.state == UiSessionState.CLOSED) {
+		if (!setState(UiSessionState.CLOSED)) {
 			return; // already closed. nothing to do
 		}
-		setState(UiSessionState.CLOSED);
+		synchronized (this) {
+			reportCommandBufferCounts();
+		}
 		failsafeInvokeSessionListeners(sl -> sl.onClosed(sessionId, reason)); // note that this is executed AFTER the state change handlers!
 		this.messageSender.close(reason, null);
 	}
 
-	private void setState(UiSessionState sessionState) {
-		boolean changed = sessionState != this.state;
-		this.state = sessionState;
-		if (changed) {
+	private boolean setState(UiSessionState sessionState) {
+		return changeState(null, sessionState);
+	}
+
+	/**
+	 * Changes the state atomically, since client messages and the session manager change it from different threads.
+	 * Closed sessions never change their state again, so they are closed (and reported as closed) exactly once.
+	 *
+	 * @param expectedState the state the session must be in, or null for any state
+	 * @return whether the state has changed
+	 */
+	private boolean changeState(UiSessionState expectedState, UiSessionState sessionState) {
+		synchronized (stateLock) {
+			if (this.state == UiSessionState.CLOSED || this.state == sessionState || (expectedState != null && this.state != expectedState)) {
+				return false;
+			}
+			this.state = sessionState;
 			statistics.stateChanged(sessionState);
-			failsafeInvokeSessionListeners(sl -> sl.onStateChanged(sessionId, sessionState));
 		}
+		failsafeInvokeSessionListeners(sl -> sl.onStateChanged(sessionId, sessionState));
+		return true;
 	}
 
 	public UiSessionState getState() {
@@ -23,81 +23,117 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.teamapps.uisession.CMD;
 
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
 /**
+ * Buffer of serialized commands (UTF-8 encoded JSON, see {@link CMD#getUiCommand()}).
+ * <p>
+ * Commands that have not been consumed yet are kept in insertion order. If a command has a
+ * {@link CMD#getCoalescingKey() coalescing key}, it replaces any unconsumed command with the same key, which is then dropped.
+ * <p>
+ * Consumed commands are kept in a ring buffer until they are purged, so the buffer can be rewound to them.
+ * Their ids are expected to be ascending and mostly consecutive. This allows looking up commands by id in constant time.
+ * The ring buffer's array grows lazily up to the maximum length, so sessions that only buffer a few commands do not pay for
+ * the full capacity.
+ * <p>
  * NOT THREAD-SAFE! Synchronization must be provided by client code.
  */
 public class CommandBuffer {
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(CommandBuffer.class);
+	private static final int INITIAL_CAPACITY = 16;
 
-	private final int maxFillableCapacity;
+	private final int maxLength;
 	/**
-	 * The total number of characters that all commands in the command buffer of a session may hold.
-	 * Keep in mind that every character in Java takes 1 or 2 bytes of heap space (prior Java 9 always 2 bytes).
+	 * The total number of bytes (UTF-8 encoded JSON) that all commands in the command buffer of a session may hold.
 	 */
 	private final int maxTotalSize;
-	private final CMD[] buffer;
-	private int head = 0;
-	private int nextConsumable = 0;
-	private int tail = 0;
-	private boolean bufferFlippedAtLeastOnce;
-	private int totalSize = 0; // in characters
+
+	/**
+	 * Commands that have never been consumed. Keys are either the commands' coalescing keys or the commands themselves.
+	 */
+	private final LinkedHashMap<Object, CMD> neverConsumedCommands = new LinkedHashMap<>();
+
+	private CMD[] consumedCommands; // ring buffer
+	private int tail = 0; // index of the oldest command in the ring buffer
+	private int ringSize = 0; // number of commands in the ring buffer
+	private int consumedCount = 0; // number of commands in the ring buffer that count as consumed. Lower than ringSize after rewinding.
+	private boolean purgedAtLeastOnce;
+	private int totalSize = 0; // in bytes
 
 	public CommandBuffer(int maxLength, int maxTotalSize) {
-		this.maxFillableCapacity = maxLength;
+		this.maxLength = maxLength;
 		this.maxTotalSize = maxTotalSize;
-		buffer = new CMD[maxFillableCapacity + 1];
+		consumedCommands = new CMD[Math.min(maxLength, INITIAL_CAPACITY)];
 	}
 
 	public int getBufferedCommandsCount() {
-		return head - tail + (head < tail ? buffer.length : 0);
+		return ringSize + neverConsumedCommands.size();
 	}
 
 	public int getUnconsumedCommandsCount() {
-		return head - nextConsumable + (head < nextConsumable ? buffer.length : 0);
+		return ringSize - consumedCount + neverConsumedCommands.size();
 	}
 
+	/**
+	 * @return the total size of all buffered commands in bytes
+	 */
 	public int getCommandsSize() {
-		int size = 0;
-		for (int i = 0; i < buffer.length; i++) {
-			if (buffer[i] != null) {
-				size += buffer[i].getUiCommand().length();
-			}
-		}
-		return size;
+		return totalSize;
 	}
 
 	public void addCommand(CMD command) throws CommandBufferException {
-		while (totalSize + command.getUiCommand().length() > maxTotalSize) {
+		Object key = command.getCoalescingKey() != null ? command.getCoalescingKey() : command;
+		CMD supersededCommand = neverConsumedCommands.remove(key);
+		if (supersededCommand != null) {
+			totalSize -= supersededCommand.getUiCommand().length;
+		}
+		int commandSize = command.getUiCommand().length;
+		while (totalSize + commandSize > maxTotalSize) {
 			if (!tryPurgingNextCommandFromTail()) {
-				throw new CommandBufferSizeOverflowException("Command buffer SIZE overflow. Max total size: " + maxTotalSize + " characters");
+				throw new CommandBufferSizeOverflowException("Command buffer SIZE overflow. Max total size: " + maxTotalSize + " bytes");
 			}
 		}
-		if (getBufferedCommandsCount() == maxFillableCapacity) {
+		if (getBufferedCommandsCount() == maxLength) {
 			if (!tryPurgingNextCommandFromTail()) {
-				throw new CommandBufferLengthOverflowException("Command buffer LENGTH overflow. Max capacity: " + maxFillableCapacity);
+				throw new CommandBufferLengthOverflowException("Command buffer LENGTH overflow. Max capacity: " + maxLength);
 			}
 		}
-		buffer[head] = command;
-		if (head + 1 == buffer.length) {
-			bufferFlippedAtLeastOnce = true;
-		}
-		head = (head + 1) % buffer.length;
-		totalSize += command.getUiCommand().length();
+		neverConsumedCommands.put(key, command);
+		totalSize += commandSize;
 	}
 
 	public CMD consumeCommand() {
-		if (getBufferedCommandsCount() > 0 && nextConsumable != head) {
-			CMD command = buffer[nextConsumable];
-			nextConsumable = (nextConsumable + 1) % buffer.length;
+		if (consumedCount < ringSize) {
+			return consumedCommands[index(consumedCount++)];
+		} else if (!neverConsumedCommands.isEmpty()) {
+			Iterator<CMD> iterator = neverConsumedCommands.values().iterator();
+			CMD command = iterator.next();
+			iterator.remove();
+			if (ringSize == consumedCommands.length) {
+				grow();
+			}
+			consumedCommands[index(ringSize)] = command;
+			ringSize++;
+			consumedCount++;
 			return command;
 		} else {
 			return null;
 		}
 	}
 
+	private void grow() {
+		CMD[] newBuffer = new CMD[(int) Math.min(maxLength, consumedCommands.length * 2L)];
+		for (int i = 0; i < ringSize; i++) {
+			newBuffer[i] = consumedCommands[index(i)];
+		}
+		consumedCommands = newBuffer;
+		tail = 0;
+	}
+
 	public void purgeTillCommand(int commandIdExclusive) {
-		while (buffer[tail].getId() != commandIdExclusive) {
+		while (ringSize > 0 && consumedCommands[tail].getId() != commandIdExclusive) {
 			if (!tryPurgingNextCommandFromTail()) {
 				LOGGER.error("Will not purge next consumable command!");
 				return;
@@ -106,46 +142,77 @@ public class CommandBuffer {
 	}
 
 	private boolean tryPurgingNextCommandFromTail() {
-		if (tail == nextConsumable) {
+		if (consumedCount == 0) {
 			return false;
 		}
-		CMD cmd = buffer[tail];
-		buffer[tail] = null;
-		tail = (tail + 1) % buffer.length;
-		totalSize -= cmd.getUiCommand().length();
+		CMD cmd = consumedCommands[tail];
+		consumedCommands[tail] = null;
+		tail = index(1);
+		ringSize--;
+		consumedCount--;
+		totalSize -= cmd.getUiCommand().length;
+		purgedAtLeastOnce = true;
 		return true;
 	}
 
 	public boolean rewindToCommand(long commandId) {
 		if (commandId == -1) {
-			if (bufferFlippedAtLeastOnce) {
+			if (purgedAtLeastOnce) {
 				return false;
 			} else {
-				nextConsumable = 0;
+				consumedCount = 0;
 				return true;
 			}
 		} else {
-			for (int i = tail < nextConsumable ? nextConsumable - 1 : nextConsumable + buffer.length - 1; i >= tail; i--) {
-				CMD command = buffer[i % buffer.length];
-				if (command == null) { // command already purged! - should never happen since only acknowledged commands get purged!
-					return false;
-				}
-				if (command.getId() == commandId) {
-					nextConsumable = (i + 1) % buffer.length;
-					return true;
-				}
+			int offset = findConsumedCommandOffset(commandId);
+			if (offset < 0) {
+				return false;
 			}
-			return false;
+			consumedCount = offset + 1;
+			return true;
 		}
 	}
 
+	private int findConsumedCommandOffset(long commandId) {
+		if (ringSize == 0) {
+			return -1;
+		}
+		long offset = commandId - consumedCommands[tail].getId();
+		if (offset >= 0 && offset < consumedCount && getId((int) offset) == commandId) {
+			return (int) offset;
+		}
+		// ids are not consecutive (e.g. due to coalesced commands). Fall back to searching.
+		for (int i = consumedCount - 1; i >= 0; i--) {
+			if (getId(i) == commandId) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
 	public long getNextCommandId() {
-		return buffer[nextConsumable].getId();
+		if (consumedCount < ringSize) {
+			return getId(consumedCount);
+		} else {
+			return neverConsumedCommands.values().iterator().next().getId();
+		}
 	}
 
 	public void clear() {
-		head = 0;
-		nextConsumable = 0;
+		neverConsumedCommands.clear();
+		consumedCommands = new CMD[Math.min(maxLength, INITIAL_CAPACITY)];
 		tail = 0;
+		ringSize = 0;
+		consumedCount = 0;
+		totalSize = 0;
+	}
+
+	private int getId(int offset) {
+		return consumedCommands[index(offset)].getId();
+	}
+
+	private int index(int offset) {
+		int index = tail + offset;
+		return index < consumedCommands.length ? index : index - consumedCommands.length;
 	}
 }
@@ -0,0 +1,91 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2023 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.util;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A pool of reusable, growable byte buffers for serializing outgoing messages.
+ * <p>
+ * Buffers that have grown beyond {@code maxRetainedCapacity} are not returned to the pool, so a single huge message
+ * does not keep its memory allocated forever.
+ */
+public class ByteArrayOutputStreamPool {
+
+	private final int initialCapacity;
+	private final int maxRetainedCapacity;
+	private final int maxPooledInstances;
+
+	private final ConcurrentLinkedQueue<PooledByteArrayOutputStream> pool = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger pooledInstancesCount = new AtomicInteger();
+
+	public ByteArrayOutputStreamPool(int initialCapacity, int maxRetainedCapacity, int maxPooledInstances) {
+		this.initialCapacity = initialCapacity;
+		this.maxRetainedCapacity = maxRetainedCapacity;
+		this.maxPooledInstances = maxPooledInstances;
+	}
+
+	public PooledByteArrayOutputStream acquire() {
+		PooledByteArrayOutputStream stream = pool.poll();
+		if (stream != null) {
+			pooledInstancesCount.decrementAndGet();
+			return stream;
+		} else {
+			return new PooledByteArrayOutputStream(initialCapacity);
+		}
+	}
+
+	/**
+	 * Returns the stream to the pool. The stream and any {@link ByteBuffer} obtained from it must not be used anymore after this call!
+	 */
+	public void release(PooledByteArrayOutputStream stream) {
+		if (stream.getCapacity() > maxRetainedCapacity) {
+			return;
+		}
+		stream.reset();
+		if (pooledInstancesCount.incrementAndGet() <= maxPooledInstances) {
+			pool.offer(stream);
+		} else {
+			pooledInstancesCount.decrementAndGet();
+		}
+	}
+
+	public static class PooledByteArrayOutputStream extends ByteArrayOutputStream {
+
+		private PooledByteArrayOutputStream(int initialCapacity) {
+			super(initialCapacity);
+		}
+
+		/**
+		 * @return a view on the written bytes (no copy!). Only valid until the stream is released or written to again.
+		 */
+		public ByteBuffer toByteBuffer() {
+			return ByteBuffer.wrap(buf, 0, count);
+		}
+
+		int getCapacity() {
+			return buf.length;
+		}
+	}
+
+}
@@ -0,0 +1,221 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2023 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.util.threading;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link SequentialExecutorFactory} that gives every executor a lock-free multi-producer single-consumer mailbox.
+ * <p>
+ * Whenever a mailbox receives a task while being idle, it gets scheduled on the shared pool, where it is drained
+ * in batches. A single drain executes at most {@code maxTasksPerDrain} tasks. If there are more, the mailbox gets
+ * re-scheduled at the end of the pool's queue, so one busy executor cannot starve the others.
+ * <p>
+ * Compared to {@link CompletableFutureChainSequentialExecutorFactory}, submitting a task only allocates a single
+ * queue node and there is no dependency chain between subsequent tasks.
+ */
+public class MailboxSequentialExecutorFactory implements SequentialExecutorFactory {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(MailboxSequentialExecutorFactory.class);
+
+	public static final int DEFAULT_MAX_TASKS_PER_DRAIN = 64;
+
+	private final ConcurrentStats delayStats = new ConcurrentStats();
+	private final ConcurrentStats executionTimeStats = new ConcurrentStats();
+
+	private final ExecutorService pool;
+	private final int maxTasksPerDrain;
+
+	public MailboxSequentialExecutorFactory(int nThreads) {
+		this(Executors.newFixedThreadPool(nThreads), DEFAULT_MAX_TASKS_PER_DRAIN);
+	}
+
+	public MailboxSequentialExecutorFactory(ExecutorService executorService, int maxTasksPerDrain) {
+		if (maxTasksPerDrain < 1) {
+			throw new IllegalArgumentException("maxTasksPerDrain must be at least 1");
+		}
+		this.pool = executorService;
+		this.maxTasksPerDrain = maxTasksPerDrain;
+
+		ScheduledExecutorService statsLogExecutorService = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "mailbox-executor-stats");
+			thread.setDaemon(true);
+			return thread;
+		});
+		statsLogExecutorService.scheduleAtFixedRate(() -> {
+			MinMaxAverageStats delayStats = this.delayStats.getAndReset();
+			MinMaxAverageStats executionTimeStats = this.executionTimeStats.getAndReset();
+			if (delayStats.getMax() > 3000) {
+				LOGGER.warn("Delays critical: min: {}, max: {}, avg: {}, count: {}", delayStats.getMin(), delayStats.getMax(), delayStats.getAvg(), delayStats.getCount());
+			}
+			if (executionTimeStats.getMax() > 1000) {
+				LOGGER.warn("Execution times critical: min: {}, max: {}, avg: {}, count: {}", executionTimeStats.getMin(), executionTimeStats.getMax(), executionTimeStats.getAvg(), executionTimeStats.getCount());
+			}
+		}, 1, 1, TimeUnit.SECONDS);
+	}
+
+	public CloseableExecutor createExecutor() {
+		return createExecutor("unnamed");
+	}
+
+	@Override
+	public CloseableExecutor createExecutor(String name) {
+		return new MailboxExecutor(name);
+	}
+
+	private static final int IDLE = 0;
+	private static final int SCHEDULED = 1;
+
+	private class MailboxExecutor implements CloseableExecutor, Runnable {
+
+		private final String name;
+		private final AtomicInteger state = new AtomicInteger(IDLE);
+		private final AtomicInteger queueSize = new AtomicInteger(0);
+
+		// Vyukov-style MPSC queue. Producers swap the tail, only the draining thread moves the head.
+		private final AtomicReference<Task> tail;
+		private Task head;
+
+		public MailboxExecutor(String name) {
+			this.name = name;
+			Task stub = new Task(null, 0);
+			this.head = stub;
+			this.tail = new AtomicReference<>(stub);
+		}
+
+		@Override
+		public void execute(Runnable command) {
+			int queueSize = this.queueSize.incrementAndGet();
+			LOGGER.trace("{}: Queue size: {}", name, queueSize);
+			if (queueSize >= 500 && queueSize % 10 == 0) { // the queue gets quite long when destroying a session, since there are very many listeners to the destroyed event
+				LOGGER.warn("{}: Queue is very long: {}", name, queueSize);
+			}
+			Task task = new Task(command, System.currentTimeMillis());
+			Task previousTail = tail.getAndSet(task);
+			previousTail.next = task;
+			if (state.compareAndSet(IDLE, SCHEDULED)) {
+				pool.execute(this);
+			}
+		}
+
+		/**
+		 * Drains the mailbox. Only ever executed by one thread at a time, guarded by {@link #state}.
+		 */
+		@Override
+		public void run() {
+			long minDelay = Long.MAX_VALUE, maxDelay = 0, totalDelay = 0;
+			long minExecutionTime = Long.MAX_VALUE, maxExecutionTime = 0, totalExecutionTime = 0;
+			int executedCount = 0;
+			Task task;
+			while (executedCount < maxTasksPerDrain && (task = poll()) != null) {
+				long executionStartTime = System.currentTimeMillis();
+				long delay = executionStartTime - task.submitTime;
+				Runnable command = task.command;
+				task.command = null; // the task stays referenced as queue head
+				try {
+					command.run();
+				} catch (Throwable throwable) {
+					LOGGER.error("{}: Error while executing: ", name, throwable);
+				}
+				long executionTime = System.currentTimeMillis() - executionStartTime;
+				queueSize.decrementAndGet();
+				minDelay = Math.min(minDelay, delay);
+				maxDelay = Math.max(maxDelay, delay);
+				totalDelay += delay;
+				minExecutionTime = Math.min(minExecutionTime, executionTime);
+				maxExecutionTime = Math.max(maxExecutionTime, executionTime);
+				totalExecutionTime += executionTime;
+				executedCount++;
+			}
+			if (executedCount > 0) {
+				delayStats.push(minDelay, maxDelay, totalDelay, executedCount);
+				executionTimeStats.push(minExecutionTime, maxExecutionTime, totalExecutionTime, executedCount);
+			}
+
+			if (head.next != null) {
+				// budget exhausted. Go to the back of the pool's queue to give other mailboxes a chance.
+				pool.execute(this);
+			} else {
+				state.set(IDLE);
+				// a producer might have enqueued after our last poll but seen the state still being SCHEDULED
+				if (head.next != null && state.compareAndSet(IDLE, SCHEDULED)) {
+					pool.execute(this);
+				}
+			}
+		}
+
+		private Task poll() {
+			Task next = head.next;
+			if (next != null) {
+				head = next;
+			}
+			return next;
+		}
+
+		@Override
+		public void close() {
+			// nothing to do here
+		}
+	}
+
+	private static class Task {
+		private Runnable command;
+		private final long submitTime;
+		private volatile Task next;
+
+		public Task(Runnable command, long submitTime) {
+			this.command = command;
+			this.submitTime = submitTime;
+		}
+	}
+
+	/**
+	 * Thread-safe accumulation of {@link MinMaxAverageStats} without allocating on every update.
+	 * Note that {@link #getAndReset()} is not atomic as a whole, which is fine for logging.
+	 */
+	private static class ConcurrentStats {
+		private final LongAccumulator min = new LongAccumulator(Math::min, Long.MAX_VALUE);
+		private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+		private final LongAdder total = new LongAdder();
+		private final LongAdder count = new LongAdder();
+
+		public void push(long min, long max, long total, long count) {
+			this.min.accumulate(min);
+			this.max.accumulate(max);
+			this.total.add(total);
+			this.count.add(count);
+		}
+
+		public MinMaxAverageStats getAndReset() {
+			return new MinMaxAverageStats(min.getThenReset(), max.getThenReset(), total.sumThenReset(), count.sumThenReset());
+		}
+	}
+
+}
@@ -0,0 +1,57 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2023 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.util.threading;
+
+/**
+ * The {@link SequentialExecutorFactory} implementations TeamApps provides for executing session tasks.
+ *
+ * @see org.teamapps.config.TeamAppsConfiguration#getSessionExecutorType()
+ */
+public enum SequentialExecutorType {
+
+	/**
+	 * {@link CompletableFutureChainSequentialExecutorFactory} on a fixed thread pool.
+	 */
+	COMPLETABLE_FUTURE_CHAIN,
+
+	/**
+	 * {@link MailboxSequentialExecutorFactory} on a fixed thread pool.
+	 */
+	MAILBOX,
+
+	/**
+	 * {@link VirtualThreadSequentialExecutorFactory}. Requires Java 21 or later. Does not limit the number of threads.
+	 */
+	VIRTUAL_THREADS;
+
+	public SequentialExecutorFactory createFactory(int maxNumberOfThreads) {
+		switch (this) {
+			case COMPLETABLE_FUTURE_CHAIN:
+				return new CompletableFutureChainSequentialExecutorFactory(maxNumberOfThreads);
+			case MAILBOX:
+				return new MailboxSequentialExecutorFactory(maxNumberOfThreads);
+			case VIRTUAL_THREADS:
+				return new VirtualThreadSequentialExecutorFactory();
+			default:
+				throw new IllegalArgumentException("Unknown executor type: " + this);
+		}
+	}
+
+}
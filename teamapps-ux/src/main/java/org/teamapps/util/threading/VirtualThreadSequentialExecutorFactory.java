@@ -0,0 +1,63 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2023 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.util.threading;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * {@link SequentialExecutorFactory} that runs every session's tasks on virtual threads, one task after the other.
+ * <p>
+ * Each executor has a serial mailbox (see {@link MailboxSequentialExecutorFactory}) that gets drained on a fresh
+ * virtual thread instead of a thread of a fixed pool. Session code that blocks (e.g. on JDBC or REST calls) only
+ * blocks its own virtual thread, so it does not stall unrelated sessions.
+ * <p>
+ * Requires Java 21 or later at runtime. Since TeamApps is compiled for Java 11, virtual threads are looked up reflectively.
+ * Note that blocking while holding a monitor ({@code synchronized}) pins the carrier thread on Java versions before 24.
+ */
+public class VirtualThreadSequentialExecutorFactory extends MailboxSequentialExecutorFactory {
+
+	public VirtualThreadSequentialExecutorFactory() {
+		this(DEFAULT_MAX_TASKS_PER_DRAIN);
+	}
+
+	public VirtualThreadSequentialExecutorFactory(int maxTasksPerDrain) {
+		super(createVirtualThreadPerTaskExecutor(), maxTasksPerDrain);
+	}
+
+	public static boolean isSupported() {
+		return Runtime.version().feature() >= 21;
+	}
+
+	private static ExecutorService createVirtualThreadPerTaskExecutor() {
+		if (!isSupported()) {
+			throw new UnsupportedOperationException("Virtual threads require Java 21 or later. Running on Java " + Runtime.version());
+		}
+		try {
+			return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		} catch (InvocationTargetException e) {
+			throw new UnsupportedOperationException("Could not create virtual thread executor", e.getCause());
+		} catch (ReflectiveOperationException e) {
+			throw new UnsupportedOperationException("Could not create virtual thread executor", e);
+		}
+	}
+
+}
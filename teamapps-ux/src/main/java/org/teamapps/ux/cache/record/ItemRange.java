@@ -55,6 +55,10 @@ public class ItemRange {
 		return length > 0 && other.length > 0 && start < other.getEnd() && getEnd() > other.start;
 	}
 
+	public boolean contains(ItemRange other) {
+		return start <= other.start && getEnd() >= other.getEnd();
+	}
+
 	@Override
 	public String toString() {
 		return "ItemRange{" +
@@ -26,15 +26,25 @@ import org.teamapps.ux.component.table.CustomEqualsAndHashCodeMap;
 
 import java.lang.invoke.MethodHandles;
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
+/**
+ * Keeps track of the records currently rendered on the client, in client order.
+ * <p>
+ * Records can be looked up by record and by client record id in constant time.
+ * The entries are kept in an implicit treap (a randomized balanced binary tree ordered by position, where each node
+ * knows the size of its subtree and its parent). So inserting or removing n entries costs O(n log(size)), and
+ * looking up the index of an entry or the entry at an index costs O(log(size)), independently of the order of
+ * modifications and lookups.
+ */
 public class RenderedRecordsCache<RECORD> {
 	private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
-	private final CustomEqualsAndHashCodeMap<RECORD, UiIdentifiableClientRecord> uiRecordsByRecord;
-	private final List<RecordAndClientRecord<RECORD>> recordPairs = new ArrayList<>();
-	private final EqualsAndHashCode<RECORD> customEqualsAndHashCode;
+	private final CustomEqualsAndHashCodeMap<RECORD, Entry<RECORD>> entriesByRecord;
+	private final Map<Integer, Entry<RECORD>> entriesByUiRecordId = new HashMap<>();
+	private Entry<RECORD> root;
 	private int startIndex = 0;
 
 	public RenderedRecordsCache() {
@@ -42,12 +52,12 @@ public class RenderedRecordsCache<RECORD> {
 	}
 
 	public RenderedRecordsCache(EqualsAndHashCode<RECORD> customEqualsAndHashCode) {
-		this.customEqualsAndHashCode = customEqualsAndHashCode;
-		this.uiRecordsByRecord = new CustomEqualsAndHashCodeMap<>(customEqualsAndHashCode);
+		this.entriesByRecord = new CustomEqualsAndHashCodeMap<>(customEqualsAndHashCode);
 	}
 
 	public UiIdentifiableClientRecord getUiRecord(RECORD record) {
-		return uiRecordsByRecord.get(record);
+		Entry<RECORD> entry = entriesByRecord.get(record);
+		return entry != null ? entry.uiRecord : null;
 	}
 
 	public int getIndex(RECORD record) {
@@ -60,50 +70,79 @@ public class RenderedRecordsCache<RECORD> {
 	}
 
 	private int getRelativeIndex(RECORD record) {
-		return IntStream.range(0, recordPairs.size())
-				.filter(i -> customEqualsAndHashCode.getEquals().test(record, recordPairs.get(i).getRecord()))
-				.findFirst().orElse(-1);
+		Entry<RECORD> entry = entriesByRecord.get(record);
+		return entry != null ? getRelativeIndex(entry) : -1;
+	}
+
+	private int getRelativeIndex(Entry<RECORD> entry) {
+		int index = size(entry.left);
+		for (Entry<RECORD> node = entry; node.parent != null; node = node.parent) {
+			if (node == node.parent.right) {
+				index += size(node.parent.left) + 1;
+			}
+		}
+		return index;
 	}
 
 	public List<RECORD> getRecords() {
-		return recordPairs.stream()
-				.map(RecordAndClientRecord::getRecord)
-				.collect(Collectors.toList());
+		List<RECORD> records = new ArrayList<>(size());
+		forEachEntry(root, entry -> records.add(entry.record));
+		return records;
 	}
 
 	public RECORD getRecord(int uiRecordId) {
-		// no fast implementation needed! only called on user click
-		return recordPairs.stream()
-				.filter(rr -> rr.getUiRecord().getId() == uiRecordId)
-				.map(RecordAndClientRecord::getRecord)
-				.findFirst().orElse(null);
+		Entry<RECORD> entry = entriesByUiRecordId.get(uiRecordId);
+		return entry != null ? entry.record : null;
 	}
 
 	public RECORD getRecordByIndex(int index) {
-		return recordPairs.get(index - startIndex).getRecord();
+		int relativeIndex = index - startIndex;
+		if (relativeIndex < 0 || relativeIndex >= size()) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", range: " + getRange());
+		}
+		Entry<RECORD> node = root;
+		while (true) {
+			int leftSize = size(node.left);
+			if (relativeIndex < leftSize) {
+				node = node.left;
+			} else if (relativeIndex == leftSize) {
+				return node.record;
+			} else {
+				relativeIndex -= leftSize + 1;
+				node = node.right;
+			}
+		}
 	}
 
+	/**
+	 * @return the records with the given client record ids, in the order they are rendered.
+	 */
 	public List<RECORD> getRecords(List<Integer> uiRecordIds) {
-		HashSet<Integer> recordIdsSet = new HashSet<>(uiRecordIds);
-		return recordPairs.stream()
-				.filter(rr -> recordIdsSet.contains(rr.getUiRecord().getId()))
-				.map(RecordAndClientRecord::getRecord)
+		return uiRecordIds.stream()
+				.distinct()
+				.map(entriesByUiRecordId::get)
+				.filter(Objects::nonNull)
+				.sorted(Comparator.comparingInt(this::getRelativeIndex))
+				.map(entry -> entry.record)
 				.collect(Collectors.toList());
 	}
 
 	public List<Integer> getUiRecordIds() {
-		return recordPairs.stream()
-				.map(rr -> rr.getUiRecord().getId())
-				.collect(Collectors.toList());
+		List<Integer> uiRecordIds = new ArrayList<>(size());
+		forEachEntry(root, entry -> uiRecordIds.add(entry.uiRecord.getId()));
+		return uiRecordIds;
 	}
 
+	/**
+	 * @return the client record ids of the given records (as far as rendered), in the order they are rendered.
+	 */
 	public List<Integer> getUiRecordIds(List<RECORD> records) {
-		Set<EqualsHashCodeWrapper<RECORD>> recordsAsSet = records.stream()
-				.map(this::withCustomEqualsHashCode)
-				.collect(Collectors.toSet());
-		return recordPairs.stream()
-				.filter(rp -> recordsAsSet.contains(withCustomEqualsHashCode(rp.getRecord())))
-				.map(rr -> rr.getUiRecord().getId())
+		return records.stream()
+				.map(entriesByRecord::get)
+				.filter(Objects::nonNull)
+				.distinct()
+				.sorted(Comparator.comparingInt(this::getRelativeIndex))
+				.map(entry -> entry.uiRecord.getId())
 				.collect(Collectors.toList());
 	}
 
@@ -112,89 +151,100 @@ public class RenderedRecordsCache<RECORD> {
 		if (newClientRecordPairs.size() == 0) {
 			return; // this is important! if the startIndex is completely of, this might otherwise throw an "unattached records" exception
 		}
-		if (this.recordPairs.size() == 0) { // fresh record cache!
+		if (size() == 0) { // fresh record cache!
 			this.startIndex = startIndex;
 		}
 		if (startIndex + newClientRecordPairs.size() < this.startIndex
-				|| startIndex > this.startIndex + recordPairs.size()) {
-			String errorMessage = String.format("Cannot addNoShift unattached records! %d, %d, %d, %d", startIndex, newClientRecordPairs.size(), this.startIndex, recordPairs.size());
+				|| startIndex > this.startIndex + size()) {
+			String errorMessage = String.format("Cannot addNoShift unattached records! %d, %d, %d, %d", startIndex, newClientRecordPairs.size(), this.startIndex, size());
 			LOGGER.error(errorMessage);
 			throw new IllegalArgumentException(errorMessage);
 		}
 		int listInsertIndex = Math.max(0, startIndex - this.startIndex);
-		if (newClientRecordPairs.stream().anyMatch(rp -> uiRecordsByRecord.containsKey(rp.getRecord()))) {
-			throw new DuplicateEntriesException("List components MUST NOT contains the same item several times!");
-		}
-		recordPairs.addAll(listInsertIndex, newClientRecordPairs);
-		for (RecordAndClientRecord<RECORD> rr : newClientRecordPairs) {
-			uiRecordsByRecord.put(rr.getRecord(), rr.getUiRecord());
-		}
+		insertInternal(listInsertIndex, newClientRecordPairs);
 		this.startIndex = Math.min(this.startIndex, startIndex);
 	}
 
 	public void insertShifting(int startIndex, List<RecordAndClientRecord<RECORD>> newClientRecordPairs) {
-		if (startIndex < this.startIndex || startIndex > this.startIndex + this.recordPairs.size()) {
-			String errorMessage = String.format("Cannot insertShifting unattached records! %d, %d, %d, %d", startIndex, newClientRecordPairs.size(), this.startIndex, recordPairs.size());
+		if (startIndex < this.startIndex || startIndex > this.startIndex + size()) {
+			String errorMessage = String.format("Cannot insertShifting unattached records! %d, %d, %d, %d", startIndex, newClientRecordPairs.size(), this.startIndex, size());
 			LOGGER.error(errorMessage);
 			throw new IllegalArgumentException(errorMessage);
 		}
 		int listInsertIndex = startIndex - this.startIndex;
-		if (newClientRecordPairs.stream().anyMatch(rp -> uiRecordsByRecord.containsKey(rp.getRecord()))) {
-			throw new DuplicateEntriesException("List components MUST NOT contains the same item several times! ");
+		insertInternal(listInsertIndex, newClientRecordPairs);
+	}
+
+	private void insertInternal(int listInsertIndex, List<RecordAndClientRecord<RECORD>> newClientRecordPairs) {
+		if (newClientRecordPairs.stream().anyMatch(rp -> entriesByRecord.containsKey(rp.getRecord()))) {
+			throw new DuplicateEntriesException("List components MUST NOT contains the same item several times!");
 		}
-		recordPairs.addAll(listInsertIndex, newClientRecordPairs);
+		Entry<RECORD> newEntries = null;
 		for (RecordAndClientRecord<RECORD> rr : newClientRecordPairs) {
-			uiRecordsByRecord.put(rr.getRecord(), rr.getUiRecord());
+			Entry<RECORD> entry = new Entry<>(rr.getRecord(), rr.getUiRecord());
+			newEntries = merge(newEntries, entry);
+			entriesByRecord.put(entry.record, entry);
+			entriesByUiRecordId.put(entry.uiRecord.getId(), entry);
 		}
+		Entry<RECORD>[] parts = split(root, listInsertIndex);
+		setRoot(merge(merge(parts[0], newEntries), parts[1]));
 	}
 
 	public void removeNoShift(int startIndex, int endIndex) {
 		int length = endIndex - startIndex;
 		int listStartIndex = startIndex - this.startIndex;
-		int listEndIndex = listStartIndex + Math.min(length, recordPairs.size());
+		int listEndIndex = listStartIndex + Math.min(length, size());
 		removeNoShiftInternal(listStartIndex, listEndIndex);
 
 	}
 
 	public void removeBeforeNoShift(int index) {
 		if (index > startIndex) {
-			removeNoShiftInternal(0, Math.min(index - this.startIndex, recordPairs.size()));
+			removeNoShiftInternal(0, Math.min(index - this.startIndex, size()));
 			this.startIndex = index;
 		}
 	}
 
 	public void removeAfterNoShift(int index) {
-		if (index < startIndex + recordPairs.size()) {
-			removeNoShiftInternal(Math.max(0, index - this.startIndex), recordPairs.size());
+		if (index < startIndex + size()) {
+			removeNoShiftInternal(Math.max(0, index - this.startIndex), size());
 		}
 	}
 
 	private void removeNoShiftInternal(int startIndex, int endIndex) {
-		List<RecordAndClientRecord<RECORD>> recordsToBeRemoved = recordPairs.subList(startIndex, endIndex);
-		for (RecordAndClientRecord<RECORD> rr : recordsToBeRemoved) {
-			uiRecordsByRecord.remove(rr.getRecord());
+		if (startIndex < 0 || endIndex > size() || startIndex > endIndex) {
+			throw new IndexOutOfBoundsException("Cannot remove " + startIndex + " to " + endIndex + " of " + size() + " entries");
 		}
-		recordsToBeRemoved.clear();
+		Entry<RECORD>[] partsBefore = split(root, startIndex);
+		Entry<RECORD>[] parts = split(partsBefore[1], endIndex - startIndex);
+		forEachEntry(parts[0], entry -> {
+			entriesByRecord.remove(entry.record);
+			entriesByUiRecordId.remove(entry.uiRecord.getId());
+		});
+		setRoot(merge(partsBefore[0], parts[1]));
 	}
 
 	public void updateRecord(RECORD record, UiIdentifiableClientRecord clientRecord) {
-		int index = getRelativeIndex(record);
-		recordPairs.set(index, new RecordAndClientRecord<>(record, clientRecord));
-		uiRecordsByRecord.put(record, clientRecord);
-	}
-
-	private EqualsHashCodeWrapper<RECORD> withCustomEqualsHashCode(RECORD rp) {
-		return new EqualsHashCodeWrapper<>(rp, customEqualsAndHashCode);
+		Entry<RECORD> entry = entriesByRecord.get(record);
+		if (entry == null) {
+			throw new IllegalArgumentException("Cannot update record that is not rendered: " + record);
+		}
+		entriesByUiRecordId.remove(entry.uiRecord.getId());
+		entry.record = record;
+		entry.uiRecord = clientRecord;
+		entriesByRecord.put(record, entry);
+		entriesByUiRecordId.put(clientRecord.getId(), entry);
 	}
 
 	public void clear() {
 		this.startIndex = 0;
-		uiRecordsByRecord.clear();
-		recordPairs.clear();
+		entriesByRecord.clear();
+		entriesByUiRecordId.clear();
+		root = null;
 	}
 
 	public int size() {
-		return recordPairs.size();
+		return size(root);
 	}
 
 	public int getStartIndex() {
@@ -202,10 +252,100 @@ public class RenderedRecordsCache<RECORD> {
 	}
 
 	public int getEndIndex() {
-		return startIndex + recordPairs.size();
+		return startIndex + size();
 	}
 
 	public ItemRange getRange() {
-		return ItemRange.startLength(startIndex, recordPairs.size());
+		return ItemRange.startLength(startIndex, size());
+	}
+
+	private void setRoot(Entry<RECORD> root) {
+		this.root = root;
+		if (root != null) {
+			root.parent = null;
+		}
+	}
+
+	private static int size(Entry<?> entry) {
+		return entry != null ? entry.size : 0;
+	}
+
+	private static <RECORD> void update(Entry<RECORD> entry) {
+		entry.size = size(entry.left) + 1 + size(entry.right);
+		if (entry.left != null) {
+			entry.left.parent = entry;
+		}
+		if (entry.right != null) {
+			entry.right.parent = entry;
+		}
+	}
+
+	/**
+	 * Concatenates two trees.
+	 */
+	private static <RECORD> Entry<RECORD> merge(Entry<RECORD> left, Entry<RECORD> right) {
+		if (left == null) {
+			return right;
+		} else if (right == null) {
+			return left;
+		} else if (left.priority > right.priority) {
+			left.right = merge(left.right, right);
+			update(left);
+			return left;
+		} else {
+			right.left = merge(left, right.left);
+			update(right);
+			return right;
+		}
+	}
+
+	/**
+	 * Splits a tree into the first count entries and the rest.
+	 */
+	@SuppressWarnings("unchecked")
+	private static <RECORD> Entry<RECORD>[] split(Entry<RECORD> entry, int count) {
+		if (entry == null) {
+			return new Entry[] {null, null};
+		} else if (size(entry.left) >= count) {
+			Entry<RECORD>[] parts = split(entry.left, count);
+			entry.left = parts[1];
+			update(entry);
+			parts[1] = entry;
+			return parts;
+		} else {
+			Entry<RECORD>[] parts = split(entry.right, count - size(entry.left) - 1);
+			entry.right = parts[0];
+			update(entry);
+			parts[0] = entry;
+			return parts;
+		}
+	}
+
+	private static <RECORD> void forEachEntry(Entry<RECORD> entry, Consumer<Entry<RECORD>> consumer) {
+		Deque<Entry<RECORD>> stack = new ArrayDeque<>();
+		while (entry != null || !stack.isEmpty()) {
+			while (entry != null) {
+				stack.push(entry);
+				entry = entry.left;
+			}
+			entry = stack.pop();
+			consumer.accept(entry);
+			entry = entry.right;
+		}
+	}
+
+	private static class Entry<RECORD> {
+		private RECORD record;
+		private UiIdentifiableClientRecord uiRecord;
+		private final int priority = ThreadLocalRandom.current().nextInt();
+		private int size = 1;
+		private Entry<RECORD> left;
+		private Entry<RECORD> right;
+		private Entry<RECORD> parent;
+
+		public Entry(RECORD record, UiIdentifiableClientRecord uiRecord) {
+			this.record = record;
+			this.uiRecord = uiRecord;
+		}
 	}
 }
@@ -33,7 +33,6 @@ import org.teamapps.ux.session.SessionContext;
 
 import java.util.HashMap;
 import java.util.Map;
-import java.util.UUID;
 import java.util.function.Supplier;
 
 public abstract class AbstractComponent implements Component {
@@ -63,7 +62,7 @@ public abstract class AbstractComponent implements Component {
 
 	public AbstractComponent() {
 		this.sessionContext = CurrentSessionContext.get();
-		id = getClass().getSimpleName() + "-" + UUID.randomUUID().toString();
+		id = sessionContext.createClientObjectId(getClass());
 	}
 
 	protected void mapAbstractUiComponentProperties(UiComponent uiComponent) {
@@ -27,14 +27,21 @@ import org.teamapps.dto.UiIdentifiableClientRecord;
 import org.teamapps.dto.UiTableClientRecord;
 import org.teamapps.event.Event;
 import org.teamapps.ux.cache.record.EqualsAndHashCode;
+import org.teamapps.ux.cache.record.DuplicateEntriesException;
 import org.teamapps.ux.cache.record.ItemRange;
 import org.teamapps.ux.cache.record.RecordAndClientRecord;
 import org.teamapps.ux.cache.record.RenderedRecordsCache;
 import org.teamapps.ux.component.AbstractComponent;
+import org.teamapps.ux.session.CoalescingSessionAction;
 
 import java.lang.invoke.MethodHandles;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
 public abstract class AbstractInfiniteListComponent<RECORD, MODEL extends InfiniteListModel<RECORD>> extends AbstractComponent {
@@ -43,17 +50,33 @@ public abstract class AbstractInfiniteListComponent<RECORD, MODEL extends Infini
 
 	public final Event<ItemRange> onDisplayedRangeChanged = new Event<>();
 
-	private final Consumer<Void> modelOnAllDataChangedListener = aVoid -> this.refresh();
-	private final Consumer<RecordsAddedEvent<RECORD>> modelOnRecordsAddedListener = this::handleModelRecordsAdded;
-	private final Consumer<RecordsChangedEvent<RECORD>> modelOnRecordsChangedListener = this::handleModelRecordsChanged;
-	private final Consumer<RecordsRemovedEvent<RECORD>> modelOnRecordsDeletedListener = this::handleModelRecordsRemoved;
+	private final CoalescingSessionAction coalescedModelChangesHandler = new CoalescingSessionAction(getSessionContext(), -1, this::handleCoalescedModelChanges);
+
+	// rendered records with the pending coalesced changes applied, so the indices of later model events can be resolved (null if nothing is pending)
+	private List<RECORD> pendingRenderedRecords;
+	private int pendingRenderedRecordsStart;
+	private final Set<RECORD> pendingRemovedRecords = new LinkedHashSet<>();
+	private final Set<RECORD> pendingChangedRecords = new LinkedHashSet<>();
+
+	private final Consumer<Void> modelOnAllDataChangedListener = coalescing(aVoid -> this.refresh(), aVoid -> {});
+	private final Consumer<RecordsAddedEvent<RECORD>> modelOnRecordsAddedListener = coalescing(this::handleModelRecordsAdded, this::collectCoalescedRecordsAdded);
+	private final Consumer<RecordsChangedEvent<RECORD>> modelOnRecordsChangedListener = coalescing(this::handleModelRecordsChanged, this::collectCoalescedRecordsChanged);
+	private final Consumer<RecordsRemovedEvent<RECORD>> modelOnRecordsDeletedListener = coalescing(this::handleModelRecordsRemoved, this::collectCoalescedRecordsRemoved);
 
 	private final TwoWayBindableValueImpl<Integer> count = new TwoWayBindableValueImpl<>(0);
 
 	private MODEL model;
 	protected EqualsAndHashCode<RECORD> customEqualsAndHashCode = EqualsAndHashCode.bypass();
 	protected RenderedRecordsCache<RECORD> renderedRecords = new RenderedRecordsCache<>();
-	private ItemRange displayedRange = ItemRange.startEnd(0, 0);
+	private ItemRange displayedRange = ItemRange.startEnd(0, 0); // the range of loaded records (may be larger than the range requested by the client)
+
+	private ReadAheadStrategy readAheadStrategy = ReadAheadStrategy.NONE;
+	private ItemRange requestedRange = ItemRange.startEnd(0, 0);
+	private long lastRangeRequestNanos;
+
+	// asynchronous loading (see AsyncInfiniteListModel)
+	private int lastDataRequestId; // results of older requests are discarded
+	private boolean renderedRecordsStale; // the next request must reload the whole displayed range
 
 	public AbstractInfiniteListComponent(MODEL model) {
 		this.model = model;
@@ -66,6 +89,7 @@ public abstract class AbstractInfiniteListComponent<RECORD, MODEL extends Infini
 	public void setModel(MODEL model) {
 		unregisterModelListeners();
 		this.model = model;
+		lastDataRequestId++; // discard pending results of the old model
 		if (model != null) {
 			preRegisteringModel(model);
 			model.onAllDataChanged().addListener(this.modelOnAllDataChangedListener);
@@ -76,6 +100,78 @@ public abstract class AbstractInfiniteListComponent<RECORD, MODEL extends Infini
 		refresh();
 	}
 
+	private <T> Consumer<T> coalescing(Consumer<T> modelEventHandler, Consumer<T> coalescedEventCollector) {
+		return eventData -> {
+			if (coalescedModelChangesHandler.getDelayMillis() >= 0) {
+				coalescedEventCollector.accept(eventData);
+				coalescedModelChangesHandler.trigger();
+			} else {
+				modelEventHandler.accept(eventData);
+			}
+		};
+	}
+
+	private List<RECORD> getPendingRenderedRecords() {
+		if (pendingRenderedRecords == null) {
+			pendingRenderedRecordsStart = renderedRecords.getStartIndex();
+			pendingRenderedRecords = new ArrayList<>();
+			for (int i = renderedRecords.getStartIndex(); i < renderedRecords.getEndIndex(); i++) {
+				pendingRenderedRecords.add(renderedRecords.getRecordByIndex(i));
+			}
+		}
+		return pendingRenderedRecords;
+	}
+
+	private List<RECORD> getPendingRenderedRecords(int start, int end) {
+		List<RECORD> records = getPendingRenderedRecords();
+		int fromIndex = Math.min(Math.max(start - pendingRenderedRecordsStart, 0), records.size());
+		int toIndex = Math.max(Math.min(end - pendingRenderedRecordsStart, records.size()), fromIndex);
+		return records.subList(fromIndex, toIndex);
+	}
+
+	private void collectCoalescedRecordsAdded(RecordsAddedEvent<RECORD> changeEvent) {
+		List<RECORD> records = getPendingRenderedRecords();
+		if (changeEvent.getStart() <= pendingRenderedRecordsStart) {
+			pendingRenderedRecordsStart += changeEvent.getLength();
+		} else if (changeEvent.getStart() - pendingRenderedRecordsStart < records.size()) {
+			records.addAll(changeEvent.getStart() - pendingRenderedRecordsStart, Collections.nCopies(changeEvent.getLength(), null)); // not rendered
+		}
+	}
+
+	private void collectCoalescedRecordsChanged(RecordsChangedEvent<RECORD> changeEvent) {
+		changeEvent.getRecords().ifPresentOrElse(pendingChangedRecords::addAll, () -> getPendingRenderedRecords(changeEvent.getStart(), changeEvent.getEnd()).stream()
+				.filter(Objects::nonNull)
+				.forEach(pendingChangedRecords::add));
+	}
+
+	private void collectCoalescedRecordsRemoved(RecordsRemovedEvent<RECORD> deleteEvent) {
+		List<RECORD> removedRecords = getPendingRenderedRecords(deleteEvent.getStart(), deleteEvent.getEnd());
+		removedRecords.stream()
+				.filter(Objects::nonNull)
+				.forEach(pendingRemovedRecords::add);
+		removedRecords.clear();
+		pendingRenderedRecordsStart -= Math.max(Math.min(deleteEvent.getEnd(), pendingRenderedRecordsStart) - deleteEvent.getStart(), 0);
+	}
+
+	private void handleCoalescedModelChanges() {
+		List<RECORD> removedRecords = new ArrayList<>(pendingRemovedRecords);
+		List<RECORD> changedRecords = new ArrayList<>(pendingChangedRecords);
+		pendingRenderedRecords = null;
+		pendingRemovedRecords.clear();
+		pendingChangedRecords.clear();
+		handleCoalescedRecordsRemovedOrChanged(removedRecords, changedRecords);
+		count.set(model != null ? model.getCount() : 0);
+		sendFullDisplayedRange();
+	}
+
+	/**
+	 * Called before the displayed range is sent to the client after coalesced model changes,
+	 * with the rendered records the model reported as removed or changed in the meantime.
+	 */
+	protected void handleCoalescedRecordsRemovedOrChanged(List<RECORD> removedRecords, List<RECORD> changedRecords) {
+		// override if needed
+	}
+
 	protected void preRegisteringModel(MODEL model) {
 		// override if needed
 	}
@@ -98,11 +194,7 @@ public abstract class AbstractInfiniteListComponent<RECORD, MODEL extends Infini
 		}
 		int recordIndex = renderedRecords.getIndex(record);
 		if (recordIndex >= 0) {
-			List<RECORD> changedRecords = List.of(record);
-			UiRecordMappingResult<RECORD> uiRecordMappingResult = mapToClientRecords(changedRecords);
-			RecordAndClientRecord<RECORD> recordRecordAndClientRecord = uiRecordMappingResult.recordAndClientRecords.get(0);
-			renderedRecords.updateRecord(recordRecordAndClientRecord.getRecord(), recordRecordAndClientRecord.getUiRecord());
-			updateClientRenderData(List.of(recordRecordAndClientRecord.getUiRecord()));
+			updateRenderedRecords(recordIndex, List.of(record));
 		}
 	}
 
@@ -110,6 +202,11 @@ public abstract class AbstractInfiniteListComponent<RECORD, MODEL extends Infini
 		if (!isRendered()) {
 			return;
 		}
+		if (isAsyncModel()) {
+			renderedRecordsStale = true;
+			requestDisplayedRecordsAsync();
+			return;
+		}
 		List<RECORD> records = retrieveRecords(displayedRange.getStart(), displayedRange.getLength());
 		UiRecordMappingResult<RECORD> uiRecordMappingResult = mapToClientRecords(records);
 		renderedRecords.clear();
@@ -117,12 +214,22 @@ public abstract class AbstractInfiniteListComponent<RECORD, MODEL extends Infini
 		updateClientRenderData(uiRecordMappingResult.newUiRecords);
 	}
 
-	protected void handleScrollOrResize(ItemRange newRange) {
-		onDisplayedRangeChanged.fire(newRange);
+	protected void handleScrollOrResize(ItemRange requestedRange) {
+		onDisplayedRangeChanged.fire(requestedRange);
+		long now = System.nanoTime();
+		ItemRange newRange = readAheadStrategy.getRangeToLoad(requestedRange, this.requestedRange, this.displayedRange, (now - lastRangeRequestNanos) / 1_000_000);
+		this.requestedRange = requestedRange;
+		this.lastRangeRequestNanos = now;
+		if (newRange.equals(this.displayedRange)) {
+			LOGGER.debug("requested range {} already loaded", requestedRange);
+			return;
+		}
 		var oldRange = this.displayedRange;
 		this.displayedRange = newRange;
 		LOGGER.debug("new displayedRange: {}", newRange);
-		if (newRange.overlaps(oldRange)) {
+		if (isAsyncModel()) {
+			requestDisplayedRecordsAsync();
+		} else if (newRange.overlaps(oldRange)) {
 			List<UiIdentifiableClientRecord> newUiRecords = new ArrayList<>();
 			boolean recordsRemoved = false;
 			if (newRange.getStart() < oldRange.getStart()) {
@@ -156,12 +263,102 @@ public abstract class AbstractInfiniteListComponent<RECORD, MODEL extends Infini
 		LOGGER.debug("displayedRange after scroll update: {}; renderedRecords.size: {}", displayedRange, renderedRecords.size());
 	}
 
+	private boolean isAsyncModel() {
+		return model instanceof AsyncInfiniteListModel;
+	}
+
+	/**
+	 * Loads the records of the displayed range that are not rendered yet (or all of them, if the rendered records are stale),
+	 * without blocking the session's thread. The result is applied only if no other request has been made in the meantime.
+	 */
+	private void requestDisplayedRecordsAsync() {
+		int requestId = ++lastDataRequestId;
+		ItemRange requestedRange = displayedRange;
+		ItemRange renderedRange = renderedRecords.getRange();
+		if (renderedRecordsStale || renderedRecords.size() == 0 || !requestedRange.overlaps(renderedRange)) {
+			retrieveRecordsAsync(requestedRange.getStart(), requestedRange.getLength())
+					.whenComplete((records, throwable) -> getSessionContext().runWithContext(() -> {
+						if (isCurrentDataRequest(requestId, throwable)) {
+							applyDisplayedRecords(requestedRange, records);
+						}
+					}));
+		} else {
+			CompletableFuture<List<RECORD>> recordsBefore = requestedRange.getStart() < renderedRange.getStart()
+					? retrieveRecordsAsync(requestedRange.getStart(), renderedRange.getStart() - requestedRange.getStart())
+					: CompletableFuture.completedFuture(List.of());
+			CompletableFuture<List<RECORD>> recordsAfter = requestedRange.getEnd() > renderedRange.getEnd()
+					? retrieveRecordsAsync(renderedRange.getEnd(), requestedRange.getEnd() - renderedRange.getEnd())
+					: CompletableFuture.completedFuture(List.of());
+			recordsBefore.thenCombine(recordsAfter, List::of)
+					.whenComplete((beforeAndAfter, throwable) -> getSessionContext().runWithContext(() -> {
+						if (isCurrentDataRequest(requestId, throwable)) {
+							applyAdditionalDisplayedRecords(requestedRange, beforeAndAfter.get(0), beforeAndAfter.get(1));
+						}
+					}));
+		}
+	}
+
+	private boolean isCurrentDataRequest(int requestId, Throwable throwable) {
+		if (throwable != null) {
+			LOGGER.error("Could not load records", throwable);
+			if (requestId == lastDataRequestId) {
+				renderedRecordsStale = true; // retry on next request
+			}
+			return false;
+		} else if (requestId != lastDataRequestId) {
+			LOGGER.debug("Discarding result of superseded data request {}", requestId);
+			return false;
+		} else {
+			return isRendered();
+		}
+	}
+
+	private void applyDisplayedRecords(ItemRange range, List<RECORD> records) {
+		UiRecordMappingResult<RECORD> uiRecordMappingResult = mapToClientRecords(records);
+		renderedRecords.clear();
+		renderedRecords.addNoShift(range.getStart(), uiRecordMappingResult.recordAndClientRecords);
+		renderedRecordsStale = false;
+		updateClientRenderData(uiRecordMappingResult.newUiRecords);
+	}
+
+	private void applyAdditionalDisplayedRecords(ItemRange range, List<RECORD> recordsBefore, List<RECORD> recordsAfter) {
+		try {
+			UiRecordMappingResult<RECORD> before = mapToClientRecords(recordsBefore);
+			UiRecordMappingResult<RECORD> after = mapToClientRecords(recordsAfter);
+			renderedRecords.removeBeforeNoShift(range.getStart());
+			renderedRecords.removeAfterNoShift(range.getEnd());
+			renderedRecords.addNoShift(range.getStart(), before.recordAndClientRecords);
+			renderedRecords.addNoShift(renderedRecords.getEndIndex(), after.recordAndClientRecords);
+			List<UiIdentifiableClientRecord> newUiRecords = new ArrayList<>(before.newUiRecords);
+			newUiRecords.addAll(after.newUiRecords);
+			updateClientRenderData(newUiRecords);
+		} catch (DuplicateEntriesException e) {
+			LOGGER.warn("DuplicateEntriesException while loading records. The underlying data apparently changed without the model notifying this component, so will reload the whole displayed range.");
+			renderedRecordsStale = true;
+			requestDisplayedRecordsAsync();
+		}
+	}
+
+	/**
+	 * Retrieves records for asynchronous models. The future may complete on any thread.
+	 * <p>
+	 * This implementation retrieves the records synchronously.
+	 */
+	protected CompletableFuture<List<RECORD>> retrieveRecordsAsync(int startIndex, int length) {
+		return CompletableFuture.completedFuture(retrieveRecords(startIndex, length));
+	}
+
 	protected void handleModelRecordsAdded(RecordsAddedEvent<RECORD> changeEvent) {
 		count.set(count.get() + changeEvent.getLength());
 		if (!isRendered()) {
 			return;
 		}
-		if (changeEvent.getStart() < displayedRange.getEnd()) {
+		if (isAsyncModel()) {
+			if (changeEvent.getStart() < displayedRange.getEnd()) {
+				renderedRecordsStale = true;
+				requestDisplayedRecordsAsync();
+			}
+		} else if (changeEvent.getStart() < displayedRange.getEnd()) {
 			int newRecordsStartIndex = Math.max(changeEvent.getStart(), displayedRange.getStart());
 			int newRecordsLength = Math.min(changeEvent.getLength(), Math.min(displayedRange.getEnd() - changeEvent.getStart(), displayedRange.getLength()));
 			List<RECORD> newRecords = retrieveRecords(newRecordsStartIndex, newRecordsLength);
@@ -180,25 +377,45 @@ public abstract class AbstractInfiniteListComponent<RECORD, MODEL extends Infini
 		if (!isRendered()) {
 			return;
 		}
-		if (changeEvent.getItemRange().overlaps(displayedRange)) {
+		if (isAsyncModel() && changeEvent.getRecords().isEmpty()) {
+			if (changeEvent.getItemRange().overlaps(displayedRange)) {
+				renderedRecordsStale = true;
+				requestDisplayedRecordsAsync();
+			}
+		} else if (changeEvent.getItemRange().overlaps(displayedRange)) {
 			int queryStartIndex = Math.max(changeEvent.getStart(), displayedRange.getStart());
 			int queryEndIndex = Math.min(changeEvent.getEnd(), displayedRange.getEnd());
 			List<RECORD> changedRecords = changeEvent.getRecords()
 					.map(records -> records.subList(queryStartIndex - changeEvent.getStart(), queryEndIndex - changeEvent.getStart()))
 					.orElseGet(() -> retrieveRecords(queryStartIndex, queryEndIndex - queryStartIndex));
-			UiRecordMappingResult<RECORD> uiRecordMappingResult = mapToClientRecords(changedRecords);
-			renderedRecords.removeNoShift(queryStartIndex, queryStartIndex + changedRecords.size());
-			renderedRecords.addNoShift(queryStartIndex, uiRecordMappingResult.recordAndClientRecords);
-			updateClientRenderData(uiRecordMappingResult.newUiRecords);
+			updateRenderedRecords(queryStartIndex, changedRecords);
 		}
 	}
 
+	/**
+	 * Updates the client with the current state of changed records, replacing the rendered records starting at the given index.
+	 * <p>
+	 * This implementation sends every record whose values have changed completely (with a new client record id).
+	 * Subclasses may override this to send only the values that actually changed.
+	 */
+	protected void updateRenderedRecords(int startIndex, List<RECORD> changedRecords) {
+		UiRecordMappingResult<RECORD> uiRecordMappingResult = mapToClientRecords(changedRecords);
+		renderedRecords.removeNoShift(startIndex, startIndex + changedRecords.size());
+		renderedRecords.addNoShift(startIndex, uiRecordMappingResult.recordAndClientRecords);
+		updateClientRenderData(uiRecordMappingResult.newUiRecords);
+	}
+
 	protected void handleModelRecordsRemoved(RecordsRemovedEvent<RECORD> deleteEvent) {
 		count.set(count.get() - deleteEvent.getLength());
 		if (!isRendered()) {
 			return;
 		}
-		if (deleteEvent.getStart() < displayedRange.getEnd()) {
+		if (isAsyncModel()) {
+			if (deleteEvent.getStart() < displayedRange.getEnd()) {
+				renderedRecordsStale = true;
+				requestDisplayedRecordsAsync();
+			}
+		} else if (deleteEvent.getStart() < displayedRange.getEnd()) {
 			int removedRecordsStartIndex = Math.max(deleteEvent.getStart(), displayedRange.getStart());
 			int removedRecordsLength = Math.min(deleteEvent.getLength(), Math.min(displayedRange.getEnd() - deleteEvent.getStart(), displayedRange.getLength()));
 			int removeIndexInsideList = removedRecordsStartIndex - displayedRange.getStart();
@@ -227,7 +444,7 @@ public abstract class AbstractInfiniteListComponent<RECORD, MODEL extends Infini
 
 	protected abstract List<RECORD> retrieveRecords(int startIndex, int length);
 
-	private void updateClientRenderData(List<UiIdentifiableClientRecord> newUiRecords) {
+	protected void updateClientRenderData(List<UiIdentifiableClientRecord> newUiRecords) {
 		LOGGER.debug("newUiRecords: {}", newUiRecords.size());
 		sendUpdateDataCommandToClient(displayedRange.getStart(), renderedRecords.getUiRecordIds(), newUiRecords, getModelCount());
 	}
@@ -261,6 +478,36 @@ public abstract class AbstractInfiniteListComponent<RECORD, MODEL extends Infini
 		}
 	}
 
+	public int getModelChangeCoalescingMillis() {
+		return coalescedModelChangesHandler.getDelayMillis();
+	}
+
+	/**
+	 * Sets how model changes are sent to the client:
+	 * <ul>
+	 *     <li>negative (default): every change of the model is sent immediately.</li>
+	 *     <li>0: all changes made during the current session task are sent together, after the task.</li>
+	 *     <li>positive: all changes made within the given number of milliseconds after a change are sent together.</li>
+	 * </ul>
+	 * Coalesced changes are sent as one update of the displayed range, which avoids sending a command for every single change
+	 * when many records are changed one by one (e.g. during imports).
+	 */
+	public void setModelChangeCoalescingMillis(int modelChangeCoalescingMillis) {
+		coalescedModelChangesHandler.setDelayMillis(modelChangeCoalescingMillis);
+	}
+
+	public ReadAheadStrategy getReadAheadStrategy() {
+		return readAheadStrategy;
+	}
+
+	/**
+	 * Sets the strategy that decides how many records are loaded and sent to the client in addition to the ones the client requested.
+	 * Defaults to {@link ReadAheadStrategy#NONE}. See {@link VelocityAwareReadAheadStrategy}.
+	 */
+	public void setReadAheadStrategy(ReadAheadStrategy readAheadStrategy) {
+		this.readAheadStrategy = readAheadStrategy != null ? readAheadStrategy : ReadAheadStrategy.NONE;
+	}
+
 	public ObservableValue<Integer> getCount() {
 		return count;
 	}
@@ -0,0 +1,47 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2023 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.ux.component.infiniteitemview;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * An {@link InfiniteListModel} that loads its records asynchronously, e.g. from a database or a remote service.
+ * <p>
+ * Components do not block the session's thread while waiting for the returned futures. Results are applied in the session's
+ * context, and only if they are still needed (requests superseded by later scrolling or data changes are discarded).
+ * <p>
+ * Note that {@link #getCount()} is still called synchronously, so it should be cheap or cached.
+ */
+public interface AsyncInfiniteListModel<RECORD> extends InfiniteListModel<RECORD> {
+
+	/**
+	 * @return a future of the requested records. It may complete on any thread.
+	 */
+	CompletableFuture<List<RECORD>> getRecordsAsync(int startIndex, int length);
+
+	/**
+	 * Blocks until the records are loaded. Only used where records are needed synchronously.
+	 */
+	@Override
+	default List<RECORD> getRecords(int startIndex, int length) {
+		return getRecordsAsync(startIndex, length).join();
+	}
+}
@@ -40,6 +40,7 @@ import org.teamapps.ux.component.template.Template;
 import java.lang.invoke.MethodHandles;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 
 public class InfiniteItemView2<RECORD> extends AbstractInfiniteListComponent<RECORD, InfiniteItemViewModel<RECORD>> {
@@ -150,6 +151,19 @@ public class InfiniteItemView2<RECORD> extends AbstractInfiniteListComponent<REC
 		return getModel().getRecords(actualStartIndex, actualLength);
 	}
 
+	@Override
+	protected CompletableFuture<List<RECORD>> retrieveRecordsAsync(int startIndex, int length) {
+		if (!(getModel() instanceof AsyncInfiniteListModel)) {
+			return super.retrieveRecordsAsync(startIndex, length);
+		}
+		if (startIndex > getModelCount() || length <= 0) {
+			return CompletableFuture.completedFuture(Collections.emptyList());
+		}
+		int actualStartIndex = Math.max(startIndex, 0);
+		int actualLength = Math.min(getModelCount() - startIndex, length);
+		return ((AsyncInfiniteListModel<RECORD>) getModel()).getRecordsAsync(actualStartIndex, actualLength);
+	}
+
 	@Override
 	protected void sendUpdateDataCommandToClient(int start, List<Integer> uiRecordIds, List<UiIdentifiableClientRecord> newUiRecords, int totalNumberOfRecords) {
 		queueCommandIfRendered(() -> {
@@ -0,0 +1,44 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2023 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.ux.component.infiniteitemview;
+
+import org.teamapps.ux.cache.record.ItemRange;
+
+/**
+ * Decides which records a list component loads (and sends to the client) when the client reports a new displayed range.
+ * Loading more than requested means fewer round trips while scrolling, at the cost of memory and bandwidth.
+ */
+public interface ReadAheadStrategy {
+
+	/**
+	 * Loads exactly the range requested by the client.
+	 */
+	ReadAheadStrategy NONE = (requestedRange, previousRequestedRange, loadedRange, millisSincePreviousRequest) -> requestedRange;
+
+	/**
+	 * @param requestedRange             the range requested by the client
+	 * @param previousRequestedRange     the range previously requested by the client
+	 * @param loadedRange                the range currently loaded
+	 * @param millisSincePreviousRequest the time since the previous request
+	 * @return the range to load. Must contain the requested range. Returning the loaded range means nothing needs to be loaded.
+	 */
+	ItemRange getRangeToLoad(ItemRange requestedRange, ItemRange previousRequestedRange, ItemRange loadedRange, long millisSincePreviousRequest);
+
+}
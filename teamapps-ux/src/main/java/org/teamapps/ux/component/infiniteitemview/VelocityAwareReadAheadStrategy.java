@@ -0,0 +1,96 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2023 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.ux.component.infiniteitemview;
+
+import org.teamapps.ux.cache.record.ItemRange;
+
+/**
+ * Loads a margin around the requested range, plus additional records in scroll direction depending on the scroll velocity.
+ * <p>
+ * As long as the requested range stays inside the loaded range with enough margin in scroll direction, nothing is loaded.
+ * The loaded range never exceeds {@code maxLoadedRecords} (unless the client requests more than that).
+ */
+public class VelocityAwareReadAheadStrategy implements ReadAheadStrategy {
+
+	private static final long MAX_MILLIS_BETWEEN_SCROLL_EVENTS = 1000; // longer pauses do not count as continuous scrolling
+
+	private final double overscanFactor;
+	private final long lookAheadMillis;
+	private final int maxLoadedRecords;
+
+	/**
+	 * @param overscanFactor   the margin loaded on both sides, relative to the requested length
+	 * @param lookAheadMillis  how long the scrolling may continue at the current velocity before the loaded records run out
+	 *                         (should be at least the expected round trip time)
+	 * @param maxLoadedRecords the maximum number of records to load (memory budget)
+	 */
+	public VelocityAwareReadAheadStrategy(double overscanFactor, long lookAheadMillis, int maxLoadedRecords) {
+		if (overscanFactor < 0 || lookAheadMillis < 0 || maxLoadedRecords < 0) {
+			throw new IllegalArgumentException("Parameters must not be negative");
+		}
+		this.overscanFactor = overscanFactor;
+		this.lookAheadMillis = lookAheadMillis;
+		this.maxLoadedRecords = maxLoadedRecords;
+	}
+
+	public VelocityAwareReadAheadStrategy() {
+		this(0.5, 500, 1000);
+	}
+
+	@Override
+	public ItemRange getRangeToLoad(ItemRange requestedRange, ItemRange previousRequestedRange, ItemRange loadedRange, long millisSincePreviousRequest) {
+		int scrollDelta = requestedRange.getStart() - previousRequestedRange.getStart();
+		double velocity = millisSincePreviousRequest > 0 && millisSincePreviousRequest <= MAX_MILLIS_BETWEEN_SCROLL_EVENTS
+				? (double) scrollDelta / millisSincePreviousRequest : 0; // records per millisecond
+		int margin = (int) Math.ceil(requestedRange.getLength() * overscanFactor);
+		int lookAhead = (int) Math.min(Math.abs(velocity) * lookAheadMillis, Integer.MAX_VALUE / 4);
+
+		int minMarginInScrollDirection = margin / 2;
+		if (loadedRange.contains(requestedRange)
+				&& requestedRange.getStart() - loadedRange.getStart() >= (scrollDelta < 0 ? minMarginInScrollDirection : 0)
+				&& loadedRange.getEnd() - requestedRange.getEnd() >= (scrollDelta > 0 ? minMarginInScrollDirection : 0)) {
+			return loadedRange;
+		}
+
+		int before = margin + (scrollDelta < 0 ? lookAhead : 0);
+		int after = margin + (scrollDelta > 0 ? lookAhead : 0);
+		int budget = Math.max(0, maxLoadedRecords - requestedRange.getLength());
+		if (before + after > budget) {
+			// shrink proportionally, so the scroll direction keeps its precedence
+			double scale = (double) budget / (before + after);
+			before = (int) (before * scale);
+			after = (int) (after * scale);
+		}
+		int start = Math.max(0, requestedRange.getStart() - before);
+		return ItemRange.startEnd(start, requestedRange.getEnd() + after);
+	}
+
+	public double getOverscanFactor() {
+		return overscanFactor;
+	}
+
+	public long getLookAheadMillis() {
+		return lookAheadMillis;
+	}
+
+	public int getMaxLoadedRecords() {
+		return maxLoadedRecords;
+	}
+}
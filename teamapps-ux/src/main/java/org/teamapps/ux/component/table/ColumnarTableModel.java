@@ -0,0 +1,931 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2023 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.ux.component.table;
+
+import it.unimi.dsi.fastutil.booleans.BooleanArrayList;
+import it.unimi.dsi.fastutil.doubles.DoubleArrayList;
+import it.unimi.dsi.fastutil.doubles.DoubleArrays;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntArrays;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongArrays;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import org.teamapps.data.extract.PropertyExtractor;
+import org.teamapps.data.value.SortDirection;
+import org.teamapps.data.value.Sorting;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.DoublePredicate;
+import java.util.function.IntPredicate;
+import java.util.function.LongPredicate;
+import java.util.function.Predicate;
+
+/**
+ * A {@link TableModel} that stores its data column-wise in primitive arrays. String columns are dictionary-encoded.
+ * <p>
+ * The records of this model are lightweight {@link Row} views that are created on demand. Use {@link #PROPERTY_EXTRACTOR} as
+ * the table's property extractor (see {@link Table#setPropertyExtractor(PropertyExtractor)}).
+ * <p>
+ * Sorting uses a sort index per column (a permutation of row indexes), which is built on first use or in advance using
+ * {@link #buildSortIndex(String)}. Filters are evaluated column by column over the whole column array
+ * (see {@link ColumnFilter}). Null values never match a filter. Like in {@link ListTableModel}, null values are sorted after all
+ * other values in ascending order, so they come first in descending order.
+ * <p>
+ * This model is meant for large, mostly read-only data sets. Any change fires {@link #onAllDataChanged}.
+ */
+public class ColumnarTableModel extends AbstractTableModel<ColumnarTableModel.Row> {
+
+	public static final PropertyExtractor<Row> PROPERTY_EXTRACTOR = Row::get;
+
+	private final Map<String, Column> columnsByName = new LinkedHashMap<>();
+	private final List<Column> columns = new ArrayList<>();
+	private int rowCount;
+
+	private List<ColumnFilter> filters = Collections.emptyList();
+
+	private int[] view; // row indexes, filtered and sorted. null if it needs to be recomputed.
+	private Sorting viewSorting; // the sorting the view has been computed for
+
+	public ColumnarTableModel addIntColumn(String name) {
+		return addColumn(new IntColumn(name));
+	}
+
+	public ColumnarTableModel addLongColumn(String name) {
+		return addColumn(new LongColumn(name));
+	}
+
+	public ColumnarTableModel addDoubleColumn(String name) {
+		return addColumn(new DoubleColumn(name));
+	}
+
+	public ColumnarTableModel addBooleanColumn(String name) {
+		return addColumn(new BooleanColumn(name));
+	}
+
+	public ColumnarTableModel addStringColumn(String name) {
+		return addColumn(new StringColumn(name));
+	}
+
+	private ColumnarTableModel addColumn(Column column) {
+		if (columnsByName.containsKey(column.name)) {
+			throw new IllegalArgumentException("Duplicate column: " + column.name);
+		}
+		for (int i = 0; i < rowCount; i++) {
+			column.add(null);
+		}
+		columnsByName.put(column.name, column);
+		columns.add(column);
+		onAllDataChanged.fire(null);
+		return this;
+	}
+
+	public List<String> getColumnNames() {
+		return List.copyOf(columnsByName.keySet());
+	}
+
+	/**
+	 * Adds a row.
+	 *
+	 * @param values the values in the order the columns have been added. Numeric columns accept any {@link Number}.
+	 * @return the index of the new row
+	 * @throws IllegalArgumentException if the number or types of the values do not match the columns. The model is left unchanged.
+	 */
+	public int addRow(Object... values) {
+		int rowIndex = addRowInternal(convertRow(values));
+		invalidate();
+		return rowIndex;
+	}
+
+	/**
+	 * Adds several rows, firing only one change event.
+	 *
+	 * @throws IllegalArgumentException if the number or types of the values of any row do not match the columns. No row is added then.
+	 */
+	public void addRows(List<Object[]> rows) {
+		List<Object[]> convertedRows = new ArrayList<>(rows.size());
+		rows.forEach(values -> convertedRows.add(convertRow(values)));
+		convertedRows.forEach(this::addRowInternal);
+		invalidate();
+	}
+
+	private Object[] convertRow(Object[] values) {
+		if (values.length != columns.size()) {
+			throw new IllegalArgumentException("Expected " + columns.size() + " values but got " + values.length);
+		}
+		Object[] convertedValues = new Object[values.length];
+		for (int i = 0; i < values.length; i++) {
+			convertedValues[i] = columns.get(i).convert(values[i]);
+		}
+		return convertedValues;
+	}
+
+	private int addRowInternal(Object[] convertedValues) {
+		for (int i = 0; i < convertedValues.length; i++) {
+			columns.get(i).add(convertedValues[i]);
+		}
+		return rowCount++;
+	}
+
+	public void setValue(int rowIndex, String columnName, Object value) {
+		Objects.checkIndex(rowIndex, rowCount);
+		Column column = getColumn(columnName);
+		column.set(rowIndex, column.convert(value));
+		invalidate();
+	}
+
+	public Object getValue(int rowIndex, String columnName) {
+		Objects.checkIndex(rowIndex, rowCount);
+		return getColumn(columnName).get(rowIndex);
+	}
+
+	public void clear() {
+		columns.forEach(Column::clear);
+		rowCount = 0;
+		invalidate();
+	}
+
+	public int getRowCount() {
+		return rowCount;
+	}
+
+	private Column getColumn(String columnName) {
+		Column column = columnsByName.get(columnName);
+		if (column == null) {
+			throw new IllegalArgumentException("Unknown column: " + columnName);
+		}
+		return column;
+	}
+
+	private void invalidate() {
+		columns.forEach(column -> column.sortIndex = null);
+		view = null;
+		onAllDataChanged.fire(null);
+	}
+
+	/**
+	 * Builds the sort index of the given column in advance, so sorting by this column will not need to sort anymore.
+	 * Sort indexes are discarded when the data changes.
+	 */
+	public void buildSortIndex(String columnName) {
+		getColumn(columnName).getSortIndex(rowCount);
+	}
+
+	/**
+	 * Sets the filters, all of which must match for a row to be visible.
+	 */
+	public void setFilters(List<ColumnFilter> filters) {
+		filters.forEach(filter -> getColumn(filter.columnName).checkFilter(filter));
+		this.filters = List.copyOf(filters);
+		this.view = null;
+		onAllDataChanged.fire(null);
+	}
+
+	public void setFilters(ColumnFilter... filters) {
+		setFilters(List.of(filters));
+	}
+
+	public List<ColumnFilter> getFilters() {
+		return filters;
+	}
+
+	@Override
+	public int getCount() {
+		return getView().length;
+	}
+
+	@Override
+	public List<Row> getRecords(int startIndex, int length) {
+		int[] view = getView();
+		int endIndex = Math.min(startIndex + length, view.length);
+		List<Row> rows = new ArrayList<>(Math.max(0, endIndex - startIndex));
+		for (int i = startIndex; i < endIndex; i++) {
+			rows.add(new Row(this, view[i]));
+		}
+		return rows;
+	}
+
+	private int[] getView() {
+		if (view == null || !Objects.equals(viewSorting, sorting)) {
+			view = computeView();
+			viewSorting = sorting;
+		}
+		return view;
+	}
+
+	private int[] computeView() {
+		BitSet visibleRows = new BitSet(rowCount);
+		visibleRows.set(0, rowCount);
+		for (ColumnFilter filter : filters) {
+			columnsByName.get(filter.columnName).retainMatching(filter, visibleRows, rowCount);
+		}
+		int[] view = new int[visibleRows.cardinality()];
+		Column sortColumn = sorting != null && sorting.isSorted() ? columnsByName.get(sorting.getFieldName()) : null;
+		if (sortColumn == null) {
+			int i = 0;
+			for (int row = visibleRows.nextSetBit(0); row >= 0; row = visibleRows.nextSetBit(row + 1)) {
+				view[i++] = row;
+			}
+		} else {
+			int[] sortIndex = sortColumn.getSortIndex(rowCount);
+			int i = 0;
+			for (int row : sortIndex) {
+				if (visibleRows.get(row)) {
+					view[i++] = row;
+				}
+			}
+			if (sorting.getSortDirection() == SortDirection.DESC) {
+				reverseKeepingOrderOfEqualValues(view, sortColumn);
+			}
+		}
+		return view;
+	}
+
+	/**
+	 * Like in {@link ListTableModel}, rows with equal values stay in row index order in both sort directions.
+	 */
+	private static void reverseKeepingOrderOfEqualValues(int[] view, Column column) {
+		IntArrays.reverse(view);
+		int runStart = 0;
+		for (int i = 1; i <= view.length; i++) {
+			if (i == view.length || !column.hasEqualValues(view[runStart], view[i])) {
+				IntArrays.reverse(view, runStart, i);
+				runStart = i;
+			}
+		}
+	}
+
+	/**
+	 * A row of a {@link ColumnarTableModel}. Rows are equal if they denote the same row of the same model.
+	 */
+	public static final class Row {
+
+		private final ColumnarTableModel model;
+		private final int rowIndex;
+
+		private Row(ColumnarTableModel model, int rowIndex) {
+			this.model = model;
+			this.rowIndex = rowIndex;
+		}
+
+		public int getRowIndex() {
+			return rowIndex;
+		}
+
+		public Object get(String columnName) {
+			Column column = model.columnsByName.get(columnName);
+			return column != null ? column.get(rowIndex) : null;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (o == null || getClass() != o.getClass()) {
+				return false;
+			}
+			Row row = (Row) o;
+			return rowIndex == row.rowIndex && model == row.model;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * System.identityHashCode(model) + rowIndex;
+		}
+
+		@Override
+		public String toString() {
+			return "Row{" + rowIndex + "}";
+		}
+	}
+
+	/**
+	 * A filter on the values of a single column. The predicate type must match the column type.
+	 */
+	public static final class ColumnFilter {
+
+		private final String columnName;
+		private final Object predicate;
+
+		private ColumnFilter(String columnName, Object predicate) {
+			this.columnName = Objects.requireNonNull(columnName);
+			this.predicate = Objects.requireNonNull(predicate);
+		}
+
+		/**
+		 * For int columns.
+		 */
+		public static ColumnFilter ofInt(String columnName, IntPredicate predicate) {
+			return new ColumnFilter(columnName, predicate);
+		}
+
+		/**
+		 * For int and long columns.
+		 */
+		public static ColumnFilter ofLong(String columnName, LongPredicate predicate) {
+			return new ColumnFilter(columnName, predicate);
+		}
+
+		/**
+		 * For numeric columns.
+		 */
+		public static ColumnFilter ofDouble(String columnName, DoublePredicate predicate) {
+			return new ColumnFilter(columnName, predicate);
+		}
+
+		/**
+		 * For boolean columns.
+		 */
+		public static ColumnFilter ofBoolean(String columnName, boolean value) {
+			return new ColumnFilter(columnName, value);
+		}
+
+		/**
+		 * For string columns. The predicate is evaluated once per distinct value.
+		 */
+		public static ColumnFilter ofString(String columnName, Predicate<String> predicate) {
+			return new ColumnFilter(columnName, predicate);
+		}
+
+		public String getColumnName() {
+			return columnName;
+		}
+	}
+
+	private static abstract class Column {
+
+		final String name;
+		final BitSet nulls = new BitSet();
+		int[] sortIndex; // null if it needs to be recomputed
+
+		Column(String name) {
+			this.name = name;
+		}
+
+		/**
+		 * @return the value as stored by this column
+		 * @throws IllegalArgumentException if the value is not applicable to this column
+		 */
+		Object convert(Object value) {
+			if (value == null) {
+				return null;
+			}
+			Object convertedValue = convertNonNull(value);
+			if (convertedValue == null) {
+				throw new IllegalArgumentException("Value not applicable to column " + name + ": " + value + " (" + value.getClass().getName() + ")");
+			}
+			return convertedValue;
+		}
+
+		/**
+		 * Must be called with converted values only (see {@link #convert(Object)}).
+		 */
+		void add(Object value) {
+			int rowIndex = size();
+			addNonNull(value != null ? value : defaultValue());
+			nulls.set(rowIndex, value == null);
+		}
+
+		void set(int rowIndex, Object value) {
+			setNonNull(rowIndex, value != null ? value : defaultValue());
+			nulls.set(rowIndex, value == null);
+		}
+
+		Object get(int rowIndex) {
+			return nulls.get(rowIndex) ? null : getNonNull(rowIndex);
+		}
+
+		void clear() {
+			nulls.clear();
+			clearValues();
+			sortIndex = null;
+		}
+
+		int[] getSortIndex(int rowCount) {
+			if (sortIndex == null) {
+				int[] sortIndex = new int[rowCount];
+				int nullCount = nulls.cardinality();
+				int[] nonNullRows = new int[rowCount - nullCount];
+				int nullIndex = nonNullRows.length; // nulls last
+				int nonNullIndex = 0;
+				for (int row = 0; row < rowCount; row++) {
+					if (nulls.get(row)) {
+						sortIndex[nullIndex++] = row;
+					} else {
+						nonNullRows[nonNullIndex++] = row;
+					}
+				}
+				sortIndirect(nonNullRows);
+				System.arraycopy(nonNullRows, 0, sortIndex, 0, nonNullRows.length);
+				this.sortIndex = sortIndex;
+			}
+			return sortIndex;
+		}
+
+		boolean hasEqualValues(int rowIndex1, int rowIndex2) {
+			boolean null1 = nulls.get(rowIndex1);
+			boolean null2 = nulls.get(rowIndex2);
+			return null1 || null2 ? null1 && null2 : hasEqualNonNullValues(rowIndex1, rowIndex2);
+		}
+
+		void checkFilter(ColumnFilter filter) {
+			if (!isSupportedPredicate(filter.predicate)) {
+				throw new IllegalArgumentException("Filter not applicable to column " + name);
+			}
+		}
+
+		abstract int size();
+
+		abstract Object defaultValue();
+
+		/**
+		 * @return the value as stored by this column, or null if the value is not applicable
+		 */
+		abstract Object convertNonNull(Object value);
+
+		abstract void addNonNull(Object value);
+
+		abstract void setNonNull(int rowIndex, Object value);
+
+		abstract Object getNonNull(int rowIndex);
+
+		abstract void clearValues();
+
+		abstract boolean hasEqualNonNullValues(int rowIndex1, int rowIndex2);
+
+		/**
+		 * Stable sort of the given row indexes by value.
+		 */
+		abstract void sortIndirect(int[] rows);
+
+		abstract boolean isSupportedPredicate(Object predicate);
+
+		/**
+		 * Clears the rows (below rowCount) whose value is null or does not match the filter.
+		 * The filter's predicate is supported by this column (see {@link #isSupportedPredicate(Object)}).
+		 */
+		abstract void retainMatching(ColumnFilter filter, BitSet rows, int rowCount);
+	}
+
+	private static class IntColumn extends Column {
+		private final IntArrayList values = new IntArrayList();
+
+		IntColumn(String name) {
+			super(name);
+		}
+
+		@Override
+		int size() {
+			return values.size();
+		}
+
+		@Override
+		Object defaultValue() {
+			return 0;
+		}
+
+		@Override
+		Object convertNonNull(Object value) {
+			return value instanceof Number ? (Object) ((Number) value).intValue() : null;
+		}
+
+		@Override
+		void addNonNull(Object value) {
+			values.add(((Number) value).intValue());
+		}
+
+		@Override
+		void setNonNull(int rowIndex, Object value) {
+			values.set(rowIndex, ((Number) value).intValue());
+		}
+
+		@Override
+		Object getNonNull(int rowIndex) {
+			return values.getInt(rowIndex);
+		}
+
+		@Override
+		boolean hasEqualNonNullValues(int rowIndex1, int rowIndex2) {
+			return values.getInt(rowIndex1) == values.getInt(rowIndex2);
+		}
+
+		@Override
+		void clearValues() {
+			values.clear();
+		}
+
+		@Override
+		void sortIndirect(int[] rows) {
+			IntArrays.radixSortIndirect(rows, values.elements(), true);
+		}
+
+		@Override
+		boolean isSupportedPredicate(Object predicate) {
+			return predicate instanceof IntPredicate || predicate instanceof LongPredicate || predicate instanceof DoublePredicate;
+		}
+
+		@Override
+		void retainMatching(ColumnFilter filter, BitSet rows, int rowCount) {
+			IntPredicate predicate = filter.predicate instanceof IntPredicate ? (IntPredicate) filter.predicate
+					: filter.predicate instanceof LongPredicate ? ((LongPredicate) filter.predicate)::test
+					: ((DoublePredicate) filter.predicate)::test;
+			int[] values = this.values.elements();
+			for (int row = rows.nextSetBit(0); row >= 0 && row < rowCount; row = rows.nextSetBit(row + 1)) {
+				if (nulls.get(row) || !predicate.test(values[row])) {
+					rows.clear(row);
+				}
+			}
+		}
+	}
+
+	private static class LongColumn extends Column {
+		private final LongArrayList values = new LongArrayList();
+
+		LongColumn(String name) {
+			super(name);
+		}
+
+		@Override
+		int size() {
+			return values.size();
+		}
+
+		@Override
+		Object defaultValue() {
+			return 0L;
+		}
+
+		@Override
+		Object convertNonNull(Object value) {
+			return value instanceof Number ? (Object) ((Number) value).longValue() : null;
+		}
+
+		@Override
+		void addNonNull(Object value) {
+			values.add(((Number) value).longValue());
+		}
+
+		@Override
+		void setNonNull(int rowIndex, Object value) {
+			values.set(rowIndex, ((Number) value).longValue());
+		}
+
+		@Override
+		Object getNonNull(int rowIndex) {
+			return values.getLong(rowIndex);
+		}
+
+		@Override
+		boolean hasEqualNonNullValues(int rowIndex1, int rowIndex2) {
+			return values.getLong(rowIndex1) == values.getLong(rowIndex2);
+		}
+
+		@Override
+		void clearValues() {
+			values.clear();
+		}
+
+		@Override
+		void sortIndirect(int[] rows) {
+			LongArrays.radixSortIndirect(rows, values.elements(), true);
+		}
+
+		@Override
+		boolean isSupportedPredicate(Object predicate) {
+			return predicate instanceof LongPredicate || predicate instanceof DoublePredicate;
+		}
+
+		@Override
+		void retainMatching(ColumnFilter filter, BitSet rows, int rowCount) {
+			LongPredicate predicate = filter.predicate instanceof LongPredicate ? (LongPredicate) filter.predicate
+					: ((DoublePredicate) filter.predicate)::test;
+			long[] values = this.values.elements();
+			for (int row = rows.nextSetBit(0); row >= 0 && row < rowCount; row = rows.nextSetBit(row + 1)) {
+				if (nulls.get(row) || !predicate.test(values[row])) {
+					rows.clear(row);
+				}
+			}
+		}
+	}
+
+	private static class DoubleColumn extends Column {
+		private final DoubleArrayList values = new DoubleArrayList();
+
+		DoubleColumn(String name) {
+			super(name);
+		}
+
+		@Override
+		int size() {
+			return values.size();
+		}
+
+		@Override
+		Object defaultValue() {
+			return 0d;
+		}
+
+		@Override
+		Object convertNonNull(Object value) {
+			return value instanceof Number ? (Object) ((Number) value).doubleValue() : null;
+		}
+
+		@Override
+		void addNonNull(Object value) {
+			values.add(((Number) value).doubleValue());
+		}
+
+		@Override
+		void setNonNull(int rowIndex, Object value) {
+			values.set(rowIndex, ((Number) value).doubleValue());
+		}
+
+		@Override
+		Object getNonNull(int rowIndex) {
+			return values.getDouble(rowIndex);
+		}
+
+		@Override
+		boolean hasEqualNonNullValues(int rowIndex1, int rowIndex2) {
+			return Double.compare(values.getDouble(rowIndex1), values.getDouble(rowIndex2)) == 0;
+		}
+
+		@Override
+		void clearValues() {
+			values.clear();
+		}
+
+		@Override
+		void sortIndirect(int[] rows) {
+			DoubleArrays.radixSortIndirect(rows, values.elements(), true);
+		}
+
+		@Override
+		boolean isSupportedPredicate(Object predicate) {
+			return predicate instanceof DoublePredicate;
+		}
+
+		@Override
+		void retainMatching(ColumnFilter filter, BitSet rows, int rowCount) {
+			double[] values = this.values.elements();
+			DoublePredicate predicate = (DoublePredicate) filter.predicate;
+			for (int row = rows.nextSetBit(0); row >= 0 && row < rowCount; row = rows.nextSetBit(row + 1)) {
+				if (nulls.get(row) || !predicate.test(values[row])) {
+					rows.clear(row);
+				}
+			}
+		}
+	}
+
+	private static class BooleanColumn extends Column {
+		private final BooleanArrayList values = new BooleanArrayList();
+
+		BooleanColumn(String name) {
+			super(name);
+		}
+
+		@Override
+		int size() {
+			return values.size();
+		}
+
+		@Override
+		Object defaultValue() {
+			return false;
+		}
+
+		@Override
+		Object convertNonNull(Object value) {
+			return value instanceof Boolean ? value : null;
+		}
+
+		@Override
+		void addNonNull(Object value) {
+			values.add((boolean) (Boolean) value);
+		}
+
+		@Override
+		void setNonNull(int rowIndex, Object value) {
+			values.set(rowIndex, (boolean) (Boolean) value);
+		}
+
+		@Override
+		Object getNonNull(int rowIndex) {
+			return values.getBoolean(rowIndex);
+		}
+
+		@Override
+		boolean hasEqualNonNullValues(int rowIndex1, int rowIndex2) {
+			return values.getBoolean(rowIndex1) == values.getBoolean(rowIndex2);
+		}
+
+		@Override
+		void clearValues() {
+			values.clear();
+		}
+
+		@Override
+		void sortIndirect(int[] rows) {
+			// stable partition: false before true
+			int[] sorted = new int[rows.length];
+			int falseCount = 0;
+			for (int row : rows) {
+				if (!values.getBoolean(row)) {
+					falseCount++;
+				}
+			}
+			int falseIndex = 0;
+			int trueIndex = falseCount;
+			for (int row : rows) {
+				sorted[values.getBoolean(row) ? trueIndex++ : falseIndex++] = row;
+			}
+			System.arraycopy(sorted, 0, rows, 0, rows.length);
+		}
+
+		@Override
+		boolean isSupportedPredicate(Object predicate) {
+			return predicate instanceof Boolean;
+		}
+
+		@Override
+		void retainMatching(ColumnFilter filter, BitSet rows, int rowCount) {
+			boolean expectedValue = (Boolean) filter.predicate;
+			boolean[] values = this.values.elements();
+			for (int row = rows.nextSetBit(0); row >= 0 && row < rowCount; row = rows.nextSetBit(row + 1)) {
+				if (nulls.get(row) || values[row] != expectedValue) {
+					rows.clear(row);
+				}
+			}
+		}
+	}
+
+	private static class StringColumn extends Column {
+		private final IntArrayList codes = new IntArrayList();
+		private final ObjectArrayList<String> dictionary = new ObjectArrayList<>();
+		private final Object2IntOpenHashMap<String> codesByValue = new Object2IntOpenHashMap<>();
+		private int setCountSinceCompaction;
+
+		StringColumn(String name) {
+			super(name);
+			codesByValue.defaultReturnValue(-1);
+		}
+
+		private int encode(String value) {
+			int code = codesByValue.getInt(value);
+			if (code < 0) {
+				code = dictionary.size();
+				dictionary.add(value);
+				codesByValue.put(value, code);
+			}
+			return code;
+		}
+
+		@Override
+		int size() {
+			return codes.size();
+		}
+
+		@Override
+		Object defaultValue() {
+			return "";
+		}
+
+		@Override
+		Object convertNonNull(Object value) {
+			return value.toString();
+		}
+
+		@Override
+		void addNonNull(Object value) {
+			codes.add(encode(value.toString()));
+		}
+
+		@Override
+		void setNonNull(int rowIndex, Object value) {
+			codes.set(rowIndex, encode(value.toString()));
+			if (++setCountSinceCompaction > Math.max(1024, codes.size())) {
+				compactDictionary();
+			}
+		}
+
+		/**
+		 * Removes the values that are not used anymore (replaced by {@link #setNonNull(int, Object)}) from the dictionary.
+		 * Since this is only done after as many replacements as there are rows, the amortized cost per replacement is constant.
+		 */
+		private void compactDictionary() {
+			setCountSinceCompaction = 0;
+			int[] newCodesByCode = new int[dictionary.size()];
+			Arrays.fill(newCodesByCode, -1);
+			int[] codes = this.codes.elements();
+			int size = this.codes.size();
+			int newDictionarySize = 0;
+			for (int row = 0; row < size; row++) {
+				if (newCodesByCode[codes[row]] < 0) {
+					newCodesByCode[codes[row]] = newDictionarySize++;
+				}
+			}
+			if (newDictionarySize == dictionary.size()) {
+				return;
+			}
+			String[] newDictionary = new String[newDictionarySize];
+			for (int code = 0; code < newCodesByCode.length; code++) {
+				if (newCodesByCode[code] >= 0) {
+					newDictionary[newCodesByCode[code]] = dictionary.get(code);
+				}
+			}
+			for (int row = 0; row < size; row++) {
+				codes[row] = newCodesByCode[codes[row]];
+			}
+			dictionary.clear();
+			dictionary.addElements(0, newDictionary);
+			codesByValue.clear();
+			for (int code = 0; code < newDictionary.length; code++) {
+				codesByValue.put(newDictionary[code], code);
+			}
+		}
+
+		@Override
+		Object getNonNull(int rowIndex) {
+			return dictionary.get(codes.getInt(rowIndex));
+		}
+
+		@Override
+		boolean hasEqualNonNullValues(int rowIndex1, int rowIndex2) {
+			return codes.getInt(rowIndex1) == codes.getInt(rowIndex2); // values are unique in the dictionary
+		}
+
+		@Override
+		void clearValues() {
+			codes.clear();
+			dictionary.clear();
+			codesByValue.clear();
+			setCountSinceCompaction = 0;
+		}
+
+		@Override
+		void sortIndirect(int[] rows) {
+			// sort the distinct values only, then sort the rows by the rank of their value
+			int[] codesByRank = new int[dictionary.size()];
+			for (int i = 0; i < codesByRank.length; i++) {
+				codesByRank[i] = i;
+			}
+			IntArrays.quickSort(codesByRank, (a, b) -> dictionary.get(a).compareTo(dictionary.get(b)));
+			int[] rankByCode = new int[codesByRank.length];
+			for (int rank = 0; rank < codesByRank.length; rank++) {
+				rankByCode[codesByRank[rank]] = rank;
+			}
+			int[] codes = this.codes.elements();
+			int[] ranksByRow = new int[codes.length];
+			for (int row : rows) {
+				ranksByRow[row] = rankByCode[codes[row]];
+			}
+			IntArrays.radixSortIndirect(rows, ranksByRow, true);
+		}
+
+		@Override
+		boolean isSupportedPredicate(Object predicate) {
+			return predicate instanceof Predicate;
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		void retainMatching(ColumnFilter filter, BitSet rows, int rowCount) {
+			Predicate<String> predicate = (Predicate<String>) filter.predicate;
+			boolean[] matchesByCode = new boolean[dictionary.size()];
+			for (int code = 0; code < matchesByCode.length; code++) {
+				matchesByCode[code] = predicate.test(dictionary.get(code));
+			}
+			int[] codes = this.codes.elements();
+			for (int row = rows.nextSetBit(0); row >= 0 && row < rowCount; row = rows.nextSetBit(row + 1)) {
+				if (nulls.get(row) || !matchesByCode[codes[row]]) {
+					rows.clear(row);
+				}
+			}
+		}
+	}
+}
@@ -52,6 +52,14 @@ public class ListTable<RECORD> extends Table<RECORD> {
 		model.addRecords(records);
 	}
 
+	public void removeRecord(RECORD record) {
+		model.removeRecord(record);
+	}
+
+	public void updateRecord(RECORD record) {
+		model.updateRecord(record);
+	}
+
 	public void setFilter(Predicate<RECORD> filter) {
 		model.setFilter(filter);
 	}
@@ -19,25 +19,42 @@
  */
 package org.teamapps.ux.component.table;
 
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntArrays;
+import it.unimi.dsi.fastutil.ints.IntComparator;
 import org.teamapps.data.extract.BeanPropertyExtractor;
 import org.teamapps.data.extract.PropertyExtractor;
 import org.teamapps.data.value.SortDirection;
+import org.teamapps.data.value.Sorting;
+import org.teamapps.ux.cache.record.ItemRange;
 import org.teamapps.ux.component.infiniteitemview.RecordsAddedEvent;
+import org.teamapps.ux.component.infiniteitemview.RecordsChangedEvent;
+import org.teamapps.ux.component.infiniteitemview.RecordsRemovedEvent;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
+/**
+ * A {@link TableModel} backed by a list.
+ * <p>
+ * The filtered and sorted view on the list is cached as a permutation of list indexes. Single records added, removed or updated
+ * via this model are sorted into the cached view incrementally. The view is recomputed whenever all data is reported as changed
+ * (i.e. the list, filter or sorting is set, or records are added in bulk) and when the table refreshes its data
+ * ({@link Table#refreshData()}).
+ * <p>
+ * Note that changes to the records themselves (i.e. changing a property the records are filtered or sorted by) are not noticed
+ * by this model. Use {@link #updateRecord(Object)} or {@link #refresh()} in that case.
+ */
 public class ListTableModel<RECORD> extends AbstractTableModel<RECORD> {
 
 	private List<RECORD> list = new ArrayList<>();
 	private Predicate<RECORD> filter = record -> true;
 	private PropertyExtractor<RECORD> sortingPropertyExtractor = new BeanPropertyExtractor<>();
 
+	private IntArrayList view; // indexes into list, filtered and sorted. null if it needs to be recomputed.
+
 	public ListTableModel() {
 	}
 
@@ -50,6 +67,7 @@ public class ListTableModel<RECORD> extends AbstractTableModel<RECORD> {
 			list = Collections.emptyList();
 		}
 		this.list = new ArrayList<>(list);
+		this.view = null;
 		onAllDataChanged.fire(null);
 	}
 
@@ -58,71 +76,196 @@ public class ListTableModel<RECORD> extends AbstractTableModel<RECORD> {
 	}
 
 	public void addRecord(RECORD record) {
+		IntArrayList view = getView();
 		list.add(record);
-		onRecordAdded.fire(new RecordsAddedEvent<>(list.size() - 1, List.of(record)));
+		int listIndex = list.size() - 1;
+		if (isVisible(record)) {
+			int viewIndex = findInsertionIndex(view, listIndex);
+			view.add(viewIndex, listIndex);
+			onRecordAdded.fire(new RecordsAddedEvent<>(viewIndex, List.of(record)));
+		}
 	}
 
 	public void addRecords(List<RECORD> records) {
 		list.addAll(records);
+		this.view = null;
 		onAllDataChanged.fire(null);
 	}
 
-	@Override
-	public int getCount() {
-		if (filter == null) {
-			return list.size();
+	/**
+	 * Removes the first occurrence of the record from the list.
+	 */
+	public void removeRecord(RECORD record) {
+		int listIndex = list.indexOf(record);
+		if (listIndex < 0) {
+			return;
+		}
+		IntArrayList view = getView();
+		int viewIndex = view.indexOf(listIndex);
+		list.remove(listIndex);
+		if (viewIndex >= 0) {
+			view.removeInt(viewIndex);
+		}
+		int[] elements = view.elements();
+		for (int i = 0; i < view.size(); i++) {
+			if (elements[i] > listIndex) {
+				elements[i]--;
+			}
+		}
+		if (viewIndex >= 0) {
+			onRecordDeleted.fire(new RecordsRemovedEvent<>(ItemRange.startLength(viewIndex, 1)));
+		}
+	}
+
+	/**
+	 * Re-applies filter and sorting to the given record, after it has been changed.
+	 */
+	public void updateRecord(RECORD record) {
+		int listIndex = list.indexOf(record);
+		if (listIndex < 0) {
+			return;
+		}
+		IntArrayList view = getView();
+		int oldViewIndex = view.indexOf(listIndex);
+		if (oldViewIndex >= 0) {
+			view.removeInt(oldViewIndex);
+		}
+		int newViewIndex = -1;
+		if (isVisible(record)) {
+			newViewIndex = findInsertionIndex(view, listIndex);
+			view.add(newViewIndex, listIndex);
+		}
+		if (oldViewIndex >= 0 && oldViewIndex == newViewIndex) {
+			onRecordUpdated.fire(new RecordsChangedEvent<>(newViewIndex, List.of(record)));
 		} else {
-			return (int) list.stream()
-					.filter(filter)
-					.count();
+			if (oldViewIndex >= 0) {
+				onRecordDeleted.fire(new RecordsRemovedEvent<>(ItemRange.startLength(oldViewIndex, 1)));
+			}
+			if (newViewIndex >= 0) {
+				onRecordAdded.fire(new RecordsAddedEvent<>(newViewIndex, List.of(record)));
+			}
 		}
 	}
 
+	/**
+	 * Re-applies filter and sorting to all records, e.g. after records have been changed.
+	 */
+	public void refresh() {
+		this.view = null;
+		onAllDataChanged.fire(null);
+	}
+
+	@Override
+	public int getCount() {
+		return getView().size();
+	}
+
 	@Override
 	public List<RECORD> getRecords(int startIndex, int length) {
-		if (filter == null && sorting == null) {
-			return list.subList(startIndex, Math.min(list.size(), startIndex + length));
-		} else {
-			Stream<RECORD> stream = list.stream();
-			if (filter != null) {
-				stream = stream.filter(filter);
+		IntArrayList view = getView();
+		int endIndex = Math.min(view.size(), startIndex + length);
+		List<RECORD> records = new ArrayList<>(Math.max(0, endIndex - startIndex));
+		for (int i = startIndex; i < endIndex; i++) {
+			records.add(list.get(view.getInt(i)));
+		}
+		return records;
+	}
+
+	@Override
+	public void setSorting(Sorting sorting) {
+		this.view = null;
+		super.setSorting(sorting);
+	}
+
+	@Override
+	public void clearCache() {
+		this.view = null;
+	}
+
+	private IntArrayList getView() {
+		if (view == null) {
+			view = computeView();
+		}
+		return view;
+	}
+
+	private IntArrayList computeView() {
+		IntArrayList view = new IntArrayList(list.size());
+		for (int i = 0; i < list.size(); i++) {
+			if (isVisible(list.get(i))) {
+				view.add(i);
 			}
-			if (sorting != null && sortingPropertyExtractor != null) {
-				stream = stream.sorted(valueExtractingComparator());
+		}
+		if (isSorted()) {
+			// extract every value only once, instead of twice per comparison
+			Object[] sortValues = new Object[list.size()];
+			for (int i = 0; i < view.size(); i++) {
+				int listIndex = view.getInt(i);
+				sortValues[listIndex] = extractSortValue(listIndex);
+			}
+			IntArrays.quickSort(view.elements(), 0, view.size(), (i1, i2) -> compare(sortValues[i1], sortValues[i2], i1, i2));
+		}
+		return view;
+	}
+
+	private int findInsertionIndex(IntArrayList view, int listIndex) {
+		IntComparator comparator = isSorted()
+				? (i1, i2) -> compare(extractSortValue(i1), extractSortValue(i2), i1, i2)
+				: Integer::compare;
+		int low = 0;
+		int high = view.size();
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (comparator.compare(view.getInt(mid), listIndex) < 0) {
+				low = mid + 1;
+			} else {
+				high = mid;
 			}
-			return stream
-					.skip(startIndex)
-					.limit(length)
-					.collect(Collectors.toList());
 		}
+		return low;
+	}
+
+	private boolean isVisible(RECORD record) {
+		return filter == null || filter.test(record);
 	}
 
-	private Comparator<RECORD> valueExtractingComparator() {
-		Comparator<RECORD> comparator = (o1, o2) -> {
-			Object v1 = sortingPropertyExtractor.getValue(o1, sorting.getFieldName());
-			Object v2 = sortingPropertyExtractor.getValue(o2, sorting.getFieldName());
-			if (v1 == null && v2 == null) {
+	private boolean isSorted() {
+		return sorting != null && sortingPropertyExtractor != null;
+	}
+
+	private Object extractSortValue(int listIndex) {
+		return sortingPropertyExtractor.getValue(list.get(listIndex), sorting.getFieldName());
+	}
+
+	/**
+	 * Compares by sort value, then by list index, so the order is total and equal values keep their list order.
+	 */
+	private int compare(Object v1, Object v2, int listIndex1, int listIndex2) {
+		int comparison = compareValues(v1, v2);
+		if (sorting.getSortDirection() == SortDirection.DESC) {
+			comparison = -comparison;
+		}
+		return comparison != 0 ? comparison : Integer.compare(listIndex1, listIndex2);
+	}
+
+	static int compareValues(Object v1, Object v2) {
+		if (v1 == null && v2 == null) {
+			return 0;
+		} else if (v1 == null) {
+			return 1;
+		} else if (v2 == null) {
+			return -1;
+		} else { // both are not null
+			if (!(v1 instanceof Comparable) && !(v2 instanceof Comparable)) {
 				return 0;
-			} else if (v1 == null) {
+			} else if (!(v1 instanceof Comparable)) {
 				return 1;
-			} else if (v2 == null) {
+			} else if (!(v2 instanceof Comparable)) {
 				return -1;
-			} else { // both are not null
-				if (!(v1 instanceof Comparable) && !(v2 instanceof Comparable)) {
-					return 0;
-				} else if (!(v1 instanceof Comparable)) {
-					return 1;
-				} else if (!(v2 instanceof Comparable)) {
-					return -1;
-				} else {
-					return ((Comparable) v1).compareTo(v2);
-				}
+			} else {
+				return Integer.signum(((Comparable) v1).compareTo(v2));
 			}
-		};
-		if (sorting.getSortDirection() == SortDirection.DESC) {
-			comparator = comparator.reversed();
 		}
-		return comparator;
 	}
 
 	public List<RECORD> getAllRecords() {
@@ -135,6 +278,7 @@ public class ListTableModel<RECORD> extends AbstractTableModel<RECORD> {
 
 	public void setFilter(Predicate<RECORD> filter) {
 		this.filter = filter;
+		this.view = null;
 		onAllDataChanged.fire(null);
 	}
 
@@ -144,5 +288,6 @@ public class ListTableModel<RECORD> extends AbstractTableModel<RECORD> {
 
 	public void setSortingPropertyExtractor(PropertyExtractor<RECORD> sortingPropertyExtractor) {
 		this.sortingPropertyExtractor = sortingPropertyExtractor;
+		this.view = null;
 	}
 }
@@ -0,0 +1,120 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2023 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.ux.component.table;
+
+import org.teamapps.data.extract.PropertyProvider;
+import org.teamapps.data.extract.ValueExtractor;
+import org.teamapps.ux.component.field.AbstractField;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pre-resolved information on how to extract the values of a record for a fixed list of columns and a property provider.
+ * <p>
+ * Tables create a plan once and reuse it for every record, until their columns or property provider change.
+ */
+class RecordExtractionPlan<RECORD> {
+
+	private final PropertyProvider<RECORD> propertyProvider;
+
+	private final String[] propertyNames;
+	private final ValueExtractor<RECORD, ?>[] valueExtractors; // null for columns whose values are provided by the propertyProvider
+	private final AbstractField<Object>[] fields;
+	private final List<String> providedPropertyNames;
+
+	private final String[] displayTemplateColumnPropertyNames;
+	private final PropertyProvider<RECORD>[] displayPropertyProviders;
+	private final List<String>[] displayTemplatePropertyNames;
+
+	@SuppressWarnings("unchecked")
+	RecordExtractionPlan(List<TableColumn<RECORD, ?>> columns, PropertyProvider<RECORD> propertyProvider) {
+		this.propertyProvider = propertyProvider;
+
+		int columnCount = columns.size();
+		this.propertyNames = new String[columnCount];
+		this.valueExtractors = new ValueExtractor[columnCount];
+		this.fields = new AbstractField[columnCount];
+		this.providedPropertyNames = new ArrayList<>(columnCount);
+		List<TableColumn<RECORD, ?>> displayTemplateColumns = new ArrayList<>();
+		for (int i = 0; i < columnCount; i++) {
+			TableColumn<RECORD, ?> column = columns.get(i);
+			propertyNames[i] = column.getPropertyName();
+			valueExtractors[i] = column.getValueExtractor();
+			fields[i] = (AbstractField<Object>) column.getField();
+			if (column.getValueExtractor() == null) {
+				providedPropertyNames.add(column.getPropertyName());
+			}
+			if (column.getDisplayTemplate() != null) {
+				displayTemplateColumns.add(column);
+			}
+		}
+
+		this.displayTemplateColumnPropertyNames = new String[displayTemplateColumns.size()];
+		this.displayPropertyProviders = new PropertyProvider[displayTemplateColumns.size()];
+		this.displayTemplatePropertyNames = new List[displayTemplateColumns.size()];
+		for (int i = 0; i < displayTemplateColumns.size(); i++) {
+			TableColumn<RECORD, ?> column = displayTemplateColumns.get(i);
+			displayTemplateColumnPropertyNames[i] = column.getPropertyName();
+			displayPropertyProviders[i] = column.getDisplayPropertyProvider();
+			displayTemplatePropertyNames[i] = List.copyOf(column.getDisplayTemplate().getPropertyNames());
+		}
+	}
+
+	/**
+	 * @return the (ux) values of all columns by property name. The returned map is mutable.
+	 */
+	Map<String, Object> extractValues(RECORD record) {
+		Map<String, Object> values = new HashMap<>(propertyProvider.getValues(record, providedPropertyNames));
+		for (int i = 0; i < propertyNames.length; i++) {
+			if (valueExtractors[i] != null) {
+				values.put(propertyNames[i], valueExtractors[i].extract(record));
+			}
+		}
+		return values;
+	}
+
+	/**
+	 * @return the values of all columns by property name, converted to ui values by the respective column's field.
+	 */
+	Map<String, Object> extractUiValues(RECORD record) {
+		Map<String, Object> providedValues = providedPropertyNames.isEmpty() ? Map.of() : propertyProvider.getValues(record, providedPropertyNames);
+		Map<String, Object> uiValues = new HashMap<>(capacityFor(propertyNames.length));
+		for (int i = 0; i < propertyNames.length; i++) {
+			Object value = valueExtractors[i] != null ? valueExtractors[i].extract(record) : providedValues.get(propertyNames[i]);
+			uiValues.put(propertyNames[i], fields[i].convertUxValueToUiValue(value));
+		}
+		return uiValues;
+	}
+
+	Map<String, Map<String, Object>> extractDisplayTemplateValues(RECORD record) {
+		Map<String, Map<String, Object>> displayTemplateValues = new HashMap<>(capacityFor(displayTemplateColumnPropertyNames.length));
+		for (int i = 0; i < displayTemplateColumnPropertyNames.length; i++) {
+			displayTemplateValues.put(displayTemplateColumnPropertyNames[i], displayPropertyProviders[i].getValues(record, displayTemplatePropertyNames[i]));
+		}
+		return displayTemplateValues;
+	}
+
+	private static int capacityFor(int size) {
+		return (int) (size / 0.75f) + 1;
+	}
+}
@@ -0,0 +1,271 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2023 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.ux.component.table;
+
+import it.unimi.dsi.fastutil.ints.IntArrays;
+import org.teamapps.data.extract.BeanPropertyExtractor;
+import org.teamapps.data.extract.PropertyExtractor;
+import org.teamapps.data.value.SortDirection;
+import org.teamapps.data.value.Sorting;
+import org.teamapps.event.Disposable;
+import org.teamapps.event.Event;
+import org.teamapps.ux.session.SessionContext;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * A list of records that is shared by many sessions, e.g. for dashboards showing the same data to many users.
+ * <p>
+ * The records are held in immutable snapshots. Changes replace the snapshot (writers are synchronized), so readers never need
+ * to lock. Each session uses its own lightweight {@link View} (see {@link #createView()}), which is a {@link TableModel} holding
+ * only the session's filter and sorting. Sort orders are computed once per snapshot and shared by all views.
+ * <p>
+ * Changes are announced by {@link #onDataChanged}, which invokes listeners of other sessions via
+ * {@link SessionContext#runWithContext(Runnable)}. Views only process the latest snapshot, so several changes in a row
+ * cause at most one refresh per session.
+ */
+public class SharedListTableModel<RECORD> {
+
+	public final Event<Void> onDataChanged = new Event<>();
+
+	private final PropertyExtractor<RECORD> sortingPropertyExtractor;
+	private volatile Snapshot<RECORD> snapshot;
+
+	public SharedListTableModel() {
+		this(List.of(), new BeanPropertyExtractor<>());
+	}
+
+	public SharedListTableModel(List<RECORD> records) {
+		this(records, new BeanPropertyExtractor<>());
+	}
+
+	/**
+	 * @param sortingPropertyExtractor used to extract sort values. Must be thread-safe.
+	 */
+	public SharedListTableModel(List<RECORD> records, PropertyExtractor<RECORD> sortingPropertyExtractor) {
+		this.sortingPropertyExtractor = sortingPropertyExtractor;
+		this.snapshot = new Snapshot<>(List.copyOf(records));
+	}
+
+	/**
+	 * Creates a view for the current session. Views should be created in the session they are used in, so they get notified
+	 * in the right session context.
+	 */
+	public View<RECORD> createView() {
+		return new View<>(this);
+	}
+
+	public List<RECORD> getRecords() {
+		return snapshot.records;
+	}
+
+	public synchronized void setRecords(List<RECORD> records) {
+		replaceSnapshot(List.copyOf(records));
+	}
+
+	public synchronized void addRecords(Collection<RECORD> records) {
+		List<RECORD> newRecords = new ArrayList<>(snapshot.records.size() + records.size());
+		newRecords.addAll(snapshot.records);
+		newRecords.addAll(records);
+		replaceSnapshot(List.copyOf(newRecords));
+	}
+
+	public void addRecord(RECORD record) {
+		addRecords(List.of(record));
+	}
+
+	public synchronized void removeRecords(Predicate<RECORD> predicate) {
+		List<RECORD> newRecords = new ArrayList<>(snapshot.records);
+		if (newRecords.removeIf(predicate)) {
+			replaceSnapshot(List.copyOf(newRecords));
+		}
+	}
+
+	public void removeRecord(RECORD record) {
+		removeRecords(r -> Objects.equals(r, record));
+	}
+
+	/**
+	 * Re-applies filters and sortings in all views, e.g. after records have been changed.
+	 */
+	public synchronized void refresh() {
+		replaceSnapshot(snapshot.records);
+	}
+
+	private void replaceSnapshot(List<RECORD> records) {
+		this.snapshot = new Snapshot<>(records);
+		onDataChanged.fireIgnoringExceptions(null);
+	}
+
+	Snapshot<RECORD> getSnapshot() {
+		return snapshot;
+	}
+
+	/**
+	 * An immutable state of the shared records, plus the sort orders computed for it.
+	 */
+	static class Snapshot<RECORD> {
+
+		private final List<RECORD> records;
+		private final Map<Sorting, SortOrder> sortOrders = new ConcurrentHashMap<>();
+
+		Snapshot(List<RECORD> records) {
+			this.records = records;
+		}
+
+		int[] getSortOrder(Sorting sorting, PropertyExtractor<RECORD> propertyExtractor) {
+			return sortOrders.computeIfAbsent(sorting, s -> new SortOrder()).get(this, sorting, propertyExtractor);
+		}
+	}
+
+	/**
+	 * Computed by the first session that needs it. Other sessions wait for it instead of computing it, too.
+	 */
+	private static class SortOrder {
+
+		private int[] indexes;
+
+		synchronized <RECORD> int[] get(Snapshot<RECORD> snapshot, Sorting sorting, PropertyExtractor<RECORD> propertyExtractor) {
+			if (indexes == null) {
+				List<RECORD> records = snapshot.records;
+				Object[] sortValues = new Object[records.size()];
+				int[] indexes = new int[records.size()];
+				for (int i = 0; i < indexes.length; i++) {
+					indexes[i] = i;
+					sortValues[i] = propertyExtractor.getValue(records.get(i), sorting.getFieldName());
+				}
+				boolean descending = sorting.getSortDirection() == SortDirection.DESC;
+				IntArrays.quickSort(indexes, (i1, i2) -> {
+					int comparison = ListTableModel.compareValues(sortValues[i1], sortValues[i2]);
+					if (descending) {
+						comparison = -comparison;
+					}
+					return comparison != 0 ? comparison : Integer.compare(i1, i2);
+				});
+				this.indexes = indexes;
+			}
+			return indexes;
+		}
+	}
+
+	/**
+	 * A session's view on a {@link SharedListTableModel}, with its own filter and sorting.
+	 * <p>
+	 * The view sticks to one snapshot until it gets notified of a change, so the records it returns are consistent
+	 * while the session processes an event.
+	 */
+	public static class View<RECORD> extends AbstractTableModel<RECORD> {
+
+		private final SharedListTableModel<RECORD> sharedModel;
+		private final Disposable dataChangedListener;
+
+		private Predicate<RECORD> filter;
+		private Snapshot<RECORD> snapshot; // the snapshot the view was computed for
+		private int[] view; // indexes into the snapshot's records. null if it needs to be recomputed. Must not be modified (might be shared).
+		private Sorting viewSorting;
+
+		private View(SharedListTableModel<RECORD> sharedModel) {
+			this.sharedModel = sharedModel;
+			this.snapshot = sharedModel.getSnapshot();
+			this.dataChangedListener = sharedModel.onDataChanged.addListener(this::handleSharedDataChanged);
+		}
+
+		private void handleSharedDataChanged() {
+			Snapshot<RECORD> latestSnapshot = sharedModel.getSnapshot();
+			if (latestSnapshot != snapshot) { // skip outdated notifications
+				snapshot = latestSnapshot;
+				view = null;
+				onAllDataChanged.fire(null);
+			}
+		}
+
+		public Predicate<RECORD> getFilter() {
+			return filter;
+		}
+
+		public void setFilter(Predicate<RECORD> filter) {
+			this.filter = filter;
+			this.view = null;
+			onAllDataChanged.fire(null);
+		}
+
+		@Override
+		public int getCount() {
+			return getView().length;
+		}
+
+		@Override
+		public List<RECORD> getRecords(int startIndex, int length) {
+			int[] view = getView();
+			int endIndex = Math.min(view.length, startIndex + length);
+			List<RECORD> records = new ArrayList<>(Math.max(0, endIndex - startIndex));
+			for (int i = startIndex; i < endIndex; i++) {
+				records.add(snapshot.records.get(view[i]));
+			}
+			return records;
+		}
+
+		private int[] getView() {
+			if (view == null || !Objects.equals(viewSorting, sorting)) {
+				view = computeView();
+				viewSorting = sorting;
+			}
+			return view;
+		}
+
+		private int[] computeView() {
+			List<RECORD> records = snapshot.records;
+			int[] order = sorting != null && sorting.isSorted() && sharedModel.sortingPropertyExtractor != null
+					? snapshot.getSortOrder(sorting, sharedModel.sortingPropertyExtractor)
+					: null;
+			if (filter == null) {
+				if (order != null) {
+					return order; // shared
+				}
+				int[] view = new int[records.size()];
+				Arrays.setAll(view, i -> i);
+				return view;
+			}
+			int[] view = new int[records.size()];
+			int count = 0;
+			for (int i = 0; i < view.length; i++) {
+				int index = order != null ? order[i] : i;
+				if (filter.test(records.get(index))) {
+					view[count++] = index;
+				}
+			}
+			return Arrays.copyOf(view, count);
+		}
+
+		/**
+		 * Stops listening to changes of the shared model. Views are disposed automatically when their session is destroyed.
+		 */
+		public void dispose() {
+			dataChangedListener.dispose();
+		}
+	}
+}
@@ -30,6 +30,7 @@ import org.teamapps.event.Event;
 import org.teamapps.icons.Icon;
 import org.teamapps.ux.cache.record.DuplicateEntriesException;
 import org.teamapps.ux.cache.record.EqualsAndHashCode;
+import org.teamapps.ux.cache.record.EqualsHashCodeWrapper;
 import org.teamapps.ux.cache.record.ItemRange;
 import org.teamapps.ux.component.Component;
 import org.teamapps.ux.component.field.AbstractField;
@@ -41,6 +42,7 @@ import org.teamapps.ux.component.infiniteitemview.RecordsRemovedEvent;
 import org.teamapps.ux.component.template.Template;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -77,6 +79,7 @@ public class Table<RECORD> extends AbstractInfiniteListComponent<RECORD, TableMo
 	private int clientRecordIdCounter = 0;
 
 	private List<RECORD> selectedRecords = List.of();
+	private Set<EqualsHashCodeWrapper<RECORD>> selectedRecordsLookup = Set.of();
 	private TableCellCoordinates<RECORD> activeEditorCell;
 
 	private CustomEqualsAndHashCodeMap<RECORD, Map<String, Object>> transientChangesByRecordAndPropertyName = new CustomEqualsAndHashCodeMap<>(customEqualsAndHashCode);
@@ -84,6 +87,7 @@ public class Table<RECORD> extends AbstractInfiniteListComponent<RECORD, TableMo
 	private CustomEqualsAndHashCodeMap<RECORD, Set<String>> markedCells = new CustomEqualsAndHashCodeMap<>(customEqualsAndHashCode);
 
 	private final List<TableColumn<RECORD, ?>> columns = new ArrayList<>();
+	private RecordExtractionPlan<RECORD> recordExtractionPlan; // null if it needs to be (re-)created. See getRecordExtractionPlan()
 
 	private boolean displayAsList; // list has no cell borders, table has. selection policy: list = row selection, table = cell selection
 	private boolean forceFitWidth; //if true, force the widths of all columns to fit into the available space of the list
@@ -166,6 +170,7 @@ public class Table<RECORD> extends AbstractInfiniteListComponent<RECORD, TableMo
 
 	public void addColumns(List<TableColumn<RECORD, ?>> newColumns, int index) {
 		this.columns.addAll(index, newColumns);
+		invalidateRecordExtractionPlan();
 		newColumns.forEach(column -> {
 			column.setTable(this);
 			AbstractField<?> field = column.getField();
@@ -194,6 +199,7 @@ public class Table<RECORD> extends AbstractInfiniteListComponent<RECORD, TableMo
 
 	public void removeColumns(List<TableColumn<RECORD, ?>> obsoleteColumns) {
 		this.columns.removeAll(obsoleteColumns);
+		invalidateRecordExtractionPlan();
 		if (isRendered()) {
 			getSessionContext().queueCommand(
 					new UiTable.RemoveColumnsCommand(getId(), obsoleteColumns.stream()
@@ -245,7 +251,7 @@ public class Table<RECORD> extends AbstractInfiniteListComponent<RECORD, TableMo
 		switch (event.getUiEventType()) {
 			case UI_TABLE_ROWS_SELECTED: {
 				UiTable.RowsSelectedEvent rowsSelectedEvent = (UiTable.RowsSelectedEvent) event;
-				selectedRecords = renderedRecords.getRecords(rowsSelectedEvent.getRecordIds());
+				setSelectedRecordsInternal(renderedRecords.getRecords(rowsSelectedEvent.getRecordIds()));
 				this.onRowsSelected.fire(selectedRecords);
 				if (selectedRecords.size() == 1) {
 					this.onSingleRowSelected.fire(selectedRecords.get(0));
@@ -271,7 +277,7 @@ public class Table<RECORD> extends AbstractInfiniteListComponent<RECORD, TableMo
 					return;
 				}
 				this.activeEditorCell = new TableCellCoordinates<>(record, editingStartedEvent.getColumnPropertyName());
-				this.selectedRecords = List.of(activeEditorCell.getRecord());
+				setSelectedRecordsInternal(List.of(activeEditorCell.getRecord()));
 				Object cellValue = getCellValue(record, column);
 				AbstractField activeEditorField = getActiveEditorField();
 				activeEditorField.setValue(cellValue);
@@ -383,13 +389,18 @@ public class Table<RECORD> extends AbstractInfiniteListComponent<RECORD, TableMo
 	}
 
 	private Map<String, Object> extractRecordProperties(RECORD record) {
-		Map<Boolean, List<TableColumn<RECORD, ?>>> columnsWithAndWithoutValueExtractor = columns.stream().collect(Collectors.partitioningBy(c -> c.getValueExtractor() != null));
-		Map<String, Object> valuesByPropertyName = new HashMap<>(propertyProvider.getValues(record, columnsWithAndWithoutValueExtractor.get(false).stream()
-				.map(TableColumn::getPropertyName)
-				.collect(Collectors.toList())));
-		columnsWithAndWithoutValueExtractor.get(true).forEach(recordTableColumn -> valuesByPropertyName.put(recordTableColumn.getPropertyName(),
-				recordTableColumn.getValueExtractor().extract(record)));
-		return valuesByPropertyName;
+		return getRecordExtractionPlan().extractValues(record);
+	}
+
+	private RecordExtractionPlan<RECORD> getRecordExtractionPlan() {
+		if (recordExtractionPlan == null) {
+			recordExtractionPlan = new RecordExtractionPlan<>(columns, propertyProvider);
+		}
+		return recordExtractionPlan;
+	}
+
+	/*package-private*/ void invalidateRecordExtractionPlan() {
+		this.recordExtractionPlan = null;
 	}
 
 	public List<String> getColumnPropertyNames() {
@@ -469,7 +480,7 @@ public class Table<RECORD> extends AbstractInfiniteListComponent<RECORD, TableMo
 	}
 
 	public void setSelectedRecords(List<RECORD> records, boolean scrollToFirstIfAvailable) {
-		this.selectedRecords = records == null ? List.of() : List.copyOf(records);
+		setSelectedRecordsInternal(records == null ? List.of() : List.copyOf(records));
 		queueCommandIfRendered(() -> new UiTable.SelectRecordsCommand(getId(), renderedRecords.getUiRecordIds(selectedRecords), scrollToFirstIfAvailable));
 	}
 
@@ -479,10 +490,10 @@ public class Table<RECORD> extends AbstractInfiniteListComponent<RECORD, TableMo
 
 	public void setSelectedRow(int rowIndex, boolean scrollTo) {
 		getRecordByRowIndex(rowIndex).ifPresentOrElse(record -> {
-			this.selectedRecords = List.of(record);
+			setSelectedRecordsInternal(List.of(record));
 			queueCommandIfRendered(() -> new UiTable.SelectRowsCommand(getId(), List.of(rowIndex), scrollTo));
 		}, () -> {
-			this.selectedRecords = List.of();
+			setSelectedRecordsInternal(List.of());
 			queueCommandIfRendered(() -> new UiTable.SelectRowsCommand(getId(), List.of(), scrollTo));
 		});
 	}
@@ -492,10 +503,28 @@ public class Table<RECORD> extends AbstractInfiniteListComponent<RECORD, TableMo
 	}
 
 	public void setSelectedRows(List<Integer> rowIndexes, boolean scrollToFirst) {
-		this.selectedRecords = getRecordsByRowIndexes(rowIndexes);
+		setSelectedRecordsInternal(getRecordsByRowIndexes(rowIndexes));
 		queueCommandIfRendered(() -> new UiTable.SelectRowsCommand(getId(), rowIndexes, scrollToFirst));
 	}
 
+	private void setSelectedRecordsInternal(List<RECORD> selectedRecords) {
+		this.selectedRecords = selectedRecords;
+		this.selectedRecordsLookup = createSelectedRecordsLookup(selectedRecords);
+	}
+
+	private Set<EqualsHashCodeWrapper<RECORD>> createSelectedRecordsLookup(List<RECORD> selectedRecords) {
+		if (selectedRecords.isEmpty()) {
+			return Set.of();
+		}
+		return selectedRecords.stream()
+				.map(r -> new EqualsHashCodeWrapper<>(r, customEqualsAndHashCode))
+				.collect(Collectors.toCollection(HashSet::new));
+	}
+
+	private boolean isSelected(RECORD record) {
+		return !selectedRecordsLookup.isEmpty() && selectedRecordsLookup.contains(new EqualsHashCodeWrapper<>(record, customEqualsAndHashCode));
+	}
+
 	private List<RECORD> getRecordsByRowIndexes(List<Integer> rowIndexes) {
 		return rowIndexes.stream()
 				.flatMap((Integer rowIndex) -> getRecordByRowIndex(rowIndex).stream())
@@ -689,6 +718,12 @@ public class Table<RECORD> extends AbstractInfiniteListComponent<RECORD, TableMo
 		super.handleModelRecordsChanged(changeEvent);
 	}
 
+	@Override
+	protected void handleCoalescedRecordsRemovedOrChanged(List<RECORD> removedRecords, List<RECORD> changedRecords) {
+		removedRecords.forEach(this::clearMetaDataForRecord);
+		changedRecords.forEach(this::clearMetaDataForRecord);
+	}
+
 	private void clearMetaDataForRecord(RECORD record) {
 		transientChangesByRecordAndPropertyName.remove(record);
 		cellMessages.remove(record);
@@ -696,6 +731,10 @@ public class Table<RECORD> extends AbstractInfiniteListComponent<RECORD, TableMo
 	}
 
 	public void refreshData() {
+		TableModel<RECORD> model = getModel();
+		if (model != null) {
+			model.clearCache();
+		}
 		refresh();
 	}
 
@@ -762,8 +801,43 @@ public class Table<RECORD> extends AbstractInfiniteListComponent<RECORD, TableMo
 		}
 	}
 
+	@Override
+	protected CompletableFuture<List<RECORD>> retrieveRecordsAsync(int startIndex, int length) {
+		if (!(getModel() instanceof AsyncTableModel) || startIndex < 0 || length < 0) {
+			return super.retrieveRecordsAsync(startIndex, length);
+		}
+		int totalTopRecords = topNonModelRecords.size();
+		int totalModelRecords = getModelCount();
+		int totalBottomRecords = bottomNonModelRecords.size();
+		int endIndex = Math.min(startIndex + length, totalTopRecords + totalModelRecords + totalBottomRecords);
+
+		List<RECORD> topRecords = subListClamped(topNonModelRecords, startIndex, endIndex);
+		int modelStartIndex = Math.max(0, Math.min(startIndex - totalTopRecords, totalModelRecords));
+		int modelEndIndex = Math.max(0, Math.min(endIndex - totalTopRecords, totalModelRecords));
+		List<RECORD> bottomRecords = subListClamped(bottomNonModelRecords, startIndex - totalTopRecords - totalModelRecords, endIndex - totalTopRecords - totalModelRecords);
+
+		CompletableFuture<List<RECORD>> modelRecords = modelEndIndex > modelStartIndex
+				? ((AsyncTableModel<RECORD>) getModel()).getRecordsAsync(modelStartIndex, modelEndIndex - modelStartIndex)
+				: CompletableFuture.completedFuture(List.of());
+		return modelRecords.thenApply(records -> {
+			List<RECORD> result = new ArrayList<>(topRecords);
+			result.addAll(truncateModelRecords(records, modelEndIndex - modelStartIndex));
+			result.addAll(bottomRecords);
+			return result;
+		});
+	}
+
+	private static <T> List<T> subListClamped(List<T> list, int startIndex, int endIndex) {
+		int start = Math.max(0, Math.min(startIndex, list.size()));
+		int end = Math.max(start, Math.min(endIndex, list.size()));
+		return new ArrayList<>(list.subList(start, end));
+	}
+
 	private List<RECORD> retrieveRecordsFromModel(int startIndex, int length) {
-		List<RECORD> records = getModel().getRecords(startIndex, length);
+		return truncateModelRecords(getModel().getRecords(startIndex, length), length);
+	}
+
+	private List<RECORD> truncateModelRecords(List<RECORD> records, int length) {
 		if (records.size() == length) {
 			return records;
 		} else if (records.size() < length) {
@@ -797,15 +871,10 @@ public class Table<RECORD> extends AbstractInfiniteListComponent<RECORD, TableMo
 	protected UiIdentifiableClientRecord createUiIdentifiableClientRecord(RECORD record) {
 		UiTableClientRecord clientRecord = new UiTableClientRecord();
 		clientRecord.setId(++clientRecordIdCounter);
-		Map<String, Object> uxValues = extractRecordProperties(record);
-		Map<String, Object> uiValues = columns.stream()
-				.collect(HashMap::new, (map, column) -> map.put(column.getPropertyName(), ((AbstractField) column.getField()).convertUxValueToUiValue(uxValues.get(column.getPropertyName()))), HashMap::putAll);
-		Map<String, Map<String, Object>> displayTemplateValues = columns.stream()
-				.filter(c -> c.getDisplayTemplate() != null)
-				.collect(HashMap::new, (map, column) -> map.put(column.getPropertyName(), column.getDisplayPropertyProvider().getValues(record, column.getDisplayTemplate().getPropertyNames())), HashMap::putAll);
-		clientRecord.setValues(uiValues);
-		clientRecord.setDisplayTemplateValues(displayTemplateValues);
-		clientRecord.setSelected(selectedRecords.stream().anyMatch(r -> customEqualsAndHashCode.getEquals().test(r, record)));
+		RecordExtractionPlan<RECORD> plan = getRecordExtractionPlan();
+		clientRecord.setValues(plan.extractUiValues(record));
+		clientRecord.setDisplayTemplateValues(plan.extractDisplayTemplateValues(record));
+		clientRecord.setSelected(isSelected(record));
 		clientRecord.setMessages(createUiFieldMessagesForRecord(cellMessages.getOrDefault(record, Collections.emptyMap())));
 		clientRecord.setMarkings(new ArrayList<>(markedCells.getOrDefault(record, Collections.emptySet())));
 		transientChangesByRecordAndPropertyName.getOrDefault(record, Map.of())
@@ -813,6 +882,125 @@ public class Table<RECORD> extends AbstractInfiniteListComponent<RECORD, TableMo
 		return clientRecord;
 	}
 
+	/**
+	 * If the changed records are still rendered at the same positions, only the values that actually changed are sent
+	 * to the client (see {@link UiTable.UpdateRecordCellsCommand}), keeping the client record ids.
+	 * Records that changed in other respects (selection, messages, etc.) are sent completely.
+	 */
+	@Override
+	protected void updateRenderedRecords(int startIndex, List<RECORD> changedRecords) {
+		for (int i = 0; i < changedRecords.size(); i++) {
+			if (renderedRecords.getIndex(changedRecords.get(i)) != startIndex + i) {
+				super.updateRenderedRecords(startIndex, changedRecords);
+				return;
+			}
+		}
+		List<UiTableClientRecordDelta> deltas = new ArrayList<>();
+		List<UiIdentifiableClientRecord> newUiRecords = new ArrayList<>();
+		for (RECORD record : changedRecords) {
+			UiTableClientRecord existingUiRecord = (UiTableClientRecord) renderedRecords.getUiRecord(record);
+			UiTableClientRecord newUiRecord = (UiTableClientRecord) createUiIdentifiableClientRecord(record);
+			if (isDeltaCompatible(existingUiRecord, newUiRecord)) {
+				UiTableClientRecordDelta delta = applyDelta(existingUiRecord, newUiRecord);
+				if (delta != null) {
+					deltas.add(delta);
+				}
+			} else {
+				renderedRecords.updateRecord(record, newUiRecord);
+				newUiRecords.add(newUiRecord);
+			}
+		}
+		if (!newUiRecords.isEmpty()) {
+			updateClientRenderData(newUiRecords);
+		}
+		if (!deltas.isEmpty()) {
+			queueCommandIfRendered(() -> new UiTable.UpdateRecordCellsCommand(getId(), deltas));
+		}
+	}
+
+	private static boolean isDeltaCompatible(UiTableClientRecord existingUiRecord, UiTableClientRecord newUiRecord) {
+		return existingUiRecord.getSelected() == newUiRecord.getSelected()
+				&& existingUiRecord.getBold() == newUiRecord.getBold()
+				&& isNullOrEmpty(existingUiRecord.getMessages()) && isNullOrEmpty(newUiRecord.getMessages())
+				&& Objects.equals(existingUiRecord.getMarkings(), newUiRecord.getMarkings())
+				&& existingUiRecord.getValues().keySet().equals(newUiRecord.getValues().keySet());
+	}
+
+	private static boolean isNullOrEmpty(Map<?, ?> map) {
+		return map == null || map.isEmpty();
+	}
+
+	/**
+	 * Applies the changed cell values of the new client record to the existing one.
+	 *
+	 * @return the changed values, or null if nothing changed
+	 */
+	private static UiTableClientRecordDelta applyDelta(UiTableClientRecord existingUiRecord, UiTableClientRecord newUiRecord) {
+		Map<String, Object> changedValues = new HashMap<>();
+		newUiRecord.getValues().forEach((propertyName, value) -> {
+			if (!isSameCellValue(existingUiRecord.getValues().get(propertyName), value)) {
+				changedValues.put(propertyName, value);
+			}
+		});
+		Map<String, Map<String, Object>> changedDisplayTemplateValues = new HashMap<>();
+		Map<String, Map<String, Object>> existingDisplayTemplateValues = existingUiRecord.getDisplayTemplateValues() != null ? existingUiRecord.getDisplayTemplateValues() : Map.of();
+		if (newUiRecord.getDisplayTemplateValues() != null) {
+			newUiRecord.getDisplayTemplateValues().forEach((propertyName, values) -> {
+				if (!isSameCellValue(existingDisplayTemplateValues.get(propertyName), values)) {
+					changedDisplayTemplateValues.put(propertyName, values);
+				}
+			});
+		}
+		if (changedValues.isEmpty() && changedDisplayTemplateValues.isEmpty()) {
+			return null;
+		}
+		existingUiRecord.setValues(newUiRecord.getValues());
+		existingUiRecord.setDisplayTemplateValues(newUiRecord.getDisplayTemplateValues());
+		return new UiTableClientRecordDelta(existingUiRecord.getId(), changedValues)
+				.setDisplayTemplateValues(changedDisplayTemplateValues.isEmpty() ? null : changedDisplayTemplateValues);
+	}
+
+	/**
+	 * Only scalar values, plain {@link UiClientRecord}s (e.g. of {@link org.teamapps.ux.component.field.TemplateField}s) and
+	 * collections of these are compared. Other client objects (e.g. combo box records) do not implement value equality and
+	 * may refer to client-side state, so they are always considered changed.
+	 */
+	private static boolean isSameCellValue(Object existingValue, Object newValue) {
+		if (existingValue == null || newValue == null) {
+			return existingValue == newValue;
+		} else if (isScalar(existingValue) || isScalar(newValue)) {
+			return existingValue.equals(newValue);
+		} else if (existingValue instanceof List && newValue instanceof List) {
+			List<?> existingList = (List<?>) existingValue;
+			List<?> newList = (List<?>) newValue;
+			if (existingList.size() != newList.size()) {
+				return false;
+			}
+			for (int i = 0; i < existingList.size(); i++) {
+				if (!isSameCellValue(existingList.get(i), newList.get(i))) {
+					return false;
+				}
+			}
+			return true;
+		} else if (existingValue instanceof Map && newValue instanceof Map) {
+			Map<?, ?> existingMap = (Map<?, ?>) existingValue;
+			Map<?, ?> newMap = (Map<?, ?>) newValue;
+			return existingMap.keySet().equals(newMap.keySet())
+					&& existingMap.entrySet().stream().allMatch(entry -> isSameCellValue(entry.getValue(), newMap.get(entry.getKey())));
+		} else if (existingValue.getClass() == UiClientRecord.class && newValue.getClass() == UiClientRecord.class) {
+			UiClientRecord existingRecord = (UiClientRecord) existingValue;
+			UiClientRecord newRecord = (UiClientRecord) newValue;
+			return Objects.equals(existingRecord.getAsString(), newRecord.getAsString())
+					&& isSameCellValue(existingRecord.getValues(), newRecord.getValues());
+		} else {
+			return false;
+		}
+	}
+
+	private static boolean isScalar(Object value) {
+		return value instanceof String || value instanceof Number || value instanceof Boolean || value instanceof Character || value instanceof Enum;
+	}
+
 	public List<TableColumn<RECORD, ?>> getColumns() {
 		return columns;
 	}
@@ -1212,6 +1400,7 @@ public class Table<RECORD> extends AbstractInfiniteListComponent<RECORD, TableMo
 
 	public void setPropertyProvider(PropertyProvider<RECORD> propertyProvider) {
 		this.propertyProvider = propertyProvider;
+		invalidateRecordExtractionPlan();
 	}
 
 	public void setPropertyExtractor(PropertyExtractor<RECORD> propertyExtractor) {
@@ -1248,5 +1437,6 @@ public class Table<RECORD> extends AbstractInfiniteListComponent<RECORD, TableMo
 		transientChangesByRecordAndPropertyName = new CustomEqualsAndHashCodeMap<>(customEqualsAndHashCode);
 		cellMessages = new CustomEqualsAndHashCodeMap<>(customEqualsAndHashCode);
 		markedCells = new CustomEqualsAndHashCodeMap<>(customEqualsAndHashCode);
+		selectedRecordsLookup = createSelectedRecordsLookup(selectedRecords);
 	}
 }
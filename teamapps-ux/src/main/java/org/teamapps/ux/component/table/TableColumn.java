@@ -160,6 +160,9 @@ public class TableColumn<RECORD, VALUE> {
 
 	public TableColumn<RECORD, VALUE> setField(AbstractField<VALUE> field) {
 		this.field = field;
+		if (table != null) {
+			table.invalidateRecordExtractionPlan();
+		}
 		return this;
 	}
 
@@ -253,6 +256,7 @@ public class TableColumn<RECORD, VALUE> {
 	public TableColumn<RECORD, VALUE> setValueExtractor(ValueExtractor<RECORD, VALUE> valueExtractor) {
 		this.valueExtractor = valueExtractor;
 		if (table != null) {
+			table.invalidateRecordExtractionPlan();
 			table.refreshData();
 		}
 		return this;
@@ -295,6 +299,9 @@ public class TableColumn<RECORD, VALUE> {
 
 	public TableColumn<RECORD, VALUE> setDisplayTemplate(Template displayTemplate) {
 		this.displayTemplate = displayTemplate;
+		if (table != null) {
+			table.invalidateRecordExtractionPlan();
+		}
 		return this;
 	}
 
@@ -304,6 +311,9 @@ public class TableColumn<RECORD, VALUE> {
 
 	public TableColumn<RECORD, VALUE> setDisplayPropertyProvider(PropertyProvider<RECORD> displayPropertyProvider) {
 		this.displayPropertyProvider = displayPropertyProvider;
+		if (table != null) {
+			table.invalidateRecordExtractionPlan();
+		}
 		return this;
 	}
 
@@ -0,0 +1,473 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2023 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.ux.component.table;
+
+import org.teamapps.ux.resource.Resource;
+import org.teamapps.ux.session.CurrentSessionContext;
+import org.teamapps.ux.session.SessionContext;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Exports the contents of a {@link Table}'s model as CSV or XLSX.
+ * <p>
+ * The export uses the table's visible columns (titles and values, as extracted for the client) and reads the model page
+ * by page while the resulting stream is consumed. So memory consumption is bounded by the page size, not by the size of the model.
+ * Model access happens bound to the table's {@link SessionContext}, so it is serialized with all other session tasks.
+ * <p>
+ * The model is not locked during the export. If it changes while being exported, the result may contain duplicate or missing records.
+ */
+public class TableExporter<RECORD> {
+
+	public enum Format {
+		CSV("text/csv; charset=UTF-8"),
+		XLSX("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+
+		private final String mimeType;
+
+		Format(String mimeType) {
+			this.mimeType = mimeType;
+		}
+
+		public String getMimeType() {
+			return mimeType;
+		}
+	}
+
+	private final SessionContext sessionContext;
+	private final TableModel<RECORD> model;
+	private final List<String> propertyNames;
+	private final List<String> titles;
+	private final RecordExtractionPlan<RECORD> extractionPlan;
+
+	private int pageSize = 1000;
+	private long pageTimeoutMillis = 30_000;
+	private char csvSeparator = ',';
+
+	public TableExporter(Table<RECORD> table) {
+		this.sessionContext = table.getSessionContext();
+		this.model = table.getModel();
+		List<TableColumn<RECORD, ?>> columns = table.getColumns().stream()
+				.filter(TableColumn::isVisible)
+				.collect(Collectors.toList());
+		this.propertyNames = columns.stream().map(TableColumn::getPropertyName).collect(Collectors.toList());
+		this.titles = columns.stream().map(column -> column.getTitle() != null ? column.getTitle() : column.getPropertyName()).collect(Collectors.toList());
+		this.extractionPlan = new RecordExtractionPlan<>(columns, table.getPropertyProvider());
+	}
+
+	/**
+	 * Creates a resource that streams the export. Every call of {@link Resource#getInputStream()} reads the model anew.
+	 * The resource has an unknown length, so it is delivered without range support.
+	 */
+	public Resource createResource(Format format, String fileName) {
+		return new Resource() {
+			@Override
+			public InputStream getInputStream() {
+				return new ExportInputStream(format == Format.XLSX ? new XlsxRowWriter() : new CsvRowWriter(csvSeparator));
+			}
+
+			@Override
+			public long getLength() {
+				return -1;
+			}
+
+			@Override
+			public String getName() {
+				return fileName;
+			}
+
+			@Override
+			public String getMimeType() {
+				return format.getMimeType();
+			}
+
+			@Override
+			public boolean isAttachment() {
+				return true;
+			}
+
+			@Override
+			public Date getExpires() {
+				return new Date(0); // no caching, since the model may change
+			}
+		};
+	}
+
+	/**
+	 * Offers the export as download to the user of the table's session.
+	 */
+	public void download(Format format, String fileName) {
+		sessionContext.download(createResource(format, fileName), fileName);
+	}
+
+	public int getPageSize() {
+		return pageSize;
+	}
+
+	public void setPageSize(int pageSize) {
+		if (pageSize <= 0) {
+			throw new IllegalArgumentException("pageSize must be positive: " + pageSize);
+		}
+		this.pageSize = pageSize;
+	}
+
+	public long getPageTimeoutMillis() {
+		return pageTimeoutMillis;
+	}
+
+	/**
+	 * Sets the maximum time to wait for the session to read a page of the model. If exceeded, the export stream fails.
+	 */
+	public void setPageTimeoutMillis(long pageTimeoutMillis) {
+		if (pageTimeoutMillis <= 0) {
+			throw new IllegalArgumentException("pageTimeoutMillis must be positive: " + pageTimeoutMillis);
+		}
+		this.pageTimeoutMillis = pageTimeoutMillis;
+	}
+
+	public char getCsvSeparator() {
+		return csvSeparator;
+	}
+
+	public void setCsvSeparator(char csvSeparator) {
+		this.csvSeparator = csvSeparator;
+	}
+
+	private List<Object[]> readPage(int startIndex, int length) throws IOException {
+		if (sessionContext == null || CurrentSessionContext.getOrNull() == sessionContext) {
+			try {
+				return extractPage(startIndex, length);
+			} catch (RuntimeException e) {
+				throw new IOException("Could not read table model for export", e);
+			}
+		}
+		CompletableFuture<List<Object[]>> future = sessionContext.runWithContext(() -> extractPage(startIndex, length));
+		try {
+			return future.get(pageTimeoutMillis, TimeUnit.MILLISECONDS);
+		} catch (ExecutionException e) {
+			throw new IOException("Could not read table model for export", e.getCause());
+		} catch (TimeoutException e) {
+			future.cancel(false);
+			throw new IOException("Timed out reading table model for export after " + pageTimeoutMillis + "ms", e);
+		} catch (InterruptedException e) {
+			future.cancel(false);
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while reading table model for export");
+		}
+	}
+
+	private List<Object[]> extractPage(int startIndex, int length) {
+		int count = model.getCount();
+		if (startIndex >= count) {
+			return List.of();
+		}
+		List<RECORD> records = model.getRecords(startIndex, Math.min(length, count - startIndex));
+		List<Object[]> rows = new ArrayList<>(records.size());
+		for (RECORD record : records) {
+			Map<String, Object> values = extractionPlan.extractValues(record);
+			Object[] row = new Object[propertyNames.size()];
+			for (int i = 0; i < row.length; i++) {
+				row[i] = values.get(propertyNames.get(i));
+			}
+			rows.add(row);
+		}
+		return rows;
+	}
+
+	/**
+	 * Pulls pages from the model whenever the bytes of the previous page have been consumed.
+	 */
+	private class ExportInputStream extends InputStream {
+
+		private final PageBuffer buffer = new PageBuffer();
+		private final RowWriter rowWriter;
+		private int readPosition;
+		private int nextRecordIndex;
+		private boolean started;
+		private boolean finished;
+		private IOException failure; // the stream is aborted after a failure, since the output would be incomplete
+
+		ExportInputStream(RowWriter rowWriter) {
+			this.rowWriter = rowWriter;
+		}
+
+		@Override
+		public int read() throws IOException {
+			if (!ensureAvailable()) {
+				return -1;
+			}
+			return buffer.bytes()[readPosition++] & 0xff;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			if (len == 0) {
+				return 0;
+			}
+			if (!ensureAvailable()) {
+				return -1;
+			}
+			int n = Math.min(len, buffer.size() - readPosition);
+			System.arraycopy(buffer.bytes(), readPosition, b, off, n);
+			readPosition += n;
+			return n;
+		}
+
+		@Override
+		public int available() {
+			return buffer.size() - readPosition;
+		}
+
+		private boolean ensureAvailable() throws IOException {
+			if (failure != null) {
+				throw new IOException("Export aborted", failure);
+			}
+			while (readPosition >= buffer.size()) {
+				if (finished) {
+					return false;
+				}
+				buffer.reset();
+				readPosition = 0;
+				fillBuffer();
+			}
+			return true;
+		}
+
+		private void fillBuffer() throws IOException {
+			if (!started) {
+				rowWriter.start(buffer, titles);
+				started = true;
+			}
+			List<Object[]> rows;
+			try {
+				rows = readPage(nextRecordIndex, pageSize);
+			} catch (IOException e) {
+				failure = e;
+				buffer.reset();
+				readPosition = 0;
+				throw e;
+			}
+			for (Object[] row : rows) {
+				rowWriter.writeRow(row);
+			}
+			nextRecordIndex += rows.size();
+			if (rows.size() < pageSize) {
+				rowWriter.finish();
+				finished = true;
+			} else {
+				rowWriter.flush();
+			}
+		}
+	}
+
+	private static class PageBuffer extends ByteArrayOutputStream {
+		byte[] bytes() {
+			return buf;
+		}
+	}
+
+	private interface RowWriter {
+		void start(OutputStream out, List<String> titles) throws IOException;
+
+		void writeRow(Object[] values) throws IOException;
+
+		void flush() throws IOException;
+
+		void finish() throws IOException;
+	}
+
+	/**
+	 * RFC 4180 CSV, UTF-8 with byte order mark (so spreadsheet applications detect the encoding).
+	 */
+	private static class CsvRowWriter implements RowWriter {
+
+		private final char separator;
+		private Writer writer;
+
+		CsvRowWriter(char separator) {
+			this.separator = separator;
+		}
+
+		@Override
+		public void start(OutputStream out, List<String> titles) throws IOException {
+			writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+			writer.write('\uFEFF');
+			writeRow(titles.toArray());
+		}
+
+		@Override
+		public void writeRow(Object[] values) throws IOException {
+			for (int i = 0; i < values.length; i++) {
+				if (i > 0) {
+					writer.write(separator);
+				}
+				if (values[i] != null) {
+					writeField(String.valueOf(values[i]));
+				}
+			}
+			writer.write("\r\n");
+		}
+
+		private void writeField(String value) throws IOException {
+			boolean needsQuoting = value.indexOf(separator) >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+			if (needsQuoting) {
+				writer.write('"');
+				writer.write(value.replace("\"", "\"\""));
+				writer.write('"');
+			} else {
+				writer.write(value);
+			}
+		}
+
+		@Override
+		public void flush() throws IOException {
+			writer.flush();
+		}
+
+		@Override
+		public void finish() throws IOException {
+			writer.flush();
+		}
+	}
+
+	/**
+	 * Minimal SpreadsheetML workbook with a single sheet. Strings are written as inline strings, so no shared string table
+	 * (which would need to be held in memory) is required.
+	 */
+	private static class XlsxRowWriter implements RowWriter {
+
+		private static final String CONTENT_TYPES = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n"
+				+ "<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">"
+				+ "<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>"
+				+ "<Default Extension=\"xml\" ContentType=\"application/xml\"/>"
+				+ "<Override PartName=\"/xl/workbook.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml\"/>"
+				+ "<Override PartName=\"/xl/worksheets/sheet1.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml\"/>"
+				+ "</Types>";
+		private static final String RELS = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n"
+				+ "<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">"
+				+ "<Relationship Id=\"rId1\" Type=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships/officeDocument\" Target=\"xl/workbook.xml\"/>"
+				+ "</Relationships>";
+		private static final String WORKBOOK = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n"
+				+ "<workbook xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\" xmlns:r=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships\">"
+				+ "<sheets><sheet name=\"Export\" sheetId=\"1\" r:id=\"rId1\"/></sheets>"
+				+ "</workbook>";
+		private static final String WORKBOOK_RELS = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n"
+				+ "<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">"
+				+ "<Relationship Id=\"rId1\" Type=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships/worksheet\" Target=\"worksheets/sheet1.xml\"/>"
+				+ "</Relationships>";
+
+		private ZipOutputStream zip;
+		private Writer writer;
+
+		@Override
+		public void start(OutputStream out, List<String> titles) throws IOException {
+			zip = new ZipOutputStream(out);
+			writer = new OutputStreamWriter(zip, StandardCharsets.UTF_8);
+			writeEntry("[Content_Types].xml", CONTENT_TYPES);
+			writeEntry("_rels/.rels", RELS);
+			writeEntry("xl/workbook.xml", WORKBOOK);
+			writeEntry("xl/_rels/workbook.xml.rels", WORKBOOK_RELS);
+			zip.putNextEntry(new ZipEntry("xl/worksheets/sheet1.xml"));
+			writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n"
+					+ "<worksheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\"><sheetData>");
+			writeRow(titles.toArray());
+		}
+
+		private void writeEntry(String name, String content) throws IOException {
+			zip.putNextEntry(new ZipEntry(name));
+			writer.write(content);
+			writer.flush();
+			zip.closeEntry();
+		}
+
+		@Override
+		public void writeRow(Object[] values) throws IOException {
+			writer.write("<row>");
+			for (Object value : values) {
+				if (value == null) {
+					writer.write("<c/>");
+				} else if (value instanceof Number && Double.isFinite(((Number) value).doubleValue())) {
+					writer.write("<c><v>");
+					writer.write(String.valueOf(value));
+					writer.write("</v></c>");
+				} else if (value instanceof Boolean) {
+					writer.write((Boolean) value ? "<c t=\"b\"><v>1</v></c>" : "<c t=\"b\"><v>0</v></c>");
+				} else {
+					writer.write("<c t=\"inlineStr\"><is><t xml:space=\"preserve\">");
+					writeEscaped(String.valueOf(value));
+					writer.write("</t></is></c>");
+				}
+			}
+			writer.write("</row>");
+		}
+
+		private void writeEscaped(String s) throws IOException {
+			for (int i = 0; i < s.length(); i++) {
+				char c = s.charAt(i);
+				switch (c) {
+					case '<':
+						writer.write("&lt;");
+						break;
+					case '>':
+						writer.write("&gt;");
+						break;
+					case '&':
+						writer.write("&amp;");
+						break;
+					default:
+						if (c >= 0x20 || c == '\t' || c == '\n' || c == '\r') {
+							writer.write(c);
+						} // else: not allowed in XML 1.0
+				}
+			}
+		}
+
+		@Override
+		public void flush() throws IOException {
+			writer.flush();
+		}
+
+		@Override
+		public void finish() throws IOException {
+			writer.write("</sheetData></worksheet>");
+			writer.flush();
+			zip.closeEntry();
+			zip.finish();
+		}
+	}
+}
@@ -28,4 +28,12 @@ public interface TableModel<RECORD> extends InfiniteListModel<RECORD> {
 		// as a default, ignore...
 	}
 
+	/**
+	 * Called when the table refreshes its data (see {@link Table#refreshData()}), since the underlying data may have changed
+	 * without the model noticing. Models caching data should drop it here.
+	 */
+	default void clearCache() {
+		// as a default, nothing is cached...
+	}
+
 }
@@ -0,0 +1,146 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2023 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.ux.component.timegraph;
+
+import org.teamapps.ux.component.timegraph.datapoints.ArrayLineGraphData;
+import org.teamapps.ux.component.timegraph.datapoints.LineGraphData;
+
+/**
+ * Server-side reduction of line graph data to the resolution the client displays it at.
+ * <p>
+ * The resolution is given in milliseconds per pixel, as reported by the client when zooming.
+ * Data that does not have more points than pixels is never reduced.
+ */
+public enum DownsamplingMode {
+
+	NONE {
+		@Override
+		public LineGraphData downsample(LineGraphData data, double millisecondsPerPixel) {
+			return data;
+		}
+	},
+
+	/**
+	 * Largest-Triangle-Three-Buckets (Steinarsson, 2013): Keeps one data point per pixel, choosing the point of each bucket
+	 * that spans the largest triangle with its neighbours. Preserves the visual shape of the line, including most peaks.
+	 */
+	LARGEST_TRIANGLE_THREE_BUCKETS {
+		@Override
+		public LineGraphData downsample(LineGraphData data, double millisecondsPerPixel) {
+			int size = data.size();
+			int threshold = getPixelCount(data, millisecondsPerPixel) + 2; // the first and the last point are always kept
+			if (millisecondsPerPixel <= 0 || size <= threshold || threshold < 3) {
+				return data;
+			}
+			ArrayLineGraphData result = new ArrayLineGraphData(threshold, data.getInterval());
+			double bucketSize = (double) (size - 2) / (threshold - 2);
+			int selectedIndex = 0;
+			result.add((long) data.getX(0), data.getY(0));
+			for (int bucket = 0; bucket < threshold - 2; bucket++) {
+				// average of the next bucket (or the last point)
+				int nextStart = (int) ((bucket + 1) * bucketSize) + 1;
+				int nextEnd = Math.min((int) ((bucket + 2) * bucketSize) + 1, size);
+				double averageX = 0;
+				double averageY = 0;
+				if (nextStart >= nextEnd) {
+					averageX = data.getX(size - 1);
+					averageY = data.getY(size - 1);
+				} else {
+					for (int i = nextStart; i < nextEnd; i++) {
+						averageX += data.getX(i);
+						averageY += data.getY(i);
+					}
+					averageX /= nextEnd - nextStart;
+					averageY /= nextEnd - nextStart;
+				}
+
+				int start = (int) (bucket * bucketSize) + 1;
+				int end = Math.min((int) ((bucket + 1) * bucketSize) + 1, size - 1);
+				double selectedX = data.getX(selectedIndex);
+				double selectedY = data.getY(selectedIndex);
+				double maxArea = -1;
+				int maxAreaIndex = start;
+				for (int i = start; i < end; i++) {
+					double area = Math.abs((selectedX - averageX) * (data.getY(i) - selectedY) - (selectedX - data.getX(i)) * (averageY - selectedY));
+					if (area > maxArea) {
+						maxArea = area;
+						maxAreaIndex = i;
+					}
+				}
+				result.add((long) data.getX(maxAreaIndex), data.getY(maxAreaIndex));
+				selectedIndex = maxAreaIndex;
+			}
+			result.add((long) data.getX(size - 1), data.getY(size - 1));
+			return result;
+		}
+	},
+
+	/**
+	 * Keeps the minimum and the maximum of each pixel-wide bucket (in time order). Guarantees that all peaks are displayed.
+	 */
+	MIN_MAX {
+		@Override
+		public LineGraphData downsample(LineGraphData data, double millisecondsPerPixel) {
+			int size = data.size();
+			if (millisecondsPerPixel <= 0 || size <= 2 * getPixelCount(data, millisecondsPerPixel)) {
+				return data;
+			}
+			ArrayLineGraphData result = new ArrayLineGraphData(2 * getPixelCount(data, millisecondsPerPixel) + 2, data.getInterval());
+			double firstX = data.getX(0);
+			int bucketStart = 0;
+			while (bucketStart < size) {
+				long bucket = (long) ((data.getX(bucketStart) - firstX) / millisecondsPerPixel);
+				int minIndex = bucketStart;
+				int maxIndex = bucketStart;
+				int i = bucketStart + 1;
+				for (; i < size && (long) ((data.getX(i) - firstX) / millisecondsPerPixel) == bucket; i++) {
+					if (data.getY(i) < data.getY(minIndex)) {
+						minIndex = i;
+					}
+					if (data.getY(i) > data.getY(maxIndex)) {
+						maxIndex = i;
+					}
+				}
+				int firstIndex = Math.min(minIndex, maxIndex);
+				int secondIndex = Math.max(minIndex, maxIndex);
+				result.add((long) data.getX(firstIndex), data.getY(firstIndex));
+				if (secondIndex != firstIndex) {
+					result.add((long) data.getX(secondIndex), data.getY(secondIndex));
+				}
+				bucketStart = i;
+			}
+			return result;
+		}
+	};
+
+	/**
+	 * @param data                 line graph data, sorted by x
+	 * @param millisecondsPerPixel the current display resolution
+	 * @return the reduced data or the data itself, if no reduction is needed
+	 */
+	public abstract LineGraphData downsample(LineGraphData data, double millisecondsPerPixel);
+
+	private static int getPixelCount(LineGraphData data, double millisecondsPerPixel) {
+		if (data.size() < 2) {
+			return 0;
+		}
+		return (int) Math.min(Integer.MAX_VALUE / 4, Math.ceil((data.getX(data.size() - 1) - data.getX(0)) / millisecondsPerPixel));
+	}
+}
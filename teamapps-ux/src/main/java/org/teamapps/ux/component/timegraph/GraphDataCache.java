@@ -0,0 +1,295 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2023 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.ux.component.timegraph;
+
+import org.teamapps.ux.component.timegraph.datapoints.ArrayHoseGraphData;
+import org.teamapps.ux.component.timegraph.datapoints.ArrayLineGraphData;
+import org.teamapps.ux.component.timegraph.datapoints.GraphData;
+import org.teamapps.ux.component.timegraph.datapoints.GraphGroupData;
+import org.teamapps.ux.component.timegraph.datapoints.HoseGraphData;
+import org.teamapps.ux.component.timegraph.datapoints.IncidentGraphData;
+import org.teamapps.ux.component.timegraph.datapoints.LineGraphData;
+import org.teamapps.ux.component.timegraph.model.GraphModel;
+
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Least-recently-used cache of {@link GraphModel} query results, bounded by the total number of cached data points.
+ * <p>
+ * Results are cached by the interval they cover ({@link GraphData#getInterval()}), so a cached result answers every later
+ * query (for the same model, partitioning and time zone) whose needed interval lies within it. Array based results are
+ * sliced to the needed interval, so only the requested data is sent to the client.
+ * <p>
+ * Results computed while a model changed are discarded: callers obtain the {@link #getGeneration() generation} before
+ * querying the model and pass it when putting the result. Every invalidation increments the generation.
+ * <p>
+ * Thread-safe, so results can be computed in the background.
+ */
+class GraphDataCache {
+
+	private final LinkedHashMap<Key, CacheEntry> entries = new LinkedHashMap<>(16, 0.75f, true);
+	private final Map<Series, NavigableMap<Long, Key>> keysByIntervalStartBySeries = new HashMap<>();
+	private int generation;
+	private final Set<Key> loadingKeys = new HashSet<>();
+	private long maxDataPoints;
+	private long dataPoints;
+
+	GraphDataCache(long maxDataPoints) {
+		this.maxDataPoints = maxDataPoints;
+	}
+
+	/**
+	 * @return cached data covering the needed interval, or null
+	 */
+	synchronized GraphData get(GraphModel<?> model, TimePartitioning partitioning, ZoneId zoneId, Interval neededInterval) {
+		Key key = findCoveringKey(new Series(model, partitioning, zoneId), neededInterval);
+		if (key == null) {
+			return null;
+		}
+		GraphData data = entries.get(key).data; // get() marks the entry as recently used
+		return key.interval.equals(neededInterval) ? data : slice(data, neededInterval);
+	}
+
+	private Key findCoveringKey(Series series, Interval neededInterval) {
+		NavigableMap<Long, Key> keysByIntervalStart = keysByIntervalStartBySeries.get(series);
+		if (keysByIntervalStart == null) {
+			return null;
+		}
+		for (Key key : keysByIntervalStart.headMap(neededInterval.getMin(), true).descendingMap().values()) {
+			if (covers(key.interval, neededInterval)) {
+				return key;
+			}
+		}
+		return null;
+	}
+
+	private static GraphData slice(GraphData data, Interval interval) {
+		if (data instanceof ArrayLineGraphData) {
+			return ((ArrayLineGraphData) data).slice(interval);
+		} else if (data instanceof ArrayHoseGraphData) {
+			return ((ArrayHoseGraphData) data).slice(interval);
+		} else {
+			return data;
+		}
+	}
+
+	synchronized int getGeneration() {
+		return generation;
+	}
+
+	synchronized void put(GraphModel<?> model, int generation, TimePartitioning partitioning, ZoneId zoneId, GraphData data) {
+		if (data == null || data.getInterval() == null || generation != this.generation) {
+			return;
+		}
+		long weight = countDataPoints(data);
+		if (weight > maxDataPoints) {
+			return;
+		}
+		Key key = new Key(new Series(model, partitioning, zoneId), data.getInterval());
+		NavigableMap<Long, Key> keysByIntervalStart = keysByIntervalStartBySeries.computeIfAbsent(key.series, s -> new TreeMap<>());
+		Key sameStartKey = keysByIntervalStart.get(key.interval.getMin());
+		if (sameStartKey != null) {
+			if (covers(sameStartKey.interval, key.interval)) {
+				return; // nothing new
+			}
+			remove(sameStartKey); // the new result covers it
+		}
+		keysByIntervalStart.put(key.interval.getMin(), key);
+		entries.put(key, new CacheEntry(data, weight));
+		dataPoints += weight;
+		evict();
+	}
+
+	private void remove(Key key) {
+		CacheEntry entry = entries.remove(key);
+		if (entry != null) {
+			dataPoints -= entry.weight;
+		}
+		removeFromIndex(key);
+	}
+
+	private void removeFromIndex(Key key) {
+		NavigableMap<Long, Key> keysByIntervalStart = keysByIntervalStartBySeries.get(key.series);
+		if (keysByIntervalStart != null) {
+			keysByIntervalStart.remove(key.interval.getMin(), key);
+			if (keysByIntervalStart.isEmpty()) {
+				keysByIntervalStartBySeries.remove(key.series);
+			}
+		}
+	}
+
+	/**
+	 * Registers a background computation of the given interval, unless it is already cached or being computed.
+	 *
+	 * @return whether the caller should compute the interval. If so, it must call {@link #finishLoading} afterwards.
+	 */
+	synchronized boolean startLoading(GraphModel<?> model, TimePartitioning partitioning, ZoneId zoneId, Interval interval) {
+		Series series = new Series(model, partitioning, zoneId);
+		if (findCoveringKey(series, interval) != null) {
+			return false;
+		}
+		return loadingKeys.add(new Key(series, interval));
+	}
+
+	synchronized void finishLoading(GraphModel<?> model, TimePartitioning partitioning, ZoneId zoneId, Interval interval) {
+		loadingKeys.remove(new Key(new Series(model, partitioning, zoneId), interval));
+	}
+
+	synchronized void invalidate(GraphModel<?> model) {
+		generation++;
+		keysByIntervalStartBySeries.keySet().removeIf(series -> series.model == model);
+		entries.entrySet().removeIf(entry -> {
+			if (entry.getKey().series.model == model) {
+				dataPoints -= entry.getValue().weight;
+				return true;
+			}
+			return false;
+		});
+	}
+
+	synchronized void clear() {
+		generation++;
+		entries.clear();
+		keysByIntervalStartBySeries.clear();
+		dataPoints = 0;
+	}
+
+	synchronized long getMaxDataPoints() {
+		return maxDataPoints;
+	}
+
+	synchronized void setMaxDataPoints(long maxDataPoints) {
+		this.maxDataPoints = maxDataPoints;
+		evict();
+	}
+
+	synchronized long getDataPoints() {
+		return dataPoints;
+	}
+
+	private void evict() {
+		Iterator<Map.Entry<Key, CacheEntry>> iterator = entries.entrySet().iterator(); // least recently used first
+		while (dataPoints > maxDataPoints && iterator.hasNext()) {
+			Map.Entry<Key, CacheEntry> entry = iterator.next();
+			dataPoints -= entry.getValue().weight;
+			iterator.remove();
+			removeFromIndex(entry.getKey());
+		}
+	}
+
+	private static boolean covers(Interval interval, Interval neededInterval) {
+		return interval.getMin() <= neededInterval.getMin() && interval.getMax() >= neededInterval.getMax();
+	}
+
+	static long countDataPoints(GraphData data) {
+		if (data instanceof LineGraphData) {
+			return ((LineGraphData) data).size();
+		} else if (data instanceof HoseGraphData) {
+			HoseGraphData hoseGraphData = (HoseGraphData) data;
+			return countDataPoints(hoseGraphData.getLowerLineData()) + countDataPoints(hoseGraphData.getMiddleLineData()) + countDataPoints(hoseGraphData.getUpperLineData());
+		} else if (data instanceof IncidentGraphData) {
+			return ((IncidentGraphData) data).size();
+		} else if (data instanceof GraphGroupData) {
+			return ((GraphGroupData) data).getGraphData().values().stream()
+					.mapToLong(GraphDataCache::countDataPoints)
+					.sum();
+		} else {
+			return data != null ? 1 : 0;
+		}
+	}
+
+	private static class CacheEntry {
+		private final GraphData data;
+		private final long weight;
+
+		CacheEntry(GraphData data, long weight) {
+			this.data = data;
+			this.weight = weight;
+		}
+	}
+
+	/**
+	 * The results of one model for one partitioning and time zone.
+	 */
+	private static class Series {
+		private final GraphModel<?> model; // compared by identity
+		private final TimePartitioning partitioning;
+		private final ZoneId zoneId;
+
+		Series(GraphModel<?> model, TimePartitioning partitioning, ZoneId zoneId) {
+			this.model = model;
+			this.partitioning = partitioning;
+			this.zoneId = zoneId;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (o == null || getClass() != o.getClass()) {
+				return false;
+			}
+			Series series = (Series) o;
+			return model == series.model && partitioning.equals(series.partitioning) && zoneId.equals(series.zoneId);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(System.identityHashCode(model), partitioning, zoneId);
+		}
+	}
+
+	private static class Key {
+		private final Series series;
+		private final Interval interval;
+
+		Key(Series series, Interval interval) {
+			this.series = series;
+			this.interval = interval;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (o == null || getClass() != o.getClass()) {
+				return false;
+			}
+			Key key = (Key) o;
+			return series.equals(key.series) && interval.equals(key.interval);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(series, interval);
+		}
+	}
+}
@@ -20,20 +20,29 @@
 package org.teamapps.ux.component.timegraph;
 
 import com.ibm.icu.util.ULocale;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.teamapps.dto.*;
 import org.teamapps.event.Event;
 import org.teamapps.ux.component.AbstractComponent;
 import org.teamapps.ux.component.timegraph.datapoints.GraphData;
+import org.teamapps.ux.component.timegraph.datapoints.LineGraphData;
 import org.teamapps.ux.component.timegraph.graph.AbstractGraph;
+import org.teamapps.ux.component.timegraph.graph.LineGraph;
+import org.teamapps.ux.component.timegraph.model.GraphModel;
 import org.teamapps.ux.session.SessionContext;
 
 import java.time.ZoneId;
 import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 public class TimeGraph extends AbstractComponent {
 
+	private static final Logger LOGGER = LoggerFactory.getLogger(TimeGraph.class);
+
 	public final Event<ZoomEventData> onZoomed = new Event<>();
 	public final Event<Interval> onIntervalSelected = new Event<>();
 	private final List<GraphAndListener> graphsAndListeners = new ArrayList<>();
@@ -81,6 +90,8 @@ public class TimeGraph extends AbstractComponent {
 	);
 
 	private int maxPixelsBetweenDataPoints = 50; // ... before switching to higher zoom level
+	private final GraphDataCache dataCache = new GraphDataCache(0); // disabled by default
+	private Executor speculativeLoadingExecutor; // null: disabled
 	private LineChartMouseScrollZoomPanMode mouseScrollZoomPanMode = LineChartMouseScrollZoomPanMode.ENABLED;
 
 	// client-side state
@@ -110,6 +121,7 @@ public class TimeGraph extends AbstractComponent {
 	public void setGraphs(List<? extends AbstractGraph<?, ?>> graphs) {
 		this.graphsAndListeners.forEach(g -> g.graph.getModel().onDataChanged().removeListener(g.changeListener));
 		this.graphsAndListeners.clear();
+		this.dataCache.clear();
 		graphs.forEach(graph -> {
 			final GraphAndListener graphAndListener = new GraphAndListener(graph, aVoid -> handleGraphDataChanged(graph));
 			this.graphsAndListeners.add(graphAndListener);
@@ -196,23 +208,86 @@ public class TimeGraph extends AbstractComponent {
 	}
 
 	private Map<String, GraphData> retrieveData(Interval displayedInterval, TimePartitioning timePartitioning, Map<String, List<Interval>> neededIntervalsByGraphId) {
+		double millisecondsPerPixel = getFinestMillisecondsPerPixel(timePartitioning);
 		return graphsAndListeners.stream()
 				.filter(g -> neededIntervalsByGraphId.containsKey(g.graph.getId()) && neededIntervalsByGraphId.get(g.graph.getId()).size() > 0)
 				.collect(Collectors.toMap(
 						g -> g.graph.getId(),
 						g -> neededIntervalsByGraphId.get(g.graph.getId()).stream()
 								.reduce(Interval::union)
-								.map(interval -> g.graph.getModel().getData(timePartitioning, timeZoneId, interval, displayedInterval))
+								.map(interval -> downsample(g.graph, retrieveData(g.graph.getModel(), timePartitioning, interval, displayedInterval), millisecondsPerPixel))
 								.orElseThrow()
 				));
 	}
 
+	private GraphData retrieveData(GraphModel<?> model, TimePartitioning timePartitioning, Interval neededInterval, Interval displayedInterval) {
+		ZoneId zoneId = this.timeZoneId;
+		GraphData data = dataCache.get(model, timePartitioning, zoneId, neededInterval);
+		if (data == null) {
+			int generation = dataCache.getGeneration();
+			data = model.getData(timePartitioning, zoneId, neededInterval, displayedInterval);
+			dataCache.put(model, generation, timePartitioning, zoneId, data);
+		}
+		if (speculativeLoadingExecutor != null && dataCache.getMaxDataPoints() > 0) {
+			long width = Math.max(1, neededInterval.getMax() - neededInterval.getMin());
+			loadSpeculatively(model, timePartitioning, zoneId, new Interval(neededInterval.getMin() - width, neededInterval.getMin()));
+			loadSpeculatively(model, timePartitioning, zoneId, new Interval(neededInterval.getMax(), neededInterval.getMax() + width));
+		}
+		return data;
+	}
+
+	private void loadSpeculatively(GraphModel<?> model, TimePartitioning timePartitioning, ZoneId zoneId, Interval interval) {
+		if (!dataCache.startLoading(model, timePartitioning, zoneId, interval)) {
+			return;
+		}
+		int generation = dataCache.getGeneration();
+		try {
+			speculativeLoadingExecutor.execute(() -> {
+				try {
+					dataCache.put(model, generation, timePartitioning, zoneId, model.getData(timePartitioning, zoneId, interval, interval));
+				} catch (Exception e) {
+					LOGGER.warn("Could not load graph data speculatively", e);
+				} finally {
+					dataCache.finishLoading(model, timePartitioning, zoneId, interval);
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			dataCache.finishLoading(model, timePartitioning, zoneId, interval);
+		}
+	}
+
+	/**
+	 * The client keeps the data of a zoom level and does not request it again when zooming in further within the same level.
+	 * So data must be downsampled to the finest resolution the level can be displayed at, not to the current one.
+	 * The client switches to the next zoom level when partitions get wider than maxPixelsBetweenDataPoints.
+	 * The finest zoom level can be zoomed into indefinitely, so its data is never downsampled.
+	 *
+	 * @return the finest resolution the zoom level may be displayed at, or 0 if there is no limit
+	 */
+	private double getFinestMillisecondsPerPixel(TimePartitioning timePartitioning) {
+		boolean isFinestZoomLevel = zoomLevels.stream()
+				.allMatch(zoomLevel -> zoomLevel.getApproximateMillisecondsPerPartition() >= timePartitioning.getApproximateMillisecondsPerPartition());
+		if (isFinestZoomLevel) {
+			return 0;
+		}
+		return (double) timePartitioning.getApproximateMillisecondsPerPartition() / maxPixelsBetweenDataPoints;
+	}
+
+	private GraphData downsample(AbstractGraph<?, ?> graph, GraphData data, double millisecondsPerPixel) {
+		if (graph instanceof LineGraph && data instanceof LineGraphData) {
+			return ((LineGraph) graph).getDownsamplingMode().downsample((LineGraphData) data, millisecondsPerPixel);
+		} else {
+			return data;
+		}
+	}
+
 	private Map<String, UiGraphData> convertToUiData(Map<String, GraphData> data) {
 		return data.entrySet().stream()
 				.collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().toUiGraphData()));
 	}
 
 	public void refresh() {
+		dataCache.clear();
 		Interval domainX = retrieveDomainX();
 		UiLongInterval uiIntervalX = new Interval(domainX.getMin(), domainX.getMax()).toUiLongInterval();
 		queueCommandIfRendered(() -> new UiTimeGraph.ResetAllDataCommand(getId(), uiIntervalX, createUiZoomlevels()));
@@ -236,6 +311,41 @@ public class TimeGraph extends AbstractComponent {
 		queueCommandIfRendered(() -> new UiTimeGraph.SetMaxPixelsBetweenDataPointsCommand(getId(), maxPixelsBetweenDataPoints));
 	}
 
+	/**
+	 * @return the maximum number of data points kept in the server-side cache of model query results
+	 */
+	public long getMaxCachedDataPoints() {
+		return dataCache.getMaxDataPoints();
+	}
+
+	/**
+	 * Sets the maximum number of data points kept in the server-side cache of model query results (least recently used
+	 * results are evicted first). The cache is invalidated by the models' {@link GraphModel#onDataChanged()} events, so
+	 * models must fire these events on every change (or {@link #refresh()} must be called). Default: 0 (caching disabled).
+	 * <p>
+	 * Note that cached results are held per TimeGraph instance, so the memory needed grows with the number of graphs.
+	 */
+	public void setMaxCachedDataPoints(long maxCachedDataPoints) {
+		dataCache.setMaxDataPoints(maxCachedDataPoints);
+	}
+
+	public Executor getSpeculativeLoadingExecutor() {
+		return speculativeLoadingExecutor;
+	}
+
+	/**
+	 * If set, the intervals adjacent to each requested interval are queried in advance using this executor and put into the
+	 * cache, so panning can be answered from the cache. Speculative loading requires caching to be enabled (see
+	 * {@link #setMaxCachedDataPoints(long)}).
+	 * <p>
+	 * Note that the models get queried on the executor's threads, outside of the session context. So they must be thread-safe.
+	 *
+	 * @param speculativeLoadingExecutor the executor or null to disable speculative loading (default)
+	 */
+	public void setSpeculativeLoadingExecutor(Executor speculativeLoadingExecutor) {
+		this.speculativeLoadingExecutor = speculativeLoadingExecutor;
+	}
+
 	public LineChartMouseScrollZoomPanMode getMouseScrollZoomPanMode() {
 		return mouseScrollZoomPanMode;
 	}
@@ -255,6 +365,7 @@ public class TimeGraph extends AbstractComponent {
 	}
 
 	private void handleGraphDataChanged(AbstractGraph<?, ?> graph) {
+		dataCache.invalidate(graph.getModel());
 		Interval domainX = retrieveDomainX();
 		UiLongInterval uiIntervalX = new Interval(domainX.getMin(), domainX.getMax()).toUiLongInterval();
 		queueCommandIfRendered(() -> new UiTimeGraph.SetIntervalXCommand(getId(), uiIntervalX));
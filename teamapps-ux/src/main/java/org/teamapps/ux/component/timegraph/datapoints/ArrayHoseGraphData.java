@@ -0,0 +1,118 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2023 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.ux.component.timegraph.datapoints;
+
+import org.teamapps.ux.component.timegraph.Interval;
+
+import java.util.Arrays;
+
+/**
+ * {@link HoseGraphData} backed by one <code>long[]</code> of timestamps shared by the lower, middle and upper line,
+ * and a <code>double[]</code> of values per line.
+ * <p>
+ * Growth and slicing work like in {@link ArrayLineGraphData}. The line data returned by the getters are views on the arrays.
+ */
+public class ArrayHoseGraphData implements HoseGraphData {
+
+	private long[] x;
+	private double[] lower;
+	private double[] middle;
+	private double[] upper;
+	private final int offset;
+	private int size;
+	private final boolean appendable;
+	private final Interval interval;
+
+	public ArrayHoseGraphData(Interval interval) {
+		this(16, interval);
+	}
+
+	public ArrayHoseGraphData(int initialCapacity, Interval interval) {
+		this(new long[initialCapacity], new double[initialCapacity], new double[initialCapacity], new double[initialCapacity], 0, 0, true, interval);
+	}
+
+	private ArrayHoseGraphData(long[] x, double[] lower, double[] middle, double[] upper, int offset, int size, boolean appendable, Interval interval) {
+		this.x = x;
+		this.lower = lower;
+		this.middle = middle;
+		this.upper = upper;
+		this.offset = offset;
+		this.size = size;
+		this.appendable = appendable;
+		this.interval = interval;
+	}
+
+	/**
+	 * Appends a data point. The timestamp must not be smaller than the last one.
+	 */
+	public void add(long x, double lower, double middle, double upper) {
+		if (!appendable) {
+			throw new UnsupportedOperationException("Slices cannot be modified");
+		}
+		if (size > 0 && x < this.x[size - 1]) {
+			throw new IllegalArgumentException("Data points must be appended in time order: " + x + " < " + this.x[size - 1]);
+		}
+		if (size == this.x.length) {
+			int newCapacity = Math.max(16, size + (size >> 1));
+			this.x = Arrays.copyOf(this.x, newCapacity);
+			this.lower = Arrays.copyOf(this.lower, newCapacity);
+			this.middle = Arrays.copyOf(this.middle, newCapacity);
+			this.upper = Arrays.copyOf(this.upper, newCapacity);
+		}
+		this.x[size] = x;
+		this.lower[size] = lower;
+		this.middle[size] = middle;
+		this.upper[size] = upper;
+		size++;
+	}
+
+	/**
+	 * @return a view of the data points with <code>interval.min &lt;= timestamp &lt; interval.max</code>. Does not copy any data.
+	 */
+	public ArrayHoseGraphData slice(Interval interval) {
+		int start = ArrayLineGraphData.lowerBound(x, offset, offset + size, interval.getMin());
+		int end = ArrayLineGraphData.lowerBound(x, start, offset + size, interval.getMax());
+		return new ArrayHoseGraphData(x, lower, middle, upper, start, end - start, false, interval);
+	}
+
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public LineGraphData getMiddleLineData() {
+		return new ArrayLineGraphData(x, middle, offset, size, false, interval);
+	}
+
+	@Override
+	public LineGraphData getLowerLineData() {
+		return new ArrayLineGraphData(x, lower, offset, size, false, interval);
+	}
+
+	@Override
+	public LineGraphData getUpperLineData() {
+		return new ArrayLineGraphData(x, upper, offset, size, false, interval);
+	}
+
+	@Override
+	public Interval getInterval() {
+		return interval;
+	}
+}
@@ -0,0 +1,243 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2023 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.ux.component.timegraph.datapoints;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.teamapps.dto.UiLineGraphData;
+import org.teamapps.dto.UiLineGraphDataPoint;
+import org.teamapps.ux.component.timegraph.Interval;
+
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+import java.util.stream.DoubleStream;
+import java.util.stream.LongStream;
+
+/**
+ * {@link LineGraphData} backed by a <code>long[]</code> of timestamps and a <code>double[]</code> of values,
+ * sorted by timestamp.
+ * <p>
+ * Instances created via one of the public constructors can grow by {@link #add(long, double) appending} data points.
+ * {@link #slice(Interval) Slices} share the arrays of the data they have been created from and are immutable.
+ * Since data points are only ever appended, a slice stays valid while its origin keeps growing.
+ * <p>
+ * When sent to the client, the data points are written from the arrays directly, without creating an object per data point.
+ */
+public class ArrayLineGraphData implements LineGraphData {
+
+	private long[] x;
+	private double[] y;
+	private final int offset;
+	private int size;
+	private final boolean appendable;
+	private final Interval interval;
+
+	public ArrayLineGraphData(Interval interval) {
+		this(16, interval);
+	}
+
+	public ArrayLineGraphData(int initialCapacity, Interval interval) {
+		this(new long[initialCapacity], new double[initialCapacity], 0, 0, true, interval);
+	}
+
+	/**
+	 * Wraps the given arrays without copying them. Appending will copy them as soon as their capacity is exceeded.
+	 *
+	 * @param x the timestamps, which must be sorted in ascending order
+	 */
+	public ArrayLineGraphData(long[] x, double[] y, int size, Interval interval) {
+		this(x, y, 0, size, true, interval);
+		if (x.length < size || y.length < size) {
+			throw new IllegalArgumentException("Arrays are shorter than the size " + size);
+		}
+		for (int i = 1; i < size; i++) {
+			if (x[i] < x[i - 1]) {
+				throw new IllegalArgumentException("Timestamps are not sorted at index " + i);
+			}
+		}
+	}
+
+	ArrayLineGraphData(long[] x, double[] y, int offset, int size, boolean appendable, Interval interval) {
+		this.x = x;
+		this.y = y;
+		this.offset = offset;
+		this.size = size;
+		this.appendable = appendable;
+		this.interval = interval;
+	}
+
+	/**
+	 * Appends a data point. The timestamp must not be smaller than the last one.
+	 */
+	public void add(long x, double y) {
+		if (!appendable) {
+			throw new UnsupportedOperationException("Slices cannot be modified");
+		}
+		if (size > 0 && x < this.x[size - 1]) {
+			throw new IllegalArgumentException("Data points must be appended in time order: " + x + " < " + this.x[size - 1]);
+		}
+		if (size == this.x.length) {
+			int newCapacity = Math.max(16, size + (size >> 1));
+			this.x = Arrays.copyOf(this.x, newCapacity);
+			this.y = Arrays.copyOf(this.y, newCapacity);
+		}
+		this.x[size] = x;
+		this.y[size] = y;
+		size++;
+	}
+
+	/**
+	 * @return a view of the data points with <code>interval.min &lt;= timestamp &lt; interval.max</code>. Does not copy any data.
+	 */
+	public ArrayLineGraphData slice(Interval interval) {
+		int start = lowerBound(x, offset, offset + size, interval.getMin());
+		int end = lowerBound(x, start, offset + size, interval.getMax());
+		return new ArrayLineGraphData(x, y, start, end - start, false, interval);
+	}
+
+	/**
+	 * @return the array index of the first timestamp &gt;= key within [from, to), or <code>to</code> if there is none
+	 */
+	static int lowerBound(long[] sortedValues, int from, int to, long key) {
+		int low = from;
+		int high = to;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (sortedValues[mid] < key) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public double getX(int index) {
+		return getTimestamp(index);
+	}
+
+	public long getTimestamp(int index) {
+		checkIndex(index);
+		return x[offset + index];
+	}
+
+	@Override
+	public double getY(int index) {
+		checkIndex(index);
+		return y[offset + index];
+	}
+
+	private void checkIndex(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+		}
+	}
+
+	@Override
+	public LineGraphDataPoint getDataPoint(int index) {
+		return new LineGraphDataPoint(getX(index), getY(index));
+	}
+
+	public LongStream streamTimestamps() {
+		return Arrays.stream(x, offset, offset + size);
+	}
+
+	@Override
+	public DoubleStream streamX() {
+		return streamTimestamps().asDoubleStream();
+	}
+
+	@Override
+	public DoubleStream streamY() {
+		return Arrays.stream(y, offset, offset + size);
+	}
+
+	@Override
+	public Interval getInterval() {
+		return interval;
+	}
+
+	@Override
+	public UiLineGraphData toUiGraphData() {
+		return new UiLineGraphData(new UiDataPointList(x, y, offset, size), interval.toUiLongInterval());
+	}
+
+	/**
+	 * Read-only list view on the arrays, serialized without creating {@link UiLineGraphDataPoint} instances.
+	 */
+	@JsonSerialize(using = UiDataPointList.Serializer.class)
+	public static final class UiDataPointList extends AbstractList<UiLineGraphDataPoint> implements RandomAccess {
+
+		private final long[] x;
+		private final double[] y;
+		private final int offset;
+		private final int size;
+
+		UiDataPointList(long[] x, double[] y, int offset, int size) {
+			this.x = x;
+			this.y = y;
+			this.offset = offset;
+			this.size = size;
+		}
+
+		@Override
+		public UiLineGraphDataPoint get(int index) {
+			if (index < 0 || index >= size) {
+				throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+			}
+			return new UiLineGraphDataPoint(x[offset + index], y[offset + index]);
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+		public static class Serializer extends StdSerializer<UiDataPointList> {
+
+			public Serializer() {
+				super(UiDataPointList.class);
+			}
+
+			@Override
+			public void serialize(UiDataPointList list, JsonGenerator gen, SerializerProvider provider) throws IOException {
+				gen.writeStartArray(list, list.size);
+				for (int i = list.offset; i < list.offset + list.size; i++) {
+					gen.writeStartObject();
+					gen.writeStringField("_type", "UiLineGraphDataPoint");
+					gen.writeNumberField("x", (double) list.x[i]);
+					gen.writeNumberField("y", list.y[i]);
+					gen.writeEndObject();
+				}
+				gen.writeEndArray();
+			}
+		}
+	}
+}
@@ -44,7 +44,7 @@ public interface LineGraphData extends GraphData {
 
 	default DoubleStream streamY() {
 		int[] i = {0};
-		return DoubleStream.generate(() -> getX(i[0]++))
+		return DoubleStream.generate(() -> getY(i[0]++))
 				.limit(size());
 	}
 
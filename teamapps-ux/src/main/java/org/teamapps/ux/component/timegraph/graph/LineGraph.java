@@ -22,6 +22,7 @@ package org.teamapps.ux.component.timegraph.graph;
 import org.teamapps.common.format.Color;
 import org.teamapps.common.format.RgbaColor;
 import org.teamapps.dto.UiLineGraph;
+import org.teamapps.ux.component.timegraph.DownsamplingMode;
 import org.teamapps.ux.component.timegraph.LineChartCurveType;
 import org.teamapps.ux.component.timegraph.datapoints.LineGraphData;
 import org.teamapps.ux.component.timegraph.model.LineGraphModel;
@@ -34,7 +35,7 @@ public class LineGraph extends AbstractGraph<LineGraphData, LineGraphModel> {
 	private Color lineColorScaleMax;
 	private Color areaColorScaleMin;
 	private Color areaColorScaleMax;
-
+	private DownsamplingMode downsamplingMode = DownsamplingMode.NONE;
 
 	public LineGraph(LineGraphModel model) {
 		this(model, LineChartCurveType.MONOTONE, 2, new RgbaColor(73, 128, 192));
@@ -131,4 +132,17 @@ public class LineGraph extends AbstractGraph<LineGraphData, LineGraphModel> {
 		return this;
 	}
 
+	public DownsamplingMode getDownsamplingMode() {
+		return downsamplingMode;
+	}
+
+	/**
+	 * Sets how the model's data is reduced to the display resolution before being sent to the client.
+	 * This only affects data sent after the change.
+	 */
+	public LineGraph setDownsamplingMode(DownsamplingMode downsamplingMode) {
+		this.downsamplingMode = downsamplingMode != null ? downsamplingMode : DownsamplingMode.NONE;
+		return this;
+	}
+
 }
@@ -19,8 +19,10 @@
  */
 package org.teamapps.ux.component.timegraph.model;
 
+import it.unimi.dsi.fastutil.ints.IntArrays;
 import org.teamapps.ux.component.timegraph.Interval;
 import org.teamapps.ux.component.timegraph.TimePartitioning;
+import org.teamapps.ux.component.timegraph.datapoints.ArrayLineGraphData;
 import org.teamapps.ux.component.timegraph.datapoints.LineGraphData;
 import org.teamapps.ux.component.timegraph.datapoints.LineGraphDataPoint;
 import org.teamapps.ux.component.timegraph.datapoints.ListLineGraphData;
@@ -31,9 +33,17 @@ import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Aggregates the data points of a {@link LineGraphData} per partition of the requested zoom level.
+ * <p>
+ * The data points are copied into primitive arrays sorted by time. For each zoom level (and time zone), the aggregates
+ * of all partitions are computed once when first requested and then kept up to date while data points are added
+ * via {@link #addDataPoint(long, double)}. Queries locate their first partition by binary search, so answering them is
+ * proportional to the number of returned data points, not to the number of underlying ones.
+ */
 public class AggregatingLineGraphModel extends AbstractLineGraphModel {
 
-	private LineGraphData graphData;
+	private final AggregationPyramid pyramid = new AggregationPyramid();
 	private AggregationType aggregationType = AggregationType.FIRST_VALUE;
 
 	private boolean addDataPointBeforeAndAfterQueryResult = true;
@@ -42,12 +52,65 @@ public class AggregatingLineGraphModel extends AbstractLineGraphModel {
 	}
 
 	public AggregatingLineGraphModel(LineGraphData graphData, AggregationType aggregationType) {
-		this.graphData = graphData;
 		this.aggregationType = aggregationType;
+		setPyramidData(graphData);
 	}
 
 	public void setGraphData(LineGraphData graphData) {
-		this.graphData = graphData;
+		setPyramidData(graphData);
+		onDataChanged.fire(null);
+	}
+
+	private synchronized void setPyramidData(LineGraphData graphData) {
+		int size = graphData != null ? graphData.size() : 0;
+		long[] timestamps = new long[size];
+		double[] values = new double[size];
+		boolean sorted = true;
+		for (int i = 0; i < size; i++) {
+			timestamps[i] = (long) graphData.getX(i);
+			values[i] = graphData.getY(i);
+			sorted &= i == 0 || timestamps[i - 1] <= timestamps[i];
+		}
+		if (!sorted) {
+			int[] permutation = new int[size];
+			for (int i = 0; i < size; i++) {
+				permutation[i] = i;
+			}
+			IntArrays.mergeSort(permutation, (i1, i2) -> Long.compare(timestamps[i1], timestamps[i2]));
+			long[] sortedTimestamps = new long[size];
+			double[] sortedValues = new double[size];
+			for (int i = 0; i < size; i++) {
+				sortedTimestamps[i] = timestamps[permutation[i]];
+				sortedValues[i] = values[permutation[i]];
+			}
+			pyramid.setData(sortedTimestamps, sortedValues, size);
+		} else {
+			pyramid.setData(timestamps, values, size);
+		}
+	}
+
+	/**
+	 * Adds a data point. Adding data points in time order is cheap, since all aggregates computed so far are updated
+	 * incrementally. Adding an older data point causes all aggregates to be recomputed on the next query.
+	 */
+	public void addDataPoint(long x, double y) {
+		synchronized (this) {
+			pyramid.add(x, y);
+		}
+		onDataChanged.fire(null);
+	}
+
+	/**
+	 * Adds multiple data points, firing only one change event.
+	 *
+	 * @see #addDataPoint(long, double)
+	 */
+	public void addDataPoints(LineGraphData dataPoints) {
+		synchronized (this) {
+			for (int i = 0; i < dataPoints.size(); i++) {
+				pyramid.add((long) dataPoints.getX(i), dataPoints.getY(i));
+			}
+		}
 		onDataChanged.fire(null);
 	}
 
@@ -58,9 +121,20 @@ public class AggregatingLineGraphModel extends AbstractLineGraphModel {
 
 	@Override
 	public LineGraphData getData(TimePartitioning zoomLevel, ZoneId zoneId, Interval neededIntervalX, Interval displayedInterval) {
-		final long queryStart = getPartitionStartMilli(displayedInterval.getMin(), zoomLevel, zoneId);
-		final long queryEnd = getPartitionEndMilli(displayedInterval.getMax(), zoomLevel, zoneId);
-		return getAggregateDataPoints(graphData, zoomLevel, new Interval(queryStart, queryEnd), aggregationType, zoneId, addDataPointBeforeAndAfterQueryResult);
+		long queryStart = getPartitionStartMilli(displayedInterval.getMin(), zoomLevel, zoneId);
+		long queryEnd = getPartitionEndMilli(displayedInterval.getMax(), zoomLevel, zoneId);
+		if (addDataPointBeforeAndAfterQueryResult) {
+			queryStart = zoomLevel.decrement(Instant.ofEpochMilli(queryStart).atZone(zoneId)).toInstant().toEpochMilli();
+			queryEnd = zoomLevel.increment(Instant.ofEpochMilli(queryEnd).atZone(zoneId)).toInstant().toEpochMilli();
+		}
+		ArrayLineGraphData result = new ArrayLineGraphData(new Interval(queryStart, queryEnd));
+		synchronized (this) {
+			AggregationPyramid.Level level = pyramid.getLevel(zoomLevel, zoneId);
+			for (int i = level.indexOf(queryStart); i < level.size() && level.getPartitionStart(i) < queryEnd; i++) {
+				result.add(level.getPartitionStart(i), level.getAggregate(i, aggregationType));
+			}
+		}
+		return result;
 	}
 
 	public static LineGraphData getAggregateDataPoints(
@@ -82,7 +156,7 @@ public class AggregatingLineGraphModel extends AbstractLineGraphModel {
 		}
 		long currentPartitionStartMilli = startPartitionStartMilli;
 		long nextPartitionStartMilli = zoomLevel.increment(ZonedDateTime.ofInstant(Instant.ofEpochMilli(currentPartitionStartMilli), timeZone)).toInstant().toEpochMilli();
-		int i = 0;
+		int i = firstIndexAtOrAfter(dataPoints, startPartitionStartMilli);
 		do {
 			Double aggregateValue = null;
 			int count = 0;
@@ -101,8 +175,10 @@ public class AggregatingLineGraphModel extends AbstractLineGraphModel {
 						aggregateValue = aggregateValue == null || aggregateValue < y ? y : aggregateValue;
 					} else if (aggregationType == AggregationType.MIN) {
 						aggregateValue = aggregateValue == null || aggregateValue > y ? y : aggregateValue;
-					} else if (aggregationType == AggregationType.AVERAGE) {
+					} else if (aggregationType == AggregationType.AVERAGE || aggregationType == AggregationType.SUM) {
 						aggregateValue = aggregateValue == null ? y : aggregateValue + y;
+					} else if (aggregationType == AggregationType.COUNT) {
+						aggregateValue = (double) count;
 					}
 				}
 			}
@@ -118,6 +194,20 @@ public class AggregatingLineGraphModel extends AbstractLineGraphModel {
 		return new ListLineGraphData(result, new Interval(startPartitionStartMilli, endPartitionEndMilli));
 	}
 
+	private static int firstIndexAtOrAfter(LineGraphData dataPoints, long timestampMillis) {
+		int low = 0;
+		int high = dataPoints.size();
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (dataPoints.getX(mid) < timestampMillis) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
 	private static ZonedDateTime getPartitionStart(long timestampMillis, TimePartitioning partitionUnit, ZoneId timeZone) {
 		return partitionUnit.getPartitionStart(ZonedDateTime.ofInstant(Instant.ofEpochMilli(timestampMillis), timeZone));
 	}
@@ -131,14 +221,11 @@ public class AggregatingLineGraphModel extends AbstractLineGraphModel {
 	}
 
 	@Override
-	public Interval getDomainX() {
-		long minX = graphData.streamX()
-				.mapToLong(x -> (long) x)
-				.min().orElse(0);
-		long maxX = graphData.streamX()
-				.mapToLong(x -> (long) x)
-				.max().orElse(1);
-		return new Interval(minX, maxX);
+	public synchronized Interval getDomainX() {
+		if (pyramid.size() == 0) {
+			return new Interval(0, 1);
+		}
+		return new Interval(pyramid.getTimestamp(0), pyramid.getTimestamp(pyramid.size() - 1));
 	}
 
 	public boolean isAddDataPointBeforeAndAfterQueryResult() {
@@ -0,0 +1,279 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2023 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.ux.component.timegraph.model;
+
+import org.teamapps.ux.component.timegraph.TimePartitioning;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Time-sorted data points (primitive arrays) plus precomputed rollups (count, sum, min, max, first value) for each
+ * {@link TimePartitioning} that has been queried so far.
+ * <p>
+ * Levels are built lazily on first use and kept up to date when data points are appended in time order.
+ * Points inserted out of order invalidate all levels. Levels depend on the time zone, so they are kept per partitioning and zone.
+ * At most {@link #MAX_LEVELS} levels are kept, discarding the least recently used one.
+ * <p>
+ * Not thread-safe.
+ */
+class AggregationPyramid {
+
+	private long[] timestamps = new long[0];
+	private double[] values = new double[0];
+	private int size;
+
+	/**
+	 * Enough for all partitionings of a time graph, for a few time zones.
+	 */
+	static final int MAX_LEVELS = 64;
+
+	private final Map<LevelKey, Level> levels = new LinkedHashMap<>(16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<LevelKey, Level> eldest) {
+			return size() > MAX_LEVELS;
+		}
+	};
+
+	void setData(long[] timestamps, double[] values, int size) {
+		this.timestamps = timestamps;
+		this.values = values;
+		this.size = size;
+		levels.clear();
+	}
+
+	void add(long timestamp, double value) {
+		ensureCapacity(size + 1);
+		if (size == 0 || timestamp >= timestamps[size - 1]) {
+			timestamps[size] = timestamp;
+			values[size] = value;
+			size++;
+			for (Level level : levels.values()) {
+				level.add(timestamp, value);
+			}
+		} else {
+			int index = upperBound(timestamps, size, timestamp);
+			System.arraycopy(timestamps, index, timestamps, index + 1, size - index);
+			System.arraycopy(values, index, values, index + 1, size - index);
+			timestamps[index] = timestamp;
+			values[index] = value;
+			size++;
+			levels.clear();
+		}
+	}
+
+	private void ensureCapacity(int capacity) {
+		if (capacity > timestamps.length) {
+			int newCapacity = Math.max(capacity, Math.max(16, timestamps.length + (timestamps.length >> 1)));
+			timestamps = Arrays.copyOf(timestamps, newCapacity);
+			values = Arrays.copyOf(values, newCapacity);
+		}
+	}
+
+	int size() {
+		return size;
+	}
+
+	long getTimestamp(int index) {
+		return timestamps[index];
+	}
+
+	double getValue(int index) {
+		return values[index];
+	}
+
+	Level getLevel(TimePartitioning partitioning, ZoneId zoneId) {
+		return levels.computeIfAbsent(new LevelKey(partitioning, zoneId), key -> {
+			Level level = new Level(partitioning, zoneId);
+			for (int i = 0; i < size; i++) {
+				level.add(timestamps[i], values[i]);
+			}
+			return level;
+		});
+	}
+
+	/**
+	 * @return the index of the first element that is greater than or equal to the key
+	 */
+	static int lowerBound(long[] sortedValues, int size, long key) {
+		int low = 0;
+		int high = size;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (sortedValues[mid] < key) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * @return the index of the first element that is greater than the key
+	 */
+	static int upperBound(long[] sortedValues, int size, long key) {
+		int low = 0;
+		int high = size;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (sortedValues[mid] <= key) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Rollups of all non-empty partitions of one {@link TimePartitioning}, sorted by partition start.
+	 */
+	int getLevelCount() {
+		return levels.size();
+	}
+
+	private static class LevelKey {
+		private final TimePartitioning partitioning;
+		private final ZoneId zoneId;
+
+		LevelKey(TimePartitioning partitioning, ZoneId zoneId) {
+			this.partitioning = partitioning;
+			this.zoneId = zoneId;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (o == null || getClass() != o.getClass()) {
+				return false;
+			}
+			LevelKey levelKey = (LevelKey) o;
+			return partitioning.equals(levelKey.partitioning) && zoneId.equals(levelKey.zoneId);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(partitioning, zoneId);
+		}
+	}
+
+	static class Level {
+
+		private final TimePartitioning partitioning;
+		private final ZoneId zoneId;
+
+		private long[] partitionStarts = new long[16];
+		private int[] counts = new int[16];
+		private double[] sums = new double[16];
+		private double[] mins = new double[16];
+		private double[] maxs = new double[16];
+		private double[] firstValues = new double[16];
+		private int size;
+
+		private long lastPartitionEnd = Long.MIN_VALUE;
+
+		Level(TimePartitioning partitioning, ZoneId zoneId) {
+			this.partitioning = partitioning;
+			this.zoneId = zoneId;
+		}
+
+		/**
+		 * Must be called in time order.
+		 */
+		void add(long timestamp, double value) {
+			if (size > 0 && timestamp < lastPartitionEnd) {
+				int i = size - 1;
+				counts[i]++;
+				sums[i] += value;
+				mins[i] = Math.min(mins[i], value);
+				maxs[i] = Math.max(maxs[i], value);
+			} else {
+				ZonedDateTime partitionStart = partitioning.getPartitionStart(Instant.ofEpochMilli(timestamp).atZone(zoneId));
+				lastPartitionEnd = partitioning.increment(partitionStart).toInstant().toEpochMilli();
+				ensureCapacity(size + 1);
+				partitionStarts[size] = partitionStart.toInstant().toEpochMilli();
+				counts[size] = 1;
+				sums[size] = value;
+				mins[size] = value;
+				maxs[size] = value;
+				firstValues[size] = value;
+				size++;
+			}
+		}
+
+		private void ensureCapacity(int capacity) {
+			if (capacity > partitionStarts.length) {
+				int newCapacity = Math.max(capacity, partitionStarts.length + (partitionStarts.length >> 1));
+				partitionStarts = Arrays.copyOf(partitionStarts, newCapacity);
+				counts = Arrays.copyOf(counts, newCapacity);
+				sums = Arrays.copyOf(sums, newCapacity);
+				mins = Arrays.copyOf(mins, newCapacity);
+				maxs = Arrays.copyOf(maxs, newCapacity);
+				firstValues = Arrays.copyOf(firstValues, newCapacity);
+			}
+		}
+
+		int size() {
+			return size;
+		}
+
+		/**
+		 * @return the index of the first partition starting at or after the given timestamp
+		 */
+		int indexOf(long timestamp) {
+			return lowerBound(partitionStarts, size, timestamp);
+		}
+
+		long getPartitionStart(int index) {
+			return partitionStarts[index];
+		}
+
+		int getCount(int index) {
+			return counts[index];
+		}
+
+		double getAggregate(int index, AggregationType aggregationType) {
+			switch (aggregationType) {
+				case FIRST_VALUE:
+					return firstValues[index];
+				case MIN:
+					return mins[index];
+				case MAX:
+					return maxs[index];
+				case AVERAGE:
+					return sums[index] / counts[index];
+				case SUM:
+					return sums[index];
+				case COUNT:
+					return counts[index];
+				default:
+					throw new IllegalArgumentException("Unknown aggregation type: " + aggregationType);
+			}
+		}
+	}
+}
@@ -20,5 +20,5 @@
 package org.teamapps.ux.component.timegraph.model;
 
 public enum AggregationType {
-	FIRST_VALUE, MIN, AVERAGE, MAX;
+	FIRST_VALUE, MIN, AVERAGE, MAX, SUM, COUNT;
 }
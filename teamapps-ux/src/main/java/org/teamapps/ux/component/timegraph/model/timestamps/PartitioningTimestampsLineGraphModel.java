@@ -22,14 +22,12 @@ package org.teamapps.ux.component.timegraph.model.timestamps;
 import org.teamapps.event.Event;
 import org.teamapps.ux.component.timegraph.Interval;
 import org.teamapps.ux.component.timegraph.TimePartitioning;
+import org.teamapps.ux.component.timegraph.datapoints.ArrayLineGraphData;
 import org.teamapps.ux.component.timegraph.datapoints.LineGraphData;
-import org.teamapps.ux.component.timegraph.datapoints.LineGraphDataPoint;
-import org.teamapps.ux.component.timegraph.datapoints.ListLineGraphData;
 import org.teamapps.ux.component.timegraph.model.AbstractLineGraphModel;
 
 import java.time.Instant;
 import java.time.ZoneId;
-import java.util.stream.Collectors;
 
 public class PartitioningTimestampsLineGraphModel extends AbstractLineGraphModel {
 
@@ -49,12 +47,17 @@ public class PartitioningTimestampsLineGraphModel extends AbstractLineGraphModel
 	public LineGraphData getData(TimePartitioning zoomLevel, ZoneId zoneId, Interval neededInterval, Interval displayedInterval) {
 		final long queryStart = zoomLevel.getPartitionStart(Instant.ofEpochMilli(displayedInterval.getMin()).atZone(zoneId)).toInstant().toEpochMilli();
 		final long queryEnd = zoomLevel.getPartitionEnd(Instant.ofEpochMilli(displayedInterval.getMax()).atZone(zoneId)).toInstant().toEpochMilli();
-		final long[] eventTimestamps = timestampsModel.getTimestamps(displayedInterval);
-		return new ListLineGraphData(TimestampsPartitioner.partition(queryStart, queryEnd, eventTimestamps, zoneId, zoomLevel, true)
-				.stream()
-				.map(p -> new LineGraphDataPoint(p.getTimestamp(), p.getCount()))
-				.collect(Collectors.toList()),
-				new Interval(queryStart, queryEnd));
+		ArrayLineGraphData result = new ArrayLineGraphData(new Interval(queryStart, queryEnd));
+		TimestampsPartitioner.PartitionConsumer consumer = (partitionStart, count) -> result.add(partitionStart, count);
+		if (timestampsModel instanceof StaticTimestampsModel) {
+			// no need to copy the interval: the partitioner binary searches the model's sorted array anyway
+			long[] timestamps = ((StaticTimestampsModel) timestampsModel).getSortedTimestamps();
+			TimestampsPartitioner.partitionSorted(queryStart, queryEnd, timestamps, 0, timestamps.length, zoneId, zoomLevel, true, consumer);
+		} else {
+			final long[] eventTimestamps = TimestampsPartitioner.sortedOrSortedCopy(timestampsModel.getTimestamps(displayedInterval));
+			TimestampsPartitioner.partitionSorted(queryStart, queryEnd, eventTimestamps, 0, eventTimestamps.length, zoneId, zoomLevel, true, consumer);
+		}
+		return result;
 	}
 
 	@Override
@@ -24,30 +24,59 @@ import org.teamapps.ux.component.timegraph.Interval;
 import java.util.Arrays;
 import java.util.LongSummaryStatistics;
 
+/**
+ * Holds a fixed array of timestamps, kept sorted so intervals can be looked up by binary search.
+ * <p>
+ * Sorted arrays are used as they are (and must not be modified afterwards). Unsorted arrays are copied before sorting.
+ */
 public class StaticTimestampsModel extends AbstractTimestampsModel {
 
-	private long[] timestamps;
+	private long[] timestamps = new long[0]; // sorted
 	private Interval staticDomainX;
 
 	public void setTimestamps(long[] timestamps) {
-		this.timestamps = timestamps;
+		this.timestamps = TimestampsPartitioner.sortedOrSortedCopy(timestamps);
 		onDataChanged.fire(null);
 	}
 
 	public void setEventTimestamps(long[] timestamps) {
-		this.timestamps = timestamps;
-		onDataChanged.fire(null);
+		setTimestamps(timestamps);
 	}
 
+	/**
+	 * @return the timestamps with <code>neededIntervalX.min &lt;= timestamp &lt;= neededIntervalX.max</code>, sorted
+	 */
 	@Override
 	public long[] getTimestamps(Interval neededIntervalX) {
+		if (neededIntervalX == null) {
+			return timestamps;
+		}
+		int fromIndex = getFromIndex(neededIntervalX);
+		int toIndex = getToIndex(neededIntervalX);
+		return fromIndex == 0 && toIndex == timestamps.length ? timestamps : Arrays.copyOfRange(timestamps, fromIndex, toIndex);
+	}
+
+	/**
+	 * @return all timestamps, sorted. Must not be modified!
+	 */
+	long[] getSortedTimestamps() {
 		return timestamps;
 	}
 
+	private int getFromIndex(Interval interval) {
+		return TimestampsPartitioner.lowerBound(timestamps, 0, timestamps.length, interval.getMin());
+	}
+
+	private int getToIndex(Interval interval) {
+		return interval.getMax() == Long.MAX_VALUE ? timestamps.length : TimestampsPartitioner.lowerBound(timestamps, 0, timestamps.length, interval.getMax() + 1);
+	}
+
 	@Override
 	public Interval getDomainX() {
 		if (staticDomainX != null) {
 			return staticDomainX;
+		} else if (timestamps.length > 0) {
+			return new Interval(timestamps[0], timestamps[timestamps.length - 1]);
 		} else {
 			final LongSummaryStatistics minMax = Arrays.stream(timestamps).summaryStatistics();
 			return new Interval(minMax.getMin(), minMax.getMax());
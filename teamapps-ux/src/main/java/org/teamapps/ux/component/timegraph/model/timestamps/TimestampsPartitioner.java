@@ -19,54 +19,112 @@
  */
 package org.teamapps.ux.component.timegraph.model.timestamps;
 
+import it.unimi.dsi.fastutil.longs.LongArrayList;
 import org.teamapps.ux.component.timegraph.TimePartitioning;
 
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Comparator;
 import java.util.List;
-import java.util.TreeMap;
-import java.util.stream.Collectors;
 
+/**
+ * Counts timestamps per partition.
+ * <p>
+ * The partition boundaries of the requested time range are computed once per call (this is the only place time zone
+ * calculations happen). The timestamps of each partition are then counted by binary search in the sorted timestamps,
+ * so the cost is proportional to the number of partitions (times log of the number of timestamps), not to the number of timestamps.
+ */
 public class TimestampsPartitioner {
 
+	@FunctionalInterface
+	public interface PartitionConsumer {
+		void accept(long partitionStart, int count);
+	}
+
 	public static List<TimestampsPartition> partition(long startTime, long endTime, List<Long> eventTimeStamps, ZoneId zoneId, TimePartitioning partitionUnit, boolean returnEmptyPartitions) {
 		return partition(startTime, endTime, eventTimeStamps.stream().mapToLong(l -> l).toArray(), zoneId, partitionUnit, returnEmptyPartitions);
 	}
 
+	/**
+	 * @param eventTimeStamps the timestamps. Need not be sorted. Unsorted arrays are copied before sorting.
+	 */
 	public static List<TimestampsPartition> partition(long startTime, long endTime, long[] eventTimeStamps, ZoneId zoneId, TimePartitioning partitionUnit, boolean returnEmptyPartitions) {
-		TreeMap<Long, Integer> partitions = new TreeMap<>(Comparator.comparingLong(value -> value));
+		long[] sortedTimestamps = sortedOrSortedCopy(eventTimeStamps);
+		List<TimestampsPartition> partitions = new ArrayList<>();
+		partitionSorted(startTime, endTime, sortedTimestamps, 0, sortedTimestamps.length, zoneId, partitionUnit, returnEmptyPartitions,
+				(partitionStart, count) -> partitions.add(new TimestampsPartition(partitionStart, count)));
+		return partitions;
+	}
 
-		if (returnEmptyPartitions) {
-			for (ZonedDateTime partitionZonedDateTime = Instant.ofEpochMilli(getPartition(startTime, zoneId, partitionUnit)).atZone(zoneId);
-			     partitionZonedDateTime.toInstant().toEpochMilli() <= endTime;
-			     partitionZonedDateTime = partitionUnit.increment(partitionZonedDateTime)) {
-				partitions.put(partitionZonedDateTime.toInstant().toEpochMilli(), 0);
+	/**
+	 * Counts the timestamps of each partition from the partition of <code>startTime</code> up to the partition following the
+	 * one of <code>endTime</code>. Partitions after the partition of <code>endTime</code> are only reported if they are not empty.
+	 *
+	 * @param sortedTimestamps the timestamps, sorted in ascending order
+	 * @param fromIndex        the first index of <code>sortedTimestamps</code> to consider (inclusive)
+	 * @param toIndex          the last index of <code>sortedTimestamps</code> to consider (exclusive)
+	 * @param consumer         receives all partitions in time order
+	 */
+	public static void partitionSorted(long startTime, long endTime, long[] sortedTimestamps, int fromIndex, int toIndex, ZoneId zoneId, TimePartitioning partitionUnit,
+									   boolean returnEmptyPartitions, PartitionConsumer consumer) {
+		long[] boundaries = createPartitionBoundaries(startTime, endTime, zoneId, partitionUnit);
+		int partitionStartIndex = lowerBound(sortedTimestamps, fromIndex, toIndex, boundaries[0]);
+		for (int i = 0; i < boundaries.length - 1; i++) {
+			int partitionEndIndex = lowerBound(sortedTimestamps, partitionStartIndex, toIndex, boundaries[i + 1]);
+			int count = partitionEndIndex - partitionStartIndex;
+			if (count > 0 || returnEmptyPartitions && boundaries[i] <= endTime) {
+				consumer.accept(boundaries[i], count);
 			}
+			partitionStartIndex = partitionEndIndex;
 		}
-
-		long searchStartTime = partitionUnit.getPartitionStart(Instant.ofEpochMilli(startTime).atZone(zoneId)).toInstant().toEpochMilli();
-		ZonedDateTime endTimeZonedDateTime = Instant.ofEpochMilli(endTime).atZone(zoneId);
-		long searchEndTime = partitionUnit.increment(partitionUnit.increment(partitionUnit.getPartitionStart(endTimeZonedDateTime))).toInstant().toEpochMilli();
-
-		Arrays.stream(eventTimeStamps)
-				.filter(e -> e >= searchStartTime && e <= searchEndTime)
-				.forEach(e -> partitions.compute(getPartition(e, zoneId, partitionUnit), (partition, count) -> count == null ? 1 : count + 1));
-
-		return partitions.entrySet().stream()
-				.map(entry -> new TimestampsPartition(entry.getKey(), entry.getValue()))
-				.collect(Collectors.toList());
 	}
 
-	private static long getPartition(Long eventTime, ZoneId zoneId, TimePartitioning partitionUnit) {
-		ZonedDateTime zonedDateTime = Instant.ofEpochMilli(eventTime).atZone(zoneId);
-		return partitionUnit.getPartitionStart(zonedDateTime).toInstant().toEpochMilli();
+	/**
+	 * @return the start of each partition from the partition of <code>startTime</code> up to the partition following the one of
+	 * <code>endTime</code>, plus the end of the last one
+	 */
+	public static long[] createPartitionBoundaries(long startTime, long endTime, ZoneId zoneId, TimePartitioning partitionUnit) {
+		ZonedDateTime lastPartitionStart = partitionUnit.increment(partitionUnit.getPartitionStart(Instant.ofEpochMilli(endTime).atZone(zoneId)));
+		long end = partitionUnit.increment(lastPartitionStart).toInstant().toEpochMilli();
+		LongArrayList boundaries = new LongArrayList();
+		ZonedDateTime partitionStart = partitionUnit.getPartitionStart(Instant.ofEpochMilli(startTime).atZone(zoneId));
+		long partitionStartMilli = partitionStart.toInstant().toEpochMilli();
+		while (partitionStartMilli < end) {
+			boundaries.add(partitionStartMilli);
+			partitionStart = partitionUnit.increment(partitionStart);
+			partitionStartMilli = partitionStart.toInstant().toEpochMilli();
+		}
+		boundaries.add(end);
+		return boundaries.toLongArray();
 	}
 
+	static long[] sortedOrSortedCopy(long[] timestamps) {
+		for (int i = 1; i < timestamps.length; i++) {
+			if (timestamps[i] < timestamps[i - 1]) {
+				long[] sortedTimestamps = timestamps.clone();
+				Arrays.sort(sortedTimestamps);
+				return sortedTimestamps;
+			}
+		}
+		return timestamps;
+	}
 
-
-
-
+	/**
+	 * @return the index of the first element &gt;= key within [from, to), or <code>to</code> if there is none
+	 */
+	static int lowerBound(long[] sortedValues, int from, int to, long key) {
+		int low = from;
+		int high = to;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (sortedValues[mid] < key) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
 }
@@ -35,12 +35,16 @@ import org.teamapps.ux.component.field.combobox.TemplateDecider;
 import org.teamapps.ux.component.template.Template;
 import org.teamapps.ux.model.TreeModel;
 import org.teamapps.ux.model.TreeModelChangedEventData;
+import org.teamapps.ux.session.CoalescingSessionAction;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -72,21 +76,40 @@ public class Tree<RECORD> extends AbstractComponent {
 	private int clientRecordIdCounter = 0;
 	private final Map<RECORD, UiTreeRecord> uiRecordsByRecord = new HashMap<>();
 
+	// coalesced model changes (see setModelChangeCoalescingMillis())
+	private final CoalescingSessionAction coalescedModelChangesHandler = new CoalescingSessionAction(getSessionContext(), -1, this::handleCoalescedModelChanges);
+	private boolean allNodesChangedPending;
+	private final Set<RECORD> pendingRemovedNodes = new LinkedHashSet<>();
+	private final Set<RECORD> pendingAddedOrUpdatedNodes = new LinkedHashSet<>();
+
 	private final Runnable modelAllNodesChangedListener = () -> {
-		if (isRendered()) {
-			uiRecordsByRecord.clear();
-			List<UiTreeRecord> uiRecords = createOrUpdateUiRecords(model.getRecords());
-			getSessionContext().queueCommand(new UiTree.ReplaceDataCommand(getId(), uiRecords));
+		if (coalescedModelChangesHandler.getDelayMillis() >= 0) {
+			allNodesChangedPending = true;
+			coalescedModelChangesHandler.trigger();
+		} else {
+			handleAllNodesChanged();
 		}
 	};
 
 	private final Consumer<TreeModelChangedEventData<RECORD>> modelChangedListener = (changedEventData) -> {
-		if (isRendered()) {
-			List<Integer> removedUiIds = changedEventData.getRemovedNodes().stream()
-					.map(key -> uiRecordsByRecord.remove(key).getId())
-					.collect(Collectors.toList());
-			List<UiTreeRecord> addedOrUpdatedUiTreeRecords = createOrUpdateUiRecords(changedEventData.getAddedOrUpdatedNodes());
-			getSessionContext().queueCommand(new UiTree.BulkUpdateCommand(getId(), removedUiIds, addedOrUpdatedUiTreeRecords));
+		if (coalescedModelChangesHandler.getDelayMillis() >= 0) {
+			if (!allNodesChangedPending) {
+				if (changedEventData.getRemovedNodes() != null) {
+					changedEventData.getRemovedNodes().forEach(node -> {
+						pendingAddedOrUpdatedNodes.remove(node);
+						pendingRemovedNodes.add(node);
+					});
+				}
+				if (changedEventData.getAddedOrUpdatedNodes() != null) {
+					changedEventData.getAddedOrUpdatedNodes().forEach(node -> {
+						pendingRemovedNodes.remove(node); // removed and re-added: update
+						pendingAddedOrUpdatedNodes.add(node);
+					});
+				}
+			}
+			coalescedModelChangesHandler.trigger();
+		} else {
+			handleNodesChanged(changedEventData.getRemovedNodes(), changedEventData.getAddedOrUpdatedNodes());
 		}
 	};
 
@@ -96,6 +119,53 @@ public class Tree<RECORD> extends AbstractComponent {
 		registerModelListeners();
 	}
 
+	private void handleAllNodesChanged() {
+		if (isRendered()) {
+			uiRecordsByRecord.clear();
+			List<UiTreeRecord> uiRecords = createOrUpdateUiRecords(model.getRecords());
+			getSessionContext().queueCommand(new UiTree.ReplaceDataCommand(getId(), uiRecords));
+		}
+	}
+
+	private void handleNodesChanged(List<RECORD> removedNodes, List<RECORD> addedOrUpdatedNodes) {
+		if (isRendered()) {
+			List<Integer> removedUiIds = removedNodes.stream()
+					.map(uiRecordsByRecord::remove)
+					.filter(Objects::nonNull) // added and removed again before being sent
+					.map(UiTreeRecord::getId)
+					.collect(Collectors.toList());
+			List<UiTreeRecord> addedOrUpdatedUiTreeRecords = createOrUpdateUiRecords(addedOrUpdatedNodes);
+			getSessionContext().queueCommand(new UiTree.BulkUpdateCommand(getId(), removedUiIds, addedOrUpdatedUiTreeRecords));
+		}
+	}
+
+	private void handleCoalescedModelChanges() {
+		if (allNodesChangedPending) {
+			handleAllNodesChanged();
+		} else if (!pendingRemovedNodes.isEmpty() || !pendingAddedOrUpdatedNodes.isEmpty()) {
+			handleNodesChanged(new ArrayList<>(pendingRemovedNodes), new ArrayList<>(pendingAddedOrUpdatedNodes));
+		}
+		allNodesChangedPending = false;
+		pendingRemovedNodes.clear();
+		pendingAddedOrUpdatedNodes.clear();
+	}
+
+	public int getModelChangeCoalescingMillis() {
+		return coalescedModelChangesHandler.getDelayMillis();
+	}
+
+	/**
+	 * Sets how model changes are sent to the client:
+	 * <ul>
+	 *     <li>negative (default): every change of the model is sent immediately.</li>
+	 *     <li>0: all changes made during the current session task are sent together, after the task.</li>
+	 *     <li>positive: all changes made within the given number of milliseconds after a change are sent together.</li>
+	 * </ul>
+	 */
+	public void setModelChangeCoalescingMillis(int modelChangeCoalescingMillis) {
+		coalescedModelChangesHandler.setDelayMillis(modelChangeCoalescingMillis);
+	}
+
 	private void registerModelListeners() {
 		model.onAllNodesChanged().addListener(modelAllNodesChangedListener);
 		model.onChanged().addListener(modelChangedListener);
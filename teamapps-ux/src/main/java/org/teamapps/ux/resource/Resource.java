@@ -33,6 +33,10 @@ public interface Resource {
 
 	InputStream getInputStream();
 
+	/**
+	 * @return the length in bytes, or a negative value if the length is unknown in advance (i.e. the content is generated while it is
+	 * being read). Resources of unknown length are served without range support.
+	 */
 	default long getLength() {
 		try {
 			InputStream inputStream = getInputStream();
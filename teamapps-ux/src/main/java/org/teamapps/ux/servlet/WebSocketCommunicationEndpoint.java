@@ -19,7 +19,6 @@
  */
 package org.teamapps.ux.servlet;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.HttpSession;
 import jakarta.websocket.*;
@@ -29,6 +28,8 @@ import org.teamapps.config.TeamAppsConfiguration;
 import org.teamapps.dto.*;
 import org.teamapps.json.TeamAppsObjectMapperFactory;
 import org.teamapps.uisession.*;
+import org.teamapps.util.ByteArrayOutputStreamPool;
+import org.teamapps.util.ByteArrayOutputStreamPool.PooledByteArrayOutputStream;
 
 import java.io.IOException;
 import java.util.Map;
@@ -48,6 +49,11 @@ public class WebSocketCommunicationEndpoint extends Endpoint {
 	 */
 	private final Executor jettyWorkaroundCloseExecutor = Executors.newFixedThreadPool(5);
 	private final ObjectMapper mapper = TeamAppsObjectMapperFactory.create();
+	/**
+	 * Outgoing messages are serialized as UTF-8 directly into pooled buffers and sent as binary frames,
+	 * so no intermediate String is created for them.
+	 */
+	private final ByteArrayOutputStreamPool byteArrayOutputStreamPool = new ByteArrayOutputStreamPool(8 * 1024, 1024 * 1024, 256);
 
 	private final AtomicLong totalSendCount = new AtomicLong();
 	private final AtomicLong totalReceiveCount = new AtomicLong();
@@ -187,19 +193,20 @@ public class WebSocketCommunicationEndpoint extends Endpoint {
 				sendingErrorHandler.onErrorWhileSending(new TeamAppsCommunicationException("Connection closed!"));
 				return;
 			}
+			PooledByteArrayOutputStream messageBytes = byteArrayOutputStreamPool.acquire();
 			try {
-				String messageAsString;
 				try {
-					messageAsString = mapper.writeValueAsString(message);
-				} catch (JsonProcessingException e) {
+					mapper.writeValue(messageBytes, message);
+				} catch (IOException e) {
 					throw new TeamAppsCommunicationException(e);
 				}
-				sendCount.addAndGet(messageAsString.length());
-				totalSendCount.addAndGet(messageAsString.length());
+				sendCount.addAndGet(messageBytes.size());
+				totalSendCount.addAndGet(messageBytes.size());
 				//noinspection Convert2Lambda
-				wsSession.getAsyncRemote().sendText(messageAsString, new SendHandler() {
+				wsSession.getAsyncRemote().sendBinary(messageBytes.toByteBuffer(), new SendHandler() {
 					@Override
 					public void onResult(SendResult result) {
+						byteArrayOutputStreamPool.release(messageBytes);
 						if (result.isOK() && sendingSuccessHandler != null) {
 							sendingSuccessHandler.run();
 						}
@@ -209,6 +216,7 @@ public class WebSocketCommunicationEndpoint extends Endpoint {
 					}
 				});
 			} catch (Exception e) {
+				byteArrayOutputStreamPool.release(messageBytes);
 				if (sendingErrorHandler != null) {
 					sendingErrorHandler.onErrorWhileSending(e);
 				}
@@ -32,6 +32,7 @@ import org.teamapps.ux.resource.Resource;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URLEncoder;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -99,6 +100,11 @@ public class ResourceProviderServlet extends HttpServlet {
 			return;
 		}
 
+		if (resource.getLength() < 0) {
+			streamContent(response, resource, head);
+			return;
+		}
+
 		List<Range> ranges = getRanges(request, resource);
 
 		if (ranges == null) {
@@ -256,6 +262,21 @@ public class ResourceProviderServlet extends HttpServlet {
 		return contentType;
 	}
 
+	/**
+	 * Writes a resource of unknown length (see {@link Resource#getLength()}) without ranges and without Content-Length header.
+	 */
+	private void streamContent(HttpServletResponse response, Resource resource, boolean head) throws IOException {
+		response.setHeader("Content-Disposition", String.format(CONTENT_DISPOSITION_HEADER, (resource.isAttachment() ? "attachment" : "inline"), encodeURI(resource.getName())));
+		response.setHeader("Accept-Ranges", "none");
+		response.setContentType(resource.getMimeType());
+		if (head) {
+			return;
+		}
+		try (InputStream inputStream = resource.getInputStream()) {
+			IOUtils.copyLarge(inputStream, response.getOutputStream());
+		}
+	}
+
 	/**
 	 * Write given file to response with given content type and ranges.
 	 */
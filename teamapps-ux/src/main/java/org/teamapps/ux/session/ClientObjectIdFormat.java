@@ -0,0 +1,48 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2023 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.ux.session;
+
+/**
+ * Format of the ids of client objects (e.g. components).
+ * <p>
+ * These ids appear in nearly every command, event and record sent between server and client, so their length has
+ * a considerable impact on the size of the messages.
+ *
+ * @see SessionContext#createClientObjectId(Class)
+ */
+public enum ClientObjectIdFormat {
+
+	/**
+	 * Simple class name plus random UUID (e.g. "Panel-2b5d9b8f-1ad5-4e0c-8b2e-3f37cb2b7b42"). Globally unique.
+	 */
+	UUID,
+
+	/**
+	 * Base-36 counter, unique within the session (e.g. "c1z").
+	 */
+	COMPACT,
+
+	/**
+	 * Simple class name plus base-36 counter, unique within the session (e.g. "Panel-1z").
+	 * Intended for debugging, since the ids stay readable in the browser's developer tools.
+	 */
+	COMPACT_WITH_CLASS_NAME
+
+}
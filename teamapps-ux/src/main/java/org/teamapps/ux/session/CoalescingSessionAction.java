@@ -0,0 +1,76 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2023 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.ux.session;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs an action once for any number of {@link #trigger() triggers} within a short period of time, in a session's context.
+ * <p>
+ * With a delay of 0, the action runs after the current session task (and the tasks already queued). With a positive delay,
+ * it runs the given number of milliseconds after the first trigger. With a negative delay, every trigger runs the action immediately.
+ * <p>
+ * Must only be used by the session's thread.
+ */
+public class CoalescingSessionAction {
+
+	private final SessionContext sessionContext;
+	private final Runnable action;
+	private int delayMillis;
+	private boolean scheduled;
+
+	public CoalescingSessionAction(SessionContext sessionContext, int delayMillis, Runnable action) {
+		this.sessionContext = sessionContext;
+		this.delayMillis = delayMillis;
+		this.action = action;
+	}
+
+	public void trigger() {
+		if (delayMillis < 0) {
+			action.run();
+		} else if (!scheduled) {
+			scheduled = true;
+			if (delayMillis == 0) {
+				sessionContext.runWithContext(this::run, true);
+			} else {
+				CompletableFuture.delayedExecutor(delayMillis, TimeUnit.MILLISECONDS)
+						.execute(() -> sessionContext.runWithContext(this::run, true));
+			}
+		}
+	}
+
+	private void run() {
+		scheduled = false;
+		action.run();
+	}
+
+	public boolean isScheduled() {
+		return scheduled;
+	}
+
+	public int getDelayMillis() {
+		return delayMillis;
+	}
+
+	public void setDelayMillis(int delayMillis) {
+		this.delayMillis = delayMillis;
+	}
+}
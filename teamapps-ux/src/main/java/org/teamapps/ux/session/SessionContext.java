@@ -63,6 +63,7 @@ import java.time.ZoneId;
 import java.util.*;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
@@ -103,6 +104,8 @@ public class SessionContext {
 	private final SessionIconProvider iconProvider;
 	private final UxJacksonSerializationTemplate uxJacksonSerializationTemplate;
 	private final HashMap<String, ClientObject> clientObjectsById = new HashMap<>();
+	private final ClientObjectIdFormat clientObjectIdFormat;
+	private final AtomicInteger clientObjectIdCounter = new AtomicInteger();
 	private final SessionContextResourceManager sessionResourceProvider;
 
 	private TranslationProvider translationProvider;
@@ -198,6 +201,21 @@ public class SessionContext {
 						  SessionIconProvider iconProvider,
 						  String navigationPathPrefix,
 						  ParamConverterProvider navigationParamConverterProvider // TODO #ownInterfaces
+	) {
+		this(uiSession, sessionExecutor, clientInfo, sessionConfiguration, httpSession, serverContext, iconProvider, navigationPathPrefix,
+				navigationParamConverterProvider, ClientObjectIdFormat.UUID);
+	}
+
+	public SessionContext(UiSession uiSession,
+						  CloseableExecutor sessionExecutor,
+						  ClientInfo clientInfo,
+						  SessionConfiguration sessionConfiguration,
+						  HttpSession httpSession,
+						  UxServerContext serverContext,
+						  SessionIconProvider iconProvider,
+						  String navigationPathPrefix,
+						  ParamConverterProvider navigationParamConverterProvider, // TODO #ownInterfaces
+						  ClientObjectIdFormat clientObjectIdFormat
 	) {
 		this.sessionExecutor = sessionExecutor;
 		this.uiSession = uiSession;
@@ -209,6 +227,7 @@ public class SessionContext {
 		this.iconProvider = iconProvider;
 		this.navigationPathPrefix = navigationPathPrefix;
 		this.navigationParamConverterProvider = navigationParamConverterProvider;
+		this.clientObjectIdFormat = clientObjectIdFormat;
 		this.uxJacksonSerializationTemplate = new UxJacksonSerializationTemplate(this);
 		this.translationProvider = new ResourceBundleTranslationProvider("org.teamapps.ux.i18n.DefaultCaptions", Locale.ENGLISH);
 		addIconBundle(TeamAppsIconBundle.createBundle());
@@ -589,6 +608,22 @@ public class SessionContext {
 		return sessionConfiguration.getIconPath() + "/" + iconProvider.encodeIcon(icon, true);
 	}
 
+	/**
+	 * Creates a new id for a client object (e.g. a component) of this session.
+	 *
+	 * @see ClientObjectIdFormat
+	 */
+	public String createClientObjectId(Class<?> clientObjectClass) {
+		switch (clientObjectIdFormat) {
+			case COMPACT:
+				return "c" + Integer.toString(clientObjectIdCounter.incrementAndGet(), Character.MAX_RADIX);
+			case COMPACT_WITH_CLASS_NAME:
+				return clientObjectClass.getSimpleName() + "-" + Integer.toString(clientObjectIdCounter.incrementAndGet(), Character.MAX_RADIX);
+			default:
+				return clientObjectClass.getSimpleName() + "-" + UUID.randomUUID();
+		}
+	}
+
 	public void registerClientObject(ClientObject clientObject) {
 		CurrentSessionContext.throwIfNotSameAs(this);
 		clientObjectsById.put(clientObject.getId(), clientObject);
@@ -85,6 +85,68 @@ public class BeanPropertyExtractorTest {
 		assertEquals("overwrittenQValue", value);
 	}
 
+	@Test
+	public void testNestedProperties() throws Exception {
+		BeanPropertyExtractor<Outer> extractor = new BeanPropertyExtractor<>();
+		Outer outer = new Outer(new A());
+		assertEquals("qValue", extractor.getValue(outer, "a.q"));
+		assertEquals(true, extractor.getValue(outer, "a.s"));
+		assertEquals(new Outer(null).getA(), extractor.getValue(new Outer(null), "a"));
+		assertNull(extractor.getValue(new Outer(null), "a.q"));
+		assertNull(extractor.getValue(outer, "a.nonExisting"));
+		assertNull(extractor.getValue(outer, "a."));
+	}
+
+	@Test
+	public void testNestedPropertiesOnFirstAccess() throws Exception {
+		// The extractors of the path segments are looked up while the nested extractor is created.
+		// This must also work if both land in the same bucket of the extractor cache.
+		BeanPropertyExtractor<Person> extractor = new BeanPropertyExtractor<>();
+		Person person = new Person(new Address("Main Street", "Springfield"));
+		String collidingPath = findPathInSameCacheBucket(Person.class, "address");
+		assertNull(extractor.getValue(person, collidingPath));
+		assertEquals("Main Street", extractor.getValue(person, "address.street"));
+		assertEquals("Springfield", extractor.getValue(person, "address.city"));
+		assertEquals(11, extractor.getValue(person, "address.street.length"));
+		assertEquals("Main Street", new BeanPropertyExtractor<Person>(true).getValue(person, "address.street"));
+	}
+
+	private static String findPathInSameCacheBucket(Class<?> clazz, String firstPropertyName) {
+		int bucketBits = spreadHash(new ClassAndPropertyName(clazz, firstPropertyName, false).hashCode()) & 0xFFFF;
+		for (int i = 0; ; i++) {
+			String path = firstPropertyName + ".nonExisting" + i;
+			if ((spreadHash(new ClassAndPropertyName(clazz, path, false).hashCode()) & 0xFFFF) == bucketBits) {
+				return path;
+			}
+		}
+	}
+
+	private static int spreadHash(int hashCode) {
+		return hashCode ^ (hashCode >>> 16); // like ConcurrentHashMap
+	}
+
+	@Test
+	public void testNestedPropertiesWithFields() throws Exception {
+		BeanPropertyExtractor<Outer> extractor = new BeanPropertyExtractor<>(true);
+		assertEquals(2337, extractor.getValue(new Outer(new A()), "a.privateField"));
+		assertEquals(2337, extractor.getValue(new Outer(new B()), "a.privateField"));
+		assertEquals("bValue", extractor.getValue(new Outer(new B()), "a.q"));
+		assertEquals("qValue", extractor.getValue(new Outer(new A()), "a.q"));
+	}
+
+	@Test
+	public void testPrimitiveAndPrivateClassGetters() throws Exception {
+		BeanPropertyExtractor<PrivateBean> extractor = new BeanPropertyExtractor<>();
+		assertEquals(42, extractor.getValue(new PrivateBean(), "number"));
+		assertEquals(42L, extractor.getValue(new PrivateBean(), "longNumber"));
+	}
+
+	@Test
+	public void testExceptionsArePropagated() throws Exception {
+		BeanPropertyExtractor<PrivateBean> extractor = new BeanPropertyExtractor<>();
+		assertThrows(IllegalStateException.class, () -> extractor.getValue(new PrivateBean(), "failing"));
+	}
+
 	// TODO uncomment once we have Java 14
 //	@Test
 //	public void testWithRecords() throws Exception {
@@ -109,6 +171,69 @@ public class BeanPropertyExtractorTest {
 		}
 	}
 
+	public static class B extends A {
+		@Override
+		public String getQ() {
+			return "bValue";
+		}
+	}
+
+	public static class Outer {
+		private final A a;
+
+		public Outer(A a) {
+			this.a = a;
+		}
+
+		public A getA() {
+			return a;
+		}
+	}
+
+	public static class Person {
+		private final Address address;
+
+		public Person(Address address) {
+			this.address = address;
+		}
+
+		public Address getAddress() {
+			return address;
+		}
+	}
+
+	public static class Address {
+		private final String street;
+		private final String city;
+
+		public Address(String street, String city) {
+			this.street = street;
+			this.city = city;
+		}
+
+		public String getStreet() {
+			return street;
+		}
+
+		public String getCity() {
+			return city;
+		}
+	}
+
+	private static class PrivateBean {
+		public int getNumber() {
+			return 42;
+		}
+
+		private long getLongNumber() {
+			return 42;
+		}
+
+		public String getFailing() {
+			throw new IllegalStateException();
+		}
+	}
+
 	// TODO uncomment once we have Java 14
 //	public static record R (String s) {}
 
@@ -96,6 +96,57 @@ public class BeanPropertyInjectorTest {
 		assertEquals("blub", record.custom);
 	}
 
+	@Test
+	public void testNestedProperties() throws Exception {
+		BeanPropertyInjector<Outer> injector = new BeanPropertyInjector<>();
+		Outer outer = new Outer();
+		injector.setValue(outer, "a.q", "nestedValue");
+		assertEquals("nestedValue", outer.a.q);
+
+		outer.a = null;
+		injector.setValue(outer, "a.q", "ignored"); // no exception
+	}
+
+	@Test
+	public void testNestedPropertiesWithFields() throws Exception {
+		BeanPropertyInjector<Outer> injector = new BeanPropertyInjector<>(true);
+		Outer outer = new Outer();
+		injector.setValue(outer, "a.privateField", 3);
+		assertEquals(3, outer.a.privateField);
+	}
+
+	@Test
+	public void testPrimitiveAndFluentSetters() throws Exception {
+		BeanPropertyInjector<PrivateBean> injector = new BeanPropertyInjector<>();
+		PrivateBean record = new PrivateBean();
+		injector.setValue(record, "number", 42);
+		injector.setValue(record, "name", "fluent");
+		assertEquals(42, record.number);
+		assertEquals("fluent", record.name);
+	}
+
+	public static class Outer {
+		private A a = new A();
+
+		public A getA() {
+			return a;
+		}
+	}
+
+	private static class PrivateBean {
+		private int number;
+		private String name;
+
+		public void setNumber(int number) {
+			this.number = number;
+		}
+
+		public PrivateBean setName(String name) {
+			this.name = name;
+			return this;
+		}
+	}
+
 	@SuppressWarnings("FieldMayBeFinal")
 	public static class A {
 		private String q = "qValue";
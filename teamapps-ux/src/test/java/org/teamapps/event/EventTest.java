@@ -299,4 +299,50 @@ public class EventTest {
 			assertThat(event.getListeners()).hasSize(0);
 		});
 	}
+
+	@Test
+	public void testCreationSiteNotCapturedByDefault() {
+		Event<String> event = new Event<>();
+		assertThat(event.getCreationSite()).isNull();
+	}
+
+	@Test
+	public void testListenerAddedOrRemovedWhileFiringIsOnlyEffectiveForNextFiring() {
+		Event<String> event = new Event<>();
+		StringBuilder sb = new StringBuilder();
+		Consumer<String> c = s -> sb.append("c");
+		event.addListener(s -> sb.append("a"));
+		event.addListener(s -> {
+			sb.append("b");
+			event.removeListener(c);
+			event.addListener(s2 -> sb.append("d"));
+		});
+		event.addListener(c);
+
+		event.fire("x");
+		assertThat(sb.toString()).isEqualTo("abc");
+
+		sb.setLength(0);
+		event.fire("x");
+		assertThat(sb.toString()).isEqualTo("abd");
+		assertThat(event.getListeners()).hasSize(4);
+	}
+
+	@Test
+	public void testManyListeners() {
+		Event<Integer> event = new Event<>();
+		AtomicInteger sum = new AtomicInteger();
+		Consumer<Integer>[] listeners = new Consumer[100];
+		for (int i = 0; i < listeners.length; i++) {
+			int value = i;
+			listeners[i] = x -> sum.addAndGet(value);
+			event.addListener(listeners[i]);
+		}
+		for (int i = 0; i < listeners.length; i += 2) {
+			event.removeListener(listeners[i]);
+		}
+		event.fire(0);
+		assertThat(event.getListeners()).hasSize(50);
+		assertThat(sum).hasValue(2500);
+	}
 }
@@ -27,6 +27,7 @@ import org.teamapps.server.UxServerContext;
 import org.teamapps.uisession.UiSession;
 import org.teamapps.util.threading.CloseableExecutor;
 import org.teamapps.ux.session.ClientInfo;
+import org.teamapps.ux.session.ClientObjectIdFormat;
 import org.teamapps.ux.session.CurrentSessionContextTestUtil;
 import org.teamapps.ux.session.SessionConfiguration;
 import org.teamapps.ux.session.SessionContext;
@@ -46,15 +47,24 @@ public class UxTestUtil {
 	}
 
 	public static SessionContext createDummySessionContext() {
+		return createDummySessionContext(Mockito.mock(UiSession.class));
+	}
+
+	public static SessionContext createDummySessionContext(UiSession uiSession) {
+		return createDummySessionContext(uiSession, ClientObjectIdFormat.UUID);
+	}
+
+	public static SessionContext createDummySessionContext(UiSession uiSession, ClientObjectIdFormat clientObjectIdFormat) {
 		final ClientInfo clientInfo = new ClientInfo("ip", 1024, 768, 1000, 700, "en", false, "Europe/Berlin", 120, Collections.emptyList(), "userAgentString", Mockito.mock(Location.class), Collections.emptyMap(), TEAMAPPS_VERSION);
 		return new SessionContext(
-				Mockito.mock(UiSession.class),
+				uiSession,
 				CloseableExecutor.fromExecutorService(Executors.newSingleThreadExecutor()),
 				clientInfo, SessionConfiguration.createForClientInfo(clientInfo), Mockito.mock(HttpSession.class),
 				Mockito.mock(UxServerContext.class),
 				Mockito.mock(SessionIconProvider.class),
 				"",
-				Mockito.mock(ParamConverterProvider.class)
+				Mockito.mock(ParamConverterProvider.class),
+				clientObjectIdFormat
 		);
 	}
 
@@ -0,0 +1,48 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2023 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.uisession;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+import org.teamapps.dto.MULTI_CMD;
+import org.teamapps.json.TeamAppsObjectMapperFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CMDTest {
+
+	private final ObjectMapper objectMapper = TeamAppsObjectMapperFactory.create();
+
+	@Test
+	public void commandsAreWrittenAsRawJson() throws Exception {
+		CMD cmd1 = new CMD(1, "{\"_type\":\"x\",\"text\":\"\u00e4\u20ac\"}");
+		CMD cmd2 = new CMD(2, "[1,2]");
+		cmd2.setAwaitsResponse(true);
+		MULTI_CMD multiCmd = new MULTI_CMD(List.of(cmd1, cmd2));
+
+		String expected = "{\"_type\":\"MULTI_CMD\",\"cmds\":[{\"id\":1,\"c\":{\"_type\":\"x\",\"text\":\"\u00e4\u20ac\"}},{\"id\":2,\"c\":[1,2],\"r\":true}]}";
+		assertThat(new String(objectMapper.writeValueAsBytes(multiCmd), StandardCharsets.UTF_8)).isEqualTo(expected);
+		assertThat(objectMapper.writeValueAsString(multiCmd)).isEqualTo(expected);
+	}
+
+}
@@ -0,0 +1,188 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2023 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.uisession;
+
+import jakarta.servlet.http.HttpSession;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.teamapps.config.TeamAppsConfiguration;
+import org.teamapps.core.TeamAppsUploadManager;
+import org.teamapps.dto.UiClientInfo;
+import org.teamapps.dto.UiComponent;
+import org.teamapps.dto.UiLocation;
+import org.teamapps.dto.UiSessionClosingReason;
+import org.teamapps.icons.IconLibraryRegistry;
+import org.teamapps.icons.IconProvider;
+import org.teamapps.json.TeamAppsObjectMapperFactory;
+import org.teamapps.util.threading.CloseableExecutor;
+import org.teamapps.webcontroller.WebController;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.teamapps.common.TeamAppsVersion.TEAMAPPS_VERSION;
+
+public class TeamAppsSessionManagerTest {
+
+	private TeamAppsSessionManager sessionManager;
+
+	@BeforeClass
+	public static void warmUp() {
+		// the first session initialization takes quite long (class loading etc.), which would interfere with the short timeouts used here
+		TeamAppsSessionManager sessionManager = createSessionManager(new TeamAppsConfiguration());
+		sessionManager.initSession("warm-up", createUiClientInfo(), Mockito.mock(HttpSession.class), 0, Mockito.mock(MessageSender.class));
+		sessionManager.destroy();
+	}
+
+	@Before
+	public void setUp() {
+		TeamAppsConfiguration config = new TeamAppsConfiguration();
+		config.setKeepaliveMessageIntervalMillis(100);
+		config.setUiSessionPreInactivityPingMillis(300);
+		config.setUiSessionInactivityTimeoutMillis(900);
+		config.setUiSessionTimeoutMillis(1800);
+		sessionManager = createSessionManager(config);
+	}
+
+	private static TeamAppsSessionManager createSessionManager(TeamAppsConfiguration config) {
+		return new TeamAppsSessionManager(config, TeamAppsObjectMapperFactory.create(),
+				name -> CloseableExecutor.fromExecutorService(Executors.newSingleThreadExecutor()),
+				Mockito.mock(WebController.class), new IconProvider(new IconLibraryRegistry()), new TeamAppsUploadManager());
+	}
+
+	@After
+	public void tearDown() {
+		sessionManager.destroy();
+	}
+
+	@Test
+	public void sessionStatesFollowClientActivity() {
+		sessionManager.initSession("session-1", createUiClientInfo(), Mockito.mock(HttpSession.class), 100, Mockito.mock(MessageSender.class));
+		UiSession uiSession = sessionManager.getUiSessionById("session-1");
+
+		await().atMost(Duration.ofSeconds(2)).until(() -> uiSession.getState() == UiSessionState.NEARLY_INACTIVE);
+		await().atMost(Duration.ofSeconds(2)).until(() -> uiSession.getState() == UiSessionState.INACTIVE);
+		assertThat(sessionManager.getNumberOfSessions()).isEqualTo(1);
+
+		uiSession.handleKeepAlive();
+		assertThat(uiSession.getState()).isEqualTo(UiSessionState.ACTIVE); // right away, not on the next housekeeping run
+		await().atMost(Duration.ofSeconds(2)).until(() -> uiSession.getState() == UiSessionState.NEARLY_INACTIVE); // the state timer got rescheduled
+
+		await().atMost(Duration.ofSeconds(5)).until(() -> uiSession.getState() == UiSessionState.CLOSED);
+		assertThat(sessionManager.getNumberOfSessions()).isEqualTo(0);
+	}
+
+	@Test
+	public void closedSessionsStayClosed() throws Exception {
+		sessionManager.initSession("session-1", createUiClientInfo(), Mockito.mock(HttpSession.class), 100, Mockito.mock(MessageSender.class));
+		UiSession uiSession = sessionManager.getUiSessionById("session-1");
+		await().atMost(Duration.ofSeconds(2)).until(() -> uiSession.getState() == UiSessionState.NEARLY_INACTIVE);
+		int initialClosedSessionsCount = sessionManager.getNumberOfAvailableClosedSessionStatistics();
+
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		CountDownLatch startLatch = new CountDownLatch(1);
+		List<Future<?>> futures = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			boolean closing = i % 2 == 0;
+			futures.add(executor.submit(() -> {
+				startLatch.await();
+				for (int j = 0; j < 1000; j++) {
+					if (closing) {
+						uiSession.close(UiSessionClosingReason.TERMINATED_BY_APPLICATION);
+					} else {
+						uiSession.handleKeepAlive();
+					}
+				}
+				return null;
+			}));
+		}
+		startLatch.countDown();
+		for (Future<?> future : futures) {
+			future.get(10, TimeUnit.SECONDS);
+		}
+		executor.shutdown();
+
+		assertThat(uiSession.getState()).isEqualTo(UiSessionState.CLOSED);
+		uiSession.handleKeepAlive();
+		assertThat(uiSession.getState()).isEqualTo(UiSessionState.CLOSED);
+		assertThat(uiSession.getStatistics().getState()).isEqualTo(UiSessionState.CLOSED);
+		assertThat(sessionManager.getNumberOfAvailableClosedSessionStatistics()).isEqualTo(initialClosedSessionsCount + 1);
+		assertThat(sessionManager.getNumberOfSessions()).isEqualTo(0);
+	}
+
+	@Test
+	public void commandBufferCountsAreAggregatedOverSessions() {
+		sessionManager.initSession("session-1", createUiClientInfo(), Mockito.mock(HttpSession.class), 0, Mockito.mock(MessageSender.class));
+		sessionManager.initSession("session-2", createUiClientInfo(), Mockito.mock(HttpSession.class), 0, Mockito.mock(MessageSender.class));
+		UiSession uiSession1 = sessionManager.getUiSessionById("session-1");
+		UiSession uiSession2 = sessionManager.getUiSessionById("session-2");
+		int initialBufferedCommandsCount = sessionManager.getBufferedCommandsCount();
+
+		uiSession1.sendCommand(new UiCommandWithResultCallback<>(new UiComponent.SetStyleCommand("c1", "", Map.of())));
+		uiSession2.sendCommand(new UiCommandWithResultCallback<>(new UiComponent.SetStyleCommand("c1", "", Map.of())));
+		uiSession2.sendCommand(new UiCommandWithResultCallback<>(new UiComponent.SetStyleCommand("c2", "", Map.of())));
+
+		assertThat(sessionManager.getBufferedCommandsCount()).isEqualTo(initialBufferedCommandsCount + 3);
+		assertThat(sessionManager.getUnconsumedCommandsCount()).isEqualTo(sessionManager.getBufferedCommandsCount()); // client did not request any commands
+
+		uiSession2.close(UiSessionClosingReason.TERMINATED_BY_APPLICATION);
+		assertThat(sessionManager.getBufferedCommandsCount()).isEqualTo(uiSession1.getClientBackPressureInfo().getBufferedCommandsCount());
+		assertThat(sessionManager.getUnconsumedCommandsCount()).isEqualTo(uiSession1.getClientBackPressureInfo().getUnconsumedCommandsCount());
+	}
+
+	private static UiClientInfo createUiClientInfo() {
+		UiLocation location = new UiLocation();
+		location.setHref("http://localhost:8080/");
+		location.setOrigin("http://localhost:8080");
+		location.setProtocol("http:");
+		location.setHost("localhost:8080");
+		location.setHostname("localhost");
+		location.setPort(8080);
+		location.setPathname("/");
+		location.setSearch("");
+		location.setHash("");
+
+		UiClientInfo clientInfo = new UiClientInfo();
+		clientInfo.setScreenWidth(1920);
+		clientInfo.setScreenHeight(1080);
+		clientInfo.setViewPortWidth(1900);
+		clientInfo.setViewPortHeight(1000);
+		clientInfo.setPreferredLanguageIso("en");
+		clientInfo.setTimezoneIana("Europe/Berlin");
+		clientInfo.setClientTokens(List.of());
+		clientInfo.setLocation(location);
+		clientInfo.setClientParameters(Map.of());
+		clientInfo.setTeamAppsVersion(TEAMAPPS_VERSION);
+		return clientInfo;
+	}
+
+}
@@ -242,6 +242,63 @@ public class CommandBufferTest {
 				.isInstanceOf(CommandBufferSizeOverflowException.class);
 	}
 
+	@Test
+	public void commandsSizeIsCountedInUtf8Bytes() throws CommandBufferException {
+		CommandBuffer buffer = new CommandBuffer(10, 1_000);
+
+		buffer.addCommand(new CMD(1, "\"\u00e4\""));
+		buffer.addCommand(createCmd(2, 10));
+		assertThat(buffer.getCommandsSize()).isEqualTo(4 + 10);
+
+		buffer.consumeCommand();
+		buffer.purgeTillCommand(2);
+		assertThat(buffer.getCommandsSize()).isEqualTo(10);
+	}
+
+	@Test
+	public void rewindToCommandAfterBufferHasGrown() throws CommandBufferException {
+		CommandBuffer buffer = new CommandBuffer(1000, 1_000_000);
+
+		for (int i = 1; i <= 500; i++) {
+			buffer.addCommand(createCmd(i));
+			if (i <= 300) {
+				buffer.consumeCommand();
+			}
+			if (i == 300) {
+				buffer.purgeTillCommand(250);
+			}
+		}
+
+		assertThat(buffer.getBufferedCommandsCount()).isEqualTo(251);
+		assertThat(buffer.rewindToCommand(200)).isFalse(); // already purged
+		assertThat(buffer.rewindToCommand(301)).isFalse(); // not yet consumed
+		assertThat(buffer.rewindToCommand(280)).isTrue();
+		assertThat(buffer.getUnconsumedCommandsCount()).isEqualTo(220);
+		assertThat(buffer.consumeCommand().getId()).isEqualTo(281);
+	}
+
+	@Test
+	public void unconsumedCommandsWithSameCoalescingKeyGetReplaced() throws CommandBufferException {
+		CommandBuffer buffer = new CommandBuffer(3, 1_000_000);
+
+		buffer.addCommand(new CMD(1, "\"a1\"".getBytes(), "a"));
+		buffer.consumeCommand();
+		buffer.addCommand(new CMD(2, "\"a2\"".getBytes(), "a"));
+		buffer.addCommand(new CMD(3, "\"b3\"".getBytes(), "b"));
+		for (int i = 4; i < 100; i++) {
+			buffer.addCommand(new CMD(i, "\"a\"".getBytes(), "a"));
+		}
+
+		assertThat(buffer.getBufferedCommandsCount()).isEqualTo(3);
+		assertThat(buffer.getCommandsSize()).isEqualTo(4 + 4 + 3);
+		assertThat(buffer.consumeCommand().getId()).isEqualTo(3);
+		assertThat(buffer.consumeCommand().getId()).isEqualTo(99);
+		assertNull(buffer.consumeCommand());
+
+		assertThat(buffer.rewindToCommand(3)).isTrue();
+		assertThat(buffer.consumeCommand().getId()).isEqualTo(99);
+	}
+
 	private CMD createCmd(int id) {
 		return createCmd(id, 10);
 	}
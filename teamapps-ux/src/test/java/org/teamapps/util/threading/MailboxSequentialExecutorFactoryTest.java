@@ -0,0 +1,145 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2023 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.util.threading;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import org.assertj.core.api.Assertions;
+import org.junit.Assert;
+import org.junit.Test;
+import org.teamapps.common.util.ExceptionUtil;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+public class MailboxSequentialExecutorFactoryTest {
+
+	@Test
+	public void executionOrderOneKey() throws Exception {
+		int numberOfExecutions = 1000;
+
+		MailboxSequentialExecutorFactory executorFactory = new MailboxSequentialExecutorFactory(2);
+
+		IntList executionOrderCheckingList = new IntArrayList();
+
+		CyclicBarrier barrier = new CyclicBarrier(2);
+		CloseableExecutor executor = executorFactory.createExecutor();
+		for (int i = 0; i < numberOfExecutions; i++) {
+			final int iFinal = i;
+			executor.execute(() -> {
+				executionOrderCheckingList.add(iFinal);
+				if (iFinal == numberOfExecutions - 1) {
+					ExceptionUtil.softenExceptions(() -> barrier.await());
+				}
+			});
+		}
+
+		barrier.await();
+		checkIntListContents(executionOrderCheckingList, numberOfExecutions);
+	}
+
+	@Test
+	public void executionOrderMultipleKeysAndProducers() throws Exception {
+		int numberOfExecutions = 400;
+
+		MailboxSequentialExecutorFactory executorFactory = new MailboxSequentialExecutorFactory(4);
+
+		List<IntList> executionOrderCheckingLists = new ArrayList<>();
+		List<CompletableFuture<Boolean>> lastFutures = new ArrayList<>();
+		for (int e = 0; e < 8; e++) {
+			CloseableExecutor executor = executorFactory.createExecutor("executor-" + e);
+			IntList executionOrderCheckingList = new IntArrayList();
+			executionOrderCheckingLists.add(executionOrderCheckingList);
+			// submit from another thread for every executor, so there are multiple concurrent producers
+			lastFutures.add(CompletableFuture.supplyAsync(() -> {
+				CompletableFuture<Boolean> lastFuture = null;
+				for (int i = 0; i < numberOfExecutions; i++) {
+					final int iFinal = i;
+					lastFuture = CompletableFuture.supplyAsync(() -> executionOrderCheckingList.add(iFinal), executor);
+				}
+				return lastFuture;
+			}).thenCompose(f -> f));
+		}
+
+		CompletableFuture.allOf(lastFutures.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+		executionOrderCheckingLists.forEach(list -> checkIntListContents(list, numberOfExecutions));
+	}
+
+	@Test
+	public void executionContinuesAfterException() throws Exception {
+		MailboxSequentialExecutorFactory executorFactory = new MailboxSequentialExecutorFactory(2);
+		CloseableExecutor executor = executorFactory.createExecutor();
+
+		executor.execute(() -> {
+			throw new RuntimeException();
+		});
+
+		CyclicBarrier barrier = new CyclicBarrier(2);
+		boolean[] secondWasExecuted = new boolean[]{false};
+		executor.execute(() -> {
+			secondWasExecuted[0] = true;
+			ExceptionUtil.softenExceptions(() -> barrier.await());
+		});
+
+		barrier.await();
+		Assert.assertTrue(secondWasExecuted[0]);
+	}
+
+	@Test
+	public void busyExecutorsYieldAfterDrainBudget() throws Exception {
+		MailboxSequentialExecutorFactory executorFactory = new MailboxSequentialExecutorFactory(Executors.newSingleThreadExecutor(), 2);
+
+		CountDownLatch blockingLatch = new CountDownLatch(1);
+		executorFactory.createExecutor("blocker").execute(() -> ExceptionUtil.softenExceptions(() -> blockingLatch.await()));
+
+		List<String> executionOrder = Collections.synchronizedList(new ArrayList<>());
+		CountDownLatch doneLatch = new CountDownLatch(12);
+		CloseableExecutor executorA = executorFactory.createExecutor("A");
+		CloseableExecutor executorB = executorFactory.createExecutor("B");
+		for (int i = 0; i < 6; i++) {
+			executorA.execute(() -> {
+				executionOrder.add("A");
+				doneLatch.countDown();
+			});
+		}
+		for (int i = 0; i < 6; i++) {
+			executorB.execute(() -> {
+				executionOrder.add("B");
+				doneLatch.countDown();
+			});
+		}
+		blockingLatch.countDown();
+
+		Assert.assertTrue(doneLatch.await(5, TimeUnit.SECONDS));
+		Assertions.assertThat(executionOrder).containsExactly("A", "A", "B", "B", "A", "A", "B", "B", "A", "A", "B", "B");
+	}
+
+	private void checkIntListContents(IntList executionOrderCheckingList, int rangeMax) {
+		Assertions.assertThat(executionOrderCheckingList.toIntArray())
+				.containsExactly(IntStream.range(0, rangeMax).toArray());
+	}
+}
@@ -0,0 +1,74 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2023 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.util.threading;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import org.assertj.core.api.Assertions;
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+public class VirtualThreadSequentialExecutorFactoryTest {
+
+	@Test
+	public void blockingExecutorDoesNotStallOthers() throws Exception {
+		Assume.assumeTrue(VirtualThreadSequentialExecutorFactory.isSupported());
+		VirtualThreadSequentialExecutorFactory executorFactory = new VirtualThreadSequentialExecutorFactory();
+
+		CountDownLatch blockingLatch = new CountDownLatch(1);
+		CountDownLatch doneLatch = new CountDownLatch(100);
+		for (int i = 0; i < 100; i++) {
+			CloseableExecutor executor = executorFactory.createExecutor("blocking-" + i);
+			executor.execute(() -> {
+				try {
+					blockingLatch.await();
+				} catch (InterruptedException e) {
+					throw new RuntimeException(e);
+				}
+			});
+		}
+
+		IntList executionOrderCheckingList = new IntArrayList();
+		CloseableExecutor executor = executorFactory.createExecutor("non-blocking");
+		for (int i = 0; i < 100; i++) {
+			final int iFinal = i;
+			executor.execute(() -> {
+				executionOrderCheckingList.add(iFinal);
+				doneLatch.countDown();
+			});
+		}
+
+		Assertions.assertThat(doneLatch.await(5, TimeUnit.SECONDS)).isTrue();
+		Assertions.assertThat(executionOrderCheckingList.toIntArray()).containsExactly(IntStream.range(0, 100).toArray());
+		blockingLatch.countDown();
+	}
+
+	@Test
+	public void failsWithoutVirtualThreadSupport() {
+		Assume.assumeFalse(VirtualThreadSequentialExecutorFactory.isSupported());
+		Assertions.assertThatThrownBy(VirtualThreadSequentialExecutorFactory::new)
+				.isInstanceOf(UnsupportedOperationException.class);
+	}
+
+}
@@ -0,0 +1,195 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2023 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.ux.cache.record;
+
+import org.junit.Test;
+import org.teamapps.dto.UiIdentifiableClientRecord;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class RenderedRecordsCacheTest {
+
+	@Test
+	public void testAddNoShiftAndLookups() {
+		RenderedRecordsCache<String> cache = new RenderedRecordsCache<>();
+		cache.addNoShift(10, pairs("c", "d"));
+		cache.addNoShift(8, pairs("a", "b"));
+		cache.addNoShift(12, pairs("e"));
+
+		assertThat(cache.getRecords()).containsExactly("a", "b", "c", "d", "e");
+		assertThat(cache.getRange()).isEqualTo(ItemRange.startLength(8, 5));
+		assertThat(cache.getIndex("a")).isEqualTo(8);
+		assertThat(cache.getIndex("d")).isEqualTo(11);
+		assertThat(cache.getIndex("x")).isEqualTo(-1);
+		assertThat(cache.getRecordByIndex(12)).isEqualTo("e");
+		assertThat(cache.getRecord(id("c"))).isEqualTo("c");
+		assertThat(cache.getRecord(12345)).isNull();
+		assertThat(cache.getUiRecord("b").getId()).isEqualTo(id("b"));
+	}
+
+	@Test
+	public void testInsertShiftingUpdatesIndexes() {
+		RenderedRecordsCache<String> cache = new RenderedRecordsCache<>();
+		cache.addNoShift(0, pairs("a", "b", "c"));
+		assertThat(cache.getIndex("c")).isEqualTo(2);
+
+		cache.insertShifting(1, pairs("x", "y"));
+		assertThat(cache.getRecords()).containsExactly("a", "x", "y", "b", "c");
+		assertThat(cache.getIndex("a")).isEqualTo(0);
+		assertThat(cache.getIndex("x")).isEqualTo(1);
+		assertThat(cache.getIndex("y")).isEqualTo(2);
+		assertThat(cache.getIndex("c")).isEqualTo(4);
+	}
+
+	@Test
+	public void testRemovals() {
+		RenderedRecordsCache<String> cache = new RenderedRecordsCache<>();
+		cache.addNoShift(5, pairs("a", "b", "c", "d", "e", "f"));
+		assertThat(cache.getIndex("f")).isEqualTo(10);
+
+		cache.removeNoShift(6, 8);
+		assertThat(cache.getRecords()).containsExactly("a", "d", "e", "f");
+		assertThat(cache.getIndex("b")).isEqualTo(-1);
+		assertThat(cache.getRecord(id("b"))).isNull();
+		assertThat(cache.getIndex("d")).isEqualTo(6);
+
+		cache.removeBeforeNoShift(7);
+		assertThat(cache.getRecords()).containsExactly("e", "f");
+		assertThat(cache.getIndex("e")).isEqualTo(7);
+
+		cache.removeAfterNoShift(8);
+		assertThat(cache.getRecords()).containsExactly("e");
+		assertThat(cache.getIndex("f")).isEqualTo(-1);
+	}
+
+	@Test
+	public void testUpdateRecord() {
+		RenderedRecordsCache<String> cache = new RenderedRecordsCache<>();
+		cache.addNoShift(0, pairs("a", "b"));
+		UiIdentifiableClientRecord newUiRecord = new UiIdentifiableClientRecord();
+		newUiRecord.setId(999);
+		cache.updateRecord("b", newUiRecord);
+
+		assertThat(cache.getUiRecord("b")).isSameAs(newUiRecord);
+		assertThat(cache.getRecord(999)).isEqualTo("b");
+		assertThat(cache.getRecord(id("b"))).isNull();
+		assertThat(cache.getIndex("b")).isEqualTo(1);
+	}
+
+	@Test
+	public void testGetRecordsAndIdsAreInRenderedOrder() {
+		RenderedRecordsCache<String> cache = new RenderedRecordsCache<>();
+		cache.addNoShift(0, pairs("a", "b", "c", "d"));
+		assertThat(cache.getRecords(List.of(id("d"), id("b"), 12345))).containsExactly("b", "d");
+		assertThat(cache.getUiRecordIds(List.of("c", "x", "a"))).containsExactly(id("a"), id("c"));
+		assertThat(cache.getUiRecordIds()).containsExactly(id("a"), id("b"), id("c"), id("d"));
+	}
+
+	@Test
+	public void testDuplicatesAndUnattachedRecords() {
+		RenderedRecordsCache<String> cache = new RenderedRecordsCache<>();
+		cache.addNoShift(0, pairs("a", "b"));
+		assertThatThrownBy(() -> cache.addNoShift(2, pairs("a"))).isInstanceOf(DuplicateEntriesException.class);
+		assertThatThrownBy(() -> cache.addNoShift(5, pairs("x"))).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> cache.insertShifting(3, pairs("x"))).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	public void testCustomEqualsAndHashCode() {
+		RenderedRecordsCache<String> cache = new RenderedRecordsCache<>(new EqualsAndHashCode<>(
+				(a, b) -> b instanceof String && a.equalsIgnoreCase((String) b),
+				s -> s.toLowerCase().hashCode()
+		));
+		cache.addNoShift(0, pairs("a", "b"));
+		assertThat(cache.getIndex("B")).isEqualTo(1);
+		assertThatThrownBy(() -> cache.insertShifting(0, pairs("A"))).isInstanceOf(DuplicateEntriesException.class);
+	}
+
+	@Test
+	public void testManyInterleavedModifications() {
+		RenderedRecordsCache<String> cache = new RenderedRecordsCache<>();
+		cache.addNoShift(0, pairs(IntStream.range(0, 100).mapToObj(i -> "r" + i).toArray(String[]::new)));
+		for (int i = 0; i < 50; i++) {
+			cache.removeNoShift(i, i + 1);
+			cache.insertShifting(i, pairs("n" + i));
+		}
+		List<String> expected = IntStream.range(0, 100)
+				.mapToObj(i -> i < 50 ? "n" + i : "r" + i)
+				.collect(Collectors.toList());
+		assertThat(cache.getRecords()).isEqualTo(expected);
+		for (int i = 0; i < expected.size(); i++) {
+			assertThat(cache.getIndex(expected.get(i))).isEqualTo(i);
+		}
+	}
+
+	@Test
+	public void testRandomModificationsMatchList() {
+		Random random = new Random(42);
+		RenderedRecordsCache<String> cache = new RenderedRecordsCache<>();
+		List<String> expected = new ArrayList<>();
+		int nextRecord = 0;
+		for (int i = 0; i < 2000; i++) {
+			if (expected.isEmpty() || random.nextBoolean()) {
+				int index = random.nextInt(expected.size() + 1);
+				List<String> newRecords = new ArrayList<>();
+				for (int j = random.nextInt(5); j >= 0; j--) {
+					newRecords.add("r" + nextRecord++);
+				}
+				cache.insertShifting(index, pairs(newRecords.toArray(String[]::new)));
+				expected.addAll(index, newRecords);
+			} else {
+				int start = random.nextInt(expected.size());
+				int end = Math.min(expected.size(), start + 1 + random.nextInt(5));
+				cache.removeNoShift(start, end);
+				expected.subList(start, end).clear();
+			}
+			if (!expected.isEmpty()) {
+				int index = random.nextInt(expected.size());
+				assertThat(cache.getIndex(expected.get(index))).isEqualTo(index);
+				assertThat(cache.getRecordByIndex(index)).isEqualTo(expected.get(index));
+			}
+		}
+		assertThat(cache.getRecords()).isEqualTo(expected);
+		for (int i = 0; i < expected.size(); i++) {
+			assertThat(cache.getIndex(expected.get(i))).isEqualTo(i);
+		}
+	}
+
+	private static List<RecordAndClientRecord<String>> pairs(String... records) {
+		return List.of(records).stream()
+				.map(r -> {
+					UiIdentifiableClientRecord uiRecord = new UiIdentifiableClientRecord();
+					uiRecord.setId(id(r));
+					return new RecordAndClientRecord<>(r, uiRecord);
+				})
+				.collect(Collectors.toList());
+	}
+
+	private static int id(String record) {
+		return record.hashCode();
+	}
+}
@@ -0,0 +1,69 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2023 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.ux.component.infiniteitemview;
+
+import org.junit.Test;
+import org.teamapps.ux.cache.record.ItemRange;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class VelocityAwareReadAheadStrategyTest {
+
+	private final VelocityAwareReadAheadStrategy strategy = new VelocityAwareReadAheadStrategy(0.5, 500, 200);
+
+	@Test
+	public void testMarginWithoutScrolling() {
+		ItemRange range = strategy.getRangeToLoad(ItemRange.startLength(100, 20), ItemRange.startLength(0, 0), ItemRange.startLength(0, 0), 5000);
+		assertThat(range).isEqualTo(ItemRange.startEnd(90, 130));
+	}
+
+	@Test
+	public void testMarginIsClampedAtZero() {
+		ItemRange range = strategy.getRangeToLoad(ItemRange.startLength(0, 20), ItemRange.startLength(0, 0), ItemRange.startLength(0, 0), 5000);
+		assertThat(range).isEqualTo(ItemRange.startEnd(0, 30));
+	}
+
+	@Test
+	public void testLoadsMoreInScrollDirection() {
+		// 20 records in 100ms => 0.2 records/ms => 100 records look-ahead
+		ItemRange down = strategy.getRangeToLoad(ItemRange.startLength(120, 20), ItemRange.startLength(100, 20), ItemRange.startLength(100, 20), 100);
+		assertThat(down).isEqualTo(ItemRange.startEnd(110, 250));
+		ItemRange up = strategy.getRangeToLoad(ItemRange.startLength(300, 20), ItemRange.startLength(320, 20), ItemRange.startLength(320, 20), 100);
+		assertThat(up).isEqualTo(ItemRange.startEnd(190, 330));
+	}
+
+	@Test
+	public void testKeepsLoadedRangeWhileThereIsEnoughMargin() {
+		ItemRange loaded = ItemRange.startEnd(110, 250);
+		assertThat(strategy.getRangeToLoad(ItemRange.startLength(140, 20), ItemRange.startLength(120, 20), loaded, 100)).isSameAs(loaded);
+		assertThat(strategy.getRangeToLoad(ItemRange.startLength(226, 20), ItemRange.startLength(140, 20), loaded, 100)).isNotEqualTo(loaded);
+	}
+
+	@Test
+	public void testRespectsMaxLoadedRecords() {
+		ItemRange range = strategy.getRangeToLoad(ItemRange.startLength(10_000, 50), ItemRange.startLength(0, 50), ItemRange.startLength(0, 50), 100);
+		assertThat(range.getLength()).isLessThanOrEqualTo(200);
+		assertThat(range.contains(ItemRange.startLength(10_000, 50))).isTrue();
+		assertThat(range.getEnd() - 10_050).isGreaterThan(10_000 - range.getStart());
+
+		ItemRange hugeRequest = ItemRange.startLength(0, 500);
+		assertThat(strategy.getRangeToLoad(hugeRequest, ItemRange.startLength(0, 0), ItemRange.startLength(0, 0), 100)).isEqualTo(hugeRequest);
+	}
+}
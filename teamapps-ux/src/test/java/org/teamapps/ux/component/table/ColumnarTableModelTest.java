@@ -0,0 +1,158 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2023 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.ux.component.table;
+
+import org.junit.Test;
+import org.teamapps.data.value.SortDirection;
+import org.teamapps.data.value.Sorting;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ColumnarTableModelTest {
+
+	private ColumnarTableModel createModel() {
+		ColumnarTableModel model = new ColumnarTableModel()
+				.addStringColumn("name")
+				.addIntColumn("age")
+				.addDoubleColumn("score")
+				.addBooleanColumn("active");
+		model.addRows(List.of(
+				new Object[]{"Carol", 35, 1.5, true},
+				new Object[]{"Alice", 30, 2.5, false},
+				new Object[]{"Bob", null, 0.5, true},
+				new Object[]{"Alice", 25, null, true}
+		));
+		return model;
+	}
+
+	private static List<Object> names(List<ColumnarTableModel.Row> rows) {
+		return rows.stream().map(row -> row.get("name")).collect(Collectors.toList());
+	}
+
+	@Test
+	public void testValuesAndRows() {
+		ColumnarTableModel model = createModel();
+		assertThat(model.getCount()).isEqualTo(4);
+		List<ColumnarTableModel.Row> rows = model.getRecords(1, 2);
+		assertThat(rows).extracting(ColumnarTableModel.Row::getRowIndex).containsExactly(1, 2);
+		assertThat(rows.get(0).get("age")).isEqualTo(30);
+		assertThat(rows.get(1).get("age")).isNull();
+		assertThat(ColumnarTableModel.PROPERTY_EXTRACTOR.getValue(rows.get(0), "score")).isEqualTo(2.5);
+		assertThat(rows.get(0)).isEqualTo(model.getRecords(1, 1).get(0));
+
+		model.setValue(1, "name", "Alicia");
+		assertThat(model.getValue(1, "name")).isEqualTo("Alicia");
+		assertThatThrownBy(() -> model.addRow("Dave")).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	public void testInvalidRowsAreRejectedWithoutChangingTheModel() {
+		ColumnarTableModel model = createModel();
+		assertThatThrownBy(() -> model.addRow("Dave", 40, "not a number", true)).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> model.addRows(List.of(
+				new Object[]{"Dave", 40, 1.0, true},
+				new Object[]{"Eve", 41, 2.0, "yes"}
+		))).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> model.setValue(0, "active", 1)).isInstanceOf(IllegalArgumentException.class);
+
+		assertThat(model.getRowCount()).isEqualTo(4);
+		assertThat(model.addRow("Dave", 40L, 1, null)).isEqualTo(4); // all columns still have the same length
+		assertThat(model.getValue(4, "age")).isEqualTo(40);
+		assertThat(model.getValue(4, "score")).isEqualTo(1.0);
+		assertThat(model.getValue(0, "active")).isEqualTo(true);
+	}
+
+	@Test
+	public void testSorting() {
+		ColumnarTableModel model = createModel();
+		model.setSorting(new Sorting("name", SortDirection.ASC));
+		assertThat(model.getRecords(0, 4)).extracting(ColumnarTableModel.Row::getRowIndex).containsExactly(1, 3, 2, 0);
+		model.setSorting(new Sorting("age", SortDirection.ASC));
+		assertThat(model.getRecords(0, 4)).extracting(ColumnarTableModel.Row::getRowIndex).containsExactly(3, 1, 0, 2); // null last, like ListTableModel
+		model.setSorting(new Sorting("age", SortDirection.DESC));
+		assertThat(model.getRecords(0, 4)).extracting(ColumnarTableModel.Row::getRowIndex).containsExactly(2, 0, 1, 3);
+		model.setSorting(new Sorting("score", SortDirection.ASC));
+		assertThat(model.getRecords(0, 4)).extracting(ColumnarTableModel.Row::getRowIndex).containsExactly(2, 0, 1, 3);
+		model.setSorting(new Sorting("active", SortDirection.ASC));
+		assertThat(model.getRecords(0, 4)).extracting(ColumnarTableModel.Row::getRowIndex).containsExactly(1, 0, 2, 3);
+
+		// equal values stay in row order in both directions, like in ListTableModel
+		model.setSorting(new Sorting("name", SortDirection.DESC));
+		assertThat(model.getRecords(0, 4)).extracting(ColumnarTableModel.Row::getRowIndex).containsExactly(0, 2, 1, 3);
+		model.setSorting(new Sorting("active", SortDirection.DESC));
+		assertThat(model.getRecords(0, 4)).extracting(ColumnarTableModel.Row::getRowIndex).containsExactly(0, 2, 3, 1);
+
+		model.buildSortIndex("name");
+		model.addRow("Aaron", 40, 1.0, false);
+		model.setSorting(new Sorting("name", SortDirection.ASC));
+		assertThat(names(model.getRecords(0, 5))).containsExactly("Aaron", "Alice", "Alice", "Bob", "Carol");
+	}
+
+	@Test
+	public void testFilters() {
+		ColumnarTableModel model = createModel();
+		model.setFilters(ColumnarTableModel.ColumnFilter.ofString("name", name -> name.startsWith("A")));
+		assertThat(model.getCount()).isEqualTo(2);
+
+		model.setFilters(
+				ColumnarTableModel.ColumnFilter.ofInt("age", age -> age >= 30),
+				ColumnarTableModel.ColumnFilter.ofBoolean("active", true)
+		);
+		assertThat(names(model.getRecords(0, 10))).containsExactly("Carol");
+
+		model.setFilters(ColumnarTableModel.ColumnFilter.ofDouble("score", score -> score < 2));
+		model.setSorting(new Sorting("score", SortDirection.DESC));
+		assertThat(names(model.getRecords(0, 10))).containsExactly("Carol", "Bob");
+
+		model.setFilters();
+		assertThat(model.getCount()).isEqualTo(4);
+		assertThatThrownBy(() -> model.setFilters(ColumnarTableModel.ColumnFilter.ofInt("score", i -> true))).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	public void testReplacedStringValues() {
+		ColumnarTableModel model = createModel();
+		for (int i = 0; i < 5000; i++) { // enough replacements to compact the dictionary several times
+			model.setValue(i % 4, "name", "Name" + (i % 7));
+		}
+		model.setValue(2, "name", null);
+		assertThat(names(model.getRecords(0, 4))).containsExactly("Name5", "Name6", null, "Name1");
+		model.setSorting(new Sorting("name", SortDirection.ASC));
+		assertThat(names(model.getRecords(0, 4))).containsExactly("Name1", "Name5", "Name6", null);
+		model.setFilters(ColumnarTableModel.ColumnFilter.ofString("name", name -> name.endsWith("5")));
+		assertThat(names(model.getRecords(0, 4))).containsExactly("Name5");
+	}
+
+	@Test
+	public void testChangesFireAllDataChanged() {
+		ColumnarTableModel model = createModel();
+		int[] changeCount = new int[1];
+		model.onAllDataChanged().addListener(() -> changeCount[0]++);
+		model.addRow("Dave", 50, 3.0, false);
+		model.setValue(0, "age", 36);
+		model.clear();
+		assertThat(changeCount[0]).isEqualTo(3);
+		assertThat(model.getCount()).isZero();
+	}
+}
@@ -0,0 +1,203 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2023 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.ux.component.table;
+
+import org.junit.Test;
+import org.teamapps.data.extract.BeanPropertyExtractor;
+import org.teamapps.data.value.SortDirection;
+import org.teamapps.data.value.Sorting;
+import org.teamapps.ux.component.infiniteitemview.RecordsAddedEvent;
+import org.teamapps.ux.component.infiniteitemview.RecordsChangedEvent;
+import org.teamapps.ux.component.infiniteitemview.RecordsRemovedEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ListTableModelTest {
+
+	@Test
+	public void testFilterAndSorting() {
+		ListTableModel<Item> model = new ListTableModel<>(items("c1", "a2", "b3", "a4", "d5"));
+		assertThat(names(model.getRecords(0, 100))).containsExactly("c1", "a2", "b3", "a4", "d5");
+
+		model.setFilter(item -> !item.getName().startsWith("b"));
+		assertThat(model.getCount()).isEqualTo(4);
+
+		model.setSorting(new Sorting("name", SortDirection.ASC));
+		assertThat(names(model.getRecords(0, 100))).containsExactly("a2", "a4", "c1", "d5");
+		assertThat(names(model.getRecords(1, 2))).containsExactly("a4", "c1");
+		assertThat(names(model.getRecords(3, 10))).containsExactly("d5");
+		assertThat(model.getRecords(10, 10)).isEmpty();
+
+		model.setSorting(new Sorting("name", SortDirection.DESC));
+		assertThat(names(model.getRecords(0, 100))).containsExactly("d5", "c1", "a4", "a2");
+	}
+
+	@Test
+	public void testEqualValuesKeepListOrder() {
+		ListTableModel<Item> model = new ListTableModel<>(items("x1", "x2", "x3"));
+		model.setSortingPropertyExtractor((record, propertyName) -> record.getName().charAt(0));
+		model.setSorting(new Sorting("name", SortDirection.ASC));
+		assertThat(names(model.getRecords(0, 100))).containsExactly("x1", "x2", "x3");
+		model.setSorting(new Sorting("name", SortDirection.DESC));
+		assertThat(names(model.getRecords(0, 100))).containsExactly("x1", "x2", "x3");
+	}
+
+	@Test
+	public void testViewIsCachedUntilDataIsReportedChanged() {
+		AtomicInteger extractions = new AtomicInteger();
+		List<Item> items = items("c", "a", "b");
+		ListTableModel<Item> model = new ListTableModel<>(items);
+		BeanPropertyExtractor<Item> beanPropertyExtractor = new BeanPropertyExtractor<>();
+		model.setSortingPropertyExtractor((record, propertyName) -> {
+			extractions.incrementAndGet();
+			return beanPropertyExtractor.getValue(record, propertyName);
+		});
+		model.setSorting(new Sorting("name", SortDirection.ASC));
+		assertThat(names(model.getRecords(0, 2))).containsExactly("a", "b");
+		int extractionsAfterSorting = extractions.get();
+
+		model.getCount();
+		model.getRecords(1, 2);
+		assertThat(extractions.get()).isEqualTo(extractionsAfterSorting);
+
+		items.get(0).setName("0"); // changed in place, not noticed by the model
+		assertThat(names(model.getRecords(0, 3))).containsExactly("a", "b", "0");
+		model.setSorting(new Sorting("name", SortDirection.ASC)); // re-sorting by the same column
+		assertThat(names(model.getRecords(0, 3))).containsExactly("0", "a", "b");
+
+		items.get(0).setName("z");
+		model.clearCache(); // e.g. Table.refreshData()
+		assertThat(names(model.getRecords(0, 3))).containsExactly("a", "b", "z");
+	}
+
+	@Test
+	public void testClearCacheReappliesFilterOnExternalState() {
+		AtomicInteger maxLength = new AtomicInteger(2);
+		ListTableModel<Item> model = new ListTableModel<>(items("a", "bb", "ccc"));
+		model.setFilter(item -> item.getName().length() <= maxLength.get());
+		assertThat(model.getCount()).isEqualTo(2);
+
+		maxLength.set(3);
+		model.clearCache();
+		assertThat(model.getCount()).isEqualTo(3);
+	}
+
+	@Test
+	public void testAddRecordIsSortedIn() {
+		ListTableModel<Item> model = new ListTableModel<>(items("a", "c", "e", "x"));
+		model.setFilter(item -> !item.getName().equals("x") && !item.getName().equals("y"));
+		model.setSorting(new Sorting("name", SortDirection.ASC));
+		List<RecordsAddedEvent<Item>> addedEvents = new ArrayList<>();
+		model.onRecordsAdded().addListener(e -> {
+			addedEvents.add(e);
+		});
+
+		model.addRecord(new Item("d"));
+		model.addRecord(new Item("y"));
+		model.addRecord(new Item("0"));
+
+		assertThat(names(model.getRecords(0, 100))).containsExactly("0", "a", "c", "d", "e");
+		assertThat(addedEvents).extracting(RecordsAddedEvent::getStart).containsExactly(2, 0);
+
+		model.addRecords(items("b", "f"));
+		assertThat(names(model.getRecords(0, 100))).containsExactly("0", "a", "b", "c", "d", "e", "f");
+	}
+
+	@Test
+	public void testRemoveRecord() {
+		List<Item> items = items("d", "b", "a", "c");
+		ListTableModel<Item> model = new ListTableModel<>(items);
+		model.setSorting(new Sorting("name", SortDirection.ASC));
+		List<RecordsRemovedEvent<Item>> removedEvents = new ArrayList<>();
+		model.onRecordsRemoved().addListener(e -> {
+			removedEvents.add(e);
+		});
+
+		model.removeRecord(items.get(1));
+		assertThat(names(model.getRecords(0, 100))).containsExactly("a", "c", "d");
+		assertThat(removedEvents).extracting(RecordsRemovedEvent::getStart).containsExactly(1);
+
+		model.addRecord(new Item("b"));
+		model.removeRecord(items.get(0));
+		assertThat(names(model.getRecords(0, 100))).containsExactly("a", "b", "c");
+		assertThat(names(model.getAllRecords())).containsExactly("a", "c", "b");
+	}
+
+	@Test
+	public void testUpdateRecord() {
+		List<Item> items = items("a", "b", "c");
+		ListTableModel<Item> model = new ListTableModel<>(items);
+		model.setFilter(item -> !item.getName().startsWith("x"));
+		model.setSorting(new Sorting("name", SortDirection.ASC));
+		model.getCount();
+		List<String> events = new ArrayList<>();
+		model.onRecordsAdded().addListener(e -> {
+			events.add("added " + e.getStart());
+		});
+		model.onRecordsRemoved().addListener(e -> {
+			events.add("removed " + e.getStart());
+		});
+		model.onRecordsChanged().addListener(e -> {
+			events.add("changed " + e.getStart());
+		});
+
+		items.get(0).setName("z");
+		model.updateRecord(items.get(0));
+		assertThat(names(model.getRecords(0, 100))).containsExactly("b", "c", "z");
+
+		items.get(1).setName("bb");
+		model.updateRecord(items.get(1));
+
+		items.get(2).setName("x");
+		model.updateRecord(items.get(2));
+		assertThat(names(model.getRecords(0, 100))).containsExactly("bb", "z");
+
+		assertThat(events).containsExactly("removed 0", "added 2", "changed 0", "removed 1");
+	}
+
+	private static List<Item> items(String... names) {
+		return List.of(names).stream().map(Item::new).collect(Collectors.toList());
+	}
+
+	private static List<String> names(List<Item> items) {
+		return items.stream().map(Item::getName).collect(Collectors.toList());
+	}
+
+	public static class Item {
+		private String name;
+
+		public Item(String name) {
+			this.name = name;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+	}
+}
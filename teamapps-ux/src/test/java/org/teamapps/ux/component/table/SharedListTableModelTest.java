@@ -0,0 +1,105 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2023 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.ux.component.table;
+
+import org.awaitility.Awaitility;
+import org.junit.Test;
+import org.teamapps.data.value.SortDirection;
+import org.teamapps.data.value.Sorting;
+import org.teamapps.ux.session.SessionContext;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.teamapps.testutil.UxTestUtil.createDummySessionContext;
+
+public class SharedListTableModelTest {
+
+	@Test
+	public void testViewsHaveTheirOwnFilterAndSorting() {
+		SharedListTableModel<String> sharedModel = new SharedListTableModel<>(List.of("b", "c", "a", "d"), (record, propertyName) -> record);
+		SharedListTableModel.View<String> view1 = sharedModel.createView();
+		SharedListTableModel.View<String> view2 = sharedModel.createView();
+
+		view1.setSorting(new Sorting("value", SortDirection.ASC));
+		view2.setSorting(new Sorting("value", SortDirection.DESC));
+		view2.setFilter(s -> !s.equals("c"));
+
+		assertThat(view1.getRecords(0, 10)).containsExactly("a", "b", "c", "d");
+		assertThat(view2.getRecords(0, 10)).containsExactly("d", "b", "a");
+		assertThat(view2.getCount()).isEqualTo(3);
+	}
+
+	@Test
+	public void testViewsShareSortOrders() {
+		SharedListTableModel<String> sharedModel = new SharedListTableModel<>(List.of("b", "a"), (record, propertyName) -> record);
+		SharedListTableModel.View<String> view1 = sharedModel.createView();
+		SharedListTableModel.View<String> view2 = sharedModel.createView();
+		Sorting sorting = new Sorting("value", SortDirection.ASC);
+
+		assertThat(sharedModel.getSnapshot().getSortOrder(sorting, (record, propertyName) -> record))
+				.isSameAs(sharedModel.getSnapshot().getSortOrder(sorting, (record, propertyName) -> record));
+		view1.setSorting(sorting);
+		view2.setSorting(sorting);
+		assertThat(view1.getRecords(0, 2)).isEqualTo(view2.getRecords(0, 2)).containsExactly("a", "b");
+	}
+
+	@Test
+	public void testChangesAreNotifiedInEachSession() {
+		SharedListTableModel<String> sharedModel = new SharedListTableModel<>(List.of("a"));
+		SessionContext session1 = createDummySessionContext();
+		SessionContext session2 = createDummySessionContext();
+		AtomicReference<SharedListTableModel.View<String>> view1 = new AtomicReference<>();
+		AtomicReference<SharedListTableModel.View<String>> view2 = new AtomicReference<>();
+		AtomicInteger session1Notifications = new AtomicInteger();
+		AtomicInteger session2Notifications = new AtomicInteger();
+		session1.runWithContext(() -> {
+			view1.set(sharedModel.createView());
+			view1.get().onAllDataChanged().addListener(() -> {
+				assertThat(SessionContext.currentOrNull()).isSameAs(session1);
+				session1Notifications.incrementAndGet();
+			});
+		}).join();
+		session2.runWithContext(() -> {
+			view2.set(sharedModel.createView());
+			view2.get().onAllDataChanged().addListener(() -> {
+				assertThat(SessionContext.currentOrNull()).isSameAs(session2);
+				session2Notifications.incrementAndGet();
+			});
+		}).join();
+
+		sharedModel.addRecord("b");
+
+		Awaitility.await().atMost(1, SECONDS).untilAsserted(() -> {
+			assertThat(session1Notifications.get()).isEqualTo(1);
+			assertThat(session2Notifications.get()).isEqualTo(1);
+		});
+		assertThat(session1.runWithContext(() -> view1.get().getRecords(0, 10)).join()).containsExactly("a", "b");
+
+		view2.get().dispose();
+		sharedModel.removeRecord("a");
+		Awaitility.await().atMost(1, SECONDS).untilAsserted(() -> assertThat(session1Notifications.get()).isEqualTo(2));
+		assertThat(session2Notifications.get()).isEqualTo(1);
+		assertThat(session2.runWithContext(() -> view2.get().getRecords(0, 10)).join()).containsExactly("a", "b"); // still the old snapshot
+	}
+}
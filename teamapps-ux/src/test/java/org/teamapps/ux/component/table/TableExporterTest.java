@@ -0,0 +1,145 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2023 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.ux.component.table;
+
+import org.junit.Test;
+import org.teamapps.ux.component.field.TextField;
+import org.teamapps.ux.component.table.TableTest.Person;
+import org.teamapps.ux.resource.Resource;
+import org.teamapps.ux.session.SessionContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.teamapps.testutil.UxTestUtil.createDummySessionContext;
+import static org.teamapps.testutil.UxTestUtil.runWithSessionContext;
+
+public class TableExporterTest {
+
+	@Test
+	public void testCsvExportPagesThroughModel() {
+		runWithSessionContext(createDummySessionContext(), () -> {
+			TableExporter<Person> exporter = new TableExporter<>(createTable());
+			exporter.setPageSize(2);
+			Resource resource = exporter.createResource(TableExporter.Format.CSV, "persons.csv");
+
+			assertThat(resource.getLength()).isEqualTo(-1);
+			assertThat(resource.isAttachment()).isTrue();
+			assertThat(readFully(resource.getInputStream())).isEqualTo("\uFEFFName,City\r\n"
+					+ "Alice,Berlin\r\n"
+					+ "Bob,\"Paris, \"\"France\"\"\"\r\n"
+					+ "Carol,\r\n"
+					+ "Dave,Rome\r\n"
+					+ "Eve,Oslo\r\n");
+		});
+	}
+
+	@Test
+	public void testXlsxExport() {
+		runWithSessionContext(createDummySessionContext(), () -> {
+			TableExporter<Person> exporter = new TableExporter<>(createTable());
+			exporter.setPageSize(2);
+			Map<String, String> entries = readZip(exporter.createResource(TableExporter.Format.XLSX, "persons.xlsx").getInputStream());
+
+			assertThat(entries).containsOnlyKeys("[Content_Types].xml", "_rels/.rels", "xl/workbook.xml", "xl/_rels/workbook.xml.rels", "xl/worksheets/sheet1.xml");
+			String sheet = entries.get("xl/worksheets/sheet1.xml");
+			assertThat(sheet).endsWith("</sheetData></worksheet>");
+			assertThat(sheet.split("<row>")).hasSize(7); // header + 5 records
+			assertThat(sheet).contains("<t xml:space=\"preserve\">Paris, \"France\"</t>");
+			assertThat(sheet).contains("<c t=\"inlineStr\"><is><t xml:space=\"preserve\">Carol</t></is></c><c/>");
+		});
+	}
+
+	@Test
+	public void testExportFailsIfTheSessionDoesNotReadThePageInTime() throws Exception {
+		SessionContext sessionContext = createDummySessionContext();
+		Resource resource = sessionContext.runWithContext(() -> {
+			TableExporter<Person> exporter = new TableExporter<>(createTable());
+			exporter.setPageTimeoutMillis(100);
+			return exporter.createResource(TableExporter.Format.CSV, "persons.csv");
+		}).get();
+		assertThat(resource.getExpires().getTime()).isZero(); // not cached
+
+		CountDownLatch sessionBlocked = new CountDownLatch(1);
+		sessionContext.runWithContext(() -> {
+			try {
+				sessionBlocked.await(5, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		try (InputStream inputStream = resource.getInputStream()) {
+			assertThatThrownBy(inputStream::read).isInstanceOf(IOException.class).hasMessageContaining("Timed out");
+			sessionBlocked.countDown();
+			assertThatThrownBy(inputStream::read).isInstanceOf(IOException.class).hasMessageContaining("aborted");
+		}
+	}
+
+	private static Table<Person> createTable() {
+		Table<Person> table = new Table<>();
+		table.addColumn(new TableColumn<>("name", "Name", new TextField()));
+		table.addColumn(new TableColumn<>("city", "City", new TextField()));
+		TableColumn<Person, String> hiddenColumn = new TableColumn<>("hidden", "Hidden", new TextField());
+		hiddenColumn.setVisible(false);
+		table.addColumn(hiddenColumn);
+		List<Person> persons = new ArrayList<>(List.of(
+				new Person("Alice", "Berlin"),
+				new Person("Bob", "Paris, \"France\""),
+				new Person("Carol", null),
+				new Person("Dave", "Rome"),
+				new Person("Eve", "Oslo")
+		));
+		table.setModel(new ListTableModel<>(persons));
+		return table;
+	}
+
+	private static String readFully(InputStream inputStream) {
+		try (inputStream) {
+			return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	private static Map<String, String> readZip(InputStream inputStream) {
+		Map<String, String> entries = new HashMap<>();
+		try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(inputStream.readAllBytes()))) {
+			ZipEntry entry;
+			while ((entry = zip.getNextEntry()) != null) {
+				entries.put(entry.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+			}
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+		return entries;
+	}
+}
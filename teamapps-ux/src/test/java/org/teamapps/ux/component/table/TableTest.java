@@ -0,0 +1,314 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2023 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.ux.component.table;
+
+import org.awaitility.Awaitility;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.teamapps.dto.UiClientRecord;
+import org.teamapps.dto.UiCommand;
+import org.teamapps.dto.UiTable;
+import org.teamapps.dto.UiTableClientRecord;
+import org.teamapps.dto.UiTableClientRecordDelta;
+import org.teamapps.event.Event;
+import org.teamapps.uisession.UiCommandWithResultCallback;
+import org.teamapps.uisession.UiSession;
+import org.teamapps.ux.component.infiniteitemview.RecordsAddedEvent;
+import org.teamapps.ux.component.infiniteitemview.RecordsChangedEvent;
+import org.teamapps.ux.component.infiniteitemview.RecordsRemovedEvent;
+import org.teamapps.ux.component.field.FieldMessage;
+import org.teamapps.ux.component.field.TemplateField;
+import org.teamapps.ux.component.field.TextField;
+import org.teamapps.ux.component.template.BaseTemplate;
+import org.teamapps.ux.session.SessionContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.teamapps.testutil.UxTestUtil.createDummySessionContext;
+import static org.teamapps.testutil.UxTestUtil.runWithSessionContext;
+
+public class TableTest {
+
+	@Test
+	public void testClientRecordValuesAndSelection() {
+		runWithSessionContext(createDummySessionContext(), () -> {
+			Table<Person> table = new Table<>();
+			table.addColumn(new TableColumn<>("name", "Name", new TextField()));
+			TableColumn<Person, String> cityColumn = new TableColumn<>("city", "City", new TextField());
+			table.addColumn(cityColumn);
+			Person alice = new Person("Alice", "Berlin");
+			Person bob = new Person("Bob", "Paris");
+			table.setSelectedRecords(List.of(bob));
+
+			UiTableClientRecord aliceRecord = (UiTableClientRecord) table.createUiIdentifiableClientRecord(alice);
+			assertThat(aliceRecord.getValues()).isEqualTo(Map.of("name", "Alice", "city", "Berlin"));
+			assertThat(aliceRecord.getSelected()).isFalse();
+			assertThat(((UiTableClientRecord) table.createUiIdentifiableClientRecord(bob)).getSelected()).isTrue();
+
+			cityColumn.setValueExtractor(person -> person.getCity().toUpperCase());
+			table.addColumn(new TableColumn<Person, String>("initial", "Initial", new TextField())
+					.setValueExtractor(person -> person.getName().substring(0, 1)));
+			assertThat(table.createUiIdentifiableClientRecord(alice).getValues()).isEqualTo(Map.of("name", "Alice", "city", "BERLIN", "initial", "A"));
+
+			table.removeColumn("name");
+			assertThat(table.createUiIdentifiableClientRecord(alice).getValues()).containsOnlyKeys("city", "initial");
+			assertThat(table.getAllCellValuesForRecord(alice)).isEqualTo(Map.of("city", "BERLIN", "initial", "A"));
+
+			table.setSelectedRecords(List.of());
+			assertThat(((UiTableClientRecord) table.createUiIdentifiableClientRecord(bob)).getSelected()).isFalse();
+		});
+	}
+
+	@Test
+	public void testDisplayTemplateValues() {
+		runWithSessionContext(createDummySessionContext(), () -> {
+			Table<Person> table = new Table<>();
+			TableColumn<Person, String> column = new TableColumn<>("name", "Name", new TextField());
+			table.addColumn(column);
+			column.setDisplayTemplate(BaseTemplate.LIST_ITEM_SMALL_ICON_SINGLE_LINE);
+			column.setDisplayPropertyExtractor((person, propertyName) -> propertyName.equals(BaseTemplate.PROPERTY_CAPTION) ? person.getName() : null);
+			UiTableClientRecord clientRecord = (UiTableClientRecord) table.createUiIdentifiableClientRecord(new Person("Alice", "Berlin"));
+			assertThat(clientRecord.getDisplayTemplateValues().get("name")).containsEntry(BaseTemplate.PROPERTY_CAPTION, "Alice");
+		});
+	}
+
+	@Test
+	public void testChangedRecordsAreSentAsCellDeltas() {
+		UiSession uiSession = Mockito.mock(UiSession.class);
+		runWithSessionContext(createDummySessionContext(uiSession), () -> {
+			Person alice = new Person("Alice", "Berlin");
+			Person bob = new Person("Bob", "Paris");
+			ListTableModel<Person> model = new ListTableModel<>(List.of(alice, bob));
+			Table<Person> table = new Table<>();
+			table.setModel(model);
+			table.addColumn(new TableColumn<>("name", "Name", new TextField()));
+			table.addColumn(new TableColumn<>("city", "City", new TextField()));
+			table.createUiReference();
+			table.handleUiEvent(new UiTable.DisplayedRangeChangedEvent(table.getId(), 0, 10));
+			Mockito.clearInvocations(uiSession);
+
+			alice.setCity("Rome");
+			model.updateRecord(alice);
+			model.updateRecord(bob); // unchanged
+
+			List<UiCommand<?>> commands = captureSentTableCommands(uiSession);
+			assertThat(commands).hasSize(1);
+			List<UiTableClientRecordDelta> deltas = ((UiTable.UpdateRecordCellsCommand) commands.get(0)).getDeltas();
+			assertThat(deltas).hasSize(1);
+			assertThat(deltas.get(0).getValues()).isEqualTo(Map.of("city", "Rome"));
+
+			Mockito.clearInvocations(uiSession);
+			table.setSelectedRecord(alice);
+			alice.setCity("Oslo");
+			model.updateRecord(alice);
+			assertThat(captureSentTableCommands(uiSession)).noneMatch(command -> command instanceof UiTable.UpdateRecordCellsCommand);
+		});
+	}
+
+	@Test
+	public void testTemplatedCellsAreOnlySentIfChanged() {
+		UiSession uiSession = Mockito.mock(UiSession.class);
+		runWithSessionContext(createDummySessionContext(uiSession), () -> {
+			Person alice = new Person("Alice", "Berlin");
+			Person bob = new Person("Bob", "Paris");
+			ListTableModel<Person> model = new ListTableModel<>(List.of(alice, bob));
+			Table<Person> table = new Table<>();
+			table.setModel(model);
+			table.addColumn(new TableColumn<>("name", "Name", new TextField()));
+			table.addColumn(new TableColumn<Person, Person>("person", "Person", new TemplateField<Person>(BaseTemplate.LIST_ITEM_SMALL_ICON_SINGLE_LINE)
+					.setPropertyExtractor((person, propertyName) -> propertyName.equals(BaseTemplate.PROPERTY_CAPTION) ? person.getName() + ", " + person.getCity() : null))
+					.setValueExtractor(person -> person));
+			table.createUiReference();
+			table.handleUiEvent(new UiTable.DisplayedRangeChangedEvent(table.getId(), 0, 10));
+			Mockito.clearInvocations(uiSession);
+
+			model.updateRecord(bob); // unchanged
+			assertThat(captureSentTableCommands(uiSession)).isEmpty();
+
+			alice.setCity("Rome");
+			model.updateRecord(alice);
+			List<UiCommand<?>> commands = captureSentTableCommands(uiSession);
+			assertThat(commands).hasSize(1);
+			List<UiTableClientRecordDelta> deltas = ((UiTable.UpdateRecordCellsCommand) commands.get(0)).getDeltas();
+			assertThat(deltas).hasSize(1);
+			assertThat(deltas.get(0).getValues()).containsOnlyKeys("person");
+			assertThat(((UiClientRecord) deltas.get(0).getValues().get("person")).getValues()).containsEntry(BaseTemplate.PROPERTY_CAPTION, "Alice, Rome");
+		});
+	}
+
+	@Test
+	public void testAsyncModelDiscardsSupersededRequests() {
+		UiSession uiSession = Mockito.mock(UiSession.class);
+		runWithSessionContext(createDummySessionContext(uiSession), () -> {
+			List<Person> persons = new ArrayList<>();
+			for (int i = 0; i < 100; i++) {
+				persons.add(new Person("Person" + i, "City" + i));
+			}
+			List<CompletableFuture<List<Person>>> pendingRequests = new ArrayList<>();
+			AsyncTableModel<Person> model = new AsyncTableModel<>() {
+				@Override
+				public int getCount() {
+					return persons.size();
+				}
+
+				@Override
+				public CompletableFuture<List<Person>> getRecordsAsync(int startIndex, int length) {
+					CompletableFuture<List<Person>> future = new CompletableFuture<>();
+					pendingRequests.add(future);
+					return future;
+				}
+
+				@Override
+				public Event<Void> onAllDataChanged() {
+					return new Event<>();
+				}
+
+				@Override
+				public Event<RecordsAddedEvent<Person>> onRecordsAdded() {
+					return new Event<>();
+				}
+
+				@Override
+				public Event<RecordsChangedEvent<Person>> onRecordsChanged() {
+					return new Event<>();
+				}
+
+				@Override
+				public Event<RecordsRemovedEvent<Person>> onRecordsRemoved() {
+					return new Event<>();
+				}
+			};
+			Table<Person> table = new Table<>();
+			table.setModel(model);
+			table.addColumn(new TableColumn<>("name", "Name", new TextField()));
+			table.createUiReference();
+			Mockito.clearInvocations(uiSession);
+
+			table.handleUiEvent(new UiTable.DisplayedRangeChangedEvent(table.getId(), 0, 10));
+			table.handleUiEvent(new UiTable.DisplayedRangeChangedEvent(table.getId(), 50, 10));
+			assertThat(pendingRequests).hasSize(2);
+			assertThat(captureSentTableCommands(uiSession)).isEmpty();
+
+			pendingRequests.get(0).complete(persons.subList(0, 10)); // superseded
+			assertThat(captureSentTableCommands(uiSession)).isEmpty();
+
+			pendingRequests.get(1).complete(persons.subList(50, 60));
+			List<UiCommand<?>> commands = captureSentTableCommands(uiSession);
+			assertThat(commands).hasSize(1);
+			UiTable.UpdateDataCommand updateDataCommand = (UiTable.UpdateDataCommand) commands.get(0);
+			assertThat(updateDataCommand.getStartIndex()).isEqualTo(50);
+			assertThat(updateDataCommand.getNewRecords()).extracting(r -> r.getValues().get("name")).containsExactly(
+					"Person50", "Person51", "Person52", "Person53", "Person54", "Person55", "Person56", "Person57", "Person58", "Person59");
+
+			// only the records that are not rendered yet are requested
+			table.handleUiEvent(new UiTable.DisplayedRangeChangedEvent(table.getId(), 55, 10));
+			assertThat(pendingRequests).hasSize(3);
+		});
+	}
+
+	@Test
+	public void testCoalescedModelChanges() {
+		UiSession uiSession = Mockito.mock(UiSession.class);
+		SessionContext sessionContext = createDummySessionContext(uiSession);
+		ListTableModel<Person> model = new ListTableModel<>();
+		AtomicReference<Table<Person>> tableRef = new AtomicReference<>();
+		sessionContext.runWithContext(() -> { // a session task, so changes are coalesced until its end
+			Table<Person> table = new Table<>();
+			tableRef.set(table);
+			table.setModel(model);
+			table.addColumn(new TableColumn<>("name", "Name", new TextField()));
+			table.setModelChangeCoalescingMillis(0);
+			table.createUiReference();
+			table.handleUiEvent(new UiTable.DisplayedRangeChangedEvent(table.getId(), 0, 20));
+			Mockito.clearInvocations(uiSession);
+
+			for (int i = 0; i < 100; i++) {
+				model.addRecord(new Person("Person" + i, "City"));
+			}
+			assertThat(captureSentTableCommands(uiSession)).isEmpty();
+		}).join();
+		Awaitility.await().atMost(1, SECONDS).untilAsserted(() -> {
+			List<UiCommand<?>> commands = captureSentTableCommands(uiSession);
+			assertThat(commands).hasSize(1);
+			UiTable.UpdateDataCommand updateDataCommand = (UiTable.UpdateDataCommand) commands.get(0);
+			assertThat(updateDataCommand.getTotalNumberOfRecords()).isEqualTo(100);
+			assertThat(updateDataCommand.getNewRecords()).hasSize(20);
+		});
+
+		Person removedPerson = model.getAllRecords().get(0);
+		Person changedPerson = model.getAllRecords().get(1);
+		Person unchangedPerson = model.getAllRecords().get(2);
+		sessionContext.runWithContext(() -> {
+			Table<Person> table = tableRef.get();
+			for (Person person : List.of(removedPerson, changedPerson, unchangedPerson)) {
+				table.addCellMessage(person, "name", new FieldMessage(FieldMessage.Severity.ERROR, "invalid"));
+			}
+			model.removeRecord(removedPerson);
+			changedPerson.setCity("Other City");
+			model.updateRecord(changedPerson);
+		}).join();
+		Awaitility.await().atMost(1, SECONDS).untilAsserted(() -> {
+			Table<Person> table = tableRef.get();
+			assertThat(table.getCellMessages(removedPerson, "name")).isEmpty();
+			assertThat(table.getCellMessages(changedPerson, "name")).isEmpty();
+			assertThat(table.getCellMessages(unchangedPerson, "name")).hasSize(1);
+		});
+	}
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private static List<UiCommand<?>> captureSentTableCommands(UiSession uiSession) {
+		ArgumentCaptor<UiCommandWithResultCallback> captor = ArgumentCaptor.forClass(UiCommandWithResultCallback.class);
+		Mockito.verify(uiSession, Mockito.atLeast(0)).sendCommand(captor.capture());
+		return captor.getAllValues().stream()
+				.map(c -> (UiCommand<?>) c.getUiCommand())
+				.filter(command -> command.getClass().getEnclosingClass() == UiTable.class)
+				.collect(Collectors.toList());
+	}
+
+	public static class Person {
+		private final String name;
+		private String city;
+
+		public Person(String name, String city) {
+			this.name = name;
+			this.city = city;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public String getCity() {
+			return city;
+		}
+
+		public void setCity(String city) {
+			this.city = city;
+		}
+	}
+}
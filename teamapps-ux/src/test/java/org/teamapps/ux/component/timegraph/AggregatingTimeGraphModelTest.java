@@ -27,9 +27,13 @@ import org.teamapps.ux.component.timegraph.datapoints.ListLineGraphData;
 import org.teamapps.ux.component.timegraph.model.AggregatingLineGraphModel;
 import org.teamapps.ux.component.timegraph.model.AggregationType;
 
+import java.time.Instant;
+import java.time.ZoneId;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
 import java.util.stream.Collectors;
 
 public class AggregatingTimeGraphModelTest {
@@ -141,4 +145,65 @@ public class AggregatingTimeGraphModelTest {
 				new LineGraphDataPoint(600, 12)
 		);
 	}
+
+	@Test
+	public void testSumAndCount() throws Exception {
+		model.setAddDataPointBeforeAndAfterQueryResult(false);
+
+		model.setAggregationPolicy(AggregationType.SUM);
+		List<LineGraphDataPoint> dataPoints = model.getData(TimePartitioningUnit.MILLISECOND_200, ZoneOffset.UTC, new Interval(0, 800), new Interval(0, 800)).streamDataPoints().collect(Collectors.toList());
+		Assertions.assertThat(dataPoints).containsExactly(new LineGraphDataPoint(0, 1), new LineGraphDataPoint(200, 13), new LineGraphDataPoint(400, 13), new LineGraphDataPoint(600, 15));
+
+		model.setAggregationPolicy(AggregationType.COUNT);
+		dataPoints = model.getData(TimePartitioningUnit.MILLISECOND_200, ZoneOffset.UTC, new Interval(0, 800), new Interval(0, 800)).streamDataPoints().collect(Collectors.toList());
+		Assertions.assertThat(dataPoints).containsExactly(new LineGraphDataPoint(0, 1), new LineGraphDataPoint(200, 2), new LineGraphDataPoint(400, 2), new LineGraphDataPoint(600, 2));
+	}
+
+	@Test
+	public void testAddedDataPointsUpdateAggregates() throws Exception {
+		model.setAggregationPolicy(AggregationType.MAX);
+		model.setAddDataPointBeforeAndAfterQueryResult(false);
+		model.getData(TimePartitioningUnit.MILLISECOND_200, ZoneOffset.UTC, new Interval(0, 1000), new Interval(0, 1000)); // builds the aggregates
+
+		model.addDataPoint(750, 20); // existing partition
+		model.addDataPoint(900, 5); // new partition
+		model.addDataPoint(150, 30); // out of order
+
+		List<LineGraphDataPoint> dataPoints = model.getData(TimePartitioningUnit.MILLISECOND_200, ZoneOffset.UTC, new Interval(0, 1000), new Interval(0, 1000)).streamDataPoints().collect(Collectors.toList());
+		Assertions.assertThat(dataPoints).containsExactly(
+				new LineGraphDataPoint(0, 30),
+				new LineGraphDataPoint(200, 11),
+				new LineGraphDataPoint(400, 13),
+				new LineGraphDataPoint(600, 20),
+				new LineGraphDataPoint(800, 5)
+		);
+		Assertions.assertThat(model.getDomainX()).isEqualTo(new Interval(100, 900));
+	}
+
+	@Test
+	public void testMatchesScanningAggregation() throws Exception {
+		List<LineGraphDataPoint> points = new ArrayList<>();
+		Random random = new Random(42);
+		long timestamp = 0;
+		for (int i = 0; i < 10_000; i++) {
+			timestamp += random.nextInt(20_000);
+			points.add(new LineGraphDataPoint(timestamp, random.nextInt(1000)));
+		}
+		ListLineGraphData data = new ListLineGraphData(points, new Interval(0, timestamp));
+		model.setGraphData(data);
+		ZoneId zoneId = ZoneId.of("Europe/Berlin");
+		for (AggregationType aggregationType : AggregationType.values()) {
+			model.setAggregationPolicy(aggregationType);
+			for (TimePartitioningUnit unit : List.of(TimePartitioningUnit.MINUTE, TimePartitioningUnit.HOUR, TimePartitioningUnit.DAY)) {
+				Interval displayedInterval = new Interval(timestamp / 3, 2 * timestamp / 3);
+				long start = unit.getPartitionStart(Instant.ofEpochMilli(displayedInterval.getMin()).atZone(zoneId)).toInstant().toEpochMilli();
+				long end = unit.getPartitionEnd(Instant.ofEpochMilli(displayedInterval.getMax()).atZone(zoneId)).toInstant().toEpochMilli();
+				List<LineGraphDataPoint> expected = AggregatingLineGraphModel.getAggregateDataPoints(data, unit, new Interval(start, end), aggregationType, zoneId, true)
+						.streamDataPoints().collect(Collectors.toList());
+				List<LineGraphDataPoint> actual = model.getData(unit, zoneId, displayedInterval, displayedInterval)
+						.streamDataPoints().collect(Collectors.toList());
+				Assertions.assertThat(actual).as(aggregationType + " " + unit).isEqualTo(expected);
+			}
+		}
+	}
 }
@@ -0,0 +1,76 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2023 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.ux.component.timegraph;
+
+import org.junit.Test;
+import org.teamapps.ux.component.timegraph.datapoints.ArrayLineGraphData;
+import org.teamapps.ux.component.timegraph.datapoints.LineGraphData;
+import org.teamapps.ux.component.timegraph.datapoints.LineGraphDataPoint;
+
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DownsamplingModeTest {
+
+	private static ArrayLineGraphData createData(int size) {
+		ArrayLineGraphData data = new ArrayLineGraphData(new Interval(0, size));
+		for (int i = 0; i < size; i++) {
+			data.add(i, i == 5000 ? 1000 : Math.sin(i / 100.0));
+		}
+		return data;
+	}
+
+	@Test
+	public void testLargestTriangleThreeBuckets() {
+		ArrayLineGraphData data = createData(10_000);
+
+		LineGraphData result = DownsamplingMode.LARGEST_TRIANGLE_THREE_BUCKETS.downsample(data, 100);
+
+		assertThat(result.size()).isEqualTo(102);
+		assertThat(result.getDataPoint(0)).isEqualTo(data.getDataPoint(0));
+		assertThat(result.getDataPoint(result.size() - 1)).isEqualTo(data.getDataPoint(data.size() - 1));
+		assertThat(result.streamDataPoints().collect(Collectors.toList())).contains(new LineGraphDataPoint(5000, 1000));
+		assertThat(result.streamX().toArray()).isSorted();
+		assertThat(result.getInterval()).isEqualTo(data.getInterval());
+	}
+
+	@Test
+	public void testMinMax() {
+		ArrayLineGraphData data = createData(10_000);
+
+		LineGraphData result = DownsamplingMode.MIN_MAX.downsample(data, 100);
+
+		assertThat(result.size()).isLessThanOrEqualTo(200);
+		assertThat(result.streamDataPoints().collect(Collectors.toList())).contains(new LineGraphDataPoint(5000, 1000));
+		assertThat(result.streamY().min().getAsDouble()).isEqualTo(data.streamY().min().getAsDouble());
+		assertThat(result.streamX().toArray()).isSorted();
+	}
+
+	@Test
+	public void testSparseDataIsNotReduced() {
+		ArrayLineGraphData data = createData(100);
+
+		assertThat(DownsamplingMode.NONE.downsample(data, 10)).isSameAs(data);
+		assertThat(DownsamplingMode.LARGEST_TRIANGLE_THREE_BUCKETS.downsample(data, 1)).isSameAs(data);
+		assertThat(DownsamplingMode.MIN_MAX.downsample(data, 1)).isSameAs(data);
+		assertThat(DownsamplingMode.MIN_MAX.downsample(data, 0)).isSameAs(data);
+	}
+}
@@ -0,0 +1,213 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2023 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.ux.component.timegraph;
+
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.teamapps.dto.UiCommand;
+import org.teamapps.dto.UiLineGraphData;
+import org.teamapps.dto.UiLongInterval;
+import org.teamapps.dto.UiTimeGraph;
+import org.teamapps.uisession.UiCommandWithResultCallback;
+import org.teamapps.uisession.UiSession;
+import org.teamapps.ux.component.timegraph.datapoints.ArrayLineGraphData;
+import org.teamapps.ux.component.timegraph.datapoints.LineGraphData;
+import org.teamapps.ux.component.timegraph.graph.LineGraph;
+import org.teamapps.ux.component.timegraph.model.AbstractLineGraphModel;
+
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.teamapps.testutil.UxTestUtil.createDummySessionContext;
+import static org.teamapps.testutil.UxTestUtil.runWithSessionContext;
+
+public class TimeGraphTest {
+
+	@Test
+	public void testQueryResultsAreCachedUntilModelChanges() {
+		runWithSessionContext(createDummySessionContext(), () -> {
+			CountingModel model = new CountingModel();
+			LineGraph graph = new LineGraph(model);
+			TimeGraph timeGraph = new TimeGraph();
+			timeGraph.setMaxCachedDataPoints(100_000);
+			timeGraph.addGraph(graph);
+
+			zoom(timeGraph, graph, 0, 1000);
+			zoom(timeGraph, graph, 0, 1000);
+			zoom(timeGraph, graph, 200, 800);
+			assertThat(model.queriedIntervals).containsExactly(new Interval(0, 1000));
+
+			model.onDataChanged.fire();
+			zoom(timeGraph, graph, 200, 800);
+			assertThat(model.queriedIntervals).containsExactly(new Interval(0, 1000), new Interval(200, 800));
+
+			timeGraph.refresh();
+			zoom(timeGraph, graph, 200, 800);
+			assertThat(model.queriedIntervals).hasSize(3);
+
+			timeGraph.setMaxCachedDataPoints(0);
+			zoom(timeGraph, graph, 200, 800);
+			zoom(timeGraph, graph, 200, 800);
+			assertThat(model.queriedIntervals).hasSize(5);
+		});
+	}
+
+	@Test
+	public void testQueryResultsAreNotCachedByDefault() {
+		runWithSessionContext(createDummySessionContext(), () -> {
+			CountingModel model = new CountingModel();
+			LineGraph graph = new LineGraph(model);
+			TimeGraph timeGraph = new TimeGraph();
+			timeGraph.addGraph(graph);
+			timeGraph.setSpeculativeLoadingExecutor(Runnable::run);
+
+			zoom(timeGraph, graph, 0, 1000);
+			zoom(timeGraph, graph, 0, 1000);
+			assertThat(model.queriedIntervals).containsExactly(new Interval(0, 1000), new Interval(0, 1000));
+		});
+	}
+
+	@Test
+	public void testAdjacentIntervalsAreLoadedSpeculatively() {
+		runWithSessionContext(createDummySessionContext(), () -> {
+			CountingModel model = new CountingModel();
+			LineGraph graph = new LineGraph(model);
+			TimeGraph timeGraph = new TimeGraph();
+			timeGraph.setMaxCachedDataPoints(100_000);
+			timeGraph.addGraph(graph);
+			timeGraph.setSpeculativeLoadingExecutor(Runnable::run);
+
+			zoom(timeGraph, graph, 1000, 2000);
+			assertThat(model.queriedIntervals).containsExactlyInAnyOrder(new Interval(1000, 2000), new Interval(0, 1000), new Interval(2000, 3000));
+
+			zoom(timeGraph, graph, 2500, 3000); // panned to the right: answered from the cache
+			assertThat(model.queriedIntervals).hasSize(4); // only the new adjacent interval got loaded
+			assertThat(model.queriedIntervals.get(3)).isEqualTo(new Interval(3000, 3500));
+		});
+	}
+
+	@Test
+	public void testDataIsDownsampledToTheFinestResolutionOfTheZoomLevel() {
+		UiSession uiSession = Mockito.mock(UiSession.class);
+		runWithSessionContext(createDummySessionContext(uiSession), () -> {
+			LineGraph graph = new LineGraph(new DenseModel());
+			graph.setDownsamplingMode(DownsamplingMode.MIN_MAX);
+			TimeGraph timeGraph = new TimeGraph();
+			timeGraph.setZoomLevels(List.of(TimePartitioningUnit.SECOND, TimePartitioningUnit.MILLISECOND));
+			timeGraph.setMaxPixelsBetweenDataPoints(50); // zoom level 0 is displayed at 20 ms per pixel or more
+			timeGraph.addGraph(graph);
+			timeGraph.createUiReference();
+
+			Mockito.clearInvocations(uiSession);
+			zoom(timeGraph, graph, 0, 0, 10_000, 100);
+			int coarsePointCount = getSentDataPointCount(uiSession);
+
+			Mockito.clearInvocations(uiSession);
+			zoom(timeGraph, graph, 0, 0, 10_000, 25); // zoomed in within the same level
+			assertThat(getSentDataPointCount(uiSession)).isEqualTo(coarsePointCount);
+			assertThat(coarsePointCount).isLessThan(10_000).isGreaterThanOrEqualTo(2 * 10_000 / 20);
+
+			Mockito.clearInvocations(uiSession);
+			zoom(timeGraph, graph, 1, 0, 10_000, 1); // the finest zoom level is never downsampled
+			assertThat(getSentDataPointCount(uiSession)).isEqualTo(10_000);
+		});
+	}
+
+	@Test
+	public void testCachedDataIsSlicedToTheNeededInterval() {
+		UiSession uiSession = Mockito.mock(UiSession.class);
+		runWithSessionContext(createDummySessionContext(uiSession), () -> {
+			LineGraph graph = new LineGraph(new DenseModel());
+			TimeGraph timeGraph = new TimeGraph();
+			timeGraph.setMaxCachedDataPoints(100_000);
+			timeGraph.addGraph(graph);
+			timeGraph.createUiReference();
+
+			Mockito.clearInvocations(uiSession);
+			zoom(timeGraph, graph, 0, 1000);
+			assertThat(getSentDataPointCount(uiSession)).isEqualTo(1000);
+
+			Mockito.clearInvocations(uiSession);
+			zoom(timeGraph, graph, 200, 400); // answered from the cache
+			assertThat(getSentDataPointCount(uiSession)).isEqualTo(200);
+		});
+	}
+
+	private static void zoom(TimeGraph timeGraph, LineGraph graph, long min, long max) {
+		zoom(timeGraph, graph, 0, min, max, 1);
+	}
+
+	private static void zoom(TimeGraph timeGraph, LineGraph graph, int zoomLevelIndex, long min, long max, double millisecondsPerPixel) {
+		UiLongInterval interval = new UiLongInterval(min, max);
+		timeGraph.handleUiEvent(new UiTimeGraph.ZoomedEvent(timeGraph.getId(), interval, zoomLevelIndex, millisecondsPerPixel, Map.of(graph.getId(), List.of(interval))));
+	}
+
+	private static int getSentDataPointCount(UiSession uiSession) {
+		ArgumentCaptor<UiCommandWithResultCallback> captor = ArgumentCaptor.forClass(UiCommandWithResultCallback.class);
+		Mockito.verify(uiSession, Mockito.atLeast(0)).sendCommand(captor.capture());
+		List<UiTimeGraph.AddDataCommand> commands = captor.getAllValues().stream()
+				.map(c -> (UiCommand<?>) c.getUiCommand())
+				.filter(command -> command instanceof UiTimeGraph.AddDataCommand)
+				.map(command -> (UiTimeGraph.AddDataCommand) command)
+				.collect(Collectors.toList());
+		assertThat(commands).hasSize(1);
+		return commands.get(0).getData().values().stream()
+				.mapToInt(data -> ((UiLineGraphData) data).getDataPoints().size())
+				.sum();
+	}
+
+	private static class CountingModel extends AbstractLineGraphModel {
+		private final List<Interval> queriedIntervals = new ArrayList<>();
+
+		@Override
+		public LineGraphData getData(TimePartitioning zoomLevel, ZoneId zoneId, Interval neededInterval, Interval displayedInterval) {
+			queriedIntervals.add(neededInterval);
+			ArrayLineGraphData data = new ArrayLineGraphData(neededInterval);
+			data.add(neededInterval.getMin(), 1);
+			return data;
+		}
+
+		@Override
+		public Interval getDomainX() {
+			return new Interval(0, 10_000);
+		}
+	}
+
+	private static class DenseModel extends AbstractLineGraphModel {
+		@Override
+		public LineGraphData getData(TimePartitioning zoomLevel, ZoneId zoneId, Interval neededInterval, Interval displayedInterval) {
+			ArrayLineGraphData data = new ArrayLineGraphData(neededInterval);
+			for (long x = neededInterval.getMin(); x < neededInterval.getMax(); x++) {
+				data.add(x, Math.sin(x));
+			}
+			return data;
+		}
+
+		@Override
+		public Interval getDomainX() {
+			return new Interval(0, 10_000);
+		}
+	}
+}
@@ -0,0 +1,90 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2023 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.ux.component.timegraph.datapoints;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+import org.teamapps.dto.UiHoseGraphData;
+import org.teamapps.dto.UiLineGraphData;
+import org.teamapps.json.TeamAppsObjectMapperFactory;
+import org.teamapps.ux.component.timegraph.Interval;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ArrayLineGraphDataTest {
+
+	@Test
+	public void testAppendAndSlice() {
+		ArrayLineGraphData data = new ArrayLineGraphData(2, new Interval(0, 100));
+		for (int i = 0; i < 10; i++) {
+			data.add(i * 10, i);
+		}
+
+		ArrayLineGraphData slice = data.slice(new Interval(25, 60));
+		assertThat(slice.streamTimestamps().toArray()).containsExactly(30, 40, 50);
+		assertThat(slice.streamY().toArray()).containsExactly(3, 4, 5);
+		assertThat(slice.getDataPoint(0)).isEqualTo(new LineGraphDataPoint(30, 3));
+		assertThat(slice.getInterval()).isEqualTo(new Interval(25, 60));
+		assertThat(slice.slice(new Interval(0, 45)).streamTimestamps().toArray()).containsExactly(30, 40);
+
+		data.add(100, 10); // the slice is not affected by growth
+		assertThat(slice.size()).isEqualTo(3);
+		assertThatThrownBy(() -> slice.add(200, 0)).isInstanceOf(UnsupportedOperationException.class);
+		assertThatThrownBy(() -> data.add(50, 0)).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> slice.getY(3)).isInstanceOf(IndexOutOfBoundsException.class);
+	}
+
+	@Test
+	public void testSerializationMatchesListBasedData() throws Exception {
+		ObjectMapper objectMapper = TeamAppsObjectMapperFactory.create();
+		ArrayLineGraphData data = new ArrayLineGraphData(new Interval(0, 1000));
+		List<LineGraphDataPoint> points = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			data.add(i * 50, i * 1.5);
+			points.add(new LineGraphDataPoint(i * 50, i * 1.5));
+		}
+		Interval interval = new Interval(100, 600);
+		ListLineGraphData listData = new ListLineGraphData(points.stream().filter(p -> p.getX() >= 100 && p.getX() < 600).collect(Collectors.toList()), interval);
+
+		UiLineGraphData uiGraphData = data.slice(interval).toUiGraphData();
+		assertThat(objectMapper.writeValueAsString(uiGraphData)).isEqualTo(objectMapper.writeValueAsString(listData.toUiGraphData()));
+		assertThat(uiGraphData.getDataPoints().get(1).getY()).isEqualTo(4.5);
+	}
+
+	@Test
+	public void testHoseGraphData() throws Exception {
+		ArrayHoseGraphData data = new ArrayHoseGraphData(new Interval(0, 100));
+		for (int i = 0; i < 10; i++) {
+			data.add(i * 10, i - 1, i, i + 1);
+		}
+		ArrayHoseGraphData slice = data.slice(new Interval(20, 40));
+
+		assertThat(slice.getLowerLineData().streamY().toArray()).containsExactly(1, 2);
+		assertThat(slice.getMiddleLineData().streamY().toArray()).containsExactly(2, 3);
+		assertThat(slice.getUpperLineData().streamX().toArray()).containsExactly(20, 30);
+		UiHoseGraphData uiGraphData = (UiHoseGraphData) slice.toUiGraphData();
+		assertThat(uiGraphData.getUpperLineData().getDataPoints()).hasSize(2);
+	}
+}
@@ -0,0 +1,59 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2023 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.ux.component.timegraph.model;
+
+import org.junit.Test;
+import org.teamapps.ux.component.timegraph.TimePartitioningUnit;
+
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AggregationPyramidTest {
+
+	@Test
+	public void testLevelsAreKeptPerTimeZone() {
+		AggregationPyramid pyramid = new AggregationPyramid();
+		pyramid.add(0, 1);
+		AggregationPyramid.Level utcLevel = pyramid.getLevel(TimePartitioningUnit.DAY, ZoneOffset.UTC);
+		AggregationPyramid.Level berlinLevel = pyramid.getLevel(TimePartitioningUnit.DAY, ZoneId.of("Europe/Berlin"));
+
+		assertThat(berlinLevel).isNotSameAs(utcLevel);
+		assertThat(pyramid.getLevel(TimePartitioningUnit.DAY, ZoneOffset.UTC)).isSameAs(utcLevel);
+		assertThat(pyramid.getLevel(TimePartitioningUnit.DAY, ZoneId.of("Europe/Berlin"))).isSameAs(berlinLevel);
+	}
+
+	@Test
+	public void testNumberOfLevelsIsBounded() {
+		AggregationPyramid pyramid = new AggregationPyramid();
+		pyramid.add(0, 1);
+		AggregationPyramid.Level recentlyUsedLevel = pyramid.getLevel(TimePartitioningUnit.DAY, ZoneOffset.UTC);
+		for (int hours = -12; hours <= 14; hours++) {
+			for (TimePartitioningUnit unit : new TimePartitioningUnit[]{TimePartitioningUnit.HOUR, TimePartitioningUnit.MINUTE, TimePartitioningUnit.SECOND}) {
+				pyramid.getLevel(unit, ZoneOffset.ofHours(hours));
+			}
+			pyramid.getLevel(TimePartitioningUnit.DAY, ZoneOffset.UTC);
+		}
+
+		assertThat(pyramid.getLevelCount()).isEqualTo(AggregationPyramid.MAX_LEVELS);
+		assertThat(pyramid.getLevel(TimePartitioningUnit.DAY, ZoneOffset.UTC)).isSameAs(recentlyUsedLevel);
+	}
+}
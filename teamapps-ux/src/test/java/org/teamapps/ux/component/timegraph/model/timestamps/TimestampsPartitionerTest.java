@@ -0,0 +1,107 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2023 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.ux.component.timegraph.model.timestamps;
+
+import org.junit.Test;
+import org.teamapps.ux.component.timegraph.Interval;
+import org.teamapps.ux.component.timegraph.TimePartitioningUnit;
+import org.teamapps.ux.component.timegraph.datapoints.LineGraphData;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TimestampsPartitionerTest {
+
+	private static final long DAY = 86_400_000;
+
+	@Test
+	public void testMatchesNaivePartitioning() {
+		Random random = new Random(7);
+		long[] timestamps = new long[20_000];
+		for (int i = 0; i < timestamps.length; i++) {
+			timestamps[i] = 1_600_000_000_000L + (long) (random.nextDouble() * 120 * DAY);
+		}
+		long startTime = 1_600_000_000_000L + 10 * DAY + 12345;
+		long endTime = startTime + 40 * DAY;
+
+		for (ZoneId zoneId : List.of(ZoneId.of("UTC"), ZoneId.of("Europe/Berlin"), ZoneId.of("Asia/Kathmandu"))) {
+			for (TimePartitioningUnit unit : List.of(TimePartitioningUnit.HOUR, TimePartitioningUnit.HOURS_6, TimePartitioningUnit.DAY, TimePartitioningUnit.WEEK_MONDAY, TimePartitioningUnit.MONTH)) {
+				for (boolean returnEmptyPartitions : List.of(true, false)) {
+					Map<Long, Long> expected = partitionNaively(startTime, endTime, timestamps, zoneId, unit, returnEmptyPartitions);
+					Map<Long, Long> actual = new TreeMap<>();
+					TimestampsPartitioner.partition(startTime, endTime, timestamps, zoneId, unit, returnEmptyPartitions)
+							.forEach(p -> actual.put(p.getTimestamp(), p.getCount()));
+					assertThat(actual).as(zoneId + " " + unit + " " + returnEmptyPartitions).isEqualTo(expected);
+				}
+			}
+		}
+	}
+
+	private static Map<Long, Long> partitionNaively(long startTime, long endTime, long[] timestamps, ZoneId zoneId, TimePartitioningUnit unit, boolean returnEmptyPartitions) {
+		Map<Long, Long> partitions = new TreeMap<>();
+		long partitionStart = unit.getPartitionStart(Instant.ofEpochMilli(startTime).atZone(zoneId)).toInstant().toEpochMilli();
+		long lastPartitionStart = unit.increment(unit.getPartitionStart(Instant.ofEpochMilli(endTime).atZone(zoneId))).toInstant().toEpochMilli();
+		if (returnEmptyPartitions) {
+			for (long p = partitionStart; p <= endTime; p = unit.increment(Instant.ofEpochMilli(p).atZone(zoneId)).toInstant().toEpochMilli()) {
+				partitions.put(p, 0L);
+			}
+		}
+		for (long timestamp : timestamps) {
+			long p = unit.getPartitionStart(Instant.ofEpochMilli(timestamp).atZone(zoneId)).toInstant().toEpochMilli();
+			if (p >= partitionStart && p <= lastPartitionStart) {
+				partitions.merge(p, 1L, Long::sum);
+			}
+		}
+		return partitions;
+	}
+
+	@Test
+	public void testStaticTimestampsModel() {
+		StaticTimestampsModel model = new StaticTimestampsModel();
+		long[] timestamps = {50, 10, 30, 20, 40};
+		model.setTimestamps(timestamps);
+
+		assertThat(timestamps).containsExactly(50, 10, 30, 20, 40); // not modified
+		assertThat(model.getTimestamps(new Interval(20, 40))).containsExactly(20, 30, 40);
+		assertThat(model.getTimestamps(new Interval(0, 100))).containsExactly(10, 20, 30, 40, 50);
+		assertThat(model.getDomainX()).isEqualTo(new Interval(10, 50));
+	}
+
+	@Test
+	public void testPartitioningLineGraphModel() {
+		StaticTimestampsModel timestampsModel = new StaticTimestampsModel();
+		timestampsModel.setTimestamps(new long[]{DAY + 1, DAY + 2, 3 * DAY, 3 * DAY + 5, 3 * DAY + 6, 10 * DAY});
+		PartitioningTimestampsLineGraphModel model = new PartitioningTimestampsLineGraphModel(timestampsModel);
+
+		LineGraphData data = model.getData(TimePartitioningUnit.DAY, ZoneId.of("UTC"), new Interval(0, 4 * DAY), new Interval(DAY, 4 * DAY));
+
+		List<String> points = new ArrayList<>();
+		data.streamDataPoints().forEach(p -> points.add((long) p.getX() / DAY + ":" + (long) p.getY()));
+		assertThat(points).containsExactly("1:2", "2:0", "3:3", "4:0");
+		assertThat(data.getInterval()).isEqualTo(new Interval(DAY, 4 * DAY));
+	}
+}
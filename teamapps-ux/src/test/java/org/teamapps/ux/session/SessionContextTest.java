@@ -0,0 +1,85 @@
+/*-
+ * ========================LICENSE_START=================================
+ * TeamApps
+ * ---
+ * Copyright (C) 2014 - 2023 TeamApps.org
+ * ---
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package org.teamapps.ux.session;
+
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.teamapps.uisession.UiSession;
+import org.teamapps.ux.component.panel.Panel;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.teamapps.testutil.UxTestUtil.createDummySessionContext;
+
+public class SessionContextTest {
+
+	@Test
+	public void testUuidClientObjectIds() {
+		List<String> ids = createClientObjectIds(ClientObjectIdFormat.UUID, 100);
+		assertThat(ids).allMatch(id -> id.matches("Panel-[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}"));
+		assertThat(new HashSet<>(ids)).hasSize(100);
+	}
+
+	@Test
+	public void testCompactClientObjectIds() {
+		List<String> ids = createClientObjectIds(ClientObjectIdFormat.COMPACT, 100);
+		assertThat(ids).allMatch(id -> id.startsWith("c")); // valid in CSS selectors
+		assertThat(new HashSet<>(ids)).hasSize(100);
+		assertThat(parseCounters(ids, "c")).isEqualTo(consecutive(parseCounters(ids, "c").get(0), 100)); // base 36
+	}
+
+	@Test
+	public void testCompactWithClassNameClientObjectIds() {
+		List<String> ids = createClientObjectIds(ClientObjectIdFormat.COMPACT_WITH_CLASS_NAME, 100);
+		assertThat(ids).allMatch(id -> id.startsWith("Panel-"));
+		assertThat(new HashSet<>(ids)).hasSize(100);
+		assertThat(parseCounters(ids, "Panel-")).isEqualTo(consecutive(parseCounters(ids, "Panel-").get(0), 100)); // base 36
+	}
+
+	@Test
+	public void testCompactClientObjectIdsAreUniquePerSession() {
+		Set<String> ids1 = new HashSet<>(createClientObjectIds(ClientObjectIdFormat.COMPACT, 3));
+		Set<String> ids2 = new HashSet<>(createClientObjectIds(ClientObjectIdFormat.COMPACT, 3));
+		assertThat(ids1).isEqualTo(ids2); // each session counts on its own
+	}
+
+	private static List<String> createClientObjectIds(ClientObjectIdFormat format, int count) {
+		SessionContext sessionContext = createDummySessionContext(Mockito.mock(UiSession.class), format);
+		// run after the session context's initialization task (which creates client objects, too), so the ids are deterministic
+		return sessionContext.runWithContext(() -> IntStream.range(0, count)
+				.mapToObj(i -> sessionContext.createClientObjectId(Panel.class))
+				.collect(Collectors.toList())).join();
+	}
+
+	private static List<Integer> parseCounters(List<String> ids, String prefix) {
+		return ids.stream()
+				.map(id -> Integer.parseInt(id.substring(prefix.length()), Character.MAX_RADIX))
+				.collect(Collectors.toList());
+	}
+
+	private static List<Integer> consecutive(int start, int count) {
+		return IntStream.range(start, start + count).boxed().collect(Collectors.toList());
+	}
+}